@@ -0,0 +1,151 @@
+package de.metas.ui.web.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.view.ViewRow;
+import de.metas.ui.web.window.datatypes.DocumentId;
+import de.metas.ui.web.window.datatypes.LookupValue;
+import de.metas.ui.web.window.datatypes.LookupValue.IntegerLookupValue;
+import de.metas.ui.web.window.datatypes.WindowId;
+import lombok.experimental.UtilityClass;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Deterministic, database-free data used by the benchmarks.
+ * <p>
+ * The generated rows look like the rows of a sales order lines view: a few lookups with a small number of distinct values,
+ * numbers, flags and dates.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@UtilityClass
+public class BenchmarkFixtures
+{
+	public static final WindowId WINDOW_ID = WindowId.of(540000);
+
+	public static final ImmutableList<String> ROW_FIELD_NAMES = ImmutableList.of(
+			"DocumentNo",
+			"C_BPartner_ID",
+			"M_Product_ID",
+			"C_UOM_ID",
+			"QtyEntered",
+			"PriceActual",
+			"IsActive",
+			"DateOrdered",
+			"Created",
+			"Description");
+
+	private static final long SEED = 42;
+	private static final ZoneId ZONE_ID = ZoneId.of("Europe/Berlin");
+
+	private static final String[] WORDS = { "Tomato", "Cucumber", "Carrot", "Potato", "Salad", "Onion", "Garlic", "Paprika", "Zucchini", "Pumpkin" };
+
+	/**
+	 * @return lookup values like the ones of a product lookup, e.g. {@code 1000123 - Tomato Cucumber 123}
+	 */
+	public static ImmutableList<LookupValue> createLookupValues(final int count)
+	{
+		final Random random = new Random(SEED);
+		final ImmutableList.Builder<LookupValue> lookupValues = ImmutableList.builder();
+		for (int i = 1; i <= count; i++)
+		{
+			final int id = 1000000 + i;
+			final String displayName = id + " - " + randomWord(random) + " " + randomWord(random) + " " + i;
+			lookupValues.add(IntegerLookupValue.of(id, displayName));
+		}
+		return lookupValues.build();
+	}
+
+	/**
+	 * @return the field values of {@code rowsCount} rows, keyed by {@link #ROW_FIELD_NAMES}; some rows have no description
+	 */
+	public static ImmutableList<Map<String, Object>> createRowValues(final int rowsCount)
+	{
+		final Random random = new Random(SEED);
+		final List<LookupValue> bpartners = createLookupValues(20);
+		final List<LookupValue> products = createLookupValues(200);
+		final List<LookupValue> uoms = ImmutableList.of(IntegerLookupValue.of(100, "Each"), IntegerLookupValue.of(540017, "Kg"));
+		final LocalDate dateOrdered = LocalDate.of(2019, 1, 1);
+		final ZonedDateTime created = ZonedDateTime.of(2019, 1, 1, 8, 0, 0, 0, ZONE_ID);
+
+		final ImmutableList.Builder<Map<String, Object>> rows = ImmutableList.builder();
+		for (int i = 0; i < rowsCount; i++)
+		{
+			final Map<String, Object> values = new LinkedHashMap<>();
+			values.put("DocumentNo", String.valueOf(500000 + i / 10));
+			values.put("C_BPartner_ID", bpartners.get(random.nextInt(bpartners.size())));
+			values.put("M_Product_ID", products.get(random.nextInt(products.size())));
+			values.put("C_UOM_ID", uoms.get(random.nextInt(uoms.size())));
+			values.put("QtyEntered", BigDecimal.valueOf(random.nextInt(100000), 2));
+			values.put("PriceActual", BigDecimal.valueOf(random.nextInt(10000), 2));
+			values.put("IsActive", random.nextInt(10) > 0);
+			values.put("DateOrdered", dateOrdered.plusDays(i / 10));
+			values.put("Created", created.plusMinutes(i));
+			if (random.nextBoolean())
+			{
+				values.put("Description", randomWord(random) + " " + randomWord(random));
+			}
+			rows.add(values);
+		}
+		return rows.build();
+	}
+
+	/**
+	 * @return rows which are keeping their values in a map each, i.e. rows which are not part of a columnar page
+	 */
+	public static ImmutableList<ViewRow> createRows(final List<Map<String, Object>> rowsValues)
+	{
+		final ImmutableList.Builder<ViewRow> rows = ImmutableList.builder();
+		int rowId = 1;
+		for (final Map<String, Object> values : rowsValues)
+		{
+			rows.add(createRowBuilder(rowId, values).build());
+			rowId++;
+		}
+		return rows.build();
+	}
+
+	public static ViewRow.Builder createRowBuilder(final int rowId, final Map<String, Object> values)
+	{
+		final ViewRow.Builder rowBuilder = ViewRow.builder(WINDOW_ID)
+				.setRowId(DocumentId.of(rowId))
+				.setType(ViewRow.DefaultRowType.Line);
+		values.forEach(rowBuilder::putFieldValue);
+		return rowBuilder;
+	}
+
+	private static String randomWord(final Random random)
+	{
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+}
@@ -0,0 +1,96 @@
+package de.metas.ui.web.benchmark;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.adempiere.util.lang.impl.TableRecordReferenceSet;
+
+import com.google.common.collect.ImmutableMap;
+
+import de.metas.i18n.TranslatableStrings;
+import de.metas.ui.web.document.filter.provider.NullDocumentFilterDescriptorsProvider;
+import de.metas.ui.web.view.AbstractCustomView;
+import de.metas.ui.web.view.ViewId;
+import de.metas.ui.web.view.ViewRow;
+import de.metas.ui.web.window.datatypes.DocumentId;
+import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * In-memory view over a fixed list of rows, used by the benchmarks which need an {@link de.metas.ui.web.view.IView}.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+public final class BenchmarkView extends AbstractCustomView<ViewRow>
+{
+	public static BenchmarkView ofRows(@NonNull final List<ViewRow> rows)
+	{
+		return new BenchmarkView(ViewId.random(BenchmarkFixtures.WINDOW_ID), rows);
+	}
+
+	private BenchmarkView(final ViewId viewId, final List<ViewRow> rows)
+	{
+		super(viewId,
+				TranslatableStrings.empty(),
+				new FixedRowsData(rows),
+				NullDocumentFilterDescriptorsProvider.instance);
+	}
+
+	@Override
+	public String getTableNameOrNull(@Nullable final DocumentId documentId)
+	{
+		return null;
+	}
+
+	private static final class FixedRowsData implements IRowsData<ViewRow>
+	{
+		private final ImmutableMap<DocumentId, ViewRow> rowsById;
+
+		private FixedRowsData(final List<ViewRow> rows)
+		{
+			rowsById = rows.stream().collect(ImmutableMap.toImmutableMap(ViewRow::getId, row -> row));
+		}
+
+		@Override
+		public Map<DocumentId, ViewRow> getDocumentId2TopLevelRows()
+		{
+			return rowsById;
+		}
+
+		@Override
+		public DocumentIdsSelection getDocumentIdsToInvalidate(final TableRecordReferenceSet recordRefs)
+		{
+			return DocumentIdsSelection.EMPTY;
+		}
+
+		@Override
+		public void invalidateAll()
+		{
+			// nothing to invalidate, the rows are fixed
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package de.metas.ui.web.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Records the latencies of one load-test scenario and computes their percentiles.
+ * <p>
+ * All latencies are kept (8 bytes each), which is fine for the number of requests a load test is doing.
+ * <p>
+ * Thread-safe.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+final class LatencyRecorder
+{
+	private final String name;
+
+	private long[] latenciesNanos = new long[1024];
+	private int count = 0;
+	private int errorsCount = 0;
+
+	public LatencyRecorder(@NonNull final String name)
+	{
+		this.name = name;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public synchronized void record(final long latencyNanos)
+	{
+		if (count >= latenciesNanos.length)
+		{
+			latenciesNanos = Arrays.copyOf(latenciesNanos, latenciesNanos.length * 2);
+		}
+		latenciesNanos[count] = latencyNanos;
+		count++;
+	}
+
+	public synchronized void recordError()
+	{
+		errorsCount++;
+	}
+
+	public synchronized void reset()
+	{
+		count = 0;
+		errorsCount = 0;
+	}
+
+	/**
+	 * @return one line having the requests count, errors count, throughput and latency percentiles (in milliseconds)
+	 */
+	public synchronized String toSummaryLine(@NonNull final Duration duration)
+	{
+		final long[] sortedLatenciesNanos = Arrays.copyOf(latenciesNanos, count);
+		Arrays.sort(sortedLatenciesNanos);
+
+		final double throughput = duration.isZero() ? 0 : count * 1000.0 / duration.toMillis();
+
+		return String.format("%-20s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f",
+				name,
+				count,
+				errorsCount,
+				throughput,
+				toMillis(percentile(sortedLatenciesNanos, 50)),
+				toMillis(percentile(sortedLatenciesNanos, 90)),
+				toMillis(percentile(sortedLatenciesNanos, 99)),
+				toMillis(percentile(sortedLatenciesNanos, 100)));
+	}
+
+	public static String getSummaryHeaderLine()
+	{
+		return String.format("%-20s %8s %7s %9s %9s %9s %9s %9s", "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+	}
+
+	/** nearest-rank percentile */
+	private static long percentile(final long[] sortedValues, final int percentile)
+	{
+		if (sortedValues.length == 0)
+		{
+			return 0;
+		}
+
+		final int rank = (int)Math.ceil(percentile / 100.0 * sortedValues.length);
+		return sortedValues[Math.max(rank, 1) - 1];
+	}
+
+	private static double toMillis(final long nanos)
+	{
+		return nanos / (double)TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
@@ -0,0 +1,117 @@
+package de.metas.ui.web.loadtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPatch;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Minimal JSON REST client of one virtual user, i.e. having its own HTTP session (cookies).
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+final class RestClient implements Closeable
+{
+	private final String baseUrl;
+	private final ObjectMapper jsonObjectMapper;
+	private final CloseableHttpClient httpClient;
+
+	public RestClient(@NonNull final String baseUrl, @NonNull final ObjectMapper jsonObjectMapper)
+	{
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+		this.jsonObjectMapper = jsonObjectMapper;
+		httpClient = HttpClients.custom()
+				.setDefaultCookieStore(new BasicCookieStore())
+				.build();
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		httpClient.close();
+	}
+
+	public JsonNode get(final String path) throws IOException
+	{
+		return execute(new HttpGet(baseUrl + path));
+	}
+
+	public JsonNode post(final String path, final Object body) throws IOException
+	{
+		return execute(withJsonBody(new HttpPost(baseUrl + path), body));
+	}
+
+	public JsonNode patch(final String path, final Object body) throws IOException
+	{
+		return execute(withJsonBody(new HttpPatch(baseUrl + path), body));
+	}
+
+	private HttpUriRequest withJsonBody(final HttpEntityEnclosingRequestBase request, final Object body) throws IOException
+	{
+		request.setEntity(new ByteArrayEntity(jsonObjectMapper.writeValueAsBytes(body), ContentType.APPLICATION_JSON));
+		return request;
+	}
+
+	/**
+	 * @return response body or {@link MissingNode} if there is no body
+	 * @throws IOException if the request failed, including when the response status is not 2xx
+	 */
+	private JsonNode execute(final HttpUriRequest request) throws IOException
+	{
+		request.setHeader("Accept", ContentType.APPLICATION_JSON.getMimeType());
+
+		try (final CloseableHttpResponse response = httpClient.execute(request))
+		{
+			final HttpEntity entity = response.getEntity();
+			final byte[] body = entity != null ? EntityUtils.toByteArray(entity) : new byte[0];
+
+			final int statusCode = response.getStatusLine().getStatusCode();
+			if (statusCode < 200 || statusCode >= 300)
+			{
+				throw new IOException(request.getMethod() + " " + request.getURI() + " failed with " + response.getStatusLine() + ": " + new String(body, "UTF-8"));
+			}
+
+			return body.length > 0 ? jsonObjectMapper.readTree(body) : MissingNode.getInstance();
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package de.metas.ui.web.loadtest;
+
+import java.time.Duration;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * {@link RestLoadTestDriver}'s configuration, see {@link #fromSystemProperties()} for the available options.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Value
+@Builder
+public class RestLoadTestConfig
+{
+	/**
+	 * Creates the configuration from the {@code loadtest.*} system properties:
+	 * <ul>
+	 * <li>{@code loadtest.startServer} - if {@code true}, the webui API is started in this JVM, using the {@code metasfresh.properties} database settings (default {@code false})
+	 * <li>{@code loadtest.baseUrl} - REST API's URL (default {@code http://localhost:8080/rest/api})
+	 * <li>{@code loadtest.username}, {@code loadtest.password} - the user which is logged in once per virtual user; its first role is used
+	 * <li>{@code loadtest.windowId} - the window whose view and documents are used (default {@code 143}, i.e. sales orders)
+	 * <li>{@code loadtest.documentId} - the document which is fetched and patched; if not set, the document scenarios are skipped
+	 * <li>{@code loadtest.patch} - the fields which are changed by one PATCH request, e.g. {@code Description=load test,POReference=LT}; the values are suffixed with a counter so each PATCH is an actual change
+	 * <li>{@code loadtest.lookupField}, {@code loadtest.lookupQuery} - the document field whose typeahead is queried (default {@code C_BPartner_ID} and {@code G})
+	 * <li>{@code loadtest.pageLength} - view page length (default {@code 20})
+	 * <li>{@code loadtest.users} - number of virtual users, i.e. threads (default {@code 4})
+	 * <li>{@code loadtest.warmupSeconds}, {@code loadtest.durationSeconds} - (default {@code 10} and {@code 60})
+	 * </ul>
+	 */
+	public static RestLoadTestConfig fromSystemProperties()
+	{
+		return builder()
+				.startServer(Boolean.getBoolean("loadtest.startServer"))
+				.baseUrl(System.getProperty("loadtest.baseUrl", "http://localhost:8080/rest/api"))
+				.username(System.getProperty("loadtest.username", "metasfresh"))
+				.password(System.getProperty("loadtest.password", "metasfresh"))
+				.windowId(System.getProperty("loadtest.windowId", "143"))
+				.documentId(System.getProperty("loadtest.documentId"))
+				.patchValues(parsePatchValues(System.getProperty("loadtest.patch", "Description=load test")))
+				.lookupFieldName(System.getProperty("loadtest.lookupField", "C_BPartner_ID"))
+				.lookupQuery(System.getProperty("loadtest.lookupQuery", "G"))
+				.pageLength(Integer.getInteger("loadtest.pageLength", 20))
+				.users(Integer.getInteger("loadtest.users", 4))
+				.warmup(Duration.ofSeconds(Integer.getInteger("loadtest.warmupSeconds", 10)))
+				.duration(Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 60)))
+				.build();
+	}
+
+	private static ImmutableMap<String, String> parsePatchValues(final String patchValuesStr)
+	{
+		return ImmutableMap.copyOf(Splitter.on(",")
+				.trimResults()
+				.omitEmptyStrings()
+				.withKeyValueSeparator("=")
+				.split(patchValuesStr));
+	}
+
+	boolean startServer;
+
+	@NonNull
+	String baseUrl;
+	@NonNull
+	String username;
+	@NonNull
+	String password;
+
+	@NonNull
+	String windowId;
+	String documentId;
+	@NonNull
+	ImmutableMap<String, String> patchValues;
+	@NonNull
+	String lookupFieldName;
+	@NonNull
+	String lookupQuery;
+	int pageLength;
+
+	int users;
+	@NonNull
+	Duration warmup;
+	@NonNull
+	Duration duration;
+
+	public boolean isDocumentScenariosEnabled()
+	{
+		return documentId != null && !documentId.trim().isEmpty();
+	}
+}
@@ -0,0 +1,295 @@
+package de.metas.ui.web.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URLEncoder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import de.metas.JsonObjectMapperHolder;
+import de.metas.ui.web.WebRestApiApplication;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Load-test driver for the REST endpoints which are on the hot path of the webui frontend.
+ * <p>
+ * Each virtual user logs in, creates a view and then loops through the following scenarios until the test ends:
+ * <ul>
+ * <li>{@code viewPage} - fetches a page of the view
+ * <li>{@code documentGet} - fetches the configured document
+ * <li>{@code documentPatch} - changes several fields of the configured document with one PATCH request
+ * <li>{@code lookupTypeahead} - queries the typeahead of a lookup field of the configured document
+ * </ul>
+ * The latencies recorded during the warmup are discarded. At the end, the throughput and latency percentiles of each scenario are printed.
+ * <p>
+ * The metadata (windows, fields, lookups) is loaded from the database the server is connected to.
+ * Please mind that the {@code documentPatch} scenario is saving the document, so use a document which was created for testing.
+ * <p>
+ * See {@link RestLoadTestConfig#fromSystemProperties()} for the options.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+public final class RestLoadTestDriver
+{
+	public static void main(final String[] args) throws Exception
+	{
+		final RestLoadTestConfig config = RestLoadTestConfig.fromSystemProperties();
+		if (config.isStartServer())
+		{
+			WebRestApiApplication.main(args);
+		}
+
+		final boolean success = new RestLoadTestDriver(config).run(System.out);
+
+		// NOTE: exit explicitly, because the in-process server (if any) would keep the JVM running
+		System.exit(success ? 0 : 1);
+	}
+
+	private static final String SCENARIO_ViewPage = "viewPage";
+	private static final String SCENARIO_DocumentGet = "documentGet";
+	private static final String SCENARIO_DocumentPatch = "documentPatch";
+	private static final String SCENARIO_LookupTypeahead = "lookupTypeahead";
+
+	private final RestLoadTestConfig config;
+	private final ObjectMapper jsonObjectMapper = JsonObjectMapperHolder.sharedJsonObjectMapper();
+
+	private final Map<String, LatencyRecorder> recordersByScenario = new LinkedHashMap<>();
+	private final Map<String, String> firstErrorByScenario = new ConcurrentHashMap<>();
+	private final AtomicInteger patchesCounter = new AtomicInteger(0);
+	private volatile boolean stopped = false;
+
+	public RestLoadTestDriver(@NonNull final RestLoadTestConfig config)
+	{
+		this.config = config;
+
+		recordersByScenario.put(SCENARIO_ViewPage, new LatencyRecorder(SCENARIO_ViewPage));
+		if (config.isDocumentScenariosEnabled())
+		{
+			recordersByScenario.put(SCENARIO_DocumentGet, new LatencyRecorder(SCENARIO_DocumentGet));
+			recordersByScenario.put(SCENARIO_DocumentPatch, new LatencyRecorder(SCENARIO_DocumentPatch));
+			recordersByScenario.put(SCENARIO_LookupTypeahead, new LatencyRecorder(SCENARIO_LookupTypeahead));
+		}
+	}
+
+	/**
+	 * @return true if all the virtual users could log in and no request failed
+	 */
+	public boolean run(@NonNull final PrintStream out) throws InterruptedException
+	{
+		out.println("Load test: " + config);
+
+		final int users = Math.max(config.getUsers(), 1);
+		final CountDownLatch usersStarted = new CountDownLatch(users);
+		final AtomicInteger usersFailed = new AtomicInteger(0);
+		final ExecutorService executor = Executors.newFixedThreadPool(users);
+		for (int i = 0; i < users; i++)
+		{
+			executor.execute(() -> {
+				try
+				{
+					runVirtualUser(usersStarted);
+				}
+				catch (final Exception ex)
+				{
+					usersFailed.incrementAndGet();
+					out.println("Virtual user failed: " + ex);
+				}
+			});
+		}
+
+		usersStarted.await();
+
+		sleep(config.getWarmup());
+		recordersByScenario.values().forEach(LatencyRecorder::reset);
+		firstErrorByScenario.clear();
+
+		sleep(config.getDuration());
+		stopped = true;
+
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+
+		printSummary(out);
+
+		return usersFailed.get() == 0 && firstErrorByScenario.isEmpty();
+	}
+
+	private static void sleep(final Duration duration) throws InterruptedException
+	{
+		Thread.sleep(duration.toMillis());
+	}
+
+	private void printSummary(final PrintStream out)
+	{
+		out.println();
+		out.println(LatencyRecorder.getSummaryHeaderLine());
+		recordersByScenario.values().forEach(recorder -> out.println(recorder.toSummaryLine(config.getDuration())));
+
+		firstErrorByScenario.forEach((scenario, error) -> out.println("\nFirst error of " + scenario + ": " + error));
+	}
+
+	private void runVirtualUser(final CountDownLatch usersStarted) throws IOException
+	{
+		try (final RestClient client = new RestClient(config.getBaseUrl(), jsonObjectMapper))
+		{
+			final List<Scenario> scenarios;
+			try
+			{
+				login(client);
+				final String viewId = createView(client);
+				scenarios = createScenarios(viewId);
+			}
+			finally
+			{
+				// NOTE: count down also if failed, so we don't wait forever
+				usersStarted.countDown();
+			}
+
+			for (int iteration = 0; !stopped; iteration++)
+			{
+				final Scenario scenario = scenarios.get(iteration % scenarios.size());
+				execute(client, scenario, iteration);
+			}
+
+			client.get("/login/logout");
+		}
+	}
+
+	private void login(final RestClient client) throws IOException
+	{
+		final JsonNode authResponse = client.post("/login/authenticate", ImmutableMap.of(
+				"username", config.getUsername(),
+				"password", config.getPassword()));
+		if (authResponse.path("loginComplete").asBoolean())
+		{
+			return;
+		}
+
+		final JsonNode role = authResponse.path("roles").path(0);
+		if (role.isMissingNode())
+		{
+			throw new IOException("User " + config.getUsername() + " has no roles");
+		}
+
+		client.post("/login/loginComplete", ImmutableMap.of(
+				"caption", role.path("caption").asText(),
+				"roleId", role.path("roleId").asInt(),
+				"tenantId", role.path("tenantId").asInt(),
+				"orgId", role.path("orgId").asInt()));
+	}
+
+	private String createView(final RestClient client) throws IOException
+	{
+		final JsonNode viewResult = client.post("/documentView/" + config.getWindowId(), ImmutableMap.of(
+				"documentType", config.getWindowId(),
+				"viewType", "grid"));
+		return viewResult.path("viewId").asText();
+	}
+
+	private List<Scenario> createScenarios(final String viewId) throws IOException
+	{
+		final String windowId = config.getWindowId();
+		final int pageLength = config.getPageLength();
+
+		final List<Scenario> scenarios = new ArrayList<>();
+
+		// NOTE: also fetch the next pages, because the first page might be cached
+		scenarios.add(new Scenario(SCENARIO_ViewPage, (client, iteration) -> client.get("/documentView/" + windowId + "/" + viewId
+				+ "?firstRow=" + (iteration % 5) * pageLength
+				+ "&pageLength=" + pageLength)));
+
+		if (config.isDocumentScenariosEnabled())
+		{
+			final String documentPath = "/window/" + windowId + "/" + config.getDocumentId();
+			final String typeaheadPath = documentPath + "/field/" + config.getLookupFieldName() + "/typeahead?query=" + URLEncoder.encode(config.getLookupQuery(), "UTF-8");
+
+			scenarios.add(new Scenario(SCENARIO_DocumentGet, (client, iteration) -> client.get(documentPath)));
+			scenarios.add(new Scenario(SCENARIO_DocumentPatch, (client, iteration) -> client.patch(documentPath, createPatchEvents())));
+			scenarios.add(new Scenario(SCENARIO_LookupTypeahead, (client, iteration) -> client.get(typeaheadPath)));
+		}
+
+		return scenarios;
+	}
+
+	private List<Map<String, Object>> createPatchEvents()
+	{
+		// suffix the values with a counter, so each PATCH is actually changing the document
+		final String suffix = " " + patchesCounter.incrementAndGet();
+
+		return config.getPatchValues()
+				.entrySet()
+				.stream()
+				.map(fieldAndValue -> ImmutableMap.<String, Object> of(
+						"op", "replace",
+						"path", fieldAndValue.getKey(),
+						"value", fieldAndValue.getValue() + suffix))
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private void execute(final RestClient client, final Scenario scenario, final int iteration)
+	{
+		final LatencyRecorder recorder = recordersByScenario.get(scenario.getName());
+
+		final long startNanos = System.nanoTime();
+		try
+		{
+			scenario.getAction().execute(client, iteration);
+			recorder.record(System.nanoTime() - startNanos);
+		}
+		catch (final Exception ex)
+		{
+			recorder.recordError();
+			firstErrorByScenario.putIfAbsent(scenario.getName(), ex.toString());
+		}
+	}
+
+	@FunctionalInterface
+	private interface ScenarioAction
+	{
+		void execute(RestClient client, int iteration) throws IOException;
+	}
+
+	@Value
+	private static class Scenario
+	{
+		String name;
+		ScenarioAction action;
+	}
+}
@@ -0,0 +1,126 @@
+package de.metas.ui.web.view;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.collect.ImmutableList;
+
+import de.metas.JsonObjectMapperHolder;
+import de.metas.ui.web.benchmark.BenchmarkFixtures;
+import de.metas.ui.web.benchmark.BenchmarkView;
+import de.metas.ui.web.view.json.JSONViewResult;
+import de.metas.ui.web.window.datatypes.json.JSONOptions;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Serializing a view page response, as JSON, gzip-ed JSON and Smile (see {@link de.metas.ui.web.config.SmileHttpMessageConverter}).
+ * <p>
+ * The materialized JSON rows are created once, so only their serialization is measured; the streamed rows are converted while they are written.
+ * The payload sizes are printed once per trial, so the time spent can be compared with the bytes saved.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ViewPagePayloadBenchmark
+{
+	@Param({ "20", "100" })
+	public int pageLength;
+
+	/** see {@link JSONViewResult#ofStreamedRows(ViewResult, IViewRowOverrides, JSONOptions)} */
+	@Param({ "materialized", "streamed" })
+	public String jsonRows;
+
+	private ObjectMapper jsonObjectMapper;
+	private final SmileFactory smileFactory = new SmileFactory();
+	private JSONViewResult jsonViewResult;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		jsonObjectMapper = JsonObjectMapperHolder.sharedJsonObjectMapper();
+
+		final ImmutableList<ViewRow> rows = BenchmarkFixtures.createRows(BenchmarkFixtures.createRowValues(pageLength));
+		final BenchmarkView view = BenchmarkView.ofRows(rows);
+		final ViewResult viewResult = ViewResult.ofViewAndPage(view, 0, pageLength, ImmutableList.of(), rows);
+		final JSONOptions jsonOpts = JSONOptions.builder().adLanguage("en_US").build();
+		jsonViewResult = "streamed".equals(jsonRows)
+				? JSONViewResult.ofStreamedRows(viewResult, ViewRowOverridesHelper.NULL, jsonOpts)
+				: JSONViewResult.of(viewResult, ViewRowOverridesHelper.NULL, jsonOpts);
+
+		System.out.println("\nPayload sizes for " + pageLength + " rows:"
+				+ " JSON=" + toJson().length + " bytes"
+				+ ", gzip-ed JSON=" + toGzipJson().length + " bytes"
+				+ ", Smile=" + toSmile().length + " bytes");
+	}
+
+	@Benchmark
+	public byte[] toJson() throws IOException
+	{
+		return jsonObjectMapper.writeValueAsBytes(jsonViewResult);
+	}
+
+	@Benchmark
+	public byte[] toGzipJson() throws IOException
+	{
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (final GZIPOutputStream gzipOut = new GZIPOutputStream(out))
+		{
+			jsonObjectMapper.writeValue(gzipOut, jsonViewResult);
+		}
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public byte[] toSmile() throws IOException
+	{
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (final JsonGenerator generator = smileFactory.createGenerator(out))
+		{
+			jsonObjectMapper.writeValue(generator, jsonViewResult);
+		}
+		return out.toByteArray();
+	}
+}
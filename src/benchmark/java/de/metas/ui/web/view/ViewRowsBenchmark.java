@@ -0,0 +1,136 @@
+package de.metas.ui.web.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.benchmark.BenchmarkFixtures;
+import de.metas.ui.web.view.json.JSONViewRow;
+import de.metas.ui.web.window.datatypes.json.JSONOptions;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Building a page of view rows and converting it to JSON, as done by each view page fetch.
+ * <p>
+ * The rows are built either with one map of values per row or as a {@link ViewRowsColumnarPage}, the same way {@link SqlViewDataRepository} does.
+ * To compare the allocations and GC pressure of the two layouts, run with {@code -prof gc}.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ViewRowsBenchmark
+{
+	@Param({ "20", "100" })
+	public int pageLength;
+
+	@Param({ "map", "columnar" })
+	public String rowsLayout;
+
+	private ImmutableList<Map<String, Object>> rowsValues;
+	private ImmutableList<ViewRow> rows;
+	private JSONOptions jsonOpts;
+
+	@Setup
+	public void setup()
+	{
+		rowsValues = BenchmarkFixtures.createRowValues(pageLength);
+		rows = buildRows();
+		jsonOpts = JSONOptions.builder().adLanguage("en_US").build();
+	}
+
+	private boolean isColumnar()
+	{
+		return "columnar".equals(rowsLayout);
+	}
+
+	@Benchmark
+	public ImmutableList<ViewRow> buildRows()
+	{
+		final List<ViewRow.Builder> rowBuilders = new ArrayList<>(rowsValues.size());
+		int rowId = 1;
+		for (final Map<String, Object> values : rowsValues)
+		{
+			rowBuilders.add(BenchmarkFixtures.createRowBuilder(rowId, values));
+			rowId++;
+		}
+
+		if (isColumnar())
+		{
+			final ViewRowsColumnarPage.Builder columnarPageBuilder = ViewRowsColumnarPage.builder(BenchmarkFixtures.ROW_FIELD_NAMES);
+			final int[] rowIndexes = new int[rowBuilders.size()];
+			for (int i = 0; i < rowIndexes.length; i++)
+			{
+				rowIndexes[i] = columnarPageBuilder.addRow(rowBuilders.get(i).getValues());
+			}
+
+			final ViewRowsColumnarPage columnarPage = columnarPageBuilder.build();
+			for (int i = 0; i < rowIndexes.length; i++)
+			{
+				rowBuilders.get(i).setColumnarPageRow(columnarPage, rowIndexes[i]);
+			}
+		}
+
+		return rowBuilders.stream()
+				.map(ViewRow.Builder::build)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	@Benchmark
+	public List<JSONViewRow> toJSONViewRows()
+	{
+		final List<JSONViewRow> jsonRows = new ArrayList<>(rows.size());
+		for (final ViewRow row : rows)
+		{
+			jsonRows.add(JSONViewRow.ofRow(row, ViewRowOverridesHelper.NULL, jsonOpts));
+		}
+		return jsonRows;
+	}
+
+	/** The estimation is done for each view when the views memory budget is checked (see {@link DefaultViewsRepositoryStorage}) */
+	@Benchmark
+	public long estimateRetainedSize()
+	{
+		return ViewRowsSizeEstimator.estimateSizeInBytes(rows);
+	}
+}
@@ -0,0 +1,114 @@
+package de.metas.ui.web.view.event;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.adempiere.util.lang.IAutoCloseable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.benchmark.BenchmarkFixtures;
+import de.metas.ui.web.benchmark.BenchmarkView;
+import de.metas.ui.web.window.datatypes.DocumentId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Collecting view changes in the thread-local {@link ViewChangesCollector}, as done while a REST request changes documents.
+ * <p>
+ * One collector is opened per iteration and it's flushed when the iteration ends.
+ * Because there is no websocket in the benchmark, that flush will log a warning once per iteration.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ViewChangesCollectorBenchmark
+{
+	@Param({ "1", "100" })
+	public int changedRowsCount;
+
+	private BenchmarkView view;
+	private List<DocumentId> changedRowIds;
+	private IAutoCloseable threadLocalCollector;
+
+	@Setup
+	public void setup()
+	{
+		view = BenchmarkView.ofRows(BenchmarkFixtures.createRows(BenchmarkFixtures.createRowValues(changedRowsCount)));
+		changedRowIds = IntStream.rangeClosed(1, changedRowsCount)
+				.mapToObj(DocumentId::of)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	@Setup(Level.Iteration)
+	public void openCollector()
+	{
+		threadLocalCollector = ViewChangesCollector.currentOrNewThreadLocalCollector();
+	}
+
+	@TearDown(Level.Iteration)
+	public void closeCollector()
+	{
+		threadLocalCollector.close();
+	}
+
+	@Benchmark
+	public void collectRowsChanged()
+	{
+		ViewChangesCollector.getCurrentOrAutoflush().collectRowsChanged(view, changedRowIds);
+	}
+
+	@Benchmark
+	public void collectRowChangedOneByOne()
+	{
+		for (final DocumentId rowId : changedRowIds)
+		{
+			ViewChangesCollector.getCurrentOrAutoflush().collectRowChanged(view, rowId);
+		}
+	}
+
+	@Benchmark
+	public void collectFullyChanged()
+	{
+		ViewChangesCollector.getCurrentOrAutoflush().collectFullyChanged(view);
+	}
+}
@@ -0,0 +1,83 @@
+package de.metas.ui.web.window.datatypes;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Parsing of the {@link DocumentId}s and {@link DocumentPath}s, as done for each REST request from the path variables.
+ * <p>
+ * The string document IDs (e.g. the HU rows' IDs) are benchmarked separately, because they are detected by a failed integer parsing.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DocumentPathParsingBenchmark
+{
+	@Param({ "1000123", "P1000123-A100" })
+	public String documentIdStr;
+
+	private final String windowIdStr = "143";
+	private final String detailIdStr = "AD_Tab-187";
+	private final String rowIdStr = "1000456";
+
+	@Benchmark
+	public DocumentId documentId()
+	{
+		return DocumentId.of(documentIdStr);
+	}
+
+	@Benchmark
+	public String documentIdToJson()
+	{
+		return DocumentId.of(documentIdStr).toJson();
+	}
+
+	@Benchmark
+	public DocumentPath rootDocumentPath()
+	{
+		return DocumentPath.rootDocumentPath(WindowId.fromJson(windowIdStr), documentIdStr);
+	}
+
+	@Benchmark
+	public DocumentPath includedDocumentPath()
+	{
+		return DocumentPath.includedDocumentPath(WindowId.fromJson(windowIdStr), documentIdStr, detailIdStr, rowIdStr);
+	}
+}
@@ -0,0 +1,92 @@
+package de.metas.ui.web.window.datatypes;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.metas.ui.web.benchmark.BenchmarkFixtures;
+import de.metas.ui.web.window.model.lookup.LookupValueFilterPredicates;
+import de.metas.ui.web.window.model.lookup.LookupValueFilterPredicates.LookupValueFilterPredicate;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Filtering of cached lookup values, as done for the typeahead and dropdown requests of the lookups which are fully cached.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LookupValuesListFilterBenchmark
+{
+	private static final int PAGE_SIZE = 10;
+
+	@Param({ "100", "10000" })
+	public int lookupValuesCount;
+
+	/** {@code ""} matches all values, {@code "tomato"} matches some of them, {@code "nothing"} does not match any value */
+	@Param({ "", "tomato", "nothing" })
+	public String query;
+
+	private LookupValuesList lookupValues;
+	private LookupValueFilterPredicate filter;
+
+	@Setup
+	public void setup()
+	{
+		lookupValues = LookupValuesList.fromCollection(BenchmarkFixtures.createLookupValues(lookupValuesCount));
+		filter = LookupValueFilterPredicates.of(query);
+	}
+
+	@Benchmark
+	public LookupValuesList filterFirstPage()
+	{
+		return lookupValues.filter(filter, 0, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public LookupValuesList filterAll()
+	{
+		return lookupValues.filter(filter, 0, Integer.MAX_VALUE);
+	}
+
+	@Benchmark
+	public LookupValuesList predicateCreationAndFilterFirstPage()
+	{
+		return lookupValues.filter(LookupValueFilterPredicates.of(query), 0, PAGE_SIZE);
+	}
+}
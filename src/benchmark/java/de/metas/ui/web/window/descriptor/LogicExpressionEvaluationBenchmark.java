@@ -0,0 +1,228 @@
+package de.metas.ui.web.window.descriptor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.adempiere.ad.expression.api.IExpressionEvaluator.OnVariableNotFound;
+import org.adempiere.ad.expression.api.ILogicExpression;
+import org.adempiere.ad.expression.api.LogicExpressionResult;
+import org.adempiere.ad.expression.api.impl.LogicExpressionCompiler;
+import org.adempiere.test.AdempiereTestHelper;
+import org.compiere.util.DisplayType;
+import org.compiere.util.Evaluatee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableMap;
+
+import de.metas.ui.web.window.descriptor.BoundLogicExpression.BoundVariable;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Compares two ways of resolving the variables of a logic expression, in isolation:
+ * <ul>
+ * <li>{@link #byName()}: a new evaluatee for each evaluation, looking up each variable by name
+ * <li>{@link #bound()}: one evaluatee which reads the variables from the field slots resolved by {@link BoundLogicExpression}
+ * </ul>
+ * Both evaluatees keep the values of a document with {@link #fieldsCount} fields.
+ * <p>
+ * NOTE: these are stand-in evaluatees, not {@code Document}/{@code DocumentEvaluatee}, so the results are not the cost of evaluating a real document's logic.
+ * Both variants still do one by-name lookup per variable, because the expression evaluator asks the evaluatee for variables by name.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogicExpressionEvaluationBenchmark
+{
+	@Param({ "@Processed@='Y'", "@DocStatus@='CO' | @DocStatus@='CL' | @Processed@='Y' & @C_BPartner_ID@>0" })
+	public String logic;
+
+	@Param({ "20", "200" })
+	public int fieldsCount;
+
+	private ILogicExpression expression;
+	private BoundLogicExpression boundExpression;
+
+	private Map<String, Object> valuesByName;
+	private Object[] valuesByIndex;
+	private Evaluatee boundEvaluatee;
+
+	@Setup
+	public void setup()
+	{
+		AdempiereTestHelper.get().init();
+
+		final Map<String, Object> values = new HashMap<>();
+		values.put("DocStatus", "DR");
+		values.put("Processed", false);
+		values.put("C_BPartner_ID", 2156423);
+		for (int i = values.size(); i < fieldsCount; i++)
+		{
+			values.put("Field" + i, "value" + i);
+		}
+
+		final ImmutableMap.Builder<String, Integer> fieldIndexesByName = ImmutableMap.builder();
+		valuesByIndex = new Object[values.size()];
+		int index = 0;
+		for (final Map.Entry<String, Object> fieldNameAndValue : values.entrySet())
+		{
+			fieldIndexesByName.put(fieldNameAndValue.getKey(), index);
+			valuesByIndex[index] = fieldNameAndValue.getValue();
+			index++;
+		}
+		valuesByName = ImmutableMap.copyOf(values);
+
+		expression = LogicExpressionCompiler.instance.compile(logic);
+		boundExpression = BoundLogicExpression.bind(expression, fieldIndexesByName.build(), "C_Order");
+		boundEvaluatee = new BoundEvaluatee(boundExpression, valuesByIndex);
+	}
+
+	@Benchmark
+	public LogicExpressionResult byName()
+	{
+		return expression.evaluateToResult(new ByNameEvaluatee(valuesByName), OnVariableNotFound.Fail);
+	}
+
+	@Benchmark
+	public LogicExpressionResult bound()
+	{
+		return boundExpression.evaluate(boundEvaluatee);
+	}
+
+	private static abstract class AbstractEvaluatee implements Evaluatee
+	{
+		@Override
+		public final String get_ValueAsString(final String variableName)
+		{
+			final Object value = get_ValueIfExists(variableName, String.class).orElse(null);
+			if (value == null)
+			{
+				return null;
+			}
+			else if (value instanceof Boolean)
+			{
+				return DisplayType.toBooleanString((Boolean)value);
+			}
+			else
+			{
+				return value.toString();
+			}
+		}
+
+		@Override
+		public final Integer get_ValueAsInt(final String variableName, final Integer defaultValue)
+		{
+			final Object value = get_ValueIfExists(variableName, Integer.class).orElse(null);
+			return value instanceof Integer ? (Integer)value : defaultValue;
+		}
+
+		@Override
+		public final Boolean get_ValueAsBoolean(final String variableName, final Boolean defaultValue)
+		{
+			return DisplayType.toBoolean(get_ValueIfExists(variableName, Boolean.class).orElse(null), defaultValue);
+		}
+
+		@Override
+		public final Date get_ValueAsDate(final String variableName, final Date defaultValue)
+		{
+			final Object value = get_ValueIfExists(variableName, Date.class).orElse(null);
+			return value instanceof Date ? (Date)value : defaultValue;
+		}
+
+		@Override
+		public final BigDecimal get_ValueAsBigDecimal(final String variableName, final BigDecimal defaultValue)
+		{
+			final Object value = get_ValueIfExists(variableName, BigDecimal.class).orElse(null);
+			return value instanceof BigDecimal ? (BigDecimal)value : defaultValue;
+		}
+	}
+
+	private static final class ByNameEvaluatee extends AbstractEvaluatee
+	{
+		private final Map<String, Object> valuesByName;
+
+		private ByNameEvaluatee(final Map<String, Object> valuesByName)
+		{
+			this.valuesByName = valuesByName;
+		}
+
+		@Override
+		public Optional<Object> get_ValueIfExists(final String variableName, final Class<?> targetType)
+		{
+			return Optional.ofNullable(valuesByName.get(variableName));
+		}
+	}
+
+	private static final class BoundEvaluatee extends AbstractEvaluatee
+	{
+		private final BoundLogicExpression boundExpression;
+		private final Object[] valuesByIndex;
+
+		private BoundEvaluatee(final BoundLogicExpression boundExpression, final Object[] valuesByIndex)
+		{
+			this.boundExpression = boundExpression;
+			this.valuesByIndex = valuesByIndex;
+		}
+
+		@Override
+		public Optional<Object> get_ValueIfExists(final String variableName, final Class<?> targetType)
+		{
+			final BoundVariable variable = boundExpression.getVariableOrNull(variableName);
+			if (variable == null)
+			{
+				return Optional.empty();
+			}
+			else if (variable.getConstantValue() != null)
+			{
+				return Optional.of(variable.getConstantValue());
+			}
+			else if (variable.isField())
+			{
+				return Optional.ofNullable(valuesByIndex[variable.getFieldIndex()]);
+			}
+			else
+			{
+				return Optional.ofNullable(variable.getDefaultValue());
+			}
+		}
+	}
+}
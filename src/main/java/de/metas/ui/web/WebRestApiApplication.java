@@ -18,6 +18,7 @@ import org.compiere.util.Ini;
 import org.elasticsearch.common.logging.ESLoggerFactory;
 import org.elasticsearch.common.logging.slf4j.Slf4jESLoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizer;
@@ -36,6 +37,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.metas.JsonObjectMapperHolder;
 import de.metas.Profiles;
 import de.metas.ui.web.base.model.I_T_WEBUI_ViewSelection;
+import de.metas.ui.web.config.SmileHttpMessageConverter;
 import de.metas.ui.web.session.WebRestApiContextProvider;
 import de.metas.ui.web.window.model.DocumentInterfaceWrapperHelper;
 import de.metas.util.Check;
@@ -146,17 +148,25 @@ public class WebRestApiApplication
 		return adempiere;
 	}
 
+	/**
+	 * @param compressionMinSize responses smaller than this (in bytes) are not gzip-ed because for them the compression costs more time than it saves on the wire
+	 */
 	@Bean
-	public EmbeddedServletContainerCustomizer servletContainerCustomizer()
+	public EmbeddedServletContainerCustomizer servletContainerCustomizer(
+			@Value("${metasfresh.webui.http.compression.minSize:1024}") final int compressionMinSize)
 	{
 		return servletContainer -> {
 			final TomcatEmbeddedServletContainerFactory tomcatContainerFactory = (TomcatEmbeddedServletContainerFactory)servletContainer;
 			tomcatContainerFactory.addConnectorCustomizers(connector -> {
 				final AbstractHttp11Protocol<?> httpProtocol = (AbstractHttp11Protocol<?>)connector.getProtocolHandler();
 				httpProtocol.setCompression("on");
-				httpProtocol.setCompressionMinSize(256);
+				httpProtocol.setCompressionMinSize(compressionMinSize);
 				final String mimeTypes = httpProtocol.getCompressibleMimeType();
-				final String mimeTypesWithJson = mimeTypes + "," + MediaType.APPLICATION_JSON_VALUE + ",application/javascript";
+				final String mimeTypesWithJson = mimeTypes
+						+ "," + MediaType.APPLICATION_JSON_VALUE
+						+ "," + MediaType.APPLICATION_JSON_UTF8_VALUE
+						+ "," + SmileHttpMessageConverter.MEDIA_TYPE.toString()
+						+ ",application/javascript";
 				httpProtocol.setCompressibleMimeType(mimeTypesWithJson);
 			});
 		};
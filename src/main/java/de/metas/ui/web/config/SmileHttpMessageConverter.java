@@ -0,0 +1,102 @@
+package de.metas.ui.web.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Reads and writes the REST payloads using the binary <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> encoding.
+ * <p>
+ * It's used only if the client explicitly asks for it (i.e. <code>Accept: application/x-jackson-smile</code> or <code>Content-Type: application/x-jackson-smile</code>),
+ * else the JSON converter is used.
+ * <p>
+ * The values are (de)serialized by the given JSON {@link ObjectMapper}, so the produced data structure is exactly the same as for JSON, only the encoding differs.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+public class SmileHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object>
+{
+	public static final MediaType MEDIA_TYPE = new MediaType("application", "x-jackson-smile");
+
+	private final ObjectMapper jsonObjectMapper;
+	private final SmileFactory smileFactory = new SmileFactory();
+
+	public SmileHttpMessageConverter(@NonNull final ObjectMapper jsonObjectMapper)
+	{
+		super(MEDIA_TYPE);
+		this.jsonObjectMapper = jsonObjectMapper;
+	}
+
+	@Override
+	protected boolean supports(final Class<?> clazz)
+	{
+		return true;
+	}
+
+	@Override
+	public Object read(final Type type, final Class<?> contextClass, final HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException
+	{
+		final JavaType javaType = jsonObjectMapper.getTypeFactory().constructType(type);
+		return read(javaType, inputMessage);
+	}
+
+	@Override
+	protected Object readInternal(final Class<? extends Object> clazz, final HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException
+	{
+		final JavaType javaType = jsonObjectMapper.getTypeFactory().constructType(clazz);
+		return read(javaType, inputMessage);
+	}
+
+	private Object read(final JavaType javaType, final HttpInputMessage inputMessage) throws IOException
+	{
+		try (final JsonParser parser = smileFactory.createParser(inputMessage.getBody()))
+		{
+			return jsonObjectMapper.readValue(parser, javaType);
+		}
+	}
+
+	@Override
+	protected void writeInternal(final Object object, final Type type, final HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException
+	{
+		// NOTE: don't close the generator because that would also close the response stream
+		final JsonGenerator generator = smileFactory.createGenerator(outputMessage.getBody());
+		jsonObjectMapper.writeValue(generator, object);
+		generator.flush();
+	}
+}
@@ -1,6 +1,7 @@
 package de.metas.ui.web.config;
 
 import java.io.IOException;
+import java.util.List;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -10,11 +11,15 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 /*
  * #%L
  * metasfresh-webui-api
@@ -50,6 +55,16 @@ public class WebConfig extends WebMvcConfigurerAdapter
 	public static final String PARAM_TabId = "tabid";
 	public static final String PARAM_RowId = "rowId";
 
+	@Autowired
+	private ObjectMapper jsonObjectMapper;
+
+	@Override
+	public void extendMessageConverters(final List<HttpMessageConverter<?>> converters)
+	{
+		// NOTE: add it at the end, so JSON remains the default and Smile is used only if the client explicitly asks for it
+		converters.add(new SmileHttpMessageConverter(jsonObjectMapper));
+	}
+
 	@Override
 	public void addCorsMappings(final CorsRegistry registry)
 	{
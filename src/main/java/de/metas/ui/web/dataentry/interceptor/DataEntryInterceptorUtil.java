@@ -94,11 +94,13 @@ public class DataEntryInterceptorUtil
 
 	public void resetCacheFor(@NonNull final I_DataEntry_Tab dataEntryGroupRecord)
 	{
-		final int windowId = dataEntryGroupRecord.getDataEntry_TargetWindow_ID();
-		if (windowId > 0)
+		final int windowRepoId = dataEntryGroupRecord.getDataEntry_TargetWindow_ID();
+		if (windowRepoId > 0)
 		{
-			documentDescriptorFactory.invalidateForWindow(WindowId.of(windowId));
-			documentCollection.cacheReset();
+			// NOTE: invalidating only the affected window, the other windows and their documents are not affected
+			final WindowId windowId = WindowId.of(windowRepoId);
+			documentDescriptorFactory.invalidateForWindow(windowId);
+			documentCollection.invalidateDocumentsForWindow(windowId);
 		}
 	}
 
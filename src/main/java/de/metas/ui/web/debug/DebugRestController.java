@@ -50,15 +50,21 @@ import de.metas.ui.web.base.model.I_T_WEBUI_ViewSelection;
 import de.metas.ui.web.config.WebConfig;
 import de.metas.ui.web.exceptions.EntityNotFoundException;
 import de.metas.ui.web.menu.MenuTreeRepository;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics.DescriptorBuildStats;
 import de.metas.ui.web.process.ProcessRestController;
 import de.metas.ui.web.session.UserSession;
+import de.metas.ui.web.view.DefaultView;
 import de.metas.ui.web.view.IView;
 import de.metas.ui.web.view.IViewsRepository;
 import de.metas.ui.web.view.SqlViewFactory;
 import de.metas.ui.web.view.ViewId;
+import de.metas.ui.web.view.ViewLookupResolutionStats;
+import de.metas.ui.web.view.ViewMemoryUsage;
 import de.metas.ui.web.view.ViewProfileId;
 import de.metas.ui.web.view.ViewResult;
 import de.metas.ui.web.view.ViewRowOverridesHelper;
+import de.metas.ui.web.view.ViewsRepository;
 import de.metas.ui.web.view.descriptor.annotation.ViewColumnHelper;
 import de.metas.ui.web.view.event.JSONViewChanges;
 import de.metas.ui.web.view.event.ViewChanges;
@@ -71,6 +77,8 @@ import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
 import de.metas.ui.web.window.datatypes.WindowId;
 import de.metas.ui.web.window.datatypes.json.DateTimeConverters;
 import de.metas.ui.web.window.datatypes.json.JSONOptions;
+import de.metas.ui.web.window.descriptor.factory.standard.DefaultDocumentDescriptorFactory;
+import de.metas.ui.web.window.descriptor.factory.standard.DocumentDescriptorLoadTimings;
 import de.metas.ui.web.window.model.DocumentCollection;
 import de.metas.ui.web.window.model.lookup.LookupDataSourceFactory;
 import de.metas.user.UserId;
@@ -123,6 +131,10 @@ public class DebugRestController
 	@Lazy
 	private IViewsRepository viewsRepo;
 
+	@Autowired
+	@Lazy
+	private ViewsRepository viewsRepository;
+
 	@Autowired
 	@Lazy
 	private SqlViewFactory sqlViewFactory;
@@ -143,6 +155,10 @@ public class DebugRestController
 	@Lazy
 	private ObjectMapper sharedJsonObjectMapper;
 
+	@Autowired
+	@Lazy
+	private DefaultDocumentDescriptorFactory documentDescriptorFactory;
+
 	private JSONOptions newJSONOptions()
 	{
 		return JSONOptions.of(userSession);
@@ -232,6 +248,36 @@ public class DebugRestController
 				.collect(GuavaCollectors.toImmutableList());
 	}
 
+	@GetMapping("/views/notifyRecordsChangedStats")
+	public ViewsRepository.NotifyRecordsChangedStats getViewsNotifyRecordsChangedStats()
+	{
+		userSession.assertLoggedIn();
+		return viewsRepository.getNotifyRecordsChangedStats();
+	}
+
+	@GetMapping("/views/memoryUsage")
+	public ViewMemoryUsage getViewsMemoryUsage()
+	{
+		userSession.assertLoggedIn();
+		return viewsRepository.getMemoryUsage();
+	}
+
+	@GetMapping("/views/{viewId}/lookupResolutionStats")
+	public ViewLookupResolutionStats getViewLookupResolutionStats(@PathVariable("viewId") final String viewIdStr)
+	{
+		userSession.assertLoggedIn();
+
+		final ViewId viewId = ViewId.ofViewIdString(viewIdStr);
+		final IView view = viewsRepo.getView(viewId);
+		if (!(view instanceof DefaultView))
+		{
+			throw new AdempiereException("Lookup resolution stats are not available for " + view);
+		}
+
+		return ((DefaultView)view).getLookupResolutionStats()
+				.orElseThrow(() -> new AdempiereException("No lookup resolution stats available for " + viewId));
+	}
+
 	@PostMapping("/viewDefaultProfile/{windowId}")
 	public void setDefaultViewProfile(@PathVariable("windowId") final String windowIdStr, @RequestBody final String profileIdStr)
 	{
@@ -251,6 +297,30 @@ public class DebugRestController
 				.collect(GuavaCollectors.toImmutableList());
 	}
 
+	@GetMapping("/descriptors/loadTimings")
+	public List<DocumentDescriptorLoadTimings> getDocumentDescriptorLoadTimings()
+	{
+		userSession.assertLoggedIn();
+
+		return documentDescriptorFactory.getLastLoadTimings();
+	}
+
+	@GetMapping("/descriptors/buildMetrics")
+	public List<DescriptorBuildStats> getDescriptorBuildMetrics()
+	{
+		userSession.assertLoggedIn();
+
+		return DescriptorBuildMetrics.instance.getStats();
+	}
+
+	@PostMapping("/descriptors/buildMetrics/reset")
+	public void resetDescriptorBuildMetrics()
+	{
+		userSession.assertLoggedIn();
+
+		DescriptorBuildMetrics.instance.reset();
+	}
+
 	@RequestMapping(value = "/eventBus/postEvent", method = RequestMethod.GET)
 	public void postEvent(
 			@RequestParam(name = "topicName", defaultValue = "de.metas.event.GeneralNotifications") final String topicName //
@@ -0,0 +1,234 @@
+package de.metas.ui.web.devices;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.slf4j.Logger;
+
+import com.google.common.base.MoreObjects;
+
+import de.metas.logging.LogManager;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Polls one device using its own worker, so a slow device is not delaying the others.
+ * <ul>
+ * <li>at most one value acquisition is running at a time
+ * <li>an acquisition which takes longer than the timeout is cancelled and considered failed
+ * <li>after consecutive failures, the device is polled less often (exponential backoff)
+ * <li>the value version is incremented only when the acquired value changed
+ * </ul>
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+final class DevicePoller
+{
+	private static final Logger logger = LogManager.getLogger(DevicePoller.class);
+
+	@Value
+	public static class DeviceValueSnapshot
+	{
+		Object value;
+		long version;
+	}
+
+	private final String deviceId;
+	private final Supplier<Object> valueAcquirer;
+	private final ExecutorService worker;
+	private final LongSupplier clock;
+
+	private final long pollIntervalMillis;
+	private final long timeoutMillis;
+	private final long backoffMaxMillis;
+
+	// guarded by "this"
+	private Future<?> pollInProgress;
+	private long pollInProgressStartMillis;
+	private long pollSeqNo;
+	private long nextPollMillis;
+	private int consecutiveFailures;
+
+	private volatile DeviceValueSnapshot lastValue;
+	private volatile long lastDemandMillis;
+
+	@Builder
+	private DevicePoller(
+			@NonNull final String deviceId,
+			@NonNull final Supplier<Object> valueAcquirer,
+			@NonNull final ExecutorService worker,
+			@NonNull final LongSupplier clock,
+			final long pollIntervalMillis,
+			final long timeoutMillis,
+			final long backoffMaxMillis)
+	{
+		this.deviceId = deviceId;
+		this.valueAcquirer = valueAcquirer;
+		this.worker = worker;
+		this.clock = clock;
+		this.pollIntervalMillis = pollIntervalMillis > 0 ? pollIntervalMillis : 1000;
+		this.timeoutMillis = timeoutMillis > 0 ? timeoutMillis : 5000;
+		this.backoffMaxMillis = Math.max(backoffMaxMillis, this.pollIntervalMillis);
+
+		this.lastDemandMillis = clock.getAsLong();
+	}
+
+	@Override
+	public String toString()
+	{
+		return MoreObjects.toStringHelper(this)
+				.add("deviceId", deviceId)
+				.add("consecutiveFailures", consecutiveFailures)
+				.toString();
+	}
+
+	/**
+	 * @return last acquired value or {@code null} if no value was acquired yet
+	 */
+	public DeviceValueSnapshot getLastValue()
+	{
+		lastDemandMillis = clock.getAsLong();
+		return lastValue;
+	}
+
+	public boolean isIdle(final long idleTimeoutMillis)
+	{
+		return clock.getAsLong() - lastDemandMillis >= idleTimeoutMillis;
+	}
+
+	/**
+	 * Starts a new value acquisition if it's time to do it, or checks the one in progress.
+	 * This method is not blocking.
+	 */
+	public synchronized void tick()
+	{
+		final long now = clock.getAsLong();
+
+		if (pollInProgress != null)
+		{
+			if (!pollInProgress.isDone())
+			{
+				if (now - pollInProgressStartMillis >= timeoutMillis)
+				{
+					pollInProgress.cancel(true);
+					pollInProgress = null;
+					onFailure(pollSeqNo, new AdempiereException("Timeout after " + timeoutMillis + "ms while acquiring value for " + deviceId));
+				}
+				return;
+			}
+
+			pollInProgress = null;
+		}
+
+		if (now < nextPollMillis)
+		{
+			return;
+		}
+
+		final long seqNo = ++pollSeqNo;
+		pollInProgressStartMillis = now;
+		nextPollMillis = now + pollIntervalMillis;
+		try
+		{
+			pollInProgress = worker.submit(() -> acquireValue(seqNo));
+		}
+		catch (final RejectedExecutionException ex)
+		{
+			onFailure(seqNo, ex);
+		}
+	}
+
+	private void acquireValue(final long seqNo)
+	{
+		try
+		{
+			final Object value = valueAcquirer.get();
+			onSuccess(seqNo, value);
+		}
+		catch (final Exception ex)
+		{
+			onFailure(seqNo, ex);
+		}
+	}
+
+	private synchronized void onSuccess(final long seqNo, final Object value)
+	{
+		if (seqNo != pollSeqNo)
+		{
+			return; // a late result of a poll which was already timed out
+		}
+
+		consecutiveFailures = 0;
+
+		final DeviceValueSnapshot lastValue = this.lastValue;
+		if (lastValue == null || !isSameValue(lastValue.getValue(), value))
+		{
+			final long version = lastValue != null ? lastValue.getVersion() + 1 : 1;
+			this.lastValue = new DeviceValueSnapshot(value, version);
+			logger.trace("{}: value changed to {} (version={})", this, value, version);
+		}
+	}
+
+	private synchronized void onFailure(final long seqNo, final Exception ex)
+	{
+		if (seqNo != pollSeqNo)
+		{
+			return; // a late result of a poll which was already timed out
+		}
+
+		consecutiveFailures++;
+		final long backoffMillis = computeBackoffMillis(consecutiveFailures);
+		nextPollMillis = clock.getAsLong() + backoffMillis;
+
+		logger.warn("{}: failed acquiring value. Retrying in {}ms.", this, backoffMillis, ex);
+	}
+
+	private long computeBackoffMillis(final int consecutiveFailures)
+	{
+		final int exponent = Math.min(consecutiveFailures - 1, 20);
+		return Math.min(pollIntervalMillis << exponent, backoffMaxMillis);
+	}
+
+	private static boolean isSameValue(final Object value1, final Object value2)
+	{
+		if (value1 instanceof BigDecimal && value2 instanceof BigDecimal)
+		{
+			return ((BigDecimal)value1).compareTo((BigDecimal)value2) == 0;
+		}
+		return Objects.equals(value1, value2);
+	}
+
+	public void shutdown()
+	{
+		worker.shutdownNow();
+	}
+}
@@ -0,0 +1,168 @@
+package de.metas.ui.web.devices;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.util.concurrent.CustomizableThreadFactory;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import de.metas.device.adempiere.AttributesDevicesHub.AttributeDeviceAccessor;
+import de.metas.device.adempiere.IDevicesHubFactory;
+import de.metas.logging.LogManager;
+import de.metas.ui.web.devices.DevicePoller.DeviceValueSnapshot;
+import de.metas.util.Check;
+import de.metas.util.Services;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Polls the devices (e.g. scales) in background, each device having its own worker thread.
+ * <p>
+ * A device is polled only while somebody is asking for its value (see {@link #getLastValue(String)}).
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Component
+public class DevicePollingEngine
+{
+	private static final Logger logger = LogManager.getLogger(DevicePollingEngine.class);
+
+	private static final long TICK_MILLIS = 100;
+
+	@Value("${metasfresh.devices.pollIntervalMillis:1000}")
+	private long pollIntervalMillis;
+	@Value("${metasfresh.devices.timeoutMillis:5000}")
+	private long timeoutMillis;
+	@Value("${metasfresh.devices.backoffMaxMillis:60000}")
+	private long backoffMaxMillis;
+	@Value("${metasfresh.devices.idleTimeoutMillis:30000}")
+	private long idleTimeoutMillis;
+
+	private final ScheduledExecutorService scheduler;
+	private final ConcurrentHashMap<String, DevicePoller> pollersByDeviceId = new ConcurrentHashMap<>();
+
+	public DevicePollingEngine()
+	{
+		scheduler = Executors.newSingleThreadScheduledExecutor(CustomizableThreadFactory.builder()
+				.setThreadNamePrefix(getClass().getName())
+				.setDaemon(true)
+				.build());
+	}
+
+	@PostConstruct
+	private void start()
+	{
+		scheduler.scheduleWithFixedDelay(this::tickAll, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+		logger.info("Started with pollIntervalMillis={}, timeoutMillis={}, backoffMaxMillis={}, idleTimeoutMillis={}", pollIntervalMillis, timeoutMillis, backoffMaxMillis, idleTimeoutMillis);
+	}
+
+	@PreDestroy
+	private void stop()
+	{
+		scheduler.shutdownNow();
+		pollersByDeviceId.values().forEach(DevicePoller::shutdown);
+		pollersByDeviceId.clear();
+	}
+
+	/**
+	 * @return the last value acquired from given device or {@code null} if no value was acquired yet.
+	 *         If the device is not already polled, it will start polling it.
+	 */
+	public DeviceValueSnapshot getLastValue(final String deviceId)
+	{
+		Check.assumeNotEmpty(deviceId, "deviceId is not empty");
+		return pollersByDeviceId.computeIfAbsent(deviceId, this::createPoller).getLastValue();
+	}
+
+	private DevicePoller createPoller(final String deviceId)
+	{
+		final ThreadPoolExecutor worker = new ThreadPoolExecutor(
+				1, // corePoolSize
+				1, // maximumPoolSize
+				0, TimeUnit.MILLISECONDS, // keepAliveTime
+				new ArrayBlockingQueue<>(1), // bounded: we never have more than one pending acquisition
+				CustomizableThreadFactory.builder()
+						.setThreadNamePrefix(getClass().getName() + "-" + deviceId)
+						.setDaemon(true)
+						.build());
+
+		final DevicePoller poller = DevicePoller.builder()
+				.deviceId(deviceId)
+				.valueAcquirer(() -> getDeviceAccessor(deviceId).acquireValue())
+				.worker(worker)
+				.clock(System::currentTimeMillis)
+				.pollIntervalMillis(pollIntervalMillis)
+				.timeoutMillis(timeoutMillis)
+				.backoffMaxMillis(backoffMaxMillis)
+				.build();
+		logger.debug("Created {}", poller);
+		return poller;
+	}
+
+	private static AttributeDeviceAccessor getDeviceAccessor(final String deviceId)
+	{
+		final AttributeDeviceAccessor deviceAccessor = Services.get(IDevicesHubFactory.class)
+				.getDefaultAttributesDevicesHub()
+				.getAttributeDeviceAccessorById(deviceId);
+		if (deviceAccessor == null)
+		{
+			throw new AdempiereException("Device accessor no longer exists for: " + deviceId);
+		}
+		return deviceAccessor;
+	}
+
+	private void tickAll()
+	{
+		for (final DevicePoller poller : pollersByDeviceId.values())
+		{
+			try
+			{
+				if (poller.isIdle(idleTimeoutMillis))
+				{
+					pollersByDeviceId.values().remove(poller);
+					poller.shutdown();
+					logger.debug("Stopped idle {}", poller);
+				}
+				else
+				{
+					poller.tick();
+				}
+			}
+			catch (final Exception ex)
+			{
+				// don't fail, else the scheduler would stop ticking
+				logger.warn("Failed ticking {}. Ignored.", poller, ex);
+			}
+		}
+	}
+}
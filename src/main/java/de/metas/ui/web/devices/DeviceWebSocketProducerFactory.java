@@ -3,14 +3,13 @@ package de.metas.ui.web.devices;
 import org.springframework.stereotype.Component;
 
 import de.metas.device.adempiere.AttributesDevicesHub.AttributeDeviceAccessor;
-import de.metas.device.adempiere.IDevicesHubFactory;
+import de.metas.ui.web.devices.DevicePoller.DeviceValueSnapshot;
 import de.metas.ui.web.websocket.WebSocketConfig;
 import de.metas.ui.web.websocket.WebSocketProducer;
 import de.metas.ui.web.websocket.WebSocketProducerFactory;
 import de.metas.ui.web.window.datatypes.Values;
 import de.metas.ui.web.window.datatypes.json.JSONOptions;
 import de.metas.util.Check;
-import de.metas.util.Services;
 import lombok.NonNull;
 import lombok.ToString;
 
@@ -37,7 +36,9 @@ import lombok.ToString;
  */
 
 /**
- * Creates {@link WebSocketProducer} instances which are reading {@link AttributeDeviceAccessor#acquireValue()} and creates {@link JSONDeviceValueChangedEvent}.
+ * Creates {@link WebSocketProducer} instances which are publishing {@link JSONDeviceValueChangedEvent}s when device's value changed.
+ * <p>
+ * The devices are not read directly by producers but by {@link DevicePollingEngine} (see {@link AttributeDeviceAccessor#acquireValue()}).
  *
  * @author metas-dev <dev@metasfresh.com>
  *
@@ -47,6 +48,13 @@ public class DeviceWebSocketProducerFactory implements WebSocketProducerFactory
 {
 	private static final String TOPICNAME_Prefix = WebSocketConfig.TOPIC_Devices + "/";
 
+	private final DevicePollingEngine pollingEngine;
+
+	public DeviceWebSocketProducerFactory(@NonNull final DevicePollingEngine pollingEngine)
+	{
+		this.pollingEngine = pollingEngine;
+	}
+
 	public static final String buildDeviceTopicName(final String deviceId)
 	{
 		Check.assumeNotEmpty(deviceId, "deviceId is not empty");
@@ -79,35 +87,44 @@ public class DeviceWebSocketProducerFactory implements WebSocketProducerFactory
 	public WebSocketProducer createProducer(final String topicName)
 	{
 		final String deviceId = extractDeviceIdFromTopicName(topicName);
-		return new DeviceWebSocketProducer(deviceId);
+		return new DeviceWebSocketProducer(deviceId, pollingEngine);
 	}
 
-	@ToString
+	@ToString(exclude = "pollingEngine")
 	private static final class DeviceWebSocketProducer implements WebSocketProducer
 	{
 		private final String deviceId;
+		private final DevicePollingEngine pollingEngine;
+
+		private long lastPublishedVersion = -1;
 
-		public DeviceWebSocketProducer(final String deviceId)
+		public DeviceWebSocketProducer(final String deviceId, @NonNull final DevicePollingEngine pollingEngine)
 		{
 			Check.assumeNotEmpty(deviceId, "deviceId is not empty");
 			this.deviceId = deviceId;
+			this.pollingEngine = pollingEngine;
 		}
 
 		@Override
-		public Object produceEvent(@NonNull final JSONOptions jsonOpts)
+		public synchronized Object produceEvent(@NonNull final JSONOptions jsonOpts)
 		{
-			final AttributeDeviceAccessor deviceAccessor = Services.get(IDevicesHubFactory.class)
-					.getDefaultAttributesDevicesHub()
-					.getAttributeDeviceAccessorById(deviceId);
-			if (deviceAccessor == null)
+			final DeviceValueSnapshot value = pollingEngine.getLastValue(deviceId);
+			if (value == null || value.getVersion() == lastPublishedVersion)
 			{
-				throw new RuntimeException("Device accessor no longer exists for: " + deviceId);
+				return null; // nothing changed
 			}
 
-			final Object valueObj = deviceAccessor.acquireValue();
-			final Object valueJson = Values.valueToJsonObject(valueObj, jsonOpts);
+			lastPublishedVersion = value.getVersion();
 
+			final Object valueJson = Values.valueToJsonObject(value.getValue(), jsonOpts);
 			return JSONDeviceValueChangedEvent.of(deviceId, valueJson);
 		}
+
+		@Override
+		public synchronized void onNewSubscription()
+		{
+			// make sure the new subscriber gets the current value
+			lastPublishedVersion = -1;
+		}
 	}
 }
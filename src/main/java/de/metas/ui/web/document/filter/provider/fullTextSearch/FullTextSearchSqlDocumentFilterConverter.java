@@ -4,7 +4,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
-import org.compiere.util.DB;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -18,6 +17,7 @@ import de.metas.logging.LogManager;
 import de.metas.ui.web.document.filter.DocumentFilter;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverter;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverterContext;
+import de.metas.ui.web.document.filter.sql.SqlIdsArrayFilter;
 import de.metas.ui.web.document.filter.sql.SqlParamsCollector;
 import de.metas.ui.web.window.model.sql.SqlOptions;
 import de.metas.util.Check;
@@ -101,7 +101,7 @@ public class FullTextSearchSqlDocumentFilterConverter implements SqlDocumentFilt
 		}
 
 		final String keyColumnNameFQ = sqlOpts.getTableNameOrAlias() + "." + keyColumnName;
-		return DB.buildSqlList(keyColumnNameFQ, recordIds, null);
+		return SqlIdsArrayFilter.inArray(keyColumnNameFQ, recordIds, sqlParamsOut);
 	}
 
 	private int extractId(final SearchHit hit, final String esKeyColumnName)
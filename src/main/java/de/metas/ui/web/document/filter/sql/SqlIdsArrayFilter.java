@@ -0,0 +1,145 @@
+package de.metas.ui.web.document.filter.sql;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.adempiere.exceptions.AdempiereException;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.view.descriptor.SqlAndParams;
+import de.metas.util.lang.RepoIdAware;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Renders "column is one of given IDs" SQL filters, binding all IDs as one single array parameter.
+ * <p>
+ * Compared to a literal <code>IN (?,?,...)</code> list, the SQL text does not depend on how many IDs we have,
+ * so the database can reuse the prepared statement and its plan.
+ * <ul>
+ * <li>up to {@link #UNNEST_THRESHOLD} IDs: <code>column = ANY(?::numeric[])</code>
+ * <li>above: <code>column IN (SELECT unnest(?::numeric[]))</code>, which allows the planner to use a hashed semi-join
+ * </ul>
+ * The array is passed as a postgres array literal string (e.g. <code>{1,2,3}</code>), so the parameter is supported by any JDBC parameter setter.
+ * If the given {@link SqlParamsCollector} is not collecting, the array literal is embedded in SQL.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@UtilityClass
+public final class SqlIdsArrayFilter
+{
+	/** Above this number of IDs we render an <code>unnest</code> subquery instead of <code>= ANY(...)</code> */
+	public static final int UNNEST_THRESHOLD = 1000;
+
+	private static final String SQL_FALSE = "1=0";
+	private static final String SQL_TRUE = "1=1";
+
+	/**
+	 * @param ids {@link Integer}s, {@link Number}s or {@link RepoIdAware}s; {@code null}s are skipped. If empty then no row will be matched.
+	 * @return SQL where clause, e.g. <code>column = ANY(?::numeric[])</code>
+	 */
+	public static String inArray(
+			@NonNull final String columnSql,
+			@NonNull final Collection<?> ids,
+			@NonNull final SqlParamsCollector sqlParams)
+	{
+		final List<Integer> idsNorm = normalizeIds(ids);
+		if (idsNorm.isEmpty())
+		{
+			return SQL_FALSE;
+		}
+
+		final String sqlArray = sqlParams.placeholder(toArrayLiteral(idsNorm)) + "::numeric[]";
+		if (idsNorm.size() > UNNEST_THRESHOLD)
+		{
+			return columnSql + " IN (SELECT unnest(" + sqlArray + "))";
+		}
+		else
+		{
+			return columnSql + " = ANY(" + sqlArray + ")";
+		}
+	}
+
+	/**
+	 * @param ids {@link Integer}s, {@link Number}s or {@link RepoIdAware}s; {@code null}s are skipped. If empty then all rows will be matched.
+	 * @return SQL where clause, e.g. <code>NOT (column = ANY(?::numeric[]))</code>
+	 */
+	public static String notInArray(
+			@NonNull final String columnSql,
+			@NonNull final Collection<?> ids,
+			@NonNull final SqlParamsCollector sqlParams)
+	{
+		final List<Integer> idsNorm = normalizeIds(ids);
+		if (idsNorm.isEmpty())
+		{
+			return SQL_TRUE;
+		}
+
+		return "NOT (" + inArray(columnSql, idsNorm, sqlParams) + ")";
+	}
+
+	public static SqlAndParams inArray(@NonNull final String columnSql, @NonNull final Collection<?> ids)
+	{
+		final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
+		final String sql = inArray(columnSql, ids, sqlParams);
+		return SqlAndParams.of(sql, sqlParams.toList());
+	}
+
+	private static List<Integer> normalizeIds(final Collection<?> ids)
+	{
+		return ids.stream()
+				.filter(Objects::nonNull)
+				.map(SqlIdsArrayFilter::toInt)
+				.distinct()
+				.sorted() // make the array literal deterministic
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private static int toInt(final Object id)
+	{
+		if (id instanceof RepoIdAware)
+		{
+			return ((RepoIdAware)id).getRepoId();
+		}
+		else if (id instanceof Number)
+		{
+			return ((Number)id).intValue();
+		}
+		else
+		{
+			throw new AdempiereException("Cannot convert `" + id + "` (" + id.getClass() + ") to ID");
+		}
+	}
+
+	private static String toArrayLiteral(final List<Integer> ids)
+	{
+		return ids.stream()
+				.map(String::valueOf)
+				.collect(Collectors.joining(",", "{", "}"));
+	}
+}
@@ -174,6 +174,12 @@ public class HUEditorView implements IView
 		return rowsBuffer.size();
 	}
 
+	@Override
+	public long getEstimatedRetainedSizeInBytes()
+	{
+		return rowsBuffer.getEstimatedRetainedSizeInBytes();
+	}
+
 	@Override
 	public void close(final ViewCloseReason reason)
 	{
@@ -52,6 +52,12 @@ interface HUEditorViewBuffer
 
 	long size();
 
+	/** @return estimated heap retained by the buffered rows; zero if unknown or negligible */
+	default long getEstimatedRetainedSizeInBytes()
+	{
+		return 0;
+	}
+
 	void invalidateAll();
 
 	boolean addHUIds(Collection<HuId> huIdsToAdd);
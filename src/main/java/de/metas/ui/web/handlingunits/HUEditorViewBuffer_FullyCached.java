@@ -6,6 +6,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import org.adempiere.util.lang.ExtendedMemorizingSupplier;
@@ -25,6 +26,7 @@ import de.metas.ui.web.exceptions.EntityNotFoundException;
 import de.metas.ui.web.handlingunits.HUIdsFilterHelper.HUIdsFilterData;
 import de.metas.ui.web.view.ViewId;
 import de.metas.ui.web.view.ViewRowsOrderBy;
+import de.metas.ui.web.view.ViewRowsSizeEstimator;
 import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
 import de.metas.ui.web.window.model.DocumentQueryOrderBy;
@@ -70,6 +72,8 @@ class HUEditorViewBuffer_FullyCached implements HUEditorViewBuffer
 	private final HUIdsFilterData huIdsFilterData;
 	private final ExtendedMemorizingSupplier<CopyOnWriteArraySet<HuId>> huIdsSupplier;
 	private final ExtendedMemorizingSupplier<IndexedHUEditorRows> rowsSupplier = ExtendedMemorizingSupplier.of(() -> retrieveHUEditorRows());
+	/** The rows which were loaded by {@link #rowsSupplier} and not forgotten yet; used to estimate their size without (re)loading them */
+	private final AtomicReference<IndexedHUEditorRows> loadedRowsRef = new AtomicReference<>();
 
 	private final ImmutableList<DocumentQueryOrderBy> defaultOrderBys;
 
@@ -140,7 +144,9 @@ class HUEditorViewBuffer_FullyCached implements HUEditorViewBuffer
 	{
 		final Set<HuId> huIds = getHUIds();
 		final List<HUEditorRow> rows = huEditorRepo.retrieveHUEditorRows(huIds, HUEditorRowFilter.ALL);
-		return new IndexedHUEditorRows(rows);
+		final IndexedHUEditorRows indexedRows = new IndexedHUEditorRows(rows);
+		loadedRowsRef.set(indexedRows);
+		return indexedRows;
 	}
 
 	@Override
@@ -149,6 +155,14 @@ class HUEditorViewBuffer_FullyCached implements HUEditorViewBuffer
 		return getRows().size();
 	}
 
+	@Override
+	public long getEstimatedRetainedSizeInBytes()
+	{
+		// NOTE: don't (re)load the rows just to estimate them
+		final IndexedHUEditorRows loadedRows = loadedRowsRef.get();
+		return loadedRows != null ? ViewRowsSizeEstimator.estimateSizeInBytes(loadedRows.rows) : 0;
+	}
+
 	@Override
 	public Stream<HUEditorRow> streamAllRecursive(@NonNull final HUEditorRowFilter filter)
 	{
@@ -197,7 +211,8 @@ class HUEditorViewBuffer_FullyCached implements HUEditorViewBuffer
 	{
 		huIdsSupplier.forget();
 		huEditorRepo.invalidateCache();
-		rowsSupplier.forget();
+		final IndexedHUEditorRows forgottenRows = rowsSupplier.forget();
+		loadedRowsRef.compareAndSet(forgottenRows, null);
 	}
 
 	@Override
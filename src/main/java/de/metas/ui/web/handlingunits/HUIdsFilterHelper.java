@@ -18,12 +18,15 @@ import com.google.common.collect.Iterables;
 import de.metas.handlingunits.HuId;
 import de.metas.handlingunits.IHUQueryBuilder;
 import de.metas.handlingunits.IHandlingUnitsDAO;
+import de.metas.handlingunits.model.I_M_HU;
 import de.metas.ui.web.document.filter.DocumentFilter;
 import de.metas.ui.web.document.filter.DocumentFilterParam.Operator;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverter;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverterContext;
+import de.metas.ui.web.document.filter.sql.SqlIdsArrayFilter;
 import de.metas.ui.web.document.filter.sql.SqlParamsCollector;
 import de.metas.ui.web.window.model.sql.SqlOptions;
+import de.metas.util.Check;
 import de.metas.util.Services;
 import lombok.NonNull;
 import lombok.ToString;
@@ -239,6 +242,7 @@ public final class HUIdsFilterHelper
 	{
 		@VisibleForTesting
 		static final String SQL_TRUE = "1=1";
+		private static final String SQL_FALSE = "1=0";
 
 		private HUIdsSqlDocumentFilterConverter()
 		{
@@ -279,6 +283,11 @@ public final class HUIdsFilterHelper
 				return SQL_TRUE; // no restrictions were specified; pass through
 			}
 
+			if (onlyHUIds != null && onlyHUIds.isEmpty())
+			{
+				return SQL_FALSE; // no HU shall be matched
+			}
+
 			//
 			// Create HU query
 			IHUQueryBuilder huQuery = huIdsFilter.getInitialHUQueryOrNull();
@@ -288,20 +297,27 @@ public final class HUIdsFilterHelper
 			}
 			huQuery.setContext(PlainContextAware.newOutOfTrx());
 
+			final ISqlQueryFilter sqlQueryFilter = ISqlQueryFilter.cast(huQuery.createQueryFilter());
+			final String huQuerySql = sqlQueryFilter.getSql();
+			final StringBuilder sql = new StringBuilder();
+			sql.append("(").append(Check.isEmpty(huQuerySql, true) ? SQL_TRUE : huQuerySql).append(")");
+			sqlParamsOut.collectAll(sqlQueryFilter);
+
 			// Only HUs
+			// NOTE: we are not using IHUQueryBuilder.addOnlyHUIds because it renders a literal IN list, i.e. a new SQL statement for each list size
 			if (onlyHUIds != null)
 			{
-				huQuery.addOnlyHUIds(HuId.toRepoIds(onlyHUIds));
+				sql.append(" AND ").append(SqlIdsArrayFilter.inArray(I_M_HU.COLUMNNAME_M_HU_ID, onlyHUIds, sqlParamsOut));
 			}
 
 			// Exclude HUs
-			huQuery.addHUIdsToExclude(HuId.toRepoIds(huIdsFilter.getShallNotHUIds()));
-
-			final ISqlQueryFilter sqlQueryFilter = ISqlQueryFilter.cast(huQuery.createQueryFilter());
-			final String sql = sqlQueryFilter.getSql();
+			final Set<HuId> shallNotHUIds = huIdsFilter.getShallNotHUIds();
+			if (!shallNotHUIds.isEmpty())
+			{
+				sql.append(" AND ").append(SqlIdsArrayFilter.notInArray(I_M_HU.COLUMNNAME_M_HU_ID, shallNotHUIds, sqlParamsOut));
+			}
 
-			sqlParamsOut.collectAll(sqlQueryFilter);
-			return sql;
+			return sql.toString();
 		}
 
 	}
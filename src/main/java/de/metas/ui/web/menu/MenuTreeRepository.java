@@ -21,6 +21,8 @@ import com.google.common.cache.LoadingCache;
 import de.metas.logging.LogManager;
 import de.metas.security.IUserRolePermissionsDAO;
 import de.metas.security.UserRolePermissionsKey;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics.Category;
 import de.metas.ui.web.session.UserSession;
 import de.metas.user.UserId;
 import de.metas.user.api.IUserMenuFavoritesDAO;
@@ -63,11 +65,11 @@ public class MenuTreeRepository implements MenuNodeFavoriteProvider
 		@Override
 		public MenuTree load(final MenuTreeKey key)
 		{
-			return MenuTreeLoader
+			return DescriptorBuildMetrics.instance.recordBuild(Category.MenuTree, key, () -> MenuTreeLoader
 					.newInstance()
 					.setUserRolePermissionsKey(key.getUserRolePermissionsKey())
 					.setAD_Language(key.getAD_Language())
-					.load();
+					.load());
 		}
 	});
 
@@ -95,6 +97,7 @@ public class MenuTreeRepository implements MenuNodeFavoriteProvider
 		try
 		{
 			final MenuTreeKey key = new MenuTreeKey(userRolePermissionsKey, adLanguage);
+			DescriptorBuildMetrics.instance.recordRequest(Category.MenuTree);
 			MenuTree menuTree = menuTrees.get(key);
 
 			//
@@ -104,6 +107,7 @@ public class MenuTreeRepository implements MenuNodeFavoriteProvider
 			while (menuTree.getVersion() != currentVersion)
 			{
 				menuTrees.invalidate(key);
+				DescriptorBuildMetrics.instance.recordRequest(Category.MenuTree);
 				menuTree = menuTrees.get(key);
 
 				retry--;
@@ -0,0 +1,241 @@
+package de.metas.ui.web.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Collects timings and cache hit ratios for the descriptor/layout/menu builds (i.e. the cold paths of the UI).
+ * <p>
+ * For each {@link Category} we are counting the cache requests and the builds (i.e. cache misses), together with the build durations.
+ * The builds are also broken down per key (e.g. window ID), so we can pick the cache sizes and warm-up candidates from data.
+ * <p>
+ * NOTE: it's a singleton because some of the instrumented factories are not spring components.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+public final class DescriptorBuildMetrics
+{
+	public static final DescriptorBuildMetrics instance = new DescriptorBuildMetrics(System::nanoTime);
+
+	public enum Category
+	{
+		DocumentDescriptor, ViewLayout, ViewBinding, ProcessDescriptor, MenuTree,
+
+		/** process preconditions evaluations (a "build" is one evaluation), keyed by process ID */
+		ProcessPreconditions
+	}
+
+	/** Max number of per key entries we are keeping for one category, to not leak memory if the keys are not bounded */
+	private static final int MAX_KEYS_PER_CATEGORY = 2000;
+
+	private final LongSupplier nanoClock;
+	private final Map<Category, CategoryCounters> countersByCategory = new ConcurrentHashMap<>();
+
+	DescriptorBuildMetrics(@NonNull final LongSupplier nanoClock)
+	{
+		this.nanoClock = nanoClock;
+	}
+
+	/** Records a cache request. To be called each time a descriptor is requested, no matter if it's cached or not. */
+	public void recordRequest(@NonNull final Category category)
+	{
+		getCounters(category).requests.increment();
+	}
+
+	/** Builds the descriptor (i.e. the cache missed) and records how long it took. */
+	public <T> T recordBuild(@NonNull final Category category, @NonNull final Object key, @NonNull final Supplier<T> builder)
+	{
+		final long startNanos = nanoClock.getAsLong();
+		boolean success = false;
+		try
+		{
+			final T result = builder.get();
+			success = true;
+			return result;
+		}
+		finally
+		{
+			final long durationNanos = nanoClock.getAsLong() - startNanos;
+			getCounters(category).recordBuild(String.valueOf(key), durationNanos, success);
+		}
+	}
+
+	private CategoryCounters getCounters(final Category category)
+	{
+		return countersByCategory.computeIfAbsent(category, k -> new CategoryCounters());
+	}
+
+	public void reset()
+	{
+		countersByCategory.clear();
+	}
+
+	public List<DescriptorBuildStats> getStats()
+	{
+		return countersByCategory.entrySet()
+				.stream()
+				.sorted(Map.Entry.comparingByKey())
+				.map(entry -> entry.getValue().toStats(entry.getKey()))
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private static final class CategoryCounters
+	{
+		private final LongAdder requests = new LongAdder();
+		private final TimerCounters builds = new TimerCounters();
+		private final LongAdder failures = new LongAdder();
+		private final Map<String, TimerCounters> buildsByKey = new ConcurrentHashMap<>();
+
+		private void recordBuild(final String key, final long durationNanos, final boolean success)
+		{
+			builds.record(durationNanos);
+			if (!success)
+			{
+				failures.increment();
+			}
+
+			TimerCounters keyCounters = buildsByKey.get(key);
+			if (keyCounters == null && buildsByKey.size() < MAX_KEYS_PER_CATEGORY)
+			{
+				keyCounters = buildsByKey.computeIfAbsent(key, k -> new TimerCounters());
+			}
+			if (keyCounters != null)
+			{
+				keyCounters.record(durationNanos);
+			}
+		}
+
+		private DescriptorBuildStats toStats(final Category category)
+		{
+			final long requestsCount = requests.sum();
+			final long buildsCount = builds.count.sum();
+
+			return DescriptorBuildStats.builder()
+					.category(category.name())
+					.requests(requestsCount)
+					.builds(buildsCount)
+					.failures(failures.sum())
+					.hitRatio(requestsCount > 0 ? Math.max(0, requestsCount - buildsCount) / (double)requestsCount : 0)
+					.buildTotalMillis(builds.getTotalMillis())
+					.buildAvgMillis(builds.getAvgMillis())
+					.buildMaxMillis(builds.getMaxMillis())
+					.keys(buildsByKey.entrySet()
+							.stream()
+							.map(entry -> entry.getValue().toKeyStats(entry.getKey()))
+							.sorted(Comparator.comparing(DescriptorBuildStats.KeyStats::getBuildTotalMillis).reversed())
+							.collect(ImmutableList.toImmutableList()))
+					.build();
+		}
+	}
+
+	private static final class TimerCounters
+	{
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+		private final AtomicLong lastNanos = new AtomicLong();
+
+		private void record(final long durationNanos)
+		{
+			count.increment();
+			totalNanos.add(durationNanos);
+			maxNanos.accumulateAndGet(durationNanos, Math::max);
+			lastNanos.set(durationNanos);
+		}
+
+		private long getTotalMillis()
+		{
+			return TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+		}
+
+		private long getAvgMillis()
+		{
+			final long count = this.count.sum();
+			return count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / count) : 0;
+		}
+
+		private long getMaxMillis()
+		{
+			return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+		}
+
+		private DescriptorBuildStats.KeyStats toKeyStats(final String key)
+		{
+			return DescriptorBuildStats.KeyStats.builder()
+					.key(key)
+					.builds(count.sum())
+					.buildTotalMillis(getTotalMillis())
+					.buildAvgMillis(getAvgMillis())
+					.buildMaxMillis(getMaxMillis())
+					.buildLastMillis(TimeUnit.NANOSECONDS.toMillis(lastNanos.get()))
+					.build();
+		}
+	}
+
+	@Value
+	@Builder
+	public static class DescriptorBuildStats
+	{
+		String category;
+
+		long requests;
+		/** builds, i.e. cache misses */
+		long builds;
+		long failures;
+		double hitRatio;
+
+		long buildTotalMillis;
+		long buildAvgMillis;
+		long buildMaxMillis;
+
+		/** per key breakdown, most expensive first */
+		List<KeyStats> keys;
+
+		@Value
+		@Builder
+		public static class KeyStats
+		{
+			String key;
+			long builds;
+			long buildTotalMillis;
+			long buildAvgMillis;
+			long buildMaxMillis;
+			long buildLastMillis;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package de.metas.ui.web.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import de.metas.ui.web.metrics.DescriptorBuildMetrics.DescriptorBuildStats;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Exposes the {@link DescriptorBuildMetrics} totals (without the per key breakdown) through actuator's <code>/metrics</code> endpoint.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Component
+public class DescriptorBuildPublicMetrics implements PublicMetrics
+{
+	private static final String PREFIX = "webui.descriptors.";
+
+	@Override
+	public Collection<Metric<?>> metrics()
+	{
+		final List<Metric<?>> metrics = new ArrayList<>();
+		for (final DescriptorBuildStats stats : DescriptorBuildMetrics.instance.getStats())
+		{
+			final String prefix = PREFIX + stats.getCategory() + ".";
+			metrics.add(new Metric<>(prefix + "requests", stats.getRequests()));
+			metrics.add(new Metric<>(prefix + "builds", stats.getBuilds()));
+			metrics.add(new Metric<>(prefix + "failures", stats.getFailures()));
+			metrics.add(new Metric<>(prefix + "hitRatio", stats.getHitRatio()));
+			metrics.add(new Metric<>(prefix + "buildTimeTotalMillis", stats.getBuildTotalMillis()));
+			metrics.add(new Metric<>(prefix + "buildTimeAvgMillis", stats.getBuildAvgMillis()));
+			metrics.add(new Metric<>(prefix + "buildTimeMaxMillis", stats.getBuildMaxMillis()));
+		}
+		return metrics;
+	}
+}
@@ -1,6 +1,7 @@
 package de.metas.ui.web.picking;
 
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 import org.adempiere.util.lang.impl.TableRecordReference;
@@ -73,6 +74,12 @@ class PickingTerminalViewInvalidationAdvisor implements IViewInvalidationAdvisor
 				ShipmentScheduleId.toIntSet(shipmentScheduleIds));
 	}
 
+	@Override
+	public Optional<Set<String>> getDependsOnTableNames()
+	{
+		return Optional.of(ImmutableSet.of(I_M_ShipmentSchedule.Table_Name, I_M_Picking_Candidate.Table_Name));
+	}
+
 	private Set<ShipmentScheduleId> extractShipmentScheduleIds(final TableRecordReferenceSet recordRefs)
 	{
 		if (recordRefs.isEmpty())
@@ -25,6 +25,8 @@ import org.compiere.model.X_AD_Process;
 import org.compiere.util.TimeUtil;
 import org.slf4j.Logger;
 
+import com.google.common.collect.ImmutableList;
+
 import de.metas.cache.CCache;
 import de.metas.i18n.IModelTranslationMap;
 import de.metas.logging.LogManager;
@@ -37,6 +39,8 @@ import de.metas.process.RelatedProcessDescriptor;
 import de.metas.process.RelatedProcessDescriptor.DisplayPlace;
 import de.metas.security.IUserRolePermissions;
 import de.metas.ui.web.exceptions.EntityNotFoundException;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics.Category;
 import de.metas.ui.web.process.ProcessId;
 import de.metas.ui.web.process.WebuiPreconditionsContext;
 import de.metas.ui.web.process.descriptor.InternalName;
@@ -62,7 +66,6 @@ import de.metas.util.Check;
 import de.metas.util.GuavaCollectors;
 import de.metas.util.Services;
 import de.metas.util.lang.CoalesceUtil;
-import lombok.Builder;
 import lombok.NonNull;
 
 /*
@@ -102,8 +105,15 @@ import lombok.NonNull;
 	private final transient IADTableDAO adTableDAO = Services.get(IADTableDAO.class);
 	private final transient IADProcessDAO adProcessDAO = Services.get(IADProcessDAO.class);
 
+	private final ProcessPreconditionsEvaluator preconditionsEvaluator;
+
 	private final CCache<ProcessId, ProcessDescriptor> processDescriptorsByProcessId = CCache.newLRUCache(I_AD_Process.Table_Name + "#Descriptors#by#AD_Process_ID", 200, 0);
 
+	ADProcessDescriptorsFactory(@NonNull final ProcessPreconditionsEvaluator preconditionsEvaluator)
+	{
+		this.preconditionsEvaluator = preconditionsEvaluator;
+	}
+
 	public Stream<WebuiRelatedProcessDescriptor> streamDocumentRelatedProcesses(
 			@NonNull final WebuiPreconditionsContext preconditionsContext,
 			@NonNull final IUserRolePermissions userRolePermissions)
@@ -125,9 +135,12 @@ import lombok.NonNull;
 					.collect(GuavaCollectors.distinctBy(RelatedProcessDescriptor::getProcessId));
 		}
 
+		// NOTE: collecting them first, so, if the preconditions evaluator is parallel, all evaluations are started before we ask for the first result
 		return relatedProcessDescriptors
 				.filter(relatedProcess -> isEligible(relatedProcess, preconditionsContext, userRolePermissions))
-				.map(relatedProcess -> toWebuiRelatedProcessDescriptor(relatedProcess, preconditionsContext));
+				.map(relatedProcess -> toWebuiRelatedProcessDescriptor(relatedProcess, preconditionsContext))
+				.collect(ImmutableList.toImmutableList())
+				.stream();
 	}
 
 	private boolean isEligible(
@@ -157,10 +170,7 @@ import lombok.NonNull;
 	{
 		final ProcessId processId = ProcessId.ofAD_Process_ID(relatedProcessDescriptor.getProcessId());
 		final ProcessDescriptor processDescriptor = getProcessDescriptor(processId);
-		final ProcessPreconditionsResolutionSupplier preconditionsResolutionSupplier = ProcessPreconditionsResolutionSupplier.builder()
-				.preconditionsContext(preconditionsContext)
-				.processDescriptor(processDescriptor)
-				.build();
+		final Supplier<ProcessPreconditionsResolution> preconditionsResolutionSupplier = preconditionsEvaluator.start(processDescriptor, preconditionsContext);
 
 		return WebuiRelatedProcessDescriptor.builder()
 				.processId(processDescriptor.getProcessId())
@@ -181,7 +191,8 @@ import lombok.NonNull;
 
 	public ProcessDescriptor getProcessDescriptor(final ProcessId processId)
 	{
-		return processDescriptorsByProcessId.getOrLoad(processId, () -> retrieveProcessDescriptor(processId));
+		DescriptorBuildMetrics.instance.recordRequest(Category.ProcessDescriptor);
+		return processDescriptorsByProcessId.getOrLoad(processId, () -> DescriptorBuildMetrics.instance.recordBuild(Category.ProcessDescriptor, processId, () -> retrieveProcessDescriptor(processId)));
 	}
 
 	private ProcessDescriptor retrieveProcessDescriptor(final ProcessId processId)
@@ -428,27 +439,6 @@ import lombok.NonNull;
 		return null;
 	}
 
-	private static final class ProcessPreconditionsResolutionSupplier implements Supplier<ProcessPreconditionsResolution>
-	{
-		private final IProcessPreconditionsContext preconditionsContext;
-		private final ProcessDescriptor processDescriptor;
-
-		@Builder
-		private ProcessPreconditionsResolutionSupplier(
-				@NonNull final IProcessPreconditionsContext preconditionsContext,
-				@NonNull final ProcessDescriptor processDescriptor)
-		{
-			this.preconditionsContext = preconditionsContext;
-			this.processDescriptor = processDescriptor;
-		}
-
-		@Override
-		public ProcessPreconditionsResolution get()
-		{
-			return processDescriptor.checkPreconditionsApplicable(preconditionsContext);
-		}
-	}
-
 	private static final class ProcessParametersCallout
 	{
 		private static void forwardValueToCurrentProcessInstance(final ICalloutField calloutField)
@@ -1,5 +1,6 @@
 package de.metas.ui.web.process.adprocess;
 
+import java.time.Duration;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -7,6 +8,7 @@ import java.util.function.Function;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
 
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.util.api.IRangeAwareParams;
@@ -15,6 +17,7 @@ import org.adempiere.util.lang.impl.TableRecordReference;
 import org.compiere.model.I_AD_Process;
 import org.compiere.util.Env;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.google.common.base.Strings;
@@ -99,12 +102,42 @@ public class ADProcessInstancesRepository implements IProcessInstancesRepository
 	@Autowired
 	private DocumentCollection documentsCollection;
 	//
-	private final ADProcessDescriptorsFactory processDescriptorFactory = new ADProcessDescriptorsFactory();
+	private final ProcessPreconditionsEvaluator preconditionsEvaluator;
+	private final ADProcessDescriptorsFactory processDescriptorFactory;
 
 	private final Cache<DocumentId, ADProcessInstanceController> processInstances = CacheBuilder.newBuilder()
 			.expireAfterAccess(10, TimeUnit.MINUTES)
 			.build();
 
+	/**
+	 * @param preconditionsCacheTTLSeconds how long to cache the preconditions resolutions of view processes; zero (default) disables the cache.
+	 *            NOTE: the resolutions are invalidated when the view changes, but not when other records which are checked by the preconditions are changed,
+	 *            so enable it only if a few seconds of stale actions are acceptable.
+	 * @param preconditionsParallelThreads how many threads to use to evaluate the preconditions in parallel; zero means they are evaluated serially
+	 * @param preconditionsQueueCapacity how many evaluations can wait for a free thread; when exceeded, the preconditions are evaluated on request's thread
+	 * @param preconditionsTimeoutMillis time budget for evaluating the preconditions of one process, when evaluating in parallel
+	 */
+	public ADProcessInstancesRepository(
+			@Value("${metasfresh.webui.process.preconditions.cacheTTLSeconds:0}") final int preconditionsCacheTTLSeconds,
+			@Value("${metasfresh.webui.process.preconditions.parallelThreads:0}") final int preconditionsParallelThreads,
+			@Value("${metasfresh.webui.process.preconditions.queueCapacity:1000}") final int preconditionsQueueCapacity,
+			@Value("${metasfresh.webui.process.preconditions.timeoutMillis:2000}") final int preconditionsTimeoutMillis)
+	{
+		preconditionsEvaluator = ProcessPreconditionsEvaluator.builder()
+				.cacheTTL(Duration.ofSeconds(preconditionsCacheTTLSeconds))
+				.parallelThreads(preconditionsParallelThreads)
+				.queueCapacity(preconditionsQueueCapacity)
+				.timeout(Duration.ofMillis(preconditionsTimeoutMillis))
+				.build();
+		processDescriptorFactory = new ADProcessDescriptorsFactory(preconditionsEvaluator);
+	}
+
+	@PreDestroy
+	private void shutdownPreconditionsEvaluator()
+	{
+		preconditionsEvaluator.shutdown();
+	}
+
 	@Override
 	public String getProcessHandlerType()
 	{
@@ -116,6 +149,8 @@ public class ADProcessInstancesRepository implements IProcessInstancesRepository
 	{
 		processInstances.invalidateAll();
 		processInstances.cleanUp();
+
+		preconditionsEvaluator.cacheReset();
 	}
 
 	@Override
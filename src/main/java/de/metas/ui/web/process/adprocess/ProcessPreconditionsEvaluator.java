@@ -0,0 +1,274 @@
+package de.metas.ui.web.process.adprocess;
+
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.util.lang.IAutoCloseable;
+import org.compiere.util.Env;
+import org.slf4j.Logger;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import de.metas.logging.LogManager;
+import de.metas.process.IProcessPreconditionsContext;
+import de.metas.process.ProcessPreconditionsResolution;
+import de.metas.process.RelatedProcessDescriptor.DisplayPlace;
+import de.metas.security.UserRolePermissionsKey;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics.Category;
+import de.metas.ui.web.process.ProcessId;
+import de.metas.ui.web.process.ViewAsPreconditionsContext;
+import de.metas.ui.web.process.descriptor.ProcessDescriptor;
+import de.metas.ui.web.view.ViewId;
+import de.metas.ui.web.view.ViewRowIdsSelection;
+import de.metas.ui.web.view.event.ViewChangeVersions;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Evaluates the {@link ProcessDescriptor}'s preconditions.
+ * <ul>
+ * <li>for views, the resolutions are cached by view, selection, view change version (see {@link ViewChangeVersions}), user/role and process.
+ * Because the frontend is asking for the view actions and quick actions on each row selection change, most of the time we get the same questions again.
+ * <li>if an executor is configured, the preconditions are evaluated in parallel, as soon as the evaluation is {@link #start(ProcessDescriptor, IProcessPreconditionsContext) started}.
+ * Each process has a time budget. If it's exceeded, the process is rejected (silent) and the evaluation is cancelled (i.e. interrupted or, if not yet started, skipped).
+ * The pending evaluations are queued in a bounded queue. When the queue is full, the preconditions are evaluated on caller's thread.
+ * <li>each request is counted and each evaluation is timed, per process (see {@link Category#ProcessPreconditions}), so the requests count minus the builds count is the number of cache hits.
+ * </ul>
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+final class ProcessPreconditionsEvaluator
+{
+	private static final Logger logger = LogManager.getLogger(ProcessPreconditionsEvaluator.class);
+
+	private final Cache<ViewCacheKey, ProcessPreconditionsResolution> viewResolutionsCache;
+	private final ExecutorService executor;
+	private final Duration timeout;
+
+	/**
+	 * @param cacheTTL how long to cache the resolutions of view processes; zero means no caching
+	 * @param parallelThreads how many threads to use to evaluate the preconditions in parallel; zero means the preconditions are evaluated serially, on caller's thread
+	 * @param queueCapacity how many evaluations can wait for a free thread; if zero or negative, a default is used
+	 * @param timeout time budget for each process when evaluating in parallel
+	 */
+	@Builder
+	private ProcessPreconditionsEvaluator(
+			@NonNull final Duration cacheTTL,
+			final int cacheMaxSize,
+			final int parallelThreads,
+			final int queueCapacity,
+			@NonNull final Duration timeout)
+	{
+		viewResolutionsCache = !cacheTTL.isZero() && !cacheTTL.isNegative()
+				? CacheBuilder.newBuilder()
+						.expireAfterWrite(cacheTTL.toMillis(), TimeUnit.MILLISECONDS)
+						.maximumSize(cacheMaxSize > 0 ? cacheMaxSize : 10000)
+						.build()
+				: null;
+
+		if (parallelThreads > 0)
+		{
+			final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ProcessPreconditionsEvaluator-");
+			threadFactory.setDaemon(true);
+			executor = new ThreadPoolExecutor(
+					parallelThreads,
+					parallelThreads,
+					0L,
+					TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(queueCapacity > 0 ? queueCapacity : 1000),
+					threadFactory,
+					new ThreadPoolExecutor.CallerRunsPolicy());
+		}
+		else
+		{
+			executor = null;
+		}
+
+		this.timeout = timeout;
+	}
+
+	public void shutdown()
+	{
+		if (executor != null)
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	public void cacheReset()
+	{
+		if (viewResolutionsCache != null)
+		{
+			viewResolutionsCache.invalidateAll();
+		}
+	}
+
+	/**
+	 * Starts evaluating the preconditions. If this evaluator is not parallel, the preconditions are evaluated when the returned supplier is called.
+	 *
+	 * @return resolution supplier; it's not memorizing the result.
+	 */
+	public Supplier<ProcessPreconditionsResolution> start(
+			@NonNull final ProcessDescriptor processDescriptor,
+			@NonNull final IProcessPreconditionsContext preconditionsContext)
+	{
+		DescriptorBuildMetrics.instance.recordRequest(Category.ProcessPreconditions);
+		final Supplier<ProcessPreconditionsResolution> evaluator = () -> evaluate(processDescriptor, preconditionsContext);
+
+		final ViewCacheKey cacheKey = createViewCacheKeyOrNull(processDescriptor.getProcessId(), preconditionsContext);
+		if (cacheKey == null)
+		{
+			return startEvaluating(evaluator);
+		}
+
+		final ProcessPreconditionsResolution cachedResolution = viewResolutionsCache.getIfPresent(cacheKey);
+		if (cachedResolution != null)
+		{
+			return () -> cachedResolution;
+		}
+
+		return startEvaluating(() -> {
+			final ProcessPreconditionsResolution resolution = evaluator.get();
+			viewResolutionsCache.put(cacheKey, resolution);
+			return resolution;
+		});
+	}
+
+	private Supplier<ProcessPreconditionsResolution> startEvaluating(final Supplier<ProcessPreconditionsResolution> evaluator)
+	{
+		if (executor == null)
+		{
+			return evaluator;
+		}
+
+		final Properties ctx = Env.copyCtx(Env.getCtx());
+		final Future<ProcessPreconditionsResolution> future = executor.submit(() -> {
+			try (final IAutoCloseable ctxRestorer = Env.switchContext(ctx))
+			{
+				return evaluator.get();
+			}
+		});
+
+		final long deadlineNanos = System.nanoTime() + timeout.toNanos();
+		return () -> getResult(future, deadlineNanos);
+	}
+
+	private static ProcessPreconditionsResolution getResult(final Future<ProcessPreconditionsResolution> future, final long deadlineNanos)
+	{
+		try
+		{
+			return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+		}
+		catch (final TimeoutException e)
+		{
+			logger.debug("Preconditions evaluation timed out", e);
+			future.cancel(true);
+			return ProcessPreconditionsResolution.rejectWithInternalReason("Preconditions evaluation timed out");
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw AdempiereException.wrapIfNeeded(e);
+		}
+		catch (final ExecutionException e)
+		{
+			throw AdempiereException.wrapIfNeeded(e.getCause() != null ? e.getCause() : e);
+		}
+	}
+
+	private static ProcessPreconditionsResolution evaluate(final ProcessDescriptor processDescriptor, final IProcessPreconditionsContext preconditionsContext)
+	{
+		return DescriptorBuildMetrics.instance.recordBuild(
+				Category.ProcessPreconditions,
+				processDescriptor.getProcessId(),
+				() -> processDescriptor.checkPreconditionsApplicable(preconditionsContext));
+	}
+
+	@Nullable
+	private ViewCacheKey createViewCacheKeyOrNull(final ProcessId processId, final IProcessPreconditionsContext preconditionsContext)
+	{
+		if (viewResolutionsCache == null)
+		{
+			return null;
+		}
+
+		final ViewAsPreconditionsContext viewContext = ViewAsPreconditionsContext.castOrNull(preconditionsContext);
+		if (viewContext == null)
+		{
+			return null;
+		}
+
+		final ViewId viewId = viewContext.getView().getViewId();
+		return ViewCacheKey.builder()
+				.viewId(viewId)
+				.viewChangeVersion(ViewChangeVersions.instance.getVersion(viewId))
+				.selection(viewContext.getViewRowIdsSelection())
+				.parentSelection(viewContext.getParentViewRowIdsSelection())
+				.childSelection(viewContext.getChildViewRowIdsSelection())
+				.displayPlace(viewContext.getDisplayPlace())
+				.permissionsKey(UserRolePermissionsKey.fromContext(Env.getCtx()))
+				.processId(processId)
+				.build();
+	}
+
+	@Value
+	@Builder
+	private static class ViewCacheKey
+	{
+		@NonNull
+		ViewId viewId;
+		long viewChangeVersion;
+
+		@NonNull
+		ViewRowIdsSelection selection;
+		@Nullable
+		ViewRowIdsSelection parentSelection;
+		@Nullable
+		ViewRowIdsSelection childSelection;
+		@Nullable
+		DisplayPlace displayPlace;
+
+		@NonNull
+		UserRolePermissionsKey permissionsKey;
+
+		@NonNull
+		ProcessId processId;
+	}
+}
@@ -0,0 +1,210 @@
+package de.metas.ui.web.session;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.springframework.session.ExpiringSession;
+import org.springframework.session.MapSession;
+
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Session returned by {@link FixedMapSessionRepository} to the current request.
+ * <p>
+ * It reads from the stored session and copies it only when the request is changing an attribute (copy on write),
+ * so the requests which are only reading the session don't have to copy it, neither when it's loaded nor when it's saved.
+ * <p>
+ * Not thread-safe, like the sessions of a request.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+/* package */ final class DirtyTrackingSession implements ExpiringSession
+{
+	/** stored session; not changed, except its last accessed time */
+	private MapSession original;
+	/** copy of the original, created on first change */
+	private MapSession changed;
+	/**
+	 * true if an attribute was set again with the same object, which might have been changed internally (e.g. a session scoped bean).
+	 * <p>
+	 * NOTE: spring is setting the accessed session scoped beans again at the end of each request, so this flag is set by most requests.
+	 * We can't tell if such an object was changed without serializing it, so the session is handed over to {@link SessionsStore#saveTouched(MapSession)},
+	 * which decides if and when it has to be written (e.g. {@link FileSessionsStore} compares the serialized content with what it has written last time, but not on each request).
+	 */
+	private boolean attributesTouched = false;
+	private long lastAccessedTime;
+
+	public DirtyTrackingSession(@NonNull final MapSession original)
+	{
+		this.original = original;
+		this.lastAccessedTime = original.getLastAccessedTime();
+	}
+
+	private MapSession getCurrent()
+	{
+		return changed != null ? changed : original;
+	}
+
+	private MapSession getChanged()
+	{
+		if (changed == null)
+		{
+			changed = new MapSession(original);
+		}
+		return changed;
+	}
+
+	@Override
+	public String getId()
+	{
+		return original.getId();
+	}
+
+	@Override
+	public <T> T getAttribute(final String attributeName)
+	{
+		return getCurrent().getAttribute(attributeName);
+	}
+
+	@Override
+	public Set<String> getAttributeNames()
+	{
+		return getCurrent().getAttributeNames();
+	}
+
+	@Override
+	public void setAttribute(final String attributeName, final Object attributeValue)
+	{
+		if (attributeValue == null)
+		{
+			removeAttribute(attributeName);
+			return;
+		}
+
+		if (attributeValue == getCurrent().getAttribute(attributeName))
+		{
+			attributesTouched = true;
+			return;
+		}
+
+		getChanged().setAttribute(attributeName, attributeValue);
+	}
+
+	@Override
+	public void removeAttribute(final String attributeName)
+	{
+		if (getCurrent().getAttribute(attributeName) == null)
+		{
+			return;
+		}
+
+		getChanged().removeAttribute(attributeName);
+	}
+
+	@Override
+	public long getCreationTime()
+	{
+		return original.getCreationTime();
+	}
+
+	@Override
+	public void setLastAccessedTime(final long lastAccessedTime)
+	{
+		this.lastAccessedTime = lastAccessedTime;
+	}
+
+	@Override
+	public long getLastAccessedTime()
+	{
+		return lastAccessedTime;
+	}
+
+	@Override
+	public void setMaxInactiveIntervalInSeconds(final int interval)
+	{
+		if (getCurrent().getMaxInactiveIntervalInSeconds() == interval)
+		{
+			return;
+		}
+
+		getChanged().setMaxInactiveIntervalInSeconds(interval);
+	}
+
+	@Override
+	public int getMaxInactiveIntervalInSeconds()
+	{
+		return getCurrent().getMaxInactiveIntervalInSeconds();
+	}
+
+	@Override
+	public boolean isExpired()
+	{
+		return isExpired(System.currentTimeMillis());
+	}
+
+	boolean isExpired(final long nowMillis)
+	{
+		final int maxInactiveIntervalInSeconds = getMaxInactiveIntervalInSeconds();
+		if (maxInactiveIntervalInSeconds < 0)
+		{
+			return false;
+		}
+
+		return nowMillis - TimeUnit.SECONDS.toMillis(maxInactiveIntervalInSeconds) >= lastAccessedTime;
+	}
+
+	/**
+	 * @return true if no attribute was changed, but some were set again with the same object (see {@link #attributesTouched})
+	 */
+	boolean isOnlyAttributesTouched()
+	{
+		return changed == null && attributesTouched;
+	}
+
+	/**
+	 * @return the session which shall be stored or {@code null} if only the last accessed time has to be updated.
+	 *         The session is also returned if an attribute was only set again with the same object (see {@link #attributesTouched}).
+	 *         After calling this method, the session is considered saved.
+	 */
+	@Nullable
+	MapSession getSessionToSaveOrNull()
+	{
+		if (changed != null)
+		{
+			original = changed;
+			changed = null;
+		}
+		else if (!attributesTouched)
+		{
+			return null;
+		}
+
+		attributesTouched = false;
+		original.setLastAccessedTime(lastAccessedTime);
+		return original;
+	}
+}
@@ -0,0 +1,353 @@
+package de.metas.ui.web.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.slf4j.Logger;
+import org.springframework.session.MapSession;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import de.metas.logging.LogManager;
+import lombok.NonNull;
+import lombok.ToString;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Keeps the sessions in heap, but also writes them to a local directory (one file per session), so they survive a restart.
+ * <p>
+ * The session files are rewritten only if their serialized content changed.
+ * The sessions whose attributes were only set again with the same objects are serialized (to check if their content changed) at most once per {@link #touchedSessionsCheckInterval},
+ * so, for those, a change which is made meanwhile is kept only in heap until the next check.
+ * Sessions which cannot be serialized (e.g. an attribute is not serializable) are kept only in heap.
+ * The last accessed time is kept as the file's last modified time, so it can be updated without rewriting the file.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@ToString(of = "directory")
+/* package */ final class FileSessionsStore implements SessionsStore
+{
+	private static final Logger logger = LogManager.getLogger(FileSessionsStore.class);
+
+	private static final String FILE_EXTENSION = ".session";
+
+	/** The session IDs are coming from clients (cookies), so make sure they cannot be used to access other files */
+	private static final Pattern SESSION_ID_PATTERN = Pattern.compile("[A-Za-z0-9_\\-]+");
+
+	private final Path directory;
+	private final ConcurrentHashMap<String, MapSession> sessions = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, HashCode> writtenContentHashesBySessionId = new ConcurrentHashMap<>();
+
+	/** How often to serialize the sessions which were only touched, see {@link #saveTouched(MapSession)} */
+	private final Duration touchedSessionsCheckInterval;
+	private final ConcurrentHashMap<String, Long> lastSerializedMillisBySessionId = new ConcurrentHashMap<>();
+
+	public FileSessionsStore(@NonNull final Path directory)
+	{
+		this(directory, Duration.ofSeconds(30));
+	}
+
+	public FileSessionsStore(@NonNull final Path directory, @NonNull final Duration touchedSessionsCheckInterval)
+	{
+		try
+		{
+			Files.createDirectories(directory);
+		}
+		catch (final IOException ex)
+		{
+			throw new AdempiereException("Failed creating sessions directory: " + directory, ex);
+		}
+
+		this.directory = directory;
+		this.touchedSessionsCheckInterval = touchedSessionsCheckInterval;
+	}
+
+	private static boolean isValidSessionId(final String sessionId)
+	{
+		return sessionId != null && SESSION_ID_PATTERN.matcher(sessionId).matches();
+	}
+
+	private Path getFile(final String sessionId)
+	{
+		return directory.resolve(sessionId + FILE_EXTENSION);
+	}
+
+	@Override
+	public MapSession getByIdOrNull(final String sessionId)
+	{
+		if (!isValidSessionId(sessionId))
+		{
+			return null;
+		}
+
+		final MapSession session = sessions.get(sessionId);
+		if (session != null)
+		{
+			return session;
+		}
+
+		final MapSession loadedSession = loadFromFileOrNull(sessionId);
+		if (loadedSession == null)
+		{
+			return null;
+		}
+
+		final MapSession existingSession = sessions.putIfAbsent(sessionId, loadedSession);
+		return existingSession != null ? existingSession : loadedSession;
+	}
+
+	private MapSession loadFromFileOrNull(final String sessionId)
+	{
+		final Path file = getFile(sessionId);
+		if (!Files.exists(file))
+		{
+			return null;
+		}
+
+		try
+		{
+			final byte[] content = Files.readAllBytes(file);
+			final MapSession session;
+			try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(content)))
+			{
+				session = (MapSession)in.readObject();
+			}
+
+			final long lastModified = Files.getLastModifiedTime(file).toMillis();
+			session.setLastAccessedTime(Math.max(session.getLastAccessedTime(), lastModified));
+
+			writtenContentHashesBySessionId.put(sessionId, hash(content));
+			return session;
+		}
+		catch (final Exception ex)
+		{
+			// e.g. the session attributes' classes were changed in meantime
+			logger.warn("Failed loading session from {}. Deleting it.", file, ex);
+			deleteFileNoFail(sessionId);
+			return null;
+		}
+	}
+
+	@Override
+	public void save(@NonNull final MapSession session)
+	{
+		final String sessionId = session.getId();
+		if (!isValidSessionId(sessionId))
+		{
+			throw new AdempiereException("Invalid session ID: " + sessionId);
+		}
+
+		sessions.put(sessionId, session);
+
+		lastSerializedMillisBySessionId.put(sessionId, System.currentTimeMillis());
+		final byte[] content = serializeOrNull(session);
+		if (content == null)
+		{
+			// the session is still in heap, so don't fail the request
+			return;
+		}
+
+		final HashCode contentHash = hash(content);
+		if (contentHash.equals(writtenContentHashesBySessionId.get(sessionId)))
+		{
+			updateFileLastModifiedNoFail(sessionId, session.getLastAccessedTime());
+			return;
+		}
+
+		final Path file = getFile(sessionId);
+		try
+		{
+			final Path tempFile = directory.resolve(sessionId + FILE_EXTENSION + ".tmp");
+			Files.write(tempFile, content);
+			Files.setLastModifiedTime(tempFile, FileTime.fromMillis(session.getLastAccessedTime()));
+			moveReplacing(tempFile, file);
+			writtenContentHashesBySessionId.put(sessionId, contentHash);
+		}
+		catch (final IOException ex)
+		{
+			// the session is still in heap, so don't fail the request
+			logger.warn("Failed writing session to {}", file, ex);
+		}
+	}
+
+	/**
+	 * Same as {@link #save(MapSession)}, but the session is serialized at most once per {@link #touchedSessionsCheckInterval}.
+	 * In between, only the last accessed time is updated.
+	 */
+	@Override
+	public void saveTouched(@NonNull final MapSession session)
+	{
+		final Long lastSerializedMillis = lastSerializedMillisBySessionId.get(session.getId());
+		if (lastSerializedMillis != null
+				&& System.currentTimeMillis() - lastSerializedMillis < touchedSessionsCheckInterval.toMillis())
+		{
+			sessions.put(session.getId(), session);
+			if (writtenContentHashesBySessionId.containsKey(session.getId()))
+			{
+				updateFileLastModifiedNoFail(session.getId(), session.getLastAccessedTime());
+			}
+			return;
+		}
+
+		save(session);
+	}
+
+	private static void moveReplacing(final Path source, final Path target) throws IOException
+	{
+		try
+		{
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (final AtomicMoveNotSupportedException ex)
+		{
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Serializes the session, but without its last accessed time (which is kept as file's last modified time),
+	 * so the content is not changing on each request.
+	 *
+	 * @return serialized session or {@code null} if it cannot be serialized
+	 */
+	@Nullable
+	private static byte[] serializeOrNull(final MapSession session)
+	{
+		final MapSession sessionToWrite = new MapSession(session);
+		sessionToWrite.setLastAccessedTime(session.getCreationTime());
+
+		final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		try (final ObjectOutputStream out = new ObjectOutputStream(content))
+		{
+			out.writeObject(sessionToWrite);
+		}
+		catch (final Exception ex)
+		{
+			// e.g. NotSerializableException
+			logger.warn("Failed serializing session {}. Keeping it only in heap.", session.getId(), ex);
+			return null;
+		}
+		return content.toByteArray();
+	}
+
+	private static HashCode hash(final byte[] content)
+	{
+		return Hashing.murmur3_128().hashBytes(content);
+	}
+
+	@Override
+	public void updateLastAccessedTime(@NonNull final String sessionId, final long lastAccessedTime)
+	{
+		final MapSession session = getByIdOrNull(sessionId);
+		if (session == null)
+		{
+			return;
+		}
+
+		session.setLastAccessedTime(lastAccessedTime);
+		updateFileLastModifiedNoFail(sessionId, lastAccessedTime);
+	}
+
+	private void updateFileLastModifiedNoFail(final String sessionId, final long lastAccessedTime)
+	{
+		final Path file = getFile(sessionId);
+		try
+		{
+			Files.setLastModifiedTime(file, FileTime.fromMillis(lastAccessedTime));
+		}
+		catch (final IOException ex)
+		{
+			logger.warn("Failed updating last modified time of {}", file, ex);
+		}
+	}
+
+	@Override
+	public boolean remove(final String sessionId)
+	{
+		if (!isValidSessionId(sessionId))
+		{
+			return false;
+		}
+
+		final boolean removedFromHeap = sessions.remove(sessionId) != null;
+		writtenContentHashesBySessionId.remove(sessionId);
+		lastSerializedMillisBySessionId.remove(sessionId);
+		final boolean removedFile = deleteFileNoFail(sessionId);
+		return removedFromHeap || removedFile;
+	}
+
+	private boolean deleteFileNoFail(final String sessionId)
+	{
+		final Path file = getFile(sessionId);
+		try
+		{
+			return Files.deleteIfExists(file);
+		}
+		catch (final IOException ex)
+		{
+			logger.warn("Failed deleting {}", file, ex);
+			return false;
+		}
+	}
+
+	@Override
+	public Set<String> getAllSessionIds()
+	{
+		final ImmutableSet.Builder<String> sessionIds = ImmutableSet.builder();
+		sessionIds.addAll(sessions.keySet());
+
+		try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION))
+		{
+			for (final Path file : files)
+			{
+				final String fileName = file.getFileName().toString();
+				sessionIds.add(fileName.substring(0, fileName.length() - FILE_EXTENSION.length()));
+			}
+		}
+		catch (final IOException ex)
+		{
+			logger.warn("Failed listing the session files from {}", directory, ex);
+		}
+
+		return sessionIds.build();
+	}
+}
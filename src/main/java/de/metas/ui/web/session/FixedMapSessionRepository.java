@@ -1,9 +1,7 @@
 package de.metas.ui.web.session;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -48,16 +46,21 @@ import lombok.ToString;
 
 /**
  * Similar with {@link MapSessionRepository} but it's also firing session created/destroyed events.
+ * <p>
+ * The sessions are kept in a pluggable {@link SessionsStore}.
+ * The sessions returned to requests are copied only if changed (see {@link DirtyTrackingSession}).
+ * The expired sessions are found using a {@link SessionsExpirationWheel}, so not all sessions have to be checked.
  * 
  * @author metas-dev <dev@metasfresh.com>
  *
  */
-@ToString(of = { "defaultMaxInactiveInterval" })
+@ToString(of = { "defaultMaxInactiveInterval", "sessionsStore" })
 /* package */class FixedMapSessionRepository implements SessionRepository<ExpiringSession>
 {
 	private static final Logger logger = LogManager.getLogger(FixedMapSessionRepository.class);
 
-	private final Map<String, ExpiringSession> sessions = new ConcurrentHashMap<>();
+	private final SessionsStore sessionsStore;
+	private final SessionsExpirationWheel expirationWheel;
 
 	private final ApplicationEventPublisher applicationEventPublisher;
 	private final Integer defaultMaxInactiveInterval;
@@ -65,22 +68,80 @@ import lombok.ToString;
 	@Builder
 	private FixedMapSessionRepository(
 			@NonNull final ApplicationEventPublisher applicationEventPublisher,
-			@Nullable final Integer defaultMaxInactiveInterval)
+			@Nullable final Integer defaultMaxInactiveInterval,
+			@Nullable final SessionsStore sessionsStore,
+			@Nullable final Duration expirationCheckInterval)
 	{
 		this.applicationEventPublisher = applicationEventPublisher;
 		this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+		this.sessionsStore = sessionsStore != null ? sessionsStore : new InMemorySessionsStore();
+		this.expirationWheel = new SessionsExpirationWheel(expirationCheckInterval != null ? expirationCheckInterval : Duration.ofMinutes(1));
+
+		scheduleExpirationOfStoredSessions();
+	}
+
+	/** Makes sure the sessions which were stored before (e.g. before restart) will also expire */
+	private void scheduleExpirationOfStoredSessions()
+	{
+		final Set<String> sessionIds = sessionsStore.getAllSessionIds();
+		for (final String sessionId : sessionIds)
+		{
+			final MapSession session = sessionsStore.getByIdOrNull(sessionId);
+			if (session != null)
+			{
+				scheduleExpiration(session);
+			}
+		}
+
+		logger.info("Found {} stored sessions in {}", sessionIds.size(), sessionsStore);
+	}
+
+	private void scheduleExpiration(final ExpiringSession session)
+	{
+		final int maxInactiveIntervalInSeconds = session.getMaxInactiveIntervalInSeconds();
+		if (maxInactiveIntervalInSeconds < 0)
+		{
+			expirationWheel.unschedule(session.getId());
+		}
+		else
+		{
+			expirationWheel.schedule(session.getId(), session.getLastAccessedTime() + maxInactiveIntervalInSeconds * 1000L);
+		}
 	}
 
 	@Override
 	public void save(final ExpiringSession session)
 	{
-		sessions.put(session.getId(), new MapSession(session));
+		if (session instanceof DirtyTrackingSession)
+		{
+			final DirtyTrackingSession dirtyTrackingSession = (DirtyTrackingSession)session;
+			final boolean onlyAttributesTouched = dirtyTrackingSession.isOnlyAttributesTouched();
+			final MapSession sessionToSave = dirtyTrackingSession.getSessionToSaveOrNull();
+			if (sessionToSave == null)
+			{
+				sessionsStore.updateLastAccessedTime(session.getId(), session.getLastAccessedTime());
+			}
+			else if (onlyAttributesTouched)
+			{
+				sessionsStore.saveTouched(sessionToSave);
+			}
+			else
+			{
+				sessionsStore.save(sessionToSave);
+			}
+		}
+		else
+		{
+			sessionsStore.save(new MapSession(session));
+		}
+
+		scheduleExpiration(session);
 	}
 
 	@Override
 	public ExpiringSession getSession(final String id)
 	{
-		final ExpiringSession saved = sessions.get(id);
+		final MapSession saved = sessionsStore.getByIdOrNull(id);
 		if (saved == null)
 		{
 			return null;
@@ -92,7 +153,7 @@ import lombok.ToString;
 			return null;
 		}
 
-		return new MapSession(saved);
+		return new DirtyTrackingSession(saved);
 	}
 
 	@Override
@@ -104,10 +165,11 @@ import lombok.ToString;
 
 	private void deleteAndFireEvent(final String id, boolean expired)
 	{
-		final ExpiringSession deletedSession = sessions.remove(id);
+		expirationWheel.unschedule(id);
+		final boolean deleted = sessionsStore.remove(id);
 
 		// Fire event
-		if (deletedSession != null)
+		if (deleted)
 		{
 			if (expired)
 			{
@@ -152,16 +214,74 @@ import lombok.ToString;
 		final Stopwatch stopwatch = Stopwatch.createStarted();
 		int countExpiredSessions = 0;
 
-		final List<ExpiringSession> sessionsToCheck = new ArrayList<>(sessions.values());
-		for (final ExpiringSession session : sessionsToCheck)
+		final Set<String> sessionIdsToCheck = expirationWheel.pollExpired(System.currentTimeMillis());
+		for (final String sessionId : sessionIdsToCheck)
+		{
+			final MapSession session = sessionsStore.getByIdOrNull(sessionId);
+			if (session == null)
+			{
+				continue;
+			}
+
+			if (session.isExpired())
+			{
+				deleteAndFireEvent(sessionId, true /* expired */);
+				countExpiredSessions++;
+			}
+			else
+			{
+				// accessed in meantime (e.g. on another node)
+				scheduleExpiration(session);
+			}
+		}
+
+		logger.debug("Purged {}/{} expired sessions in {}", countExpiredSessions, sessionIdsToCheck.size(), stopwatch);
+	}
+
+	public void sweepAllStoredSessionsNoFail()
+	{
+		try
+		{
+			sweepAllStoredSessions();
+		}
+		catch (final Throwable ex)
+		{
+			logger.warn("Failed sweeping all stored sessions. Ignored.", ex);
+		}
+	}
+
+	/**
+	 * Checks all stored sessions, not only the ones scheduled in our expiration wheel.
+	 * <p>
+	 * Needed when the sessions store is shared by all nodes, because each node schedules only the sessions which were accessed through it
+	 * (plus the ones found on startup). So the sessions which were scheduled only on a node which went down would never expire.
+	 * It's expensive, so it shall be called rarely.
+	 */
+	public void sweepAllStoredSessions()
+	{
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		int countExpiredSessions = 0;
+
+		final Set<String> sessionIds = sessionsStore.getAllSessionIds();
+		for (final String sessionId : sessionIds)
 		{
+			final MapSession session = sessionsStore.getByIdOrNull(sessionId);
+			if (session == null)
+			{
+				continue;
+			}
+
 			if (session.isExpired())
 			{
-				deleteAndFireEvent(session.getId(), true /* expired */);
+				deleteAndFireEvent(sessionId, true /* expired */);
 				countExpiredSessions++;
 			}
+			else
+			{
+				scheduleExpiration(session);
+			}
 		}
 
-		logger.debug("Purged {}/{} expired sessions in {}", countExpiredSessions, sessionsToCheck.size(), stopwatch);
+		logger.info("Swept {} stored sessions, {} were expired, in {}", sessionIds.size(), countExpiredSessions, stopwatch);
 	}
 }
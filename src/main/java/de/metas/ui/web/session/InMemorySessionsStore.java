@@ -0,0 +1,76 @@
+package de.metas.ui.web.session;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.session.MapSession;
+
+import com.google.common.collect.ImmutableSet;
+
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Keeps the sessions in heap. They are lost on restart.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+/* package */ final class InMemorySessionsStore implements SessionsStore
+{
+	private final ConcurrentHashMap<String, MapSession> sessions = new ConcurrentHashMap<>();
+
+	@Override
+	public MapSession getByIdOrNull(@NonNull final String sessionId)
+	{
+		return sessions.get(sessionId);
+	}
+
+	@Override
+	public void save(@NonNull final MapSession session)
+	{
+		sessions.put(session.getId(), session);
+	}
+
+	@Override
+	public void updateLastAccessedTime(@NonNull final String sessionId, final long lastAccessedTime)
+	{
+		final MapSession session = sessions.get(sessionId);
+		if (session != null)
+		{
+			session.setLastAccessedTime(lastAccessedTime);
+		}
+	}
+
+	@Override
+	public boolean remove(@NonNull final String sessionId)
+	{
+		return sessions.remove(sessionId) != null;
+	}
+
+	@Override
+	public Set<String> getAllSessionIds()
+	{
+		return ImmutableSet.copyOf(sessions.keySet());
+	}
+}
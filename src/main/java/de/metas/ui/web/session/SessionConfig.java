@@ -1,5 +1,8 @@
 package de.metas.ui.web.session;
 
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -17,6 +20,7 @@ import org.springframework.session.SessionRepository;
 import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
 
 import de.metas.logging.LogManager;
+import de.metas.util.Check;
 
 /*
  * #%L
@@ -49,17 +53,39 @@ public class SessionConfig
 
 	private static final String BEANNAME_SessionScheduledExecutorService = "sessionScheduledExecutorService";
 
-	@Value("${metasfresh.session.checkExpiredSessionsRateInMinutes:10}")
+	/** NOTE: checking is cheap, because only the sessions which are about to expire are checked */
+	@Value("${metasfresh.session.checkExpiredSessionsRateInMinutes:1}")
 	private int checkExpiredSessionsRateInMinutes;
 
+	/** If set, the sessions are also written to this directory, so they survive a restart */
+	@Value("${metasfresh.session.store.directory:}")
+	private String sessionsStoreDirectory;
+
+	/** How often the sessions which were only touched (i.e. their session scoped beans were set again) are serialized to check if they changed. See {@link FileSessionsStore}. */
+	@Value("${metasfresh.session.store.touchedSessionsCheckIntervalInSeconds:30}")
+	private int touchedSessionsCheckIntervalInSeconds;
+
+	/**
+	 * How often to check all sessions of a shared sessions store, to find the expired ones which are not scheduled on this node (e.g. because they were scheduled on a node which went down).
+	 * Zero or negative disables it.
+	 */
+	@Value("${metasfresh.session.sharedStore.sweepAllSessionsRateInMinutes:60}")
+	private int sweepAllSessionsRateInMinutes;
+
+	/**
+	 * @param sharedSessionsStore sessions store shared by all nodes, if any
+	 */
 	@Bean
 	public SessionRepository<ExpiringSession> sessionRepository(
 			final SessionProperties properties,
-			final ApplicationEventPublisher applicationEventPublisher)
+			final ApplicationEventPublisher applicationEventPublisher,
+			final Optional<SessionsStore> sharedSessionsStore)
 	{
 		final FixedMapSessionRepository sessionRepository = FixedMapSessionRepository.builder()
 				.applicationEventPublisher(applicationEventPublisher)
 				.defaultMaxInactiveInterval(properties.getTimeout())
+				.sessionsStore(sharedSessionsStore.orElseGet(this::createLocalSessionsStore))
+				.expirationCheckInterval(Duration.ofMinutes(Math.max(checkExpiredSessionsRateInMinutes, 1)))
 				.build();
 		logger.info("Using session repository: {}", sessionRepository);
 
@@ -75,9 +101,35 @@ public class SessionConfig
 			logger.info("Checking expired sessions each {} minutes", checkExpiredSessionsRateInMinutes);
 		}
 
+		if (sharedSessionsStore.isPresent() && sweepAllSessionsRateInMinutes > 0)
+		{
+			final ScheduledExecutorService scheduledExecutor = sessionScheduledExecutorService();
+			scheduledExecutor.scheduleAtFixedRate(
+					sessionRepository::sweepAllStoredSessionsNoFail, // command, don't fail because on failure the task won't be re-scheduled so it's game over
+					sweepAllSessionsRateInMinutes, // initialDelay
+					sweepAllSessionsRateInMinutes, // period
+					TimeUnit.MINUTES // timeUnit
+			);
+			logger.info("Checking all sessions of the shared sessions store each {} minutes", sweepAllSessionsRateInMinutes);
+		}
+
 		return sessionRepository;
 	}
 
+	private SessionsStore createLocalSessionsStore()
+	{
+		if (Check.isEmpty(sessionsStoreDirectory, true))
+		{
+			return new InMemorySessionsStore();
+		}
+		else
+		{
+			return new FileSessionsStore(
+					Paths.get(sessionsStoreDirectory.trim()),
+					Duration.ofSeconds(Math.max(touchedSessionsCheckIntervalInSeconds, 0)));
+		}
+	}
+
 	@Bean(BEANNAME_SessionScheduledExecutorService)
 	public ScheduledExecutorService sessionScheduledExecutorService()
 	{
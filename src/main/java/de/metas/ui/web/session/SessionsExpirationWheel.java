@@ -0,0 +1,141 @@
+package de.metas.ui.web.session;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableSet;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Remembers when the sessions will expire, grouped in time slots (like a timer wheel),
+ * so the expired sessions can be found without checking all sessions.
+ * <p>
+ * A session is reported as expired at most one slot after its expiration time.
+ * <p>
+ * Thread-safe.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@ToString(of = "slotDurationMillis")
+/* package */ final class SessionsExpirationWheel
+{
+	private final long slotDurationMillis;
+
+	private final TreeMap<Long, Set<String>> sessionIdsBySlot = new TreeMap<>();
+	private final HashMap<String, Long> slotsBySessionId = new HashMap<>();
+
+	public SessionsExpirationWheel(@NonNull final Duration slotDuration)
+	{
+		slotDurationMillis = slotDuration.toMillis();
+		if (slotDurationMillis <= 0)
+		{
+			throw new IllegalArgumentException("slotDuration shall be positive: " + slotDuration);
+		}
+	}
+
+	private long toSlot(final long timeMillis)
+	{
+		return Math.floorDiv(timeMillis, slotDurationMillis);
+	}
+
+	/**
+	 * Schedules given session to expire at given time, replacing the previous schedule, if any.
+	 */
+	public synchronized void schedule(@NonNull final String sessionId, final long expiresAtMillis)
+	{
+		final Long slot = toSlot(expiresAtMillis);
+		final Long previousSlot = slotsBySessionId.put(sessionId, slot);
+		if (slot.equals(previousSlot))
+		{
+			return;
+		}
+		if (previousSlot != null)
+		{
+			removeFromSlot(sessionId, previousSlot);
+		}
+
+		sessionIdsBySlot.computeIfAbsent(slot, k -> new HashSet<>()).add(sessionId);
+	}
+
+	public synchronized void unschedule(@NonNull final String sessionId)
+	{
+		final Long slot = slotsBySessionId.remove(sessionId);
+		if (slot != null)
+		{
+			removeFromSlot(sessionId, slot);
+		}
+	}
+
+	private void removeFromSlot(final String sessionId, final Long slot)
+	{
+		final Set<String> sessionIds = sessionIdsBySlot.get(slot);
+		if (sessionIds == null)
+		{
+			return;
+		}
+
+		sessionIds.remove(sessionId);
+		if (sessionIds.isEmpty())
+		{
+			sessionIdsBySlot.remove(slot);
+		}
+	}
+
+	/**
+	 * Removes and returns the sessions which expired until given time.
+	 * The caller shall check if they are really expired (e.g. they could have been accessed in meantime) and schedule them again if not.
+	 */
+	public synchronized Set<String> pollExpired(final long nowMillis)
+	{
+		final Map<Long, Set<String>> expiredSlots = sessionIdsBySlot.headMap(toSlot(nowMillis));
+		if (expiredSlots.isEmpty())
+		{
+			return ImmutableSet.of();
+		}
+
+		final ImmutableSet.Builder<String> expiredSessionIds = ImmutableSet.builder();
+		for (final Iterator<Set<String>> it = expiredSlots.values().iterator(); it.hasNext();)
+		{
+			final Set<String> sessionIds = it.next();
+			expiredSessionIds.addAll(sessionIds);
+			sessionIds.forEach(slotsBySessionId::remove);
+			it.remove();
+		}
+
+		return expiredSessionIds.build();
+	}
+
+	public synchronized int size()
+	{
+		return slotsBySessionId.size();
+	}
+}
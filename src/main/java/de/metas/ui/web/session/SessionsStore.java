@@ -0,0 +1,80 @@
+package de.metas.ui.web.session;
+
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.springframework.session.MapSession;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Where the HTTP sessions of {@link FixedMapSessionRepository} are kept.
+ * <p>
+ * To keep the sessions in a store which is shared by all nodes, provide an implementation of this interface as a spring bean.
+ * Implementations shall be thread-safe.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ * @see InMemorySessionsStore
+ * @see FileSessionsStore
+ */
+public interface SessionsStore
+{
+	/**
+	 * @return the stored session or {@code null}; the caller shall not change it
+	 */
+	@Nullable
+	MapSession getByIdOrNull(String sessionId);
+
+	/**
+	 * Stores the given session. The store might keep the instance, so the caller shall not change it after.
+	 */
+	void save(MapSession session);
+
+	/**
+	 * Stores the given session, whose attributes were only set again with the same objects (e.g. the session scoped beans, which are set again at the end of each request).
+	 * Those objects might have been changed internally, but most of the time they were not.
+	 * <p>
+	 * By default it's saved like a changed session, but the implementations for which saving is expensive may save it less often.
+	 */
+	default void saveTouched(final MapSession session)
+	{
+		save(session);
+	}
+
+	/**
+	 * Lightweight version of {@link #save(MapSession)}, used when only the last accessed time was changed.
+	 */
+	void updateLastAccessedTime(String sessionId, long lastAccessedTime);
+
+	/**
+	 * @return true if the session was removed, false if it did not exist
+	 */
+	boolean remove(String sessionId);
+
+	/**
+	 * @return the IDs of all stored sessions. Called on startup, to find out when they will expire,
+	 *         and rarely for a full sweep when the store is shared by all nodes (see {@link FixedMapSessionRepository#sweepAllStoredSessions()}).
+	 */
+	Set<String> getAllSessionIds();
+}
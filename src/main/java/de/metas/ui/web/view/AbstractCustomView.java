@@ -132,6 +132,12 @@ public abstract class AbstractCustomView<T extends IViewRow> implements IView
 		return rowsData.size();
 	}
 
+	@Override
+	public long getEstimatedRetainedSizeInBytes()
+	{
+		return ViewRowsSizeEstimator.estimateSizeInBytes(rowsData.getTopLevelRows());
+	}
+
 	@Override
 	public void invalidateAll()
 	{
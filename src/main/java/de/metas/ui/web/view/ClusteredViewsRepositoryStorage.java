@@ -0,0 +1,241 @@
+package de.metas.ui.web.view;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import de.metas.logging.LogManager;
+import de.metas.ui.web.window.datatypes.WindowId;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.ToString;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Views storage which allows the views to be used from any node of a cluster, so sticky sessions are not needed and views survive node restarts.
+ * <p>
+ * The views are kept in this node's memory (see {@link DefaultViewsRepositoryStorage}), but the definitions of {@link DefaultView}s
+ * are also saved in a {@link ViewDefinitionsStore} which is shared by all nodes.
+ * When a view is requested and it's not in this node's memory, it is recreated from its definition, reusing its selection from database.
+ * The definition is shared only after the view's default selection was fully materialized, so the other nodes never see a partial selection.
+ * <p>
+ * A view which expires on this node but was recently used on other nodes is only detached (see {@link ViewCloseReason#DETACHED}),
+ * so its selection is kept.
+ * <p>
+ * Views which are not {@link DefaultView}s (i.e. custom views) are kept only in this node's memory.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+// NOTE: don't add it to spring context! i.e. don't annotate it with @Component or similar
+@ToString(of = { "nodeId", "viewDefinitionsStore" })
+public final class ClusteredViewsRepositoryStorage implements IViewsIndexStorage
+{
+	private static final Logger logger = LogManager.getLogger(ClusteredViewsRepositoryStorage.class);
+
+	/** Don't tell the shared store about each view access, but at most once in this interval */
+	private static final long MARK_ACCESSED_INTERVAL_MINUTES = 1;
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final ViewDefinitionsStore viewDefinitionsStore;
+	private final Function<ViewDefinition, IView> viewRecreator;
+	private final Consumer<ViewId> selectionDeleter;
+	private final DefaultViewsRepositoryStorage localViews;
+
+	private final Cache<ViewId, Boolean> viewIdsRecentlyMarkedAccessed = CacheBuilder.newBuilder()
+			.expireAfterWrite(MARK_ACCESSED_INTERVAL_MINUTES, TimeUnit.MINUTES)
+			.build();
+
+	/**
+	 * @param viewRecreator creates the {@link DefaultView} for given definition, reusing its existing selection
+	 * @param selectionDeleter deletes the default selection of a view which is closed while not in this node's memory
+	 * @param maxRetainedSizeInBytes memory budget of this node's views (see {@link DefaultViewsRepositoryStorage})
+	 */
+	@Builder
+	private ClusteredViewsRepositoryStorage(
+			@NonNull final ViewDefinitionsStore viewDefinitionsStore,
+			@NonNull final Function<ViewDefinition, IView> viewRecreator,
+			@NonNull final Consumer<ViewId> selectionDeleter,
+			final long maxRetainedSizeInBytes)
+	{
+		this.viewDefinitionsStore = viewDefinitionsStore;
+		this.viewRecreator = viewRecreator;
+		this.selectionDeleter = selectionDeleter;
+		localViews = new DefaultViewsRepositoryStorage(maxRetainedSizeInBytes, this::getEvictedViewCloseReason);
+	}
+
+	@Override
+	public WindowId getWindowId()
+	{
+		throw new UnsupportedOperationException("windowId not available");
+	}
+
+	/**
+	 * @return the views which are in this node's memory
+	 */
+	public DefaultViewsRepositoryStorage getLocalViews()
+	{
+		return localViews;
+	}
+
+	private ViewCloseReason getEvictedViewCloseReason(final IView view)
+	{
+		final ViewId viewId = view.getViewId();
+
+		final Instant lastAccessByOtherNodes = viewDefinitionsStore.getLastAccessByOtherNodesOrNull(viewId, nodeId);
+		if (lastAccessByOtherNodes != null
+				&& lastAccessByOtherNodes.isAfter(Instant.now().minus(DefaultViewsRepositoryStorage.VIEWS_EXPIRE_AFTER_ACCESS)))
+		{
+			logger.debug("Detaching view {} because it's still used by other nodes", viewId);
+			return ViewCloseReason.DETACHED;
+		}
+
+		viewDefinitionsStore.remove(viewId);
+		return ViewCloseReason.CLEANUP;
+	}
+
+	@Override
+	public void put(@NonNull final IView view)
+	{
+		localViews.put(view);
+
+		if (view instanceof DefaultView)
+		{
+			// NOTE: if the selection is created in two steps, the remaining rows are added in background and a node which would recreate the view
+			// in meantime would count only the first rows. So we share the definition only after the selection is complete.
+			final DefaultView defaultView = (DefaultView)view;
+			defaultView.afterDefaultSelectionFullyMaterialized(() -> saveDefinitionIfNotClosed(defaultView));
+		}
+	}
+
+	private void saveDefinitionIfNotClosed(final DefaultView view)
+	{
+		if (view.isClosed())
+		{
+			return;
+		}
+
+		final ViewId viewId = view.getViewId();
+		viewDefinitionsStore.save(ViewDefinition.ofView(view));
+		viewDefinitionsStore.markAccessed(viewId, nodeId, Instant.now());
+		viewIdsRecentlyMarkedAccessed.put(viewId, Boolean.TRUE);
+
+		// the view might have been closed while we were saving it
+		if (view.isClosed())
+		{
+			viewDefinitionsStore.remove(viewId);
+		}
+	}
+
+	@Override
+	public IView getByIdOrNull(@NonNull final ViewId viewId)
+	{
+		IView view = localViews.getByIdOrNull(viewId);
+		if (view == null)
+		{
+			view = recreateViewOrNull(viewId);
+			if (view == null)
+			{
+				return null;
+			}
+		}
+
+		if (view instanceof DefaultView && viewIdsRecentlyMarkedAccessed.getIfPresent(viewId) == null)
+		{
+			viewDefinitionsStore.markAccessed(viewId, nodeId, Instant.now());
+			viewIdsRecentlyMarkedAccessed.put(viewId, Boolean.TRUE);
+		}
+
+		return view;
+	}
+
+	private synchronized IView recreateViewOrNull(final ViewId viewId)
+	{
+		// check again, maybe it was recreated in meantime
+		final IView existingView = localViews.getByIdOrNull(viewId);
+		if (existingView != null)
+		{
+			return existingView;
+		}
+
+		final ViewDefinition viewDefinition = viewDefinitionsStore.getByIdOrNull(viewId);
+		if (viewDefinition == null)
+		{
+			return null;
+		}
+
+		logger.info("Recreating view {} from its shared definition", viewId);
+		final IView view = viewRecreator.apply(viewDefinition);
+		localViews.put(view);
+		return view;
+	}
+
+	@Override
+	public void closeById(@NonNull final ViewId viewId, @NonNull final ViewCloseAction closeAction)
+	{
+		final IView localView = localViews.getByIdOrNull(viewId);
+		if (localView != null)
+		{
+			if (!localView.isAllowClosingPerUserRequest())
+			{
+				return;
+			}
+
+			viewDefinitionsStore.remove(viewId);
+			localViews.closeById(viewId, closeAction);
+			return;
+		}
+
+		// The view is not in this node's memory.
+		// Don't recreate it just to close it, but delete its default selection directly.
+		// Its ordered selections are local to the nodes which used it and they are deleted when the view expires there.
+		final ViewDefinition viewDefinition = viewDefinitionsStore.getByIdOrNull(viewId);
+		if (viewDefinition == null)
+		{
+			return;
+		}
+
+		viewDefinitionsStore.remove(viewId);
+		selectionDeleter.accept(viewId);
+	}
+
+	@Override
+	public void invalidateView(final ViewId viewId)
+	{
+		localViews.invalidateView(viewId);
+	}
+
+	@Override
+	public Stream<IView> streamAllViews()
+	{
+		return localViews.streamAllViews();
+	}
+}
@@ -7,10 +7,16 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
@@ -38,6 +44,7 @@ import de.metas.ui.web.document.filter.json.JSONDocumentFilter;
 import de.metas.ui.web.document.filter.provider.DocumentFilterDescriptorsProvider;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverterContext;
 import de.metas.ui.web.exceptions.EntityNotFoundException;
+import de.metas.ui.web.view.descriptor.SqlViewKeysetPageKey;
 import de.metas.ui.web.view.event.ViewChangesCollector;
 import de.metas.ui.web.view.json.JSONViewDataType;
 import de.metas.ui.web.window.datatypes.DocumentId;
@@ -56,6 +63,7 @@ import de.metas.ui.web.window.model.sql.SqlOptions;
 import de.metas.util.NumberUtils;
 import de.metas.util.Services;
 import lombok.NonNull;
+import lombok.Value;
 
 /*
  * #%L
@@ -94,6 +102,9 @@ public final class DefaultView implements IEditableView
 
 	private static final Logger logger = LogManager.getLogger(DefaultView.class);
 
+	/** Don't create membership filters (see {@link ViewRowIdsMembershipFilter}) for default selections bigger than this */
+	private static final int MEMBERSHIP_FILTER_MAX_ROWS = 200_000;
+
 	private final IViewDataRepository viewDataRepository;
 
 	private final ViewId viewId;
@@ -106,7 +117,12 @@ public final class DefaultView implements IEditableView
 
 	private final ViewEvaluationCtx viewEvaluationCtx;
 	private final ExtendedMemorizingSupplier<ViewRowIdsOrderedSelections> selectionsRef;
+	/** The selections which were created by {@link #selectionsRef} and not forgotten yet; used to check them without (re)creating them */
+	private final AtomicReference<ViewRowIdsOrderedSelections> loadedSelectionsRef = new AtomicReference<>();
 	private final AtomicBoolean defaultSelectionDeleteBeforeCreate = new AtomicBoolean(false);
+	/** If set, the default selection which already exists in database (e.g. created by another node) is used instead of creating a new one */
+	private final AtomicBoolean defaultSelectionReuseExisting;
+	private final AtomicReference<ViewRowIdsOrderedSelections> invalidatedSelectionsRef = new AtomicReference<>();
 
 	//
 	// Filters
@@ -157,20 +173,49 @@ public final class DefaultView implements IEditableView
 			viewEvaluationCtx = ViewEvaluationCtx.newInstanceFromCurrentContext();
 
 			this.applySecurityRestrictions = builder.isApplySecurityRestrictions();
+			defaultSelectionReuseExisting = new AtomicBoolean(builder.isReuseExistingSelection());
 			selectionsRef = ExtendedMemorizingSupplier.of(() -> {
-				if (defaultSelectionDeleteBeforeCreate.get())
+				final ViewRowIdsOrderedSelections invalidatedSelections = invalidatedSelectionsRef.getAndSet(null);
+				if (invalidatedSelections != null)
 				{
-					viewDataRepository.deleteSelection(viewId);
+					// make sure nobody is still adding rows to the selection we are about to delete
+					invalidatedSelections.awaitFullyMaterializedNoFail();
 				}
 
-				final ViewRowIdsOrderedSelection defaultSelection = viewDataRepository.createOrderedSelection(
-						getViewEvaluationCtx(),
-						viewId,
-						ImmutableList.copyOf(Iterables.concat(stickyFilters, filters)),
-						applySecurityRestrictions,
-						SqlDocumentFilterConverterContext.EMPTY);
+				final ViewRowIdsOrderedSelection existingSelection = defaultSelectionReuseExisting.getAndSet(false)
+						? viewDataRepository.retrieveExistingOrderedSelectionOrNull(getViewEvaluationCtx(), viewId)
+						: null;
+
+				final ViewRowIdsOrderedSelectionAsync defaultSelection;
+				if (existingSelection != null)
+				{
+					logger.debug("Reusing existing selection {}", existingSelection);
+					defaultSelection = ViewRowIdsOrderedSelectionAsync.completed(existingSelection);
+				}
+				else
+				{
+					if (defaultSelectionDeleteBeforeCreate.get())
+					{
+						viewDataRepository.deleteSelection(viewId);
+					}
 
-				return new ViewRowIdsOrderedSelections(defaultSelection);
+					defaultSelection = viewDataRepository.createOrderedSelectionAsync(
+							getViewEvaluationCtx(),
+							viewId,
+							ImmutableList.copyOf(Iterables.concat(stickyFilters, filters)),
+							applySecurityRestrictions,
+							SqlDocumentFilterConverterContext.EMPTY);
+				}
+
+				final ViewRowIdsOrderedSelections selections = new ViewRowIdsOrderedSelections(defaultSelection);
+				if (defaultSelection.getFirstRowsSelection().isSizeApproximate())
+				{
+					// let the frontend know the exact size
+					selections.afterFullyMaterialized(this::notifyFullyChangedIfNotClosed);
+				}
+
+				loadedSelectionsRef.set(selections);
+				return selections;
 			});
 		}
 
@@ -227,6 +272,46 @@ public final class DefaultView implements IEditableView
 		return viewType;
 	}
 
+	@Override
+	public long getEstimatedRetainedSizeInBytes()
+	{
+		if (closed.get())
+		{
+			return 0;
+		}
+
+		// NOTE: consider only what is already loaded. Don't (re)create the selections just to estimate them.
+		final long rowsSize = ViewRowsSizeEstimator.estimateSizeInBytes(cache_rowsById.size(), viewDataRepository.getWidgetTypesByFieldName().size());
+		final ViewRowIdsOrderedSelections selections = peekSelectionsOrNull();
+		return rowsSize + (selections != null ? selections.getEstimatedRetainedSizeInBytes() : 0);
+	}
+
+	/**
+	 * @return current selections or {@code null} if they were not created yet or they were forgotten (e.g. the view was invalidated)
+	 */
+	@Nullable
+	private ViewRowIdsOrderedSelections peekSelectionsOrNull()
+	{
+		return loadedSelectionsRef.get();
+	}
+
+	private ViewRowIdsOrderedSelections forgetSelections()
+	{
+		final ViewRowIdsOrderedSelections selections = selectionsRef.forget();
+		loadedSelectionsRef.compareAndSet(selections, null); // NOTE: don't reset the selections which were created in meantime
+		return selections;
+	}
+
+	boolean isApplySecurityRestrictions()
+	{
+		return applySecurityRestrictions;
+	}
+
+	public Optional<ViewLookupResolutionStats> getLookupResolutionStats()
+	{
+		return viewDataRepository.getLookupResolutionStats(viewId);
+	}
+
 	@Override
 	public ViewProfileId getProfileId()
 	{
@@ -254,6 +339,27 @@ public final class DefaultView implements IEditableView
 		return viewDataRepository.getTableName();
 	}
 
+	@Override
+	public Optional<Set<String>> getNotifyRecordsChangedTableNames()
+	{
+		final Optional<Set<String>> advisorTableNames = viewInvalidationAdvisor.getDependsOnTableNames();
+		if (!advisorTableNames.isPresent())
+		{
+			return Optional.empty();
+		}
+
+		final String tableName = getTableNameOrNull();
+		if (tableName == null)
+		{
+			return advisorTableNames;
+		}
+
+		return Optional.of(ImmutableSet.<String> builder()
+				.add(tableName)
+				.addAll(advisorTableNames.get())
+				.build());
+	}
+
 	@Override
 	public long size()
 	{
@@ -261,6 +367,29 @@ public final class DefaultView implements IEditableView
 		return defaultSelection.getSize();
 	}
 
+	@Override
+	public boolean isSizeApproximate()
+	{
+		final ViewRowIdsOrderedSelection defaultSelection = selectionsRef.get().getDefaultSelection();
+		return defaultSelection.isSizeApproximate();
+	}
+
+	/**
+	 * Calls given runnable after the default selection was successfully materialized, i.e. right away,
+	 * unless the remaining rows are still added in background (see {@link #isSizeApproximate()}).
+	 * <p>
+	 * NOTE: the default selection is created if it was not already created.
+	 */
+	public void afterDefaultSelectionFullyMaterialized(@NonNull final Runnable runnable)
+	{
+		selectionsRef.get().afterFullyMaterializedSuccessfully(runnable);
+	}
+
+	public boolean isClosed()
+	{
+		return closed.get();
+	}
+
 	@Override
 	public List<DocumentQueryOrderBy> getDefaultOrderBys()
 	{
@@ -315,12 +444,30 @@ public final class DefaultView implements IEditableView
 			return; // already closed
 		}
 
-		final ViewRowIdsOrderedSelections selections = selectionsRef.forget();
-		viewDataRepository.scheduleDeleteSelections(selections.getSelectionIds());
+		final ViewRowIdsOrderedSelections selections = forgetSelections();
+		if (reason == ViewCloseReason.DETACHED)
+		{
+			// the default selection is still used by the other nodes, delete only our local ones (e.g. the ordered selections)
+			selections.afterFullyMaterialized(() -> viewDataRepository.scheduleDeleteSelections(selections.getNonDefaultSelectionIds()));
+		}
+		else
+		{
+			selections.afterFullyMaterialized(() -> viewDataRepository.scheduleDeleteSelections(selections.getSelectionIds()));
+		}
 
 		logger.debug("View closed with reason={}: {}", reason, this);
 	}
 
+	private void notifyFullyChangedIfNotClosed()
+	{
+		if (closed.get())
+		{
+			return;
+		}
+
+		ViewChangesCollector.getCurrentOrAutoflush().collectFullyChanged(this);
+	}
+
 	@Override
 	public void invalidateAll()
 	{
@@ -337,10 +484,13 @@ public final class DefaultView implements IEditableView
 	public void invalidateSelection()
 	{
 		defaultSelectionDeleteBeforeCreate.set(true);
-		final ViewRowIdsOrderedSelections selections = selectionsRef.forget();
+		final ViewRowIdsOrderedSelections selections = forgetSelections();
 		if (selections != null)
 		{
-			viewDataRepository.scheduleDeleteSelections(selections.getSelectionIds());
+			invalidatedSelectionsRef.set(selections);
+			// don't let other views reuse the sorted copies of our old rows
+			viewDataRepository.evictSharedSelectionsDerivedFrom(selections.getDefaultSelection());
+			selections.afterFullyMaterialized(() -> viewDataRepository.scheduleDeleteSelections(selections.getSelectionIds()));
 		}
 
 		invalidateAll();
@@ -372,9 +522,21 @@ public final class DefaultView implements IEditableView
 		checkChangedRows();
 
 		final ViewEvaluationCtx evalCtx = getViewEvaluationCtx();
-		final ViewRowIdsOrderedSelection orderedSelection = getOrderedSelection(orderBy.toDocumentQueryOrderByList());
+		final List<DocumentQueryOrderBy> orderBys = orderBy.toDocumentQueryOrderByList();
 
-		final List<IViewRow> rows = viewDataRepository.retrievePage(evalCtx, orderedSelection, firstRow, pageLength);
+		final List<IViewRow> rows;
+		final List<DocumentQueryOrderBy> orderBysEffective;
+		if (isKeysetPagination(orderBys))
+		{
+			rows = retrievePageByKeyset(orderBys, firstRow, pageLength);
+			orderBysEffective = orderBys;
+		}
+		else
+		{
+			final ViewRowIdsOrderedSelection orderedSelection = getOrderedSelection(orderBys, firstRow + pageLength);
+			rows = viewDataRepository.retrievePage(evalCtx, orderedSelection, firstRow, pageLength);
+			orderBysEffective = orderedSelection.getOrderBys();
+		}
 
 		// Add to cache
 		rows.forEach(row -> cache_rowsById.put(row.getId(), row));
@@ -383,12 +545,50 @@ public final class DefaultView implements IEditableView
 				.view(this)
 				.firstRow(firstRow)
 				.pageLength(pageLength)
-				.orderBys(orderedSelection.getOrderBys())
+				.orderBys(orderBysEffective)
 				.rows(rows)
 				.columnInfos(extractViewResultColumns(rows))
 				.build();
 	}
 
+	/**
+	 * @return true if the page shall be fetched directly from default selection, seeking by last seen sort key, instead of creating a new ordered selection
+	 */
+	private boolean isKeysetPagination(final List<DocumentQueryOrderBy> orderBys)
+	{
+		if (orderBys == null || orderBys.isEmpty())
+		{
+			return false;
+		}
+
+		final ViewRowIdsOrderedSelection defaultSelection = selectionsRef.get().getDefaultSelection();
+		if (Objects.equals(defaultSelection.getOrderBys(), orderBys))
+		{
+			return false;
+		}
+
+		return viewDataRepository.isKeysetPaginationEnabled(defaultSelection, orderBys);
+	}
+
+	private List<IViewRow> retrievePageByKeyset(
+			final List<DocumentQueryOrderBy> orderBys,
+			final int firstRow,
+			final int pageLength)
+	{
+		final ViewRowIdsOrderedSelections selections = getSelections();
+		final ViewRowIdsOrderedSelection defaultSelection = selections.getDefaultSelection();
+
+		final SqlViewKeysetPageKey afterKey = firstRow > 0 ? selections.getKeysetPageKey(defaultSelection, orderBys, firstRow) : null;
+		final ViewRowsKeysetPage page = viewDataRepository.retrievePageByKeyset(getViewEvaluationCtx(), defaultSelection, orderBys, afterKey, firstRow, pageLength);
+
+		if (page.getLastKey() != null)
+		{
+			selections.putKeysetPageKey(defaultSelection, orderBys, firstRow + page.getCountRowsRead(), page.getLastKey());
+		}
+
+		return page.getRows();
+	}
+
 	private List<ViewResultColumn> extractViewResultColumns(@NonNull final List<IViewRow> rows)
 	{
 		if (rows.isEmpty())
@@ -443,15 +643,30 @@ public final class DefaultView implements IEditableView
 		checkChangedRows();
 
 		final ViewEvaluationCtx evalCtx = getViewEvaluationCtx();
-		final ViewRowIdsOrderedSelection orderedSelection = getOrderedSelection(orderBy.toDocumentQueryOrderByList());
+		final List<DocumentQueryOrderBy> orderBys = orderBy.toDocumentQueryOrderByList();
 
-		final List<DocumentId> rowIds = viewDataRepository.retrieveRowIdsByPage(evalCtx, orderedSelection, firstRow, pageLength);
+		final List<DocumentId> rowIds;
+		final List<DocumentQueryOrderBy> orderBysEffective;
+		if (isKeysetPagination(orderBys))
+		{
+			rowIds = retrievePageByKeyset(orderBys, firstRow, pageLength)
+					.stream()
+					.map(IViewRow::getId)
+					.collect(ImmutableList.toImmutableList());
+			orderBysEffective = orderBys;
+		}
+		else
+		{
+			final ViewRowIdsOrderedSelection orderedSelection = getOrderedSelection(orderBys, firstRow + pageLength);
+			rowIds = viewDataRepository.retrieveRowIdsByPage(evalCtx, orderedSelection, firstRow, pageLength);
+			orderBysEffective = orderedSelection.getOrderBys();
+		}
 
 		return ViewResult.builder()
 				.view(this)
 				.firstRow(firstRow)
 				.pageLength(pageLength)
-				.orderBys(orderedSelection.getOrderBys())
+				.orderBys(orderBysEffective)
 				.rowIds(rowIds)
 				.build();
 	}
@@ -472,13 +687,33 @@ public final class DefaultView implements IEditableView
 
 	private IViewRow retrieveRowById(final DocumentId rowId)
 	{
+		getSelections(); // make sure the row is already in selection
 		final ViewEvaluationCtx evalCtx = getViewEvaluationCtx();
 		return viewDataRepository.retrieveById(evalCtx, getViewId(), rowId);
 	}
 
-	private ViewRowIdsOrderedSelection getOrderedSelection(final List<DocumentQueryOrderBy> orderBys)
+	/**
+	 * @return view's selections, making sure the default selection is fully materialized
+	 */
+	private ViewRowIdsOrderedSelections getSelections()
+	{
+		final ViewRowIdsOrderedSelections selections = selectionsRef.get();
+		selections.awaitFullyMaterialized();
+		return selections;
+	}
+
+	/**
+	 * @param rowsCount how many rows are needed, i.e. the last row of requested page
+	 */
+	private ViewRowIdsOrderedSelection getOrderedSelection(final List<DocumentQueryOrderBy> orderBys, final int rowsCount)
 	{
-		return selectionsRef.get()
+		final ViewRowIdsOrderedSelections selections = selectionsRef.get();
+		if (!selections.isMaterialized(orderBys, rowsCount))
+		{
+			selections.awaitFullyMaterialized();
+		}
+
+		return selections
 				.computeIfAbsent(
 						orderBys,
 						(defaultSelection, orderBysImmutable) -> viewDataRepository.createOrderedSelectionFromSelection(getViewEvaluationCtx(), defaultSelection, orderBysImmutable));
@@ -487,6 +722,7 @@ public final class DefaultView implements IEditableView
 	@Override
 	public String getSqlWhereClause(final DocumentIdsSelection rowIds, final SqlOptions sqlOpts)
 	{
+		getSelections(); // make sure the selection is complete
 		return viewDataRepository.getSqlWhereClause(getViewId(), getAllFilters(), rowIds, sqlOpts);
 	}
 
@@ -552,13 +788,20 @@ public final class DefaultView implements IEditableView
 	@Override
 	public <T> List<T> retrieveModelsByIds(final DocumentIdsSelection rowIds, final Class<T> modelClass)
 	{
+		getSelections(); // make sure the selection is complete
 		return viewDataRepository.retrieveModelsByIds(getViewId(), rowIds, modelClass);
 	}
 
 	@Override
 	public void notifyRecordsChanged(final TableRecordReferenceSet recordRefs)
 	{
-		final Set<DocumentId> rowIds = viewInvalidationAdvisor.findAffectedRowIds(recordRefs, this);
+		final Set<DocumentId> affectedRowIds = viewInvalidationAdvisor.findAffectedRowIds(recordRefs, this);
+		if (affectedRowIds.isEmpty())
+		{
+			return;
+		}
+
+		final Set<DocumentId> rowIds = retainRowIdsInSelection(affectedRowIds);
 		if (rowIds.isEmpty())
 		{
 			return;
@@ -575,10 +818,57 @@ public final class DefaultView implements IEditableView
 		cache_rowsById.removeAll(rowIds);
 
 		// Collect event
-		// TODO: check which rowIds are contained in this view and fire events only for those
 		ViewChangesCollector.getCurrentOrAutoflush().collectRowsChanged(this, rowIds);
 	}
 
+	/**
+	 * @return those of given row IDs which are contained in view's default selection.
+	 *         If the default selection is not currently loaded (e.g. it was invalidated) or not yet fully materialized, all given row IDs are returned.
+	 */
+	private Set<DocumentId> retainRowIdsInSelection(final Set<DocumentId> rowIds)
+	{
+		if (closed.get())
+		{
+			return ImmutableSet.of();
+		}
+
+		// NOTE: don't (re)create the selection just to filter the change event
+		final ViewRowIdsOrderedSelections selections = peekSelectionsOrNull();
+		if (selections == null || !selections.isFullyMaterialized())
+		{
+			return rowIds;
+		}
+
+		final ViewRowIdsMembershipFilter membershipFilter = selections.getMembershipFilterOrNull(this::createMembershipFilterOrNull);
+		final Set<DocumentId> rowIdsMaybeInSelection = membershipFilter != null ? membershipFilter.retainMightContain(rowIds) : rowIds;
+		if (rowIdsMaybeInSelection.isEmpty())
+		{
+			return ImmutableSet.of();
+		}
+
+		// Exact check
+		return viewDataRepository.retrieveRowIdsContainedIn(selections.getDefaultSelection(), DocumentIdsSelection.of(rowIdsMaybeInSelection));
+	}
+
+	private ViewRowIdsMembershipFilter createMembershipFilterOrNull(final ViewRowIdsOrderedSelection defaultSelection)
+	{
+		if (defaultSelection.getSize() > MEMBERSHIP_FILTER_MAX_ROWS)
+		{
+			return null;
+		}
+
+		try
+		{
+			final Set<DocumentId> allRowIds = viewDataRepository.retrieveRowIdsContainedIn(defaultSelection, DocumentIdsSelection.ALL);
+			return ViewRowIdsMembershipFilter.ofRowIds(allRowIds);
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("Failed creating the membership filter for {}. Checking the rows in database.", defaultSelection, ex);
+			return null;
+		}
+	}
+
 	private void checkChangedRows()
 	{
 		if (!refreshViewOnChangeEvents)
@@ -591,9 +881,10 @@ public final class DefaultView implements IEditableView
 
 	private ViewRowIdsOrderedSelection checkChangedRows(final Set<DocumentId> rowIds)
 	{
-		return selectionsRef
-				.get()
-				.computeDefaultSelection(defaultSelection -> viewDataRepository.removeRowIdsNotMatchingFilters(defaultSelection, getAllFilters(), rowIds));
+		return getSelections()
+				.computeDefaultSelection(
+						defaultSelection -> viewDataRepository.removeRowIdsNotMatchingFilters(defaultSelection, getAllFilters(), rowIds),
+						viewDataRepository::scheduleDeleteSelections);
 	}
 
 	@Override
@@ -698,12 +989,144 @@ public final class DefaultView implements IEditableView
 
 	private static final class ViewRowIdsOrderedSelections
 	{
+		private static final int KEYSET_PAGE_KEYS_MAX_SIZE = 100;
+		private static final long ESTIMATED_SELECTION_OR_PAGE_KEY_SIZE_IN_BYTES = 500;
+
 		private ViewRowIdsOrderedSelection defaultSelection;
 		private final HashMap<ImmutableList<DocumentQueryOrderBy>, ViewRowIdsOrderedSelection> selectionsByOrderBys = new HashMap<>();
 
-		public ViewRowIdsOrderedSelections(@NonNull final ViewRowIdsOrderedSelection defaultSelection)
+		/** How many rows of default selection were materialized before {@link #fullyMaterialized} completes */
+		private final int firstRowsCount;
+		private final CompletableFuture<Void> fullyMaterialized;
+
+		/** Membership filter of the default selection; created on demand, after the default selection was fully materialized */
+		private final Object membershipFilterLock = new Object();
+		private boolean membershipFilterCreated = false;
+		private volatile ViewRowIdsMembershipFilter membershipFilter;
+
+		/** Keyset pagination keys of default selection, indexed by (orderBys, firstRow of the page which starts right after the key) */
+		private final LinkedHashMap<KeysetPageKeyId, SqlViewKeysetPageKey> keysetPageKeys = new LinkedHashMap<KeysetPageKeyId, SqlViewKeysetPageKey>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<KeysetPageKeyId, SqlViewKeysetPageKey> eldest)
+			{
+				return size() > KEYSET_PAGE_KEYS_MAX_SIZE;
+			}
+		};
+
+		public ViewRowIdsOrderedSelections(@NonNull final ViewRowIdsOrderedSelectionAsync defaultSelection)
+		{
+			this.defaultSelection = defaultSelection.getFirstRowsSelection();
+			this.firstRowsCount = defaultSelection.getFirstRowsCount();
+			this.fullyMaterialized = defaultSelection.getFullSelection().thenAccept(this::onFullyMaterialized);
+		}
+
+		private synchronized void onFullyMaterialized(@NonNull final ViewRowIdsOrderedSelection fullSelection)
+		{
+			if (defaultSelection.getSelectionId().equals(fullSelection.getSelectionId()))
+			{
+				this.defaultSelection = fullSelection;
+				keysetPageKeys.clear();
+			}
+		}
+
+		/**
+		 * Waits until the default selection is fully materialized.
+		 * <p>
+		 * NOTE: don't call it while holding this object's lock, because completing the materialization needs it.
+		 */
+		public void awaitFullyMaterialized()
+		{
+			try
+			{
+				fullyMaterialized.join();
+			}
+			catch (final CompletionException ex)
+			{
+				throw AdempiereException.wrapIfNeeded(ex.getCause() != null ? ex.getCause() : ex);
+			}
+		}
+
+		public void awaitFullyMaterializedNoFail()
+		{
+			try
+			{
+				awaitFullyMaterialized();
+			}
+			catch (final Exception ex)
+			{
+				logger.warn("Failed materializing the default selection {}. Ignored.", defaultSelection, ex);
+			}
+		}
+
+		public void afterFullyMaterialized(@NonNull final Runnable runnable)
 		{
-			this.defaultSelection = defaultSelection;
+			fullyMaterialized.whenComplete((result, ex) -> runnable.run());
+		}
+
+		public void afterFullyMaterializedSuccessfully(@NonNull final Runnable runnable)
+		{
+			fullyMaterialized.thenRun(runnable);
+		}
+
+		public boolean isFullyMaterialized()
+		{
+			return fullyMaterialized.isDone() && !fullyMaterialized.isCompletedExceptionally();
+		}
+
+		/**
+		 * Gets the membership filter of the default selection, creating it on first call.
+		 * <p>
+		 * NOTE: rows are only removed from the default selection (and never added), so the filter remains valid for the lifetime of this object.
+		 *
+		 * @param factory creates the membership filter for given (fully materialized) default selection; might return null if no filter can be created
+		 */
+		@Nullable
+		public ViewRowIdsMembershipFilter getMembershipFilterOrNull(@NonNull final Function<ViewRowIdsOrderedSelection, ViewRowIdsMembershipFilter> factory)
+		{
+			// NOTE: not using this object's lock because creating the filter might take a while and it shall not block the page fetching
+			synchronized (membershipFilterLock)
+			{
+				if (!membershipFilterCreated)
+				{
+					membershipFilter = factory.apply(getDefaultSelection());
+					membershipFilterCreated = true;
+				}
+				return membershipFilter;
+			}
+		}
+
+		/**
+		 * @return estimated heap retained by this object (the selections themselves are in database)
+		 */
+		public long getEstimatedRetainedSizeInBytes()
+		{
+			final ViewRowIdsMembershipFilter membershipFilter = this.membershipFilter;
+			final long membershipFilterSize = membershipFilter != null ? membershipFilter.getEstimatedSizeInBytes() : 0;
+
+			final int keysetPageKeysCount;
+			synchronized (this)
+			{
+				keysetPageKeysCount = keysetPageKeys.size() + selectionsByOrderBys.size();
+			}
+
+			return membershipFilterSize + keysetPageKeysCount * ESTIMATED_SELECTION_OR_PAGE_KEY_SIZE_IN_BYTES;
+		}
+
+		/**
+		 * @return true if the first <code>rowsCount</code> rows, ordered by given order bys, are already materialized
+		 */
+		public synchronized boolean isMaterialized(final List<DocumentQueryOrderBy> orderBys, final int rowsCount)
+		{
+			if (fullyMaterialized.isDone())
+			{
+				return true;
+			}
+
+			final boolean defaultOrderBys = orderBys == null || orderBys.isEmpty() || Objects.equals(defaultSelection.getOrderBys(), orderBys);
+			return defaultOrderBys && rowsCount <= firstRowsCount;
 		}
 
 		public synchronized ViewRowIdsOrderedSelection getDefaultSelection()
@@ -711,7 +1134,12 @@ public final class DefaultView implements IEditableView
 			return defaultSelection;
 		}
 
-		public synchronized ViewRowIdsOrderedSelection computeDefaultSelection(@NonNull final UnaryOperator<ViewRowIdsOrderedSelection> mapper)
+		/**
+		 * @param droppedSelectionIdsConsumer called with the ordered selections which are no longer valid, because the default selection was changed
+		 */
+		public synchronized ViewRowIdsOrderedSelection computeDefaultSelection(
+				@NonNull final UnaryOperator<ViewRowIdsOrderedSelection> mapper,
+				@NonNull final Consumer<Set<String>> droppedSelectionIdsConsumer)
 		{
 			final ViewRowIdsOrderedSelection newDefaultSelection = mapper.apply(defaultSelection);
 			if (newDefaultSelection == null)
@@ -722,7 +1150,15 @@ public final class DefaultView implements IEditableView
 			if (!defaultSelection.equals(newDefaultSelection))
 			{
 				this.defaultSelection = newDefaultSelection;
+
+				// NOTE: the ordered selections might be shared with other views, so we are not changing them but we drop them and create new ones when needed
+				final ImmutableSet<String> droppedSelectionIds = selectionsByOrderBys.values()
+						.stream()
+						.map(ViewRowIdsOrderedSelection::getSelectionId)
+						.collect(ImmutableSet.toImmutableSet());
 				selectionsByOrderBys.clear();
+				keysetPageKeys.clear();
+				droppedSelectionIdsConsumer.accept(droppedSelectionIds);
 			}
 
 			return defaultSelection;
@@ -743,6 +1179,33 @@ public final class DefaultView implements IEditableView
 			return selectionsByOrderBys.computeIfAbsent(ImmutableList.copyOf(orderBys), orderBysImmutable -> factory.create(defaultSelection, orderBysImmutable));
 		}
 
+		public synchronized SqlViewKeysetPageKey getKeysetPageKey(
+				@NonNull final ViewRowIdsOrderedSelection forDefaultSelection,
+				@NonNull final List<DocumentQueryOrderBy> orderBys,
+				final int firstRow)
+		{
+			if (!defaultSelection.equals(forDefaultSelection))
+			{
+				return null;
+			}
+
+			return keysetPageKeys.get(KeysetPageKeyId.of(orderBys, firstRow));
+		}
+
+		public synchronized void putKeysetPageKey(
+				@NonNull final ViewRowIdsOrderedSelection forDefaultSelection,
+				@NonNull final List<DocumentQueryOrderBy> orderBys,
+				final int firstRow,
+				@NonNull final SqlViewKeysetPageKey key)
+		{
+			if (!defaultSelection.equals(forDefaultSelection))
+			{
+				return; // default selection changed in meantime => key is no longer valid
+			}
+
+			keysetPageKeys.put(KeysetPageKeyId.of(orderBys, firstRow), key);
+		}
+
 		public synchronized ImmutableSet<String> getSelectionIds()
 		{
 			final ImmutableSet.Builder<String> selectionIds = ImmutableSet.builder();
@@ -754,6 +1217,23 @@ public final class DefaultView implements IEditableView
 
 			return selectionIds.build();
 		}
+
+		public synchronized ImmutableSet<String> getNonDefaultSelectionIds()
+		{
+			final String defaultSelectionId = defaultSelection.getSelectionId();
+			return getSelectionIds()
+					.stream()
+					.filter(selectionId -> !selectionId.equals(defaultSelectionId))
+					.collect(ImmutableSet.toImmutableSet());
+		}
+	}
+
+	@Value(staticConstructor = "of")
+	private static class KeysetPageKeyId
+	{
+		@NonNull
+		List<DocumentQueryOrderBy> orderBys;
+		int firstRow;
 	}
 
 	//
@@ -778,6 +1258,7 @@ public final class DefaultView implements IEditableView
 		private IViewInvalidationAdvisor viewInvalidationAdvisor = DefaultViewInvalidationAdvisor.instance;
 
 		private boolean applySecurityRestrictions = true;
+		private boolean reuseExistingSelection = false;
 
 		private Builder(@NonNull final IViewDataRepository viewDataRepository)
 		{
@@ -960,5 +1441,20 @@ public final class DefaultView implements IEditableView
 		{
 			return applySecurityRestrictions;
 		}
+
+		/**
+		 * @param reuseExistingSelection if true, the view will use the selection which already exists in database for its view ID, if any.
+		 *            Useful when recreating a view which was created on another node (see {@link ClusteredViewsRepositoryStorage}).
+		 */
+		public Builder reuseExistingSelection(final boolean reuseExistingSelection)
+		{
+			this.reuseExistingSelection = reuseExistingSelection;
+			return this;
+		}
+
+		private boolean isReuseExistingSelection()
+		{
+			return reuseExistingSelection;
+		}
 	}
 }
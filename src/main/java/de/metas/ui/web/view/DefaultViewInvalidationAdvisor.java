@@ -1,5 +1,6 @@
 package de.metas.ui.web.view;
 
+import java.util.Optional;
 import java.util.Set;
 
 import org.adempiere.util.lang.impl.TableRecordReferenceSet;
@@ -60,4 +61,11 @@ public final class DefaultViewInvalidationAdvisor implements IViewInvalidationAd
 				.collect(ImmutableSet.toImmutableSet());
 	}
 
+	@Override
+	public Optional<Set<String>> getDependsOnTableNames()
+	{
+		// only view's own table
+		return Optional.of(ImmutableSet.of());
+	}
+
 }
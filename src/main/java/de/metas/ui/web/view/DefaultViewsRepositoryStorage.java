@@ -1,12 +1,29 @@
 package de.metas.ui.web.view;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import org.adempiere.util.lang.impl.TableRecordReferenceSet;
+import org.slf4j.Logger;
+
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
 
+import de.metas.logging.LogManager;
+import de.metas.ui.web.session.UserSession;
 import de.metas.ui.web.view.event.ViewChangesCollector;
 import de.metas.ui.web.window.datatypes.WindowId;
 import lombok.NonNull;
@@ -36,10 +53,69 @@ import lombok.NonNull;
 // NOTE: don't add it to spring context! i.e. don't annotate it with @Component or similar
 public final class DefaultViewsRepositoryStorage implements IViewsIndexStorage
 {
+	private static final Logger logger = LogManager.getLogger(DefaultViewsRepositoryStorage.class);
+
+	/** Don't check the memory budget on each view access but at most once in this interval */
+	private static final long CHECK_MEMORY_BUDGET_ON_ACCESS_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+	/** Views which were not accessed for this long are closed */
+	static final Duration VIEWS_EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+
 	private final Cache<ViewId, IView> views = CacheBuilder.newBuilder()
-			.expireAfterAccess(1, TimeUnit.HOURS)
+			.expireAfterAccess(VIEWS_EXPIRE_AFTER_ACCESS.toMillis(), TimeUnit.MILLISECONDS)
 			.removalListener(notification -> onViewRemoved(notification))
 			.build();
+	private final ViewsByTableNameIndex viewsByTableName = new ViewsByTableNameIndex();
+
+	/** memory budget of all views; zero or negative means no budget */
+	private final long maxRetainedSizeInBytes;
+	/** decides how the views which were evicted (expired, memory budget exceeded) shall be closed */
+	private final Function<IView, ViewCloseReason> evictedViewCloseReasonProvider;
+	/** provides the views' last access time */
+	private final Supplier<Instant> clock;
+	private final ConcurrentHashMap<ViewId, ViewEntryInfo> viewEntryInfos = new ConcurrentHashMap<>();
+	/** views which are removed because the memory budget was exceeded */
+	private final Set<ViewId> viewIdsEvictedByMemoryBudget = ConcurrentHashMap.newKeySet();
+	private final AtomicLong lastMemoryBudgetCheckMillis = new AtomicLong(0);
+	private final LongAdder viewsEvictedByMemoryBudgetCount = new LongAdder();
+
+	/**
+	 * Creates a storage without memory budget.
+	 */
+	public DefaultViewsRepositoryStorage()
+	{
+		this(0);
+	}
+
+	/**
+	 * @param maxRetainedSizeInBytes estimated heap which all views together may retain (see {@link IView#getEstimatedRetainedSizeInBytes()}).
+	 *            If exceeded, the least recently used views are closed. Zero or negative means no budget.
+	 */
+	public DefaultViewsRepositoryStorage(final long maxRetainedSizeInBytes)
+	{
+		this(maxRetainedSizeInBytes, view -> ViewCloseReason.CLEANUP);
+	}
+
+	/**
+	 * @param evictedViewCloseReasonProvider decides how a view which was evicted (i.e. not closed per user request) shall be closed
+	 */
+	DefaultViewsRepositoryStorage(
+			final long maxRetainedSizeInBytes,
+			@NonNull final Function<IView, ViewCloseReason> evictedViewCloseReasonProvider)
+	{
+		this(maxRetainedSizeInBytes, evictedViewCloseReasonProvider, Instant::now);
+	}
+
+	@VisibleForTesting
+	DefaultViewsRepositoryStorage(
+			final long maxRetainedSizeInBytes,
+			@NonNull final Function<IView, ViewCloseReason> evictedViewCloseReasonProvider,
+			@NonNull final Supplier<Instant> clock)
+	{
+		this.maxRetainedSizeInBytes = maxRetainedSizeInBytes;
+		this.evictedViewCloseReasonProvider = evictedViewCloseReasonProvider;
+		this.clock = clock;
+	}
 
 	@Override
 	public WindowId getWindowId()
@@ -50,20 +126,147 @@ public final class DefaultViewsRepositoryStorage implements IViewsIndexStorage
 	private void onViewRemoved(final RemovalNotification<Object, Object> notification)
 	{
 		final IView view = (IView)notification.getValue();
-		final ViewCloseReason closeReason = ViewCloseReason.fromCacheEvictedFlag(notification.wasEvicted());
+		viewsByTableName.remove(view);
+
+		final ViewId viewId = view.getViewId();
+		viewEntryInfos.remove(viewId);
+
+		final boolean evictedByMemoryBudget = viewIdsEvictedByMemoryBudget.remove(viewId);
+		final ViewCloseReason closeReason = evictedByMemoryBudget || notification.wasEvicted()
+				? evictedViewCloseReasonProvider.apply(view)
+				: ViewCloseReason.USER_REQUEST;
 		view.close(closeReason);
 	}
 
 	@Override
 	public void put(@NonNull final IView view)
 	{
-		views.put(view.getViewId(), view);
+		final ViewId viewId = view.getViewId();
+		viewEntryInfos.put(viewId, new ViewEntryInfo(getCurrentUserNameOrNull(), clock.get()));
+		views.put(viewId, view);
+		viewsByTableName.add(view);
+
+		evictViewsIfMemoryBudgetExceeded(viewId);
+	}
+
+	private static String getCurrentUserNameOrNull()
+	{
+		final UserSession userSession = UserSession.getCurrentOrNull();
+		return userSession != null && userSession.isLoggedIn() ? userSession.getUserName() : null;
 	}
 
 	@Override
 	public IView getByIdOrNull(@NonNull final ViewId viewId)
 	{
-		return views.getIfPresent(viewId);
+		final IView view = views.getIfPresent(viewId);
+		if (view == null)
+		{
+			return null;
+		}
+
+		final ViewEntryInfo entryInfo = viewEntryInfos.get(viewId);
+		if (entryInfo != null)
+		{
+			entryInfo.markAccessed(clock.get());
+		}
+
+		// The views are growing while they are used (e.g. rows are loaded in cache), so check the budget from time to time
+		final long nowMillis = System.currentTimeMillis();
+		final long lastCheckMillis = lastMemoryBudgetCheckMillis.get();
+		if (nowMillis - lastCheckMillis >= CHECK_MEMORY_BUDGET_ON_ACCESS_INTERVAL_MILLIS
+				&& lastMemoryBudgetCheckMillis.compareAndSet(lastCheckMillis, nowMillis))
+		{
+			evictViewsIfMemoryBudgetExceeded(viewId);
+		}
+
+		return view;
+	}
+
+	private boolean isMemoryBudgetEnabled()
+	{
+		return maxRetainedSizeInBytes > 0;
+	}
+
+	/**
+	 * Closes the least recently used views until the estimated size of all views fits the memory budget.
+	 *
+	 * @param viewIdToKeep view which shall not be evicted, i.e. the one which is currently used
+	 */
+	private synchronized void evictViewsIfMemoryBudgetExceeded(@NonNull final ViewId viewIdToKeep)
+	{
+		if (!isMemoryBudgetEnabled())
+		{
+			return;
+		}
+
+		final List<ViewMemoryUsage.ViewInfo> viewInfos = getViewInfos();
+		long totalSizeInBytes = viewInfos.stream().mapToLong(ViewMemoryUsage.ViewInfo::getEstimatedSizeInBytes).sum();
+		if (totalSizeInBytes <= maxRetainedSizeInBytes)
+		{
+			return;
+		}
+
+		final List<ViewMemoryUsage.ViewInfo> evictionCandidates = viewInfos.stream()
+				.filter(viewInfo -> !viewIdToKeep.equals(viewInfo.getViewId()))
+				.sorted(Comparator.comparing(ViewMemoryUsage.ViewInfo::getLastAccess))
+				.collect(ImmutableList.toImmutableList());
+		for (final ViewMemoryUsage.ViewInfo viewInfo : evictionCandidates)
+		{
+			if (totalSizeInBytes <= maxRetainedSizeInBytes)
+			{
+				break;
+			}
+
+			final ViewId viewId = viewInfo.getViewId();
+			logger.info("Closing view {} (owner={}, estimated size={} bytes) because the views memory budget of {} bytes was exceeded",
+					viewId, viewInfo.getOwner(), viewInfo.getEstimatedSizeInBytes(), maxRetainedSizeInBytes);
+
+			viewIdsEvictedByMemoryBudget.add(viewId);
+			views.invalidate(viewId);
+			viewsEvictedByMemoryBudgetCount.increment();
+
+			totalSizeInBytes -= viewInfo.getEstimatedSizeInBytes();
+		}
+	}
+
+	private List<ViewMemoryUsage.ViewInfo> getViewInfos()
+	{
+		return views.asMap()
+				.values()
+				.stream()
+				.map(this::toViewInfo)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private ViewMemoryUsage.ViewInfo toViewInfo(final IView view)
+	{
+		final ViewId viewId = view.getViewId();
+		final ViewEntryInfo entryInfo = viewEntryInfos.get(viewId);
+
+		return ViewMemoryUsage.ViewInfo.builder()
+				.viewId(viewId)
+				.owner(entryInfo != null ? entryInfo.getOwner() : null)
+				.estimatedSizeInBytes(view.getEstimatedRetainedSizeInBytes())
+				.lastAccess(entryInfo != null ? entryInfo.getLastAccess() : Instant.EPOCH)
+				.build();
+	}
+
+	/**
+	 * @return estimated memory usage of the views, biggest views first
+	 */
+	public ViewMemoryUsage getMemoryUsage()
+	{
+		final List<ViewMemoryUsage.ViewInfo> viewInfos = getViewInfos()
+				.stream()
+				.sorted(Comparator.comparing(ViewMemoryUsage.ViewInfo::getEstimatedSizeInBytes).reversed())
+				.collect(ImmutableList.toImmutableList());
+
+		return ViewMemoryUsage.builder()
+				.budgetInBytes(maxRetainedSizeInBytes)
+				.totalEstimatedSizeInBytes(viewInfos.stream().mapToLong(ViewMemoryUsage.ViewInfo::getEstimatedSizeInBytes).sum())
+				.viewsEvictedCount(viewsEvictedByMemoryBudgetCount.sum())
+				.views(viewInfos)
+				.build();
 	}
 
 	@Override
@@ -102,4 +305,44 @@ public final class DefaultViewsRepositoryStorage implements IViewsIndexStorage
 		return views.asMap().values().stream();
 	}
 
+	public long size()
+	{
+		return views.size();
+	}
+
+	/**
+	 * @return the views which could be affected by given changed records
+	 * @see IView#getNotifyRecordsChangedTableNames()
+	 */
+	public Stream<IView> streamViewsToNotify(@NonNull final TableRecordReferenceSet recordRefs)
+	{
+		return viewsByTableName.streamViewsToNotify(recordRefs);
+	}
+
+	private static final class ViewEntryInfo
+	{
+		private final String owner;
+		private volatile Instant lastAccess;
+
+		private ViewEntryInfo(final String owner, @NonNull final Instant created)
+		{
+			this.owner = owner;
+			this.lastAccess = created;
+		}
+
+		public String getOwner()
+		{
+			return owner;
+		}
+
+		public Instant getLastAccess()
+		{
+			return lastAccess;
+		}
+
+		public void markAccessed(@NonNull final Instant timestamp)
+		{
+			lastAccess = timestamp;
+		}
+	}
 }
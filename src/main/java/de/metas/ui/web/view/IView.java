@@ -1,6 +1,7 @@
 package de.metas.ui.web.view;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -94,6 +95,23 @@ public interface IView
 
 	long size();
 
+	/**
+	 * @return roughly how much heap is retained by this view (e.g. cached rows), in bytes; zero if unknown or negligible
+	 * @see ViewRowsSizeEstimator
+	 */
+	default long getEstimatedRetainedSizeInBytes()
+	{
+		return 0;
+	}
+
+	/**
+	 * @return true if {@link #size()} is just an estimation (e.g. the view's rows are still fetched in background)
+	 */
+	default boolean isSizeApproximate()
+	{
+		return false;
+	}
+
 	default boolean isAllowClosingPerUserRequest()
 	{
 		return true;
@@ -201,6 +219,16 @@ public interface IView
 	 */
 	void notifyRecordsChanged(TableRecordReferenceSet recordRefs);
 
+	/**
+	 * @return names of the tables whose record changes could affect this view (see {@link #notifyRecordsChanged(TableRecordReferenceSet)}).
+	 *         If not present, the view will be notified about any record change.
+	 *         The returned value shall not change during view's lifetime.
+	 */
+	default Optional<Set<String>> getNotifyRecordsChangedTableNames()
+	{
+		return Optional.empty();
+	}
+
 	/** @return actions which were registered particularly for this view instance */
 	default ViewActionDescriptorsList getActions()
 	{
@@ -2,13 +2,17 @@ package de.metas.ui.web.view;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 import org.adempiere.exceptions.DBException;
 
 import de.metas.ui.web.document.filter.DocumentFilter;
 import de.metas.ui.web.document.filter.provider.DocumentFilterDescriptorsProvider;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverterContext;
+import de.metas.ui.web.view.descriptor.SqlViewKeysetPageKey;
 import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
 import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
@@ -60,15 +64,59 @@ public interface IViewDataRepository
 
 	List<DocumentId> retrieveRowIdsByPage(ViewEvaluationCtx viewEvalCtx, ViewRowIdsOrderedSelection orderedSelection, int firstRow, int pageLength);
 
+	/**
+	 * @return true if pages ordered by given order bys shall be fetched directly from the default selection (see {@link #retrievePageByKeyset(ViewEvaluationCtx, ViewRowIdsOrderedSelection, List, SqlViewKeysetPageKey, int, int)}),
+	 *         instead of creating a new ordered selection
+	 */
+	boolean isKeysetPaginationEnabled(ViewRowIdsOrderedSelection defaultSelection, List<DocumentQueryOrderBy> orderBys);
+
+	/**
+	 * Retrieves a page from given default selection, ordered by given order bys.
+	 *
+	 * @param afterKey the key of the last row of previous page or {@code null}, in which case <code>firstRow</code> rows will be skipped
+	 */
+	ViewRowsKeysetPage retrievePageByKeyset(ViewEvaluationCtx viewEvalCtx, ViewRowIdsOrderedSelection defaultSelection, List<DocumentQueryOrderBy> orderBys, @Nullable SqlViewKeysetPageKey afterKey, int firstRow, int pageLength);
+
 	<T> List<T> retrieveModelsByIds(ViewId viewId, DocumentIdsSelection rowIds, Class<T> modelClass);
 
 	ViewRowIdsOrderedSelection createOrderedSelectionFromSelection(final ViewEvaluationCtx viewEvalCtx, ViewRowIdsOrderedSelection fromSelection, List<DocumentQueryOrderBy> orderBys);
 
+	/**
+	 * @see ViewRowIdsOrderedSelectionFactory#evictSharedSelectionsDerivedFrom(ViewRowIdsOrderedSelection)
+	 */
+	default void evictSharedSelectionsDerivedFrom(final ViewRowIdsOrderedSelection fromSelection)
+	{
+	}
+
 	void deleteSelection(ViewId viewId);
 
+	/**
+	 * @return the default selection which already exists in database for given view (e.g. created by another node) or {@code null} if there is none
+	 */
+	ViewRowIdsOrderedSelection retrieveExistingOrderedSelectionOrNull(ViewEvaluationCtx viewEvalCtx, ViewId viewId);
+
 	void scheduleDeleteSelections(Set<String> viewIds);
 
 	ViewRowIdsOrderedSelection createOrderedSelection(ViewEvaluationCtx viewEvalCtx, ViewId viewId, List<DocumentFilter> filters, boolean applySecurityRestrictions, SqlDocumentFilterConverterContext context);
 
+	/**
+	 * Creates the default selection. If the approximate size mode is enabled for this view, only the first rows are materialized right away
+	 * and the remaining rows are materialized in background.
+	 */
+	ViewRowIdsOrderedSelectionAsync createOrderedSelectionAsync(ViewEvaluationCtx viewEvalCtx, ViewId viewId, List<DocumentFilter> filters, boolean applySecurityRestrictions, SqlDocumentFilterConverterContext context);
+
 	ViewRowIdsOrderedSelection removeRowIdsNotMatchingFilters(ViewRowIdsOrderedSelection selection, List<DocumentFilter> filters, Set<DocumentId> rowIds);
+
+	/**
+	 * @return those of given <code>rowIds</code> which are contained in selection; if rowIds is "all" then all row IDs of the selection are returned
+	 */
+	Set<DocumentId> retrieveRowIdsContainedIn(ViewRowIdsOrderedSelection selection, DocumentIdsSelection rowIds);
+
+	/**
+	 * @return how the lookup display names of given view's rows were resolved, or empty if not tracked
+	 */
+	default Optional<ViewLookupResolutionStats> getLookupResolutionStats(final ViewId viewId)
+	{
+		return Optional.empty();
+	}
 }
@@ -1,5 +1,6 @@
 package de.metas.ui.web.view;
 
+import java.util.Optional;
 import java.util.Set;
 
 import org.adempiere.util.lang.impl.TableRecordReference;
@@ -44,4 +45,13 @@ public interface IViewInvalidationAdvisor
 	WindowId getWindowId();
 
 	Set<DocumentId> findAffectedRowIds(final TableRecordReferenceSet recordRefs, IView view);
+
+	/**
+	 * @return names of the tables, besides view's own table, whose record changes are considered by {@link #findAffectedRowIds(TableRecordReferenceSet, IView)}.
+	 *         If not present, the view will be notified about any record change.
+	 */
+	default Optional<Set<String>> getDependsOnTableNames()
+	{
+		return Optional.empty();
+	}
 }
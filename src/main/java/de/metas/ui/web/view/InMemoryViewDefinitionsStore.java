@@ -0,0 +1,125 @@
+package de.metas.ui.web.view;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * {@link ViewDefinitionsStore} which keeps the view definitions in this JVM.
+ * <p>
+ * Only useful for tests and for running multiple {@link ClusteredViewsRepositoryStorage}s in the same JVM,
+ * because the definitions are not shared with other nodes.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@ToString(of = "ttl")
+public final class InMemoryViewDefinitionsStore implements ViewDefinitionsStore
+{
+	/** Definitions not accessed for this long are forgotten, in case a node failed before closing its views */
+	private static final Duration DEFAULT_TTL = Duration.ofDays(1);
+
+	public static InMemoryViewDefinitionsStore newInstance()
+	{
+		return new InMemoryViewDefinitionsStore(DEFAULT_TTL);
+	}
+
+	private final Duration ttl;
+	private final Cache<ViewId, Entry> entries;
+
+	public InMemoryViewDefinitionsStore(@NonNull final Duration ttl)
+	{
+		this.ttl = ttl;
+		entries = CacheBuilder.newBuilder()
+				.expireAfterAccess(ttl.toMillis(), TimeUnit.MILLISECONDS)
+				.build();
+	}
+
+	@Override
+	public void save(@NonNull final ViewDefinition viewDefinition)
+	{
+		entries.put(viewDefinition.getViewId(), new Entry(viewDefinition));
+	}
+
+	@Override
+	public ViewDefinition getByIdOrNull(@NonNull final ViewId viewId)
+	{
+		final Entry entry = entries.getIfPresent(viewId);
+		return entry != null ? entry.viewDefinition : null;
+	}
+
+	@Override
+	public void remove(@NonNull final ViewId viewId)
+	{
+		entries.invalidate(viewId);
+	}
+
+	@Override
+	public void markAccessed(@NonNull final ViewId viewId, @NonNull final String nodeId, @NonNull final Instant timestamp)
+	{
+		final Entry entry = entries.getIfPresent(viewId);
+		if (entry == null)
+		{
+			return;
+		}
+
+		entry.lastAccessByNodeId.merge(nodeId, timestamp, (lastAccess, newLastAccess) -> newLastAccess.isAfter(lastAccess) ? newLastAccess : lastAccess);
+	}
+
+	@Override
+	public Instant getLastAccessByOtherNodesOrNull(@NonNull final ViewId viewId, @NonNull final String nodeId)
+	{
+		final Entry entry = entries.getIfPresent(viewId);
+		if (entry == null)
+		{
+			return null;
+		}
+
+		return entry.lastAccessByNodeId.entrySet()
+				.stream()
+				.filter(e -> !nodeId.equals(e.getKey()))
+				.map(Map.Entry::getValue)
+				.max(Instant::compareTo)
+				.orElse(null);
+	}
+
+	private static final class Entry
+	{
+		private final ViewDefinition viewDefinition;
+		private final ConcurrentHashMap<String, Instant> lastAccessByNodeId = new ConcurrentHashMap<>();
+
+		private Entry(@NonNull final ViewDefinition viewDefinition)
+		{
+			this.viewDefinition = viewDefinition;
+		}
+	}
+}
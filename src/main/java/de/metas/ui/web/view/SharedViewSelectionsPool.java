@@ -0,0 +1,286 @@
+package de.metas.ui.web.view;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.adempiere.service.ISysConfigBL;
+import org.slf4j.Logger;
+
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.logging.LogManager;
+import de.metas.util.Services;
+import de.metas.util.time.SystemTime;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Pool of ordered selections which are shared between views having the same content (i.e. same window, same effective filters SQL, same permissions).
+ * <p>
+ * A pooled selection is created on first demand and then handed out to all views which are asking for the same sharing key,
+ * as long as it's younger than the configured TTL. Each view holds a reference to it, so the selection is deleted only after the last reference was released.
+ * <p>
+ * Views never mutate their sorted selections: if the default selection of a view is changed, the view drops and releases its sorted selections
+ * and creates new, private ones (copy on write).
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+final class SharedViewSelectionsPool
+{
+	public static SharedViewSelectionsPool newInstance()
+	{
+		return new SharedViewSelectionsPool(SharedViewSelectionsPool::getTTLFromSysConfig, SystemTime::millis);
+	}
+
+	private static final Logger logger = LogManager.getLogger(SharedViewSelectionsPool.class);
+
+	private static final String SYSCONFIG_TTLInSeconds = "de.metas.ui.web.view.SharedSelections.TTLInSeconds";
+	/**
+	 * NOTE: disabled by default. The sharing keys contain the identity of the default selection the sorted selections were created from,
+	 * so currently only the concurrent sort requests on the same default selection are sharing.
+	 */
+	private static final int DEFAULT_TTLInSeconds = 0;
+
+	private final Supplier<Duration> ttlSupplier;
+	private final LongSupplier clock;
+
+	private final HashMap<String, PooledSelection> pooledSelectionsByKey = new HashMap<>();
+	private final HashMap<String, PooledSelection> pooledSelectionsBySelectionId = new HashMap<>();
+
+	SharedViewSelectionsPool(@NonNull final Supplier<Duration> ttlSupplier, @NonNull final LongSupplier clock)
+	{
+		this.ttlSupplier = ttlSupplier;
+		this.clock = clock;
+	}
+
+	private static Duration getTTLFromSysConfig()
+	{
+		final int ttlInSeconds = Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_TTLInSeconds, DEFAULT_TTLInSeconds);
+		return ttlInSeconds > 0 ? Duration.ofSeconds(ttlInSeconds) : Duration.ZERO;
+	}
+
+	public boolean isEnabled()
+	{
+		return !ttlSupplier.get().isZero();
+	}
+
+	/**
+	 * Gets the pooled selection for given sharing key or creates a new one. In both cases a reference is acquired and it shall be released using {@link #release(Set)}.
+	 *
+	 * @param selectionsToDeleteCollector collects the selections which are no longer needed and shall be deleted by caller
+	 */
+	public ViewRowIdsOrderedSelection acquire(
+			@NonNull final String sharingKey,
+			@NonNull final Supplier<ViewRowIdsOrderedSelection> selectionFactory,
+			@NonNull final ImmutableSet.Builder<String> selectionsToDeleteCollector)
+	{
+		final Duration ttl = ttlSupplier.get();
+		if (ttl.isZero())
+		{
+			return selectionFactory.get();
+		}
+
+		synchronized (this)
+		{
+			purgeExpired(ttl, selectionsToDeleteCollector);
+
+			final PooledSelection pooledSelection = getValidPooledSelection(sharingKey, ttl);
+			if (pooledSelection != null)
+			{
+				pooledSelection.refCount++;
+				logger.trace("Reusing {}", pooledSelection);
+				return pooledSelection.selection;
+			}
+		}
+
+		// NOTE: we are creating the selection outside of the lock because that's the expensive part
+		final ViewRowIdsOrderedSelection newSelection = selectionFactory.get();
+
+		synchronized (this)
+		{
+			// Check if the selection was created by somebody else in meantime
+			final PooledSelection pooledSelection = getValidPooledSelection(sharingKey, ttl);
+			if (pooledSelection != null)
+			{
+				pooledSelection.refCount++;
+				selectionsToDeleteCollector.add(newSelection.getSelectionId());
+				return pooledSelection.selection;
+			}
+
+			final PooledSelection newPooledSelection = new PooledSelection(sharingKey, newSelection, clock.getAsLong());
+			newPooledSelection.refCount++;
+			pooledSelectionsByKey.put(sharingKey, newPooledSelection); // NOTE: an expired one would be replaced, but it will be still tracked by selectionId
+			pooledSelectionsBySelectionId.put(newSelection.getSelectionId(), newPooledSelection);
+			logger.trace("Pooled {}", newPooledSelection);
+
+			return newSelection;
+		}
+	}
+
+	private PooledSelection getValidPooledSelection(final String sharingKey, final Duration ttl)
+	{
+		final PooledSelection pooledSelection = pooledSelectionsByKey.get(sharingKey);
+		return pooledSelection != null && !isExpired(pooledSelection, ttl) ? pooledSelection : null;
+	}
+
+	/**
+	 * Releases a reference for each given selection.
+	 *
+	 * @return the selectionIds which are no longer used and shall be deleted. Selections which are not pooled are returned as they are.
+	 */
+	public synchronized Set<String> release(@NonNull final Set<String> selectionIds)
+	{
+		final ImmutableSet.Builder<String> selectionIdsToDelete = ImmutableSet.builder();
+		final Duration ttl = ttlSupplier.get();
+
+		for (final String selectionId : selectionIds)
+		{
+			final PooledSelection pooledSelection = pooledSelectionsBySelectionId.get(selectionId);
+			if (pooledSelection == null)
+			{
+				selectionIdsToDelete.add(selectionId);
+				continue;
+			}
+
+			pooledSelection.refCount--;
+			if (pooledSelection.refCount <= 0 && (isExpired(pooledSelection, ttl) || !isPooledByKey(pooledSelection)))
+			{
+				remove(pooledSelection);
+				selectionIdsToDelete.add(selectionId);
+			}
+		}
+
+		purgeExpired(ttl, selectionIdsToDelete);
+
+		return selectionIdsToDelete.build();
+	}
+
+	/**
+	 * Removes the unreferenced selections which are expired.
+	 * <p>
+	 * NOTE: the expired selections are purged on each {@link #acquire(String, Supplier, ImmutableSet.Builder)} and {@link #release(Set)} too,
+	 * but this method shall be called periodically, else the selections of an idle pool would never be deleted.
+	 *
+	 * @return the selectionIds which are no longer used and shall be deleted
+	 */
+	public Set<String> purgeExpired()
+	{
+		final Duration ttl = ttlSupplier.get();
+		final ImmutableSet.Builder<String> selectionIdsToDelete = ImmutableSet.builder();
+		synchronized (this)
+		{
+			purgeExpired(ttl, selectionIdsToDelete);
+		}
+		return selectionIdsToDelete.build();
+	}
+
+	private void purgeExpired(final Duration ttl, final ImmutableSet.Builder<String> selectionIdsToDelete)
+	{
+		for (final Iterator<PooledSelection> it = pooledSelectionsBySelectionId.values().iterator(); it.hasNext();)
+		{
+			final PooledSelection pooledSelection = it.next();
+			if (pooledSelection.refCount <= 0 && isExpired(pooledSelection, ttl))
+			{
+				it.remove();
+				pooledSelectionsByKey.remove(pooledSelection.sharingKey, pooledSelection);
+				selectionIdsToDelete.add(pooledSelection.selection.getSelectionId());
+			}
+		}
+	}
+
+	/**
+	 * Stops handing out the selections which were created from the selection with given shared content key,
+	 * i.e. whose sharing key was built as the given key followed by a new line and the sort details.
+	 *
+	 * @return the selectionIds which are no longer used and shall be deleted. The selections which are still referenced are deleted when they are released.
+	 */
+	public synchronized Set<String> evictDerivedFrom(@NonNull final String fromSharedContentKey)
+	{
+		final String sharingKeyPrefix = fromSharedContentKey + "\n";
+		final ImmutableSet.Builder<String> selectionIdsToDelete = ImmutableSet.builder();
+		for (final Iterator<PooledSelection> it = pooledSelectionsByKey.values().iterator(); it.hasNext();)
+		{
+			final PooledSelection pooledSelection = it.next();
+			if (!pooledSelection.sharingKey.startsWith(sharingKeyPrefix))
+			{
+				continue;
+			}
+
+			it.remove();
+			if (pooledSelection.refCount <= 0)
+			{
+				pooledSelectionsBySelectionId.remove(pooledSelection.selection.getSelectionId());
+				selectionIdsToDelete.add(pooledSelection.selection.getSelectionId());
+			}
+		}
+
+		return selectionIdsToDelete.build();
+	}
+
+	private boolean isExpired(final PooledSelection pooledSelection, final Duration ttl)
+	{
+		return clock.getAsLong() - pooledSelection.createdMillis >= ttl.toMillis();
+	}
+
+	private boolean isPooledByKey(final PooledSelection pooledSelection)
+	{
+		return pooledSelectionsByKey.get(pooledSelection.sharingKey) == pooledSelection;
+	}
+
+	private void remove(final PooledSelection pooledSelection)
+	{
+		pooledSelectionsBySelectionId.remove(pooledSelection.selection.getSelectionId());
+		pooledSelectionsByKey.remove(pooledSelection.sharingKey, pooledSelection);
+	}
+
+	synchronized int size()
+	{
+		return pooledSelectionsBySelectionId.size();
+	}
+
+	private static final class PooledSelection
+	{
+		private final String sharingKey;
+		private final ViewRowIdsOrderedSelection selection;
+		private final long createdMillis;
+		private int refCount = 0;
+
+		private PooledSelection(final String sharingKey, final ViewRowIdsOrderedSelection selection, final long createdMillis)
+		{
+			this.sharingKey = sharingKey;
+			this.selection = selection;
+			this.createdMillis = createdMillis;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "PooledSelection[" + selection.getSelectionId() + ", refCount=" + refCount + "]";
+		}
+	}
+}
@@ -4,11 +4,19 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
 
 import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.ad.dao.impl.TypedSqlQueryFilter;
@@ -16,6 +24,7 @@ import org.adempiere.ad.trx.api.ITrx;
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.exceptions.DBException;
 import org.adempiere.model.PlainContextAware;
+import org.adempiere.service.ISysConfigBL;
 import org.compiere.util.DB;
 import org.compiere.util.DisplayType;
 import org.slf4j.Logger;
@@ -37,18 +46,21 @@ import de.metas.ui.web.view.ViewRow.DefaultRowType;
 import de.metas.ui.web.view.descriptor.SqlAndParams;
 import de.metas.ui.web.view.descriptor.SqlViewBinding;
 import de.metas.ui.web.view.descriptor.SqlViewKeyColumnNamesMap;
+import de.metas.ui.web.view.descriptor.SqlViewKeysetPageKey;
 import de.metas.ui.web.view.descriptor.SqlViewRowFieldBinding;
 import de.metas.ui.web.view.descriptor.SqlViewRowFieldBinding.SqlViewRowFieldLoader;
 import de.metas.ui.web.view.descriptor.SqlViewSelectData;
 import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
 import de.metas.ui.web.window.datatypes.LookupValue;
+import de.metas.ui.web.window.datatypes.LookupValuesList;
 import de.metas.ui.web.window.datatypes.WindowId;
 import de.metas.ui.web.window.datatypes.json.JSONLookupValue;
 import de.metas.ui.web.window.datatypes.json.JSONNullValue;
 import de.metas.ui.web.window.datatypes.json.JSONOptions;
 import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
 import de.metas.ui.web.window.model.DocumentQueryOrderBy;
+import de.metas.ui.web.window.model.lookup.LookupDataSource;
 import de.metas.ui.web.window.model.sql.SqlOptions;
 import de.metas.util.Check;
 import de.metas.util.Services;
@@ -80,6 +92,18 @@ class SqlViewDataRepository implements IViewDataRepository
 {
 	private static final Logger logger = LogManager.getLogger(SqlViewDataRepository.class);
 
+	/** Views with at least this many rows are sorted using keyset pagination instead of creating a new ordered selection. Zero or negative means disabled. */
+	private static final String SYSCONFIG_KeysetPaginationMinRows = "de.metas.ui.web.view.KeysetPagination.MinRows";
+	private static final int DEFAULT_KeysetPaginationMinRows = -1;
+
+	/** How many rows are materialized right away when creating the selection of a view which is in approximate size mode */
+	private static final String SYSCONFIG_ApproximateSizeModeFirstRows = "de.metas.ui.web.view.ApproximateSizeMode.FirstRows";
+	private static final int DEFAULT_ApproximateSizeModeFirstRows = 200;
+
+	/** If enabled, the field values of the loaded rows are stored column oriented per page (see {@link ViewRowsColumnarPage}) */
+	private static final String SYSCONFIG_ColumnarPages = "de.metas.ui.web.view.ColumnarPages";
+	private static final boolean DEFAULT_ColumnarPages = false;
+
 	private final String tableName;
 	private final String tableAlias;
 	private final SqlViewKeyColumnNamesMap keyColumnNamesMap;
@@ -88,9 +112,16 @@ class SqlViewDataRepository implements IViewDataRepository
 	private final ViewRowIdsOrderedSelectionFactory viewRowIdsOrderedSelectionFactory;
 	private final DocumentFilterDescriptorsProvider viewFilterDescriptors;
 	private final List<DocumentQueryOrderBy> defaultOrderBys;
+	private final Function<DocumentQueryOrderBy, Stream<DocumentQueryOrderBy>> orderByFieldNameAliasMapper;
 
 	private final boolean hasIncludedRows;
+	private final boolean approximateSizeMode;
 	private final ImmutableMap<String, SqlViewRowFieldLoader> rowFieldLoaders;
+	/** Field names of the loaded rows, shared by all pages of columnar stored rows */
+	private final ImmutableList<String> rowFieldNames;
+	/** Lookups for resolving the display names which are not fetched by the page SQL, indexed by field name */
+	private final ImmutableMap<String, LookupDataSource> lookupDataSourcesByFieldName;
+	private final ConcurrentHashMap<ViewId, LookupResolutionCounters> lookupResolutionCountersByViewId = new ConcurrentHashMap<>();
 	private final ViewRowCustomizer rowCustomizer;
 
 	private final SqlDocumentFilterConverter filterConverters;
@@ -103,13 +134,20 @@ class SqlViewDataRepository implements IViewDataRepository
 		widgetTypesByFieldName = sqlBindings.getWidgetTypesByFieldName();
 		sqlViewSelect = sqlBindings.getSqlViewSelect();
 		viewFilterDescriptors = sqlBindings.getViewFilterDescriptors();
-		viewRowIdsOrderedSelectionFactory = SqlViewRowIdsOrderedSelectionFactory.of(sqlBindings);
+		viewRowIdsOrderedSelectionFactory = SqlViewRowIdsOrderedSelectionFactory.ofSharingSelections(sqlBindings);
 		defaultOrderBys = sqlBindings.getDefaultOrderBys();
+		orderByFieldNameAliasMapper = sqlBindings::flatMapEffectiveFieldNames;
 
 		this.hasIncludedRows = sqlBindings.hasGroupingFields();
+		this.approximateSizeMode = sqlBindings.isApproximateSizeMode();
 		this.rowFieldLoaders = sqlBindings.getFields()
 				.stream()
 				.collect(ImmutableMap.toImmutableMap(SqlViewRowFieldBinding::getFieldName, SqlViewRowFieldBinding::getFieldLoader));
+		this.rowFieldNames = rowFieldLoaders.keySet().asList();
+		this.lookupDataSourcesByFieldName = sqlBindings.getFields()
+				.stream()
+				.filter(field -> field.getLookupDataSource() != null)
+				.collect(ImmutableMap.toImmutableMap(SqlViewRowFieldBinding::getFieldName, SqlViewRowFieldBinding::getLookupDataSource));
 		this.rowCustomizer = sqlBindings.getRowCustomizer();
 
 		this.filterConverters = SqlDocumentFilterConverters.createEntityBindingEffectiveConverter(sqlBindings);
@@ -196,6 +234,29 @@ class SqlViewDataRepository implements IViewDataRepository
 				context);
 	}
 
+	@Override
+	public ViewRowIdsOrderedSelectionAsync createOrderedSelectionAsync(
+			final ViewEvaluationCtx viewEvalCtx,
+			final ViewId viewId,
+			final List<DocumentFilter> filters,
+			final boolean applySecurityRestrictions,
+			final SqlDocumentFilterConverterContext context)
+	{
+		final int firstRowsCount = approximateSizeMode ? getApproximateSizeModeFirstRows() : -1;
+		return viewRowIdsOrderedSelectionFactory.createOrderedSelectionAsync(viewEvalCtx,
+				viewId,
+				filters,
+				defaultOrderBys,
+				applySecurityRestrictions,
+				firstRowsCount,
+				context);
+	}
+
+	private static int getApproximateSizeModeFirstRows()
+	{
+		return Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_ApproximateSizeModeFirstRows, DEFAULT_ApproximateSizeModeFirstRows);
+	}
+
 	@Override
 	public ViewRowIdsOrderedSelection createOrderedSelectionFromSelection(final ViewEvaluationCtx viewEvalCtx,
 			final ViewRowIdsOrderedSelection fromSelection,
@@ -204,16 +265,30 @@ class SqlViewDataRepository implements IViewDataRepository
 		return viewRowIdsOrderedSelectionFactory.createOrderedSelectionFromSelection(viewEvalCtx, fromSelection, orderBys);
 	}
 
+	@Override
+	public void evictSharedSelectionsDerivedFrom(final ViewRowIdsOrderedSelection fromSelection)
+	{
+		viewRowIdsOrderedSelectionFactory.evictSharedSelectionsDerivedFrom(fromSelection);
+	}
+
 	@Override
 	public void deleteSelection(final ViewId viewId)
 	{
 		viewRowIdsOrderedSelectionFactory.deleteSelection(viewId);
+		lookupResolutionCountersByViewId.remove(viewId);
+	}
+
+	@Override
+	public ViewRowIdsOrderedSelection retrieveExistingOrderedSelectionOrNull(final ViewEvaluationCtx viewEvalCtx, final ViewId viewId)
+	{
+		return viewRowIdsOrderedSelectionFactory.retrieveExistingOrderedSelectionOrNull(viewEvalCtx, viewId, defaultOrderBys);
 	}
 
 	@Override
 	public void scheduleDeleteSelections(final Set<String> viewIds)
 	{
 		viewRowIdsOrderedSelectionFactory.scheduleDeleteSelections(viewIds);
+		lookupResolutionCountersByViewId.keySet().removeIf(viewId -> viewIds.contains(viewId.getViewId()));
 	}
 
 	@Override
@@ -312,11 +387,117 @@ class SqlViewDataRepository implements IViewDataRepository
 					});
 		}
 
+		resolveLookupDisplayNames(rowBuilders.values(), viewId);
+
+		if (rowBuilders.size() > 1 && isColumnarPages())
+		{
+			final ViewRowsColumnarPage.Builder columnarPageBuilder = ViewRowsColumnarPage.builder(rowFieldNames);
+			final int[] rowIndexes = new int[rowBuilders.size()];
+			int i = 0;
+			for (final ViewRow.Builder rowBuilder : rowBuilders.values())
+			{
+				rowIndexes[i] = columnarPageBuilder.addRow(rowBuilder.getValues());
+				i++;
+			}
+
+			final ViewRowsColumnarPage columnarPage = columnarPageBuilder.build();
+			i = 0;
+			for (final ViewRow.Builder rowBuilder : rowBuilders.values())
+			{
+				rowBuilder.setColumnarPageRow(columnarPage, rowIndexes[i]);
+				i++;
+			}
+		}
+
 		return rowBuilders.values().stream()
 				.map(rowBuilder -> rowBuilder.build())
 				.collect(ImmutableList.toImmutableList());
 	}
 
+	/**
+	 * Resolves the display names of the lookup fields which were not fetched by the page SQL, one batch of distinct IDs per field for the whole page.
+	 */
+	private void resolveLookupDisplayNames(final Collection<ViewRow.Builder> rowBuilders, final ViewId viewId)
+	{
+		final LookupResolutionCounters counters = lookupResolutionCountersByViewId.computeIfAbsent(viewId, k -> new LookupResolutionCounters());
+		counters.pagesLoaded.increment();
+
+		if (rowBuilders.isEmpty() || lookupDataSourcesByFieldName.isEmpty())
+		{
+			return;
+		}
+
+		for (final Map.Entry<String, LookupDataSource> fieldNameAndLookup : lookupDataSourcesByFieldName.entrySet())
+		{
+			final String fieldName = fieldNameAndLookup.getKey();
+
+			final Set<Object> ids = new HashSet<>();
+			for (final ViewRow.Builder rowBuilder : rowBuilders)
+			{
+				final LookupValue lookupValue = rowBuilder.getFieldValueAsLookupValue(fieldName);
+				if (lookupValue != null)
+				{
+					ids.add(lookupValue.getId());
+				}
+			}
+			if (ids.isEmpty())
+			{
+				continue;
+			}
+
+			final LookupValuesList lookupValues = fieldNameAndLookup.getValue().findByIds(ids);
+			counters.lookupBatches.increment();
+			counters.lookupCalls.add(ids.size()); // findByIds is calling findById for each ID
+			counters.lookupIdsResolved.add(lookupValues.getValues().size());
+
+			for (final ViewRow.Builder rowBuilder : rowBuilders)
+			{
+				final LookupValue lookupValue = rowBuilder.getFieldValueAsLookupValue(fieldName);
+				if (lookupValue == null)
+				{
+					continue;
+				}
+
+				final LookupValue lookupValueResolved = lookupValues.getById(lookupValue.getId());
+				if (lookupValueResolved != null)
+				{
+					rowBuilder.putFieldValue(fieldName, lookupValueResolved);
+				}
+			}
+		}
+	}
+
+	@Override
+	public Optional<ViewLookupResolutionStats> getLookupResolutionStats(@NonNull final ViewId viewId)
+	{
+		final LookupResolutionCounters counters = lookupResolutionCountersByViewId.get(viewId);
+		if (counters == null)
+		{
+			return Optional.empty();
+		}
+
+		return Optional.of(ViewLookupResolutionStats.builder()
+				.viewId(viewId)
+				.pagesLoaded(counters.pagesLoaded.sum())
+				.lookupBatches(counters.lookupBatches.sum())
+				.lookupCalls(counters.lookupCalls.sum())
+				.lookupIdsResolved(counters.lookupIdsResolved.sum())
+				.build());
+	}
+
+	private static final class LookupResolutionCounters
+	{
+		private final LongAdder pagesLoaded = new LongAdder();
+		private final LongAdder lookupBatches = new LongAdder();
+		private final LongAdder lookupCalls = new LongAdder();
+		private final LongAdder lookupIdsResolved = new LongAdder();
+	}
+
+	private static boolean isColumnarPages()
+	{
+		return Services.get(ISysConfigBL.class).getBooleanValue(SYSCONFIG_ColumnarPages, DEFAULT_ColumnarPages);
+	}
+
 	private ViewRow.Builder loadViewRow(
 			@NonNull final ResultSet rs,
 			final WindowId windowId,
@@ -573,6 +754,90 @@ class SqlViewDataRepository implements IViewDataRepository
 		}
 	}
 
+	@Override
+	public boolean isKeysetPaginationEnabled(
+			@NonNull final ViewRowIdsOrderedSelection defaultSelection,
+			@NonNull final List<DocumentQueryOrderBy> orderBys)
+	{
+		final int minRows = Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_KeysetPaginationMinRows, DEFAULT_KeysetPaginationMinRows);
+		if (minRows <= 0 || defaultSelection.getSize() < minRows)
+		{
+			return false;
+		}
+
+		return sqlViewSelect.isKeysetPaginationSupported(toEffectiveOrderBys(orderBys));
+	}
+
+	private ImmutableList<DocumentQueryOrderBy> toEffectiveOrderBys(final List<DocumentQueryOrderBy> orderBys)
+	{
+		return orderBys.stream()
+				.flatMap(orderByFieldNameAliasMapper)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	@Override
+	public ViewRowsKeysetPage retrievePageByKeyset(
+			@NonNull final ViewEvaluationCtx viewEvalCtx,
+			@NonNull final ViewRowIdsOrderedSelection defaultSelection,
+			@NonNull final List<DocumentQueryOrderBy> orderBys,
+			@Nullable final SqlViewKeysetPageKey afterKey,
+			final int firstRow,
+			final int pageLength)
+	{
+		logger.debug("Getting page by keyset: firstRow={}, pageLength={}, orderBys={}, afterKey={} - {}", firstRow, pageLength, orderBys, afterKey, this);
+
+		final ViewId viewId = defaultSelection.getViewId();
+		final ImmutableList<DocumentQueryOrderBy> orderBysEffective = toEffectiveOrderBys(orderBys);
+		final SqlAndParams sqlAndParams = sqlViewSelect.selectByKeyset()
+				.viewEvalCtx(viewEvalCtx)
+				.viewId(viewId)
+				.orderBys(orderBysEffective)
+				.afterKey(afterKey)
+				.offset(firstRow)
+				.pageLength(pageLength)
+				.build();
+
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
+		{
+			pstmt = DB.prepareStatement(sqlAndParams.getSql(), ITrx.TRXNAME_ThreadInherited);
+			DB.setParameters(pstmt, sqlAndParams.getSqlParams());
+			rs = pstmt.executeQuery();
+
+			final JSONOptions jsonOpts = viewEvalCtx.toJSONOptions();
+			final ImmutableList.Builder<IViewRow> rows = ImmutableList.builder();
+			int countRowsRead = 0;
+			SqlViewKeysetPageKey lastKey = null;
+			while (rs.next())
+			{
+				countRowsRead++;
+				lastKey = sqlViewSelect.extractKeysetPageKey(rs, orderBysEffective);
+
+				final ViewRow.Builder rowBuilder = loadViewRow(rs, viewId.getWindowId(), jsonOpts);
+				if (rowBuilder != null)
+				{
+					rows.add(rowBuilder.build());
+				}
+			}
+
+			return ViewRowsKeysetPage.builder()
+					.rows(rows.build())
+					.countRowsRead(countRowsRead)
+					.lastKey(lastKey)
+					.build();
+		}
+		catch (final SQLException | DBException e)
+		{
+			throw DBException.wrapIfNeeded(e)
+					.setSqlIfAbsent(sqlAndParams.getSql(), sqlAndParams.getSqlParams());
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+		}
+	}
+
 	private List<IViewRow> retrieveRowLines(final ViewEvaluationCtx viewEvalCtx, final ViewId viewId, final DocumentIdsSelection rowIds)
 	{
 		logger.debug("Getting row lines: rowId={} - {}", rowIds, this);
@@ -651,6 +916,12 @@ class SqlViewDataRepository implements IViewDataRepository
 		return viewRowIdsOrderedSelectionFactory.removeRowIdsFromSelection(selection, DocumentIdsSelection.of(notMatchingRowIds));
 	}
 
+	@Override
+	public Set<DocumentId> retrieveRowIdsContainedIn(@NonNull final ViewRowIdsOrderedSelection selection, @NonNull final DocumentIdsSelection rowIds)
+	{
+		return viewRowIdsOrderedSelectionFactory.retrieveRowIdsContainedIn(selection, rowIds);
+	}
+
 	private Set<DocumentId> retrieveRowIdsMatchingFilters(
 			final ViewId viewId,
 			final List<DocumentFilter> filters,
@@ -12,9 +12,11 @@ import javax.annotation.Nullable;
 
 import org.adempiere.ad.expression.api.NullStringExpression;
 import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.service.ISysConfigBL;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Service;
 
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
@@ -31,6 +33,8 @@ import de.metas.ui.web.document.filter.DocumentFilterParamDescriptor;
 import de.metas.ui.web.document.filter.DocumentFiltersList;
 import de.metas.ui.web.document.filter.provider.DocumentFilterDescriptorsProvider;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverterDecorator;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics.Category;
 import de.metas.ui.web.view.descriptor.SqlViewBinding;
 import de.metas.ui.web.view.descriptor.SqlViewRowFieldBinding;
 import de.metas.ui.web.view.descriptor.SqlViewRowFieldBinding.SqlViewRowFieldLoader;
@@ -39,6 +43,7 @@ import de.metas.ui.web.view.json.JSONViewDataType;
 import de.metas.ui.web.window.datatypes.DocumentPath;
 import de.metas.ui.web.window.datatypes.WindowId;
 import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentFieldDescriptor;
 import de.metas.ui.web.window.descriptor.DocumentFieldDescriptor.Characteristic;
 import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
 import de.metas.ui.web.window.descriptor.LookupDescriptor;
@@ -48,7 +53,9 @@ import de.metas.ui.web.window.descriptor.sql.SqlDocumentEntityDataBindingDescrip
 import de.metas.ui.web.window.descriptor.sql.SqlDocumentFieldDataBindingDescriptor;
 import de.metas.ui.web.window.model.DocumentReference;
 import de.metas.ui.web.window.model.DocumentReferencesService;
+import de.metas.ui.web.window.model.lookup.LookupDataSource;
 import de.metas.util.Check;
+import de.metas.util.Services;
 import de.metas.util.time.SystemTime;
 import lombok.NonNull;
 import lombok.Value;
@@ -87,6 +94,12 @@ public class SqlViewFactory implements IViewFactory
 {
 	private static final Logger logger = LogManager.getLogger(SqlViewFactory.class);
 
+	/**
+	 * Comma separated table names of the views which shall run in approximate size mode,
+	 * i.e. the first page is returned right away, together with an estimated size, while the selection is materialized in background.
+	 */
+	private static final String SYSCONFIG_ApproximateSizeModeTableNames = "de.metas.ui.web.view.ApproximateSizeMode.TableNames";
+
 	private final DocumentDescriptorFactory documentDescriptorFactory;
 	private final DocumentReferencesService documentReferencesService;
 
@@ -104,8 +117,8 @@ public class SqlViewFactory implements IViewFactory
 		private final ViewProfileId profileId;
 	}
 
-	private final transient CCache<SqlViewBindingKey, ViewLayout> viewLayouts = CCache.newCache("SqlViewLayouts", 20, 0);
-	private final transient CCache<SqlViewBindingKey, SqlViewBinding> viewBindings = CCache.newCache("SqlViewBindings", 20, 0);
+	private final transient CCache<SqlViewBindingKey, ViewLayout> viewLayouts;
+	private final transient CCache<SqlViewBindingKey, SqlViewBinding> viewBindings;
 
 	private final ImmutableListMultimap<WindowId, ViewProfile> viewProfiles;
 	private final ImmutableMap<WindowId, ImmutableMap<ViewProfileId, SqlViewCustomizer>> viewCustomizers;
@@ -117,11 +130,17 @@ public class SqlViewFactory implements IViewFactory
 			@NonNull final List<SqlViewCustomizer> viewCustomizers,
 			@NonNull final List<DefaultViewProfileIdProvider> defaultViewProfileIdProviders,
 			@NonNull final List<SqlDocumentFilterConverterDecorator> converterDecorators,
-			@NonNull final List<IViewInvalidationAdvisor> viewInvalidationAdvisors)
+			@NonNull final List<IViewInvalidationAdvisor> viewInvalidationAdvisors,
+			@org.springframework.beans.factory.annotation.Value("${metasfresh.webui.view.layoutsCacheSize:500}") final int cacheSize)
 	{
 		this.documentDescriptorFactory = documentDescriptorFactory;
 		this.documentReferencesService = documentReferencesService;
 
+		// NOTE: we have one entry for each window, characteristic and profile
+		final int cacheSizeEffective = cacheSize > 0 ? cacheSize : 500;
+		viewLayouts = CCache.newLRUCache("SqlViewLayouts", cacheSizeEffective, 0);
+		viewBindings = CCache.newLRUCache("SqlViewBindings", cacheSizeEffective, 0);
+
 		this.windowId2SqlDocumentFilterConverterDecorator = makeDecoratorsMapAndHandleDuplicates(converterDecorators);
 		logger.info("Filter converter decorators: {}", windowId2SqlDocumentFilterConverterDecorator);
 
@@ -244,7 +263,8 @@ public class SqlViewFactory implements IViewFactory
 	{
 		final ViewProfileId profileIdEffective = !ViewProfileId.isNull(profileId) ? profileId : getDefaultProfileIdByWindowId(windowId);
 		final SqlViewBindingKey sqlViewBindingKey = new SqlViewBindingKey(windowId, viewDataType.getRequiredFieldCharacteristic(), profileIdEffective);
-		return viewLayouts.getOrLoad(sqlViewBindingKey, () -> createViewLayout(sqlViewBindingKey, viewDataType));
+		DescriptorBuildMetrics.instance.recordRequest(Category.ViewLayout);
+		return viewLayouts.getOrLoad(sqlViewBindingKey, () -> DescriptorBuildMetrics.instance.recordBuild(Category.ViewLayout, windowId, () -> createViewLayout(sqlViewBindingKey, viewDataType)));
 	}
 
 	private ViewLayout createViewLayout(final SqlViewBindingKey sqlViewBindingKey, final JSONViewDataType viewDataType)
@@ -320,6 +340,37 @@ public class SqlViewFactory implements IViewFactory
 		return viewBuilder.build();
 	}
 
+	/**
+	 * Recreates a view which was created before, maybe on another node (see {@link ClusteredViewsRepositoryStorage}).
+	 * The view's selection is reused if it still exists in database.
+	 */
+	public DefaultView recreateView(@NonNull final ViewDefinition viewDefinition)
+	{
+		final ViewId viewId = viewDefinition.getViewId();
+		final JSONViewDataType viewType = viewDefinition.getViewType();
+		final ViewProfileId profileId = viewDefinition.getProfileId();
+		final SqlViewBindingKey sqlViewBindingKey = new SqlViewBindingKey(viewId.getWindowId(), viewType.getRequiredFieldCharacteristic(), profileId);
+
+		final SqlViewBinding sqlViewBinding = getViewBinding(sqlViewBindingKey);
+		final IViewDataRepository viewDataRepository = new SqlViewDataRepository(sqlViewBinding);
+
+		return DefaultView.builder(viewDataRepository)
+				.setViewId(viewId)
+				.setViewType(viewType)
+				.setProfileId(profileId)
+				.setReferencingDocumentPaths(viewDefinition.getReferencingDocumentPaths())
+				.setParentViewId(viewDefinition.getParentViewId())
+				.setParentRowId(viewDefinition.getParentRowId())
+				// NOTE: the definition's filters already contain the referenced document filter and the auto filters
+				.addStickyFilters(viewDefinition.getStickyFilters())
+				.setFilters(viewDefinition.getFilters())
+				.applySecurityRestrictions(viewDefinition.isApplySecurityRestrictions())
+				.viewInvalidationAdvisor(sqlViewBinding.getViewInvalidationAdvisor())
+				.refreshViewOnChangeEvents(sqlViewBinding.isRefreshViewOnChangeEvents())
+				.reuseExistingSelection(true)
+				.build();
+	}
+
 	private final DocumentFilter extractReferencedDocumentFilter(final WindowId targetWindowId, final DocumentPath referencedDocumentPath)
 	{
 		if (referencedDocumentPath == null)
@@ -393,7 +444,8 @@ public class SqlViewFactory implements IViewFactory
 
 	private SqlViewBinding getViewBinding(@NonNull final SqlViewBindingKey key)
 	{
-		return viewBindings.getOrLoad(key, () -> createViewBinding(key));
+		DescriptorBuildMetrics.instance.recordRequest(Category.ViewBinding);
+		return viewBindings.getOrLoad(key, () -> DescriptorBuildMetrics.instance.recordBuild(Category.ViewBinding, key.getWindowId(), () -> createViewBinding(key)));
 	}
 
 	private SqlViewBinding createViewBinding(@NonNull final SqlViewBindingKey key)
@@ -404,9 +456,10 @@ public class SqlViewFactory implements IViewFactory
 		final SqlDocumentEntityDataBindingDescriptor entityBinding = SqlDocumentEntityDataBindingDescriptor.cast(entityDescriptor.getDataBinding());
 		final DocumentFilterDescriptorsProvider filterDescriptors = entityDescriptor.getFilterDescriptors();
 
-		final SqlViewBinding.Builder builder = createBuilderForEntityBindingAndFieldNames(entityBinding, displayFieldNames)
+		final SqlViewBinding.Builder builder = createBuilderForEntityBindingAndFieldNames(entityDescriptor, entityBinding, displayFieldNames)
 				.filterDescriptors(filterDescriptors)
 				.refreshViewOnChangeEvents(entityDescriptor.isRefreshViewOnChangeEvents())
+				.approximateSizeMode(isApproximateSizeMode(entityBinding.getTableName()))
 				.viewInvalidationAdvisor(getViewInvalidationAdvisor(windowId));
 
 		if (windowId2SqlDocumentFilterConverterDecorator.containsKey(windowId))
@@ -426,7 +479,19 @@ public class SqlViewFactory implements IViewFactory
 		return builder.build();
 	}
 
+	private static boolean isApproximateSizeMode(@NonNull final String tableName)
+	{
+		final String tableNames = Services.get(ISysConfigBL.class).getValue(SYSCONFIG_ApproximateSizeModeTableNames, "");
+		return Splitter.on(",")
+				.trimResults()
+				.omitEmptyStrings()
+				.splitToList(tableNames)
+				.stream()
+				.anyMatch(tableName::equalsIgnoreCase);
+	}
+
 	private SqlViewBinding.Builder createBuilderForEntityBindingAndFieldNames(
+			@NonNull final DocumentEntityDescriptor entityDescriptor,
 			@NonNull final SqlDocumentEntityDataBindingDescriptor entityBinding,
 			@NonNull final Set<String> displayFieldNames)
 	{
@@ -434,7 +499,9 @@ public class SqlViewFactory implements IViewFactory
 
 		entityBinding.getFields()
 				.stream()
-				.map(documentField -> createViewFieldBinding(documentField, displayFieldNames))
+				.map(documentField -> createViewFieldBindingBuilder(documentField, displayFieldNames)
+						.lookupDataSource(getLookupDataSourceForDisplayNamesOrNull(entityDescriptor, documentField, displayFieldNames))
+						.build())
 				.forEach(builder::field);
 		builder.displayFieldNames(displayFieldNames);
 		return builder;
@@ -449,9 +516,29 @@ public class SqlViewFactory implements IViewFactory
 				.defaultOrderBys(entityBinding.getDefaultOrderBys());
 	}
 
-	private static final SqlViewRowFieldBinding createViewFieldBinding(final SqlDocumentFieldDataBindingDescriptor documentField, final Collection<String> availableDisplayColumnNames)
+	/**
+	 * @return lookup for resolving the display names of a displayed lookup field, if they are not fetched by the page SQL; else null
+	 */
+	private static LookupDataSource getLookupDataSourceForDisplayNamesOrNull(
+			final DocumentEntityDescriptor entityDescriptor,
+			final SqlDocumentFieldDataBindingDescriptor documentField,
+			final Collection<String> displayFieldNames)
 	{
-		return createViewFieldBindingBuilder(documentField, availableDisplayColumnNames).build();
+		final String fieldName = documentField.getFieldName();
+		if (documentField.isUsingDisplayColumn()
+				|| !documentField.getWidgetType().isLookup()
+				|| !displayFieldNames.contains(fieldName))
+		{
+			return null;
+		}
+
+		final DocumentFieldDescriptor fieldDescriptor = entityDescriptor.getFieldOrNull(fieldName);
+		if (fieldDescriptor == null)
+		{
+			return null;
+		}
+
+		return fieldDescriptor.createLookupDataSource().orElse(null);
 	}
 
 	public static final SqlViewRowFieldBinding.SqlViewRowFieldBindingBuilder createViewFieldBindingBuilder(
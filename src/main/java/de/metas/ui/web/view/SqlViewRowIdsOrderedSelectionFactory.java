@@ -5,12 +5,23 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxManager;
 import org.adempiere.exceptions.DBException;
+import org.adempiere.util.concurrent.CustomizableThreadFactory;
 import org.compiere.util.DB;
 import org.slf4j.Logger;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableSet;
 
@@ -19,6 +30,7 @@ import de.metas.security.IUserRolePermissions;
 import de.metas.security.IUserRolePermissionsDAO;
 import de.metas.security.UserRolePermissionsKey;
 import de.metas.security.permissions.WindowMaxQueryRecordsConstraint;
+import de.metas.ui.web.base.model.I_T_WEBUI_ViewSelection;
 import de.metas.ui.web.document.filter.DocumentFilter;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverterContext;
 import de.metas.ui.web.view.descriptor.SqlAndParams;
@@ -26,6 +38,7 @@ import de.metas.ui.web.view.descriptor.SqlViewBinding;
 import de.metas.ui.web.view.descriptor.SqlViewKeyColumnNamesMap;
 import de.metas.ui.web.view.descriptor.SqlViewSelectionQueryBuilder;
 import de.metas.ui.web.view.descriptor.SqlViewSelectionQueryBuilder.SqlCreateSelection;
+import de.metas.ui.web.view.descriptor.SqlViewSelectionQueryBuilder.SqlCreateSelectionInTwoSteps;
 import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
 import de.metas.ui.web.window.datatypes.WindowId;
@@ -59,16 +72,63 @@ public class SqlViewRowIdsOrderedSelectionFactory implements ViewRowIdsOrderedSe
 {
 	public static final SqlViewRowIdsOrderedSelectionFactory of(final SqlViewBinding viewBinding)
 	{
-		return new SqlViewRowIdsOrderedSelectionFactory(viewBinding);
+		final boolean shareSelections = false;
+		return new SqlViewRowIdsOrderedSelectionFactory(viewBinding, shareSelections);
+	}
+
+	/**
+	 * Creates a factory which is sharing the ordered selections between views having the same filters, permissions and ordering.
+	 * The caller shall make sure that all selections created by this factory are released using {@link #scheduleDeleteSelections(Set)}.
+	 */
+	public static final SqlViewRowIdsOrderedSelectionFactory ofSharingSelections(final SqlViewBinding viewBinding)
+	{
+		final boolean shareSelections = true;
+		return new SqlViewRowIdsOrderedSelectionFactory(viewBinding, shareSelections);
 	}
 
 	private static final Logger logger = LogManager.getLogger(SqlViewRowIdsOrderedSelectionFactory.class);
 
+	/** NOTE: the pool is static because the factories are created per view binding and those are cached, so they could be recreated */
+	private static final SharedViewSelectionsPool sharedSelectionsPool = SharedViewSelectionsPool.newInstance();
+	/** Distinguishes the selections which were created (again) with the same ID, see {@link #buildSharedContentKey(ViewId, UserRolePermissionsKey, SqlCreateSelection)} */
+	private static final AtomicLong nextSelectionVersion = new AtomicLong(1);
+
+	private static final int ASYNC_SELECTIONS_MAX_THREADS = 4;
+	private static final int ASYNC_SELECTIONS_QUEUE_CAPACITY = 100;
+
+	/**
+	 * Materializes the selections in background.
+	 * NOTE: bounded, so a burst of views won't open an unbounded number of database connections.
+	 * When the queue is full, the selection is materialized by the calling thread.
+	 */
+	private static final ExecutorService asyncSelectionsExecutor = createAsyncSelectionsExecutor();
+
+	private static ExecutorService createAsyncSelectionsExecutor()
+	{
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				ASYNC_SELECTIONS_MAX_THREADS, // corePoolSize
+				ASYNC_SELECTIONS_MAX_THREADS, // maximumPoolSize
+				1, TimeUnit.MINUTES, // keepAliveTime
+				new ArrayBlockingQueue<>(ASYNC_SELECTIONS_QUEUE_CAPACITY),
+				CustomizableThreadFactory.builder()
+						.setThreadNamePrefix("webui-views-selections")
+						.setDaemon(true)
+						.build(),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/** NOTE: postgres is printing the rows as integer, but we also accept decimals and exponents (e.g. 1.0e+06), just in case */
+	private static final Pattern PATTERN_PlanRows = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+(?:\\.\\d+)?(?:[eE][+-]?\\d+)?)");
+
 	private final SqlViewBinding viewBinding;
+	private final boolean shareSelections;
 
-	private SqlViewRowIdsOrderedSelectionFactory(@NonNull final SqlViewBinding viewBinding)
+	private SqlViewRowIdsOrderedSelectionFactory(@NonNull final SqlViewBinding viewBinding, final boolean shareSelections)
 	{
 		this.viewBinding = viewBinding;
+		this.shareSelections = shareSelections;
 	}
 
 	private SqlViewSelectionQueryBuilder newSqlViewSelectionQueryBuilder()
@@ -92,10 +152,7 @@ public class SqlViewRowIdsOrderedSelectionFactory implements ViewRowIdsOrderedSe
 			final SqlDocumentFilterConverterContext context)
 	{
 		final UserRolePermissionsKey permissionsKey = viewEvalCtx.getPermissionsKey();
-		final IUserRolePermissions permissions = Services.get(IUserRolePermissionsDAO.class).getUserRolePermissions(permissionsKey);
-		final int queryLimit = permissions.getConstraint(WindowMaxQueryRecordsConstraint.class)
-				.or(WindowMaxQueryRecordsConstraint.DEFAULT)
-				.getMaxQueryRecordsPerRole();
+		final int queryLimit = getQueryLimit(permissionsKey);
 
 		//
 		//
@@ -129,11 +186,189 @@ public class SqlViewRowIdsOrderedSelectionFactory implements ViewRowIdsOrderedSe
 				.setSize(rowsCount)
 				.setOrderBys(orderBys)
 				.setQueryLimit(queryLimit)
+				.setSharedContentKey(shareSelections ? buildSharedContentKey(viewId, permissionsKey, sqlCreates) : null)
 				.build();
 	}
 
+	private static int getQueryLimit(final UserRolePermissionsKey permissionsKey)
+	{
+		final IUserRolePermissions permissions = Services.get(IUserRolePermissionsDAO.class).getUserRolePermissions(permissionsKey);
+		return permissions.getConstraint(WindowMaxQueryRecordsConstraint.class)
+				.or(WindowMaxQueryRecordsConstraint.DEFAULT)
+				.getMaxQueryRecordsPerRole();
+	}
+
+	/**
+	 * Creates the selection but inserts only the first <code>firstRowsCount</code> rows right away.
+	 * Then, in background, all rows are inserted by one statement, replacing the first rows, so the full selection is consistent.
+	 * Until then, the selection's size is the planner's estimation.
+	 * <p>
+	 * If the view has grouping fields, the selection is fully created right away.
+	 */
+	@Override
+	public ViewRowIdsOrderedSelectionAsync createOrderedSelectionAsync(
+			final ViewEvaluationCtx viewEvalCtx,
+			final ViewId viewId,
+			final List<DocumentFilter> filters,
+			final List<DocumentQueryOrderBy> orderBys,
+			final boolean applySecurityRestrictions,
+			final int firstRowsCount,
+			final SqlDocumentFilterConverterContext context)
+	{
+		final SqlViewSelectionQueryBuilder viewQueryBuilder = newSqlViewSelectionQueryBuilder().applySecurityRestrictions(applySecurityRestrictions);
+		if (viewQueryBuilder.hasGroupingFields() || firstRowsCount <= 0)
+		{
+			final ViewRowIdsOrderedSelection selection = createOrderedSelection(viewEvalCtx, viewId, filters, orderBys, applySecurityRestrictions, context);
+			return ViewRowIdsOrderedSelectionAsync.completed(selection);
+		}
+
+		final int queryLimit = getQueryLimit(viewEvalCtx.getPermissionsKey());
+		final SqlCreateSelectionInTwoSteps sqlCreates = viewQueryBuilder.buildSqlCreateSelectionInTwoStepsFrom(viewEvalCtx, viewId, filters, orderBys, queryLimit, firstRowsCount, context);
+		logger.trace("Creating selection in two steps using {}", sqlCreates);
+
+		//
+		// Insert the first rows
+		final int firstRowsInserted;
+		{
+			final SqlAndParams sqlCreateFirstRows = sqlCreates.getSqlCreateFirstRows();
+			final Stopwatch stopwatch = Stopwatch.createStarted();
+			firstRowsInserted = DB.executeUpdateEx(sqlCreateFirstRows.getSql(), sqlCreateFirstRows.getSqlParamsArray(), ITrx.TRXNAME_ThreadInherited);
+			logger.trace("Created first rows of selection {}, rowsCount={}, duration={}", viewId, firstRowsInserted, stopwatch);
+		}
+
+		final ViewRowIdsOrderedSelection.Builder selectionBuilder = ViewRowIdsOrderedSelection.builder()
+				.setViewId(viewId)
+				.setOrderBys(orderBys)
+				.setQueryLimit(queryLimit);
+
+		if (firstRowsInserted < firstRowsCount || (queryLimit > 0 && firstRowsInserted >= queryLimit))
+		{
+			// there are no more rows
+			return ViewRowIdsOrderedSelectionAsync.completed(selectionBuilder.setSize(firstRowsInserted).build());
+		}
+
+		//
+		// Estimate the size, until all rows are inserted
+		long estimatedSize = Math.max(retrieveEstimatedRowsCount(sqlCreates.getSqlExplainRowsCount()), firstRowsInserted + 1);
+		if (queryLimit > 0)
+		{
+			estimatedSize = Math.min(estimatedSize, queryLimit);
+		}
+		final ViewRowIdsOrderedSelection firstRowsSelection = selectionBuilder.setSize(estimatedSize).setSizeApproximate(true).build();
+
+		//
+		// Replace the first rows with all rows, in background.
+		// NOTE: we are not inserting only the rows after the first ones because those would be fetched by another statement,
+		// i.e. from another snapshot, and we might get duplicate or missing rows if the records were changed in meantime.
+		final SqlAndParams sqlDeleteFirstRows = sqlCreates.getSqlDeleteFirstRows();
+		final SqlAndParams sqlCreateAllRows = sqlCreates.getSqlCreateAllRows();
+		final CompletableFuture<ViewRowIdsOrderedSelection> fullSelection = CompletableFuture.supplyAsync(() -> {
+			final Stopwatch stopwatch = Stopwatch.createStarted();
+			final int[] allRowsInserted = new int[] { 0 };
+			Services.get(ITrxManager.class).runInNewTrx(() -> {
+				DB.executeUpdateEx(sqlDeleteFirstRows.getSql(), sqlDeleteFirstRows.getSqlParamsArray(), ITrx.TRXNAME_ThreadInherited);
+				allRowsInserted[0] = DB.executeUpdateEx(sqlCreateAllRows.getSql(), sqlCreateAllRows.getSqlParamsArray(), ITrx.TRXNAME_ThreadInherited);
+			});
+			logger.trace("Created all rows of selection {}, rowsCount={}, duration={}", viewId, allRowsInserted[0], stopwatch);
+
+			return firstRowsSelection.toBuilder()
+					.setSize(allRowsInserted[0])
+					.build();
+		}, asyncSelectionsExecutor);
+
+		return ViewRowIdsOrderedSelectionAsync.inProgress(firstRowsSelection, firstRowsInserted, fullSelection);
+	}
+
+	private static long retrieveEstimatedRowsCount(final String sqlExplain)
+	{
+		try
+		{
+			final String explainJson = DB.getSQLValueStringEx(ITrx.TRXNAME_ThreadInherited, sqlExplain);
+			return extractPlanRows(explainJson);
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("Failed estimating the rows count using {}. Returning 0.", sqlExplain, ex);
+			return 0;
+		}
+	}
+
+	/**
+	 * @return the "Plan Rows" of top plan node, from postgres' <code>EXPLAIN (FORMAT JSON)</code> output, or 0 if it's missing
+	 */
+	@VisibleForTesting
+	static long extractPlanRows(final String explainJson)
+	{
+		if (explainJson == null)
+		{
+			return 0;
+		}
+
+		final Matcher matcher = PATTERN_PlanRows.matcher(explainJson);
+		return matcher.find() ? (long)Double.parseDouble(matcher.group(1)) : 0;
+	}
+
+	/**
+	 * @return a key which identifies the rows of a selection created by given SQL, i.e. the SQL and the SQL parameters without the selection's UUID,
+	 *         plus the identity of this very selection. The SQL alone is not enough because the selection of a view might be recreated (see {@link IView#invalidateSelection()}),
+	 *         having the same ID and SQL, but other rows.
+	 */
+	private static String buildSharedContentKey(
+			@NonNull final ViewId viewId,
+			@NonNull final UserRolePermissionsKey permissionsKey,
+			@NonNull final SqlCreateSelection sqlCreates)
+	{
+		final StringBuilder key = new StringBuilder();
+		key.append(viewId.getWindowId().toJson());
+		key.append("\n").append(permissionsKey.toPermissionsKeyString());
+		if (sqlCreates.getSqlCreateSelectionLines() != null)
+		{
+			appendSharedContentKey(key, viewId, sqlCreates.getSqlCreateSelectionLines());
+		}
+		appendSharedContentKey(key, viewId, sqlCreates.getSqlCreateSelection());
+		key.append("\n").append(viewId.getViewId()).append("#").append(nextSelectionVersion.getAndIncrement());
+		return key.toString();
+	}
+
+	private static void appendSharedContentKey(final StringBuilder key, final ViewId viewId, final SqlAndParams sqlAndParams)
+	{
+		final String selectionId = viewId.getViewId();
+
+		key.append("\n").append(sqlAndParams.getSql());
+		for (final Object sqlParam : sqlAndParams.getSqlParams())
+		{
+			key.append("\n").append(selectionId.equals(sqlParam) ? "<selectionId>" : sqlParam);
+		}
+	}
+
 	@Override
 	public ViewRowIdsOrderedSelection createOrderedSelectionFromSelection(final ViewEvaluationCtx viewEvalCtx, final ViewRowIdsOrderedSelection fromSelection, final List<DocumentQueryOrderBy> orderBys)
+	{
+		final String fromSharedContentKey = fromSelection.getSharedContentKey();
+		if (!shareSelections || fromSharedContentKey == null || !sharedSelectionsPool.isEnabled())
+		{
+			return createOrderedSelectionFromSelection0(viewEvalCtx, fromSelection, orderBys);
+		}
+
+		final String sharedContentKey = fromSharedContentKey
+				+ "\n" + viewEvalCtx.getAdLanguage()
+				+ "\n" + orderBys;
+
+		final ImmutableSet.Builder<String> selectionIdsToDelete = ImmutableSet.builder();
+		final ViewRowIdsOrderedSelection selection = sharedSelectionsPool.acquire(
+				sharedContentKey,
+				() -> createOrderedSelectionFromSelection0(viewEvalCtx, fromSelection, orderBys)
+						.toBuilder()
+						.setSharedContentKey(sharedContentKey)
+						.build(),
+				selectionIdsToDelete);
+
+		SqlViewSelectionToDeleteHelper.scheduleDeleteSelections(selectionIdsToDelete.build());
+
+		return selection;
+	}
+
+	private ViewRowIdsOrderedSelection createOrderedSelectionFromSelection0(final ViewEvaluationCtx viewEvalCtx, final ViewRowIdsOrderedSelection fromSelection, final List<DocumentQueryOrderBy> orderBys)
 	{
 		final WindowId windowId = fromSelection.getWindowId();
 		final String fromSelectionId = fromSelection.getSelectionId();
@@ -266,6 +501,68 @@ public class SqlViewRowIdsOrderedSelectionFactory implements ViewRowIdsOrderedSe
 		return count > 0;
 	}
 
+	@Override
+	public Set<DocumentId> retrieveRowIdsContainedIn(@NonNull final ViewRowIdsOrderedSelection selection, @NonNull final DocumentIdsSelection rowIds)
+	{
+		if (rowIds.isEmpty())
+		{
+			return ImmutableSet.of();
+		}
+
+		final SqlAndParams sqlAndParams = newSqlViewSelectionQueryBuilder().buildSqlSelectRowIds(selection.getSelectionId(), rowIds);
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
+		{
+			pstmt = DB.prepareStatement(sqlAndParams.getSql(), ITrx.TRXNAME_ThreadInherited);
+			DB.setParameters(pstmt, sqlAndParams.getSqlParams());
+			rs = pstmt.executeQuery();
+
+			final SqlViewKeyColumnNamesMap keyColumnNamesMap = viewBinding.getSqlViewKeyColumnNamesMap();
+			final ImmutableSet.Builder<DocumentId> rowIdsContained = ImmutableSet.builder();
+			while (rs.next())
+			{
+				final DocumentId rowId = keyColumnNamesMap.retrieveRowId(rs, "", false);
+				if (rowId != null)
+				{
+					rowIdsContained.add(rowId);
+				}
+			}
+			return rowIdsContained.build();
+		}
+		catch (final SQLException ex)
+		{
+			throw new DBException(ex, sqlAndParams.getSql(), sqlAndParams.getSqlParams());
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+		}
+	}
+
+	@Override
+	public ViewRowIdsOrderedSelection retrieveExistingOrderedSelectionOrNull(
+			@NonNull final ViewEvaluationCtx viewEvalCtx,
+			@NonNull final ViewId viewId,
+			final List<DocumentQueryOrderBy> orderBys)
+	{
+		final String sql = "SELECT COUNT(1) FROM " + I_T_WEBUI_ViewSelection.Table_Name
+				+ " WHERE " + I_T_WEBUI_ViewSelection.COLUMNNAME_UUID + "=?";
+		final int rowsCount = DB.getSQLValueEx(ITrx.TRXNAME_ThreadInherited, sql, viewId.getViewId());
+		if (rowsCount <= 0)
+		{
+			return null;
+		}
+
+		// NOTE: the shared content key is not known, so the selection won't be shared
+		return ViewRowIdsOrderedSelection.builder()
+				.setViewId(viewId)
+				.setSize(rowsCount)
+				.setOrderBys(orderBys)
+				.setQueryLimit(getQueryLimit(viewEvalCtx.getPermissionsKey()))
+				.build();
+	}
+
 	@Override
 	public void deleteSelection(@NonNull final ViewId viewId)
 	{
@@ -287,10 +584,40 @@ public class SqlViewRowIdsOrderedSelectionFactory implements ViewRowIdsOrderedSe
 		}
 	}
 
+	/**
+	 * Schedules to delete the shared selections which expired and are no longer used by any view.
+	 * Shall be called periodically.
+	 */
+	public static void purgeExpiredSharedSelectionsNoFail()
+	{
+		try
+		{
+			SqlViewSelectionToDeleteHelper.scheduleDeleteSelections(sharedSelectionsPool.purgeExpired());
+		}
+		catch (final Throwable ex)
+		{
+			logger.warn("Failed purging expired shared view selections. Ignored", ex);
+		}
+	}
+
+	@Override
+	public void evictSharedSelectionsDerivedFrom(@NonNull final ViewRowIdsOrderedSelection fromSelection)
+	{
+		final String fromSharedContentKey = fromSelection.getSharedContentKey();
+		if (!shareSelections || fromSharedContentKey == null)
+		{
+			return;
+		}
+
+		SqlViewSelectionToDeleteHelper.scheduleDeleteSelections(sharedSelectionsPool.evictDerivedFrom(fromSharedContentKey));
+	}
+
 	@Override
 	public void scheduleDeleteSelections(final Set<String> viewIds)
 	{
-		SqlViewSelectionToDeleteHelper.scheduleDeleteSelections(viewIds);
+		// NOTE: shared selections are deleted only after they were released by all views
+		final Set<String> viewIdsToDelete = shareSelections ? sharedSelectionsPool.release(viewIds) : viewIds;
+		SqlViewSelectionToDeleteHelper.scheduleDeleteSelections(viewIdsToDelete);
 	}
 
 	public static Set<DocumentId> retrieveRowIdsForLineIds(
@@ -27,7 +27,12 @@ public enum ViewCloseReason
 	/** Closed because user requested it */
 	USER_REQUEST,
 	/** Closed because it was removed automatically from cache (expired, cache size exceeded etc) */
-	CLEANUP;
+	CLEANUP,
+	/**
+	 * Removed only from this node's memory, but it's still used on other nodes (see {@link ClusteredViewsRepositoryStorage}).
+	 * The resources shared between nodes (e.g. the default selection) shall be kept.
+	 */
+	DETACHED;
 
 	public static ViewCloseReason fromCacheEvictedFlag(final boolean wasEvicted)
 	{
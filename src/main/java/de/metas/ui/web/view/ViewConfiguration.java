@@ -45,9 +45,24 @@ public class ViewConfiguration implements InitializingBean
 	@Value("${metasfresh.view.clearViewSelectionsRateInSeconds:1800}")
 	private int clearViewSelectionsRateInSeconds;
 
+	@Value("${metasfresh.view.purgeSharedViewSelectionsRateInSeconds:60}")
+	private int purgeSharedViewSelectionsRateInSeconds;
+
 	@Override
 	public void afterPropertiesSet() throws Exception
 	{
+		if (purgeSharedViewSelectionsRateInSeconds > 0)
+		{
+			final ScheduledExecutorService scheduledExecutor = viewMaintenanceScheduledExecutorService();
+			scheduledExecutor.scheduleAtFixedRate(
+					SqlViewRowIdsOrderedSelectionFactory::purgeExpiredSharedSelectionsNoFail, // command, don't fail because on failure the task won't be re-scheduled
+					purgeSharedViewSelectionsRateInSeconds, // initialDelay
+					purgeSharedViewSelectionsRateInSeconds, // period
+					TimeUnit.SECONDS // timeUnit
+			);
+			logger.info("Purging expired shared view selections each {} seconds", purgeSharedViewSelectionsRateInSeconds);
+		}
+
 		if (clearViewSelectionsRateInSeconds > 0)
 		{
 			final ScheduledExecutorService scheduledExecutor = viewMaintenanceScheduledExecutorService();
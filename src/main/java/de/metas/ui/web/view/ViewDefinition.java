@@ -0,0 +1,110 @@
+package de.metas.ui.web.view;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.ui.web.document.filter.DocumentFilter;
+import de.metas.ui.web.view.json.JSONViewDataType;
+import de.metas.ui.web.window.datatypes.DocumentId;
+import de.metas.ui.web.window.datatypes.DocumentPath;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Everything needed to recreate a {@link DefaultView}, maybe on another node, except its selection which is already in database.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ * @see ViewDefinitionsStore
+ */
+@Value
+public class ViewDefinition
+{
+	public static ViewDefinition ofView(@NonNull final DefaultView view)
+	{
+		return builder()
+				.viewId(view.getViewId())
+				.viewType(view.getViewType())
+				.profileId(view.getProfileId())
+				.referencingDocumentPaths(view.getReferencingDocumentPaths())
+				.parentViewId(view.getParentViewId())
+				.parentRowId(view.getParentRowId())
+				.stickyFilters(view.getStickyFilters())
+				.filters(view.getFilters())
+				.applySecurityRestrictions(view.isApplySecurityRestrictions())
+				.build();
+	}
+
+	@NonNull
+	ViewId viewId;
+	@NonNull
+	JSONViewDataType viewType;
+	@Nullable
+	ViewProfileId profileId;
+	@NonNull
+	ImmutableSet<DocumentPath> referencingDocumentPaths;
+
+	@Nullable
+	ViewId parentViewId;
+	@Nullable
+	DocumentId parentRowId;
+
+	/** Sticky filters, including the ones which were added by factory (e.g. referenced document filter) */
+	@NonNull
+	ImmutableList<DocumentFilter> stickyFilters;
+	/** Regular filters, including the auto filters */
+	@NonNull
+	ImmutableList<DocumentFilter> filters;
+
+	boolean applySecurityRestrictions;
+
+	@Builder
+	private ViewDefinition(
+			@NonNull final ViewId viewId,
+			@NonNull final JSONViewDataType viewType,
+			@Nullable final ViewProfileId profileId,
+			@Nullable final Set<DocumentPath> referencingDocumentPaths,
+			@Nullable final ViewId parentViewId,
+			@Nullable final DocumentId parentRowId,
+			@Nullable final List<DocumentFilter> stickyFilters,
+			@Nullable final List<DocumentFilter> filters,
+			final boolean applySecurityRestrictions)
+	{
+		this.viewId = viewId;
+		this.viewType = viewType;
+		this.profileId = profileId;
+		this.referencingDocumentPaths = referencingDocumentPaths != null ? ImmutableSet.copyOf(referencingDocumentPaths) : ImmutableSet.of();
+		this.parentViewId = parentViewId;
+		this.parentRowId = parentRowId;
+		this.stickyFilters = stickyFilters != null ? ImmutableList.copyOf(stickyFilters) : ImmutableList.of();
+		this.filters = filters != null ? ImmutableList.copyOf(filters) : ImmutableList.of();
+		this.applySecurityRestrictions = applySecurityRestrictions;
+	}
+}
@@ -0,0 +1,54 @@
+package de.metas.ui.web.view;
+
+import java.time.Instant;
+
+import javax.annotation.Nullable;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Store of {@link ViewDefinition}s which is shared between all nodes of a cluster, so any node can recreate a view created on another node.
+ * <p>
+ * To enable clustered views, provide an implementation of this interface as a spring bean (see {@link ClusteredViewsRepositoryStorage}).
+ * Implementations are called on each view access (throttled), so they shall be fast and thread-safe.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ * @see InMemoryViewDefinitionsStore
+ */
+public interface ViewDefinitionsStore
+{
+	void save(ViewDefinition viewDefinition);
+
+	/** @return view definition or {@code null} if the view was never created or it was closed */
+	@Nullable
+	ViewDefinition getByIdOrNull(ViewId viewId);
+
+	void remove(ViewId viewId);
+
+	/** Remembers that given node is using given view */
+	void markAccessed(ViewId viewId, String nodeId, Instant timestamp);
+
+	/** @return when the view was last used by a node other than given one, or {@code null} if it was never used by other nodes */
+	@Nullable
+	Instant getLastAccessByOtherNodesOrNull(ViewId viewId, String nodeId);
+}
@@ -0,0 +1,62 @@
+package de.metas.ui.web.view;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Statistics about how the lookup display names of a view's rows were resolved.
+ * <p>
+ * The display names which are fetched by the page SQL are not counted here, only the ones resolved afterwards, using the lookup.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Value
+@Builder
+public class ViewLookupResolutionStats
+{
+	@NonNull
+	ViewId viewId;
+
+	/** how many pages (or single rows) were loaded */
+	long pagesLoaded;
+
+	/** how many times a lookup was asked to resolve a batch of IDs, i.e. once per lookup field and page */
+	long lookupBatches;
+
+	/**
+	 * how many IDs were looked up, summed over all batches.
+	 * NOTE: {@link de.metas.ui.web.window.model.lookup.LookupDataSource#findByIds(java.util.Collection)} is resolving each ID by one findById call (which might be served from lookup's cache).
+	 */
+	long lookupCalls;
+
+	/** how many IDs were actually resolved (i.e. found), summed over all batches */
+	long lookupIdsResolved;
+
+	public double getLookupCallsPerPage()
+	{
+		return pagesLoaded > 0 ? (double)lookupCalls / pagesLoaded : 0;
+	}
+}
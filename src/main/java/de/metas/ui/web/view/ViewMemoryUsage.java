@@ -0,0 +1,70 @@
+package de.metas.ui.web.view;
+
+import java.time.Instant;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Estimated heap retained by the views of a {@link DefaultViewsRepositoryStorage}, biggest views first.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Value
+@Builder
+public class ViewMemoryUsage
+{
+	/** memory budget; zero or negative means no budget */
+	long budgetInBytes;
+
+	long totalEstimatedSizeInBytes;
+
+	/** how many views were closed because the budget was exceeded */
+	long viewsEvictedCount;
+
+	@NonNull
+	@Singular
+	ImmutableList<ViewInfo> views;
+
+	@Value
+	@Builder
+	public static class ViewInfo
+	{
+		@NonNull
+		ViewId viewId;
+
+		/** user name of the user who created the view, if known */
+		String owner;
+
+		long estimatedSizeInBytes;
+
+		@NonNull
+		Instant lastAccess;
+	}
+}
@@ -100,6 +100,9 @@ public class ViewRestController
 	private static final String PARAM_PageLength = "pageLength";
 	//
 	private static final String PARAM_FilterId = "filterId";
+	//
+	private static final String PARAM_StreamedRows = "streamedRows";
+	private static final String PARAM_StreamedRows_Description = "If true, the rows are written directly to JSON, without building the intermediate JSON objects";
 
 	@Autowired
 	private UserSession userSession;
@@ -234,6 +237,7 @@ public class ViewRestController
 			, @RequestParam(name = PARAM_FirstRow, required = true) @ApiParam(PARAM_FirstRow_Description) final int firstRow //
 			, @RequestParam(name = PARAM_PageLength, required = true) final int pageLength //
 			, @RequestParam(name = PARAM_OrderBy, required = false) @ApiParam(PARAM_OrderBy_Description) final String orderBysListStr //
+			, @RequestParam(name = PARAM_StreamedRows, required = false) @ApiParam(PARAM_StreamedRows_Description) final boolean streamedRows //
 	)
 	{
 		userSession.assertLoggedIn();
@@ -246,7 +250,9 @@ public class ViewRestController
 				pageLength,
 				ViewRowsOrderBy.parseString(orderBysListStr, jsonOpts));
 		final IViewRowOverrides rowOverrides = ViewRowOverridesHelper.getViewRowOverrides(view);
-		return JSONViewResult.of(result, rowOverrides, jsonOpts);
+		return streamedRows
+				? JSONViewResult.ofStreamedRows(result, rowOverrides, jsonOpts)
+				: JSONViewResult.of(result, rowOverrides, jsonOpts);
 	}
 
 	@GetMapping("/layout")
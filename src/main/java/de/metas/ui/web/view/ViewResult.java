@@ -97,6 +97,7 @@ public final class ViewResult
 	private final ITranslatableString viewDescription;
 	private final ViewHeaderProperties viewHeaderProperties;
 	private final long size;
+	private final boolean sizeApproximate;
 	private final int queryLimit;
 	private final boolean queryLimitHit;
 
@@ -132,6 +133,7 @@ public final class ViewResult
 		this.viewDescription = view.getDescription();
 		this.viewHeaderProperties = view.getHeaderProperties() != null ? view.getHeaderProperties() : ViewHeaderProperties.EMPTY;
 		this.size = view.size();
+		this.sizeApproximate = view.isSizeApproximate();
 		this.queryLimit = view.getQueryLimit();
 		this.queryLimitHit = view.isQueryLimitHit();
 
@@ -162,6 +164,7 @@ public final class ViewResult
 		this.viewDescription = view.getDescription();
 		this.viewHeaderProperties = view.getHeaderProperties() != null ? view.getHeaderProperties() : ViewHeaderProperties.EMPTY;
 		this.size = view.size();
+		this.sizeApproximate = view.isSizeApproximate();
 		this.queryLimit = view.getQueryLimit();
 		this.queryLimitHit = view.isQueryLimitHit();
 
@@ -233,6 +236,11 @@ public final class ViewResult
 		return size;
 	}
 
+	public boolean isSizeApproximate()
+	{
+		return sizeApproximate;
+	}
+
 	public int getFirstRow()
 	{
 		return firstRow;
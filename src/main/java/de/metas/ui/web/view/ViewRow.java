@@ -94,7 +94,7 @@ public final class ViewRow implements IViewRow
 		type = builder.getType();
 		processed = builder.isProcessed();
 
-		values = ViewRowFieldNameAndJsonValues.ofMap(ImmutableMap.copyOf(builder.getValues()));
+		values = builder.buildValues();
 
 		includedRows = builder.buildIncludedRows();
 	}
@@ -189,6 +189,9 @@ public final class ViewRow implements IViewRow
 		private final Map<String, Object> values = new LinkedHashMap<>(); // preserve the insertion order of fields
 		private List<IViewRow> includedRows = null;
 
+		private ViewRowsColumnarPage columnarPage;
+		private int columnarPageRowIndex = -1;
+
 		private Builder(@NonNull final WindowId windowId)
 		{
 			this.windowId = windowId;
@@ -300,11 +303,35 @@ public final class ViewRow implements IViewRow
 			return this;
 		}
 
-		private Map<String, Object> getValues()
+		/** @return field values collected so far; never null values */
+		Map<String, Object> getValues()
 		{
 			return values;
 		}
 
+		/**
+		 * Advises the builder to not copy the values but use the ones from given columnar page.
+		 * The page shall be built from {@link #getValues()} after all values were set.
+		 */
+		Builder setColumnarPageRow(@NonNull final ViewRowsColumnarPage columnarPage, final int rowIndex)
+		{
+			this.columnarPage = columnarPage;
+			this.columnarPageRowIndex = rowIndex;
+			return this;
+		}
+
+		private ViewRowFieldNameAndJsonValues buildValues()
+		{
+			if (columnarPage != null)
+			{
+				return ViewRowFieldNameAndJsonValues.ofColumnarPageRow(columnarPage, columnarPageRowIndex);
+			}
+			else
+			{
+				return ViewRowFieldNameAndJsonValues.ofMap(ImmutableMap.copyOf(values));
+			}
+		}
+
 		public LookupValue getFieldValueAsLookupValue(final String fieldName)
 		{
 			return LookupValue.cast(values.get(fieldName));
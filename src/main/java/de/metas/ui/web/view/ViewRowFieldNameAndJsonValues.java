@@ -1,18 +1,24 @@
 package de.metas.ui.web.view;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Objects;
 
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 import de.metas.i18n.ITranslatableString;
+import de.metas.ui.web.view.ViewRowsColumnarPage.ColumnType;
 import de.metas.ui.web.window.datatypes.LookupValue;
 import de.metas.ui.web.window.datatypes.Values;
 import de.metas.ui.web.window.datatypes.json.JSONLookupValue;
 import de.metas.ui.web.window.datatypes.json.JSONNullValue;
 import de.metas.ui.web.window.datatypes.json.JSONOptions;
 import de.metas.util.NumberUtils;
-import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.ToString;
 
@@ -39,7 +45,6 @@ import lombok.ToString;
  */
 
 @ToString
-@EqualsAndHashCode
 public final class ViewRowFieldNameAndJsonValues
 {
 	public static ViewRowFieldNameAndJsonValues ofMap(@NonNull final ImmutableMap<String, Object> map)
@@ -52,30 +57,100 @@ public final class ViewRowFieldNameAndJsonValues
 		return new ViewRowFieldNameAndJsonValues(map);
 	}
 
+	/**
+	 * @return the values of given row of a columnar page; the values are not copied
+	 */
+	static ViewRowFieldNameAndJsonValues ofColumnarPageRow(@NonNull final ViewRowsColumnarPage page, final int rowIndex)
+	{
+		return new ViewRowFieldNameAndJsonValues(page, rowIndex);
+	}
+
 	private static final ViewRowFieldNameAndJsonValues EMPTY = new ViewRowFieldNameAndJsonValues();
 
+	/** Values, in case they are not backed by a {@link ViewRowsColumnarPage} */
 	private final ImmutableMap<String, Object> map;
 
+	private final ViewRowsColumnarPage page;
+	private final int pageRowIndex;
+
 	private ViewRowFieldNameAndJsonValues(@NonNull final ImmutableMap<String, Object> map)
 	{
 		this.map = map;
+		this.page = null;
+		this.pageRowIndex = -1;
+	}
+
+	private ViewRowFieldNameAndJsonValues(@NonNull final ViewRowsColumnarPage page, final int pageRowIndex)
+	{
+		this.map = null;
+		this.page = page;
+		this.pageRowIndex = pageRowIndex;
 	}
 
 	private ViewRowFieldNameAndJsonValues()
 	{
 		map = ImmutableMap.of();
+		page = null;
+		pageRowIndex = -1;
 	}
 
 	public ImmutableSet<String> getFieldNames()
 	{
-		return map.keySet();
+		return map != null ? map.keySet() : page.getFieldNames(pageRowIndex);
+	}
+
+	@Nullable
+	private Object getValue(final String fieldName)
+	{
+		return map != null ? map.get(fieldName) : page.getValue(pageRowIndex, fieldName);
+	}
+
+	@Override
+	public boolean equals(final Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+		if (!(obj instanceof ViewRowFieldNameAndJsonValues))
+		{
+			return false;
+		}
+
+		final ViewRowFieldNameAndJsonValues other = (ViewRowFieldNameAndJsonValues)obj;
+		final ImmutableSet<String> fieldNames = getFieldNames();
+		if (!fieldNames.equals(other.getFieldNames()))
+		{
+			return false;
+		}
+
+		for (final String fieldName : fieldNames)
+		{
+			if (!Objects.equals(getValue(fieldName), other.getValue(fieldName)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		// same as Map.hashCode(), so it does not depend on how the values are stored
+		int hashCode = 0;
+		for (final String fieldName : getFieldNames())
+		{
+			hashCode += fieldName.hashCode() ^ Objects.hashCode(getValue(fieldName));
+		}
+		return hashCode;
 	}
 
 	public Object getAsJsonObject(
 			@NonNull final String fieldName,
 			@NonNull final JSONOptions jsonOpts)
 	{
-		final Object valueObj = map.get(fieldName);
+		final Object valueObj = getValue(fieldName);
 
 		if (JSONNullValue.isNull(valueObj))
 		{
@@ -91,9 +166,54 @@ public final class ViewRowFieldNameAndJsonValues
 		}
 	}
 
+	/**
+	 * Writes the same JSON value as serializing {@link #getAsJsonObject(String, JSONOptions)} would,
+	 * but the values of the primitive columns of a {@link ViewRowsColumnarPage} are written without boxing them.
+	 */
+	public void writeJsonValue(
+			@NonNull final String fieldName,
+			@NonNull final JSONOptions jsonOpts,
+			@NonNull final JsonGenerator gen,
+			@NonNull final SerializerProvider provider) throws IOException
+	{
+		if (page != null)
+		{
+			final int columnIndex = page.getColumnIndex(fieldName);
+			if (columnIndex >= 0 && !page.isNull(pageRowIndex, columnIndex))
+			{
+				final ColumnType columnType = page.getColumnType(columnIndex);
+				if (columnType == ColumnType.INT)
+				{
+					gen.writeNumber(page.getInt(pageRowIndex, columnIndex));
+					return;
+				}
+				else if (columnType == ColumnType.BOOLEAN)
+				{
+					gen.writeBoolean(page.getBoolean(pageRowIndex, columnIndex));
+					return;
+				}
+			}
+		}
+
+		provider.defaultSerializeValue(getAsJsonObject(fieldName, jsonOpts), gen);
+	}
+
 	public int getAsInt(@NonNull final String fieldName, final int defaultValueIfNotFoundOrError)
 	{
-		final Object valueObj = map.get(fieldName);
+		if (page != null)
+		{
+			final int columnIndex = page.getColumnIndex(fieldName);
+			if (columnIndex < 0 || page.isNull(pageRowIndex, columnIndex))
+			{
+				return defaultValueIfNotFoundOrError;
+			}
+			else if (page.getColumnType(columnIndex) == ColumnType.INT)
+			{
+				return page.getInt(pageRowIndex, columnIndex);
+			}
+		}
+
+		final Object valueObj = getValue(fieldName);
 
 		if (JSONNullValue.toNullIfInstance(valueObj) == null)
 		{
@@ -119,7 +239,7 @@ public final class ViewRowFieldNameAndJsonValues
 
 	public BigDecimal getAsBigDecimal(@NonNull final String fieldName, final BigDecimal defaultValueIfNotFoundOrError)
 	{
-		final Object valueObj = map.get(fieldName);
+		final Object valueObj = getValue(fieldName);
 
 		if (JSONNullValue.isNull(valueObj))
 		{
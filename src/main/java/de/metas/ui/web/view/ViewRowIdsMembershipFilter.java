@@ -0,0 +1,103 @@
+package de.metas.ui.web.view;
+
+import java.util.Collection;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+
+import de.metas.ui.web.window.datatypes.DocumentId;
+import lombok.NonNull;
+import lombok.ToString;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Compact, probabilistic membership structure of the row IDs of a view selection.
+ * <p>
+ * It can tell for sure that a row is <b>not</b> in the selection, but if it says a row "might be" in the selection,
+ * the caller shall check it exactly (e.g. in database).
+ * <p>
+ * Rows which are removed from selection are not removed from this filter (that's not possible), they will be "might be" members from now on.
+ * Rows which are added to selection shall be added to this filter too (see {@link #addAll(Collection)}).
+ * <p>
+ * Thread-safe.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@ToString(of = { "expectedInsertions", "insertions" })
+final class ViewRowIdsMembershipFilter
+{
+	public static ViewRowIdsMembershipFilter ofRowIds(@NonNull final Collection<DocumentId> rowIds)
+	{
+		final ViewRowIdsMembershipFilter filter = new ViewRowIdsMembershipFilter(rowIds.size());
+		filter.addAll(rowIds);
+		return filter;
+	}
+
+	private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+	private static final int MIN_EXPECTED_INSERTIONS = 100;
+
+	private static final Funnel<DocumentId> ROW_ID_FUNNEL = (rowId, into) -> into.putUnencodedChars(rowId.toJson());
+
+	private final int expectedInsertions;
+	private final BloomFilter<DocumentId> bloomFilter;
+	private int insertions = 0;
+
+	private ViewRowIdsMembershipFilter(final int expectedInsertions)
+	{
+		// NOTE: leave some room for rows which will be added later
+		this.expectedInsertions = Math.max(expectedInsertions * 2, MIN_EXPECTED_INSERTIONS);
+		bloomFilter = BloomFilter.create(ROW_ID_FUNNEL, this.expectedInsertions, FALSE_POSITIVE_PROBABILITY);
+	}
+
+	/**
+	 * @return estimated heap retained by this filter, i.e. the size of its bit array
+	 */
+	public long getEstimatedSizeInBytes()
+	{
+		// optimal number of bits, same formula as BloomFilter uses
+		final double bits = -expectedInsertions * Math.log(FALSE_POSITIVE_PROBABILITY) / (Math.log(2) * Math.log(2));
+		return (long)(bits / 8);
+	}
+
+	public synchronized void addAll(@NonNull final Collection<DocumentId> rowIds)
+	{
+		for (final DocumentId rowId : rowIds)
+		{
+			bloomFilter.put(rowId);
+			insertions++;
+		}
+	}
+
+	/**
+	 * @return the row IDs which might be in the selection; all the other ones are for sure not in the selection
+	 */
+	public synchronized Set<DocumentId> retainMightContain(@NonNull final Collection<DocumentId> rowIds)
+	{
+		return rowIds.stream()
+				.filter(bloomFilter::mightContain)
+				.collect(ImmutableSet.toImmutableSet());
+	}
+}
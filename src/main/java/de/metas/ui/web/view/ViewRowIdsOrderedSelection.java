@@ -45,20 +45,27 @@ public final class ViewRowIdsOrderedSelection
 
 	private final ViewId viewId;
 	private final long size;
+	private final boolean sizeApproximate;
 	private final ImmutableList<DocumentQueryOrderBy> orderBys;
 
 	private final int queryLimit;
 	private final boolean queryLimitHit;
 
+	/** Identifies the content of this selection. Selections having the same key are considered to have the same rows, so they can be shared. */
+	private final String sharedContentKey;
+
 	private ViewRowIdsOrderedSelection(final Builder builder)
 	{
 		super();
 		viewId = builder.getViewId();
 		size = builder.getSize();
+		sizeApproximate = builder.sizeApproximate;
 		orderBys = builder.getOrderBys();
 
 		queryLimit = builder.getQueryLimit();
 		queryLimitHit = builder.isQueryLimitHit();
+
+		sharedContentKey = builder.sharedContentKey;
 	}
 
 	@Override
@@ -68,10 +75,14 @@ public final class ViewRowIdsOrderedSelection
 				.omitNullValues()
 				.add("viewId", viewId)
 				.add("size", size)
+				.add("sizeApproximate", sizeApproximate ? Boolean.TRUE : null)
 				.add("orderBys", orderBys.isEmpty() ? null : orderBys)
 				.toString();
 	}
 	
+	/**
+	 * NOTE: the shared content key is not copied because a selection built from this one is assumed to have a different content.
+	 */
 	public Builder toBuilder()
 	{
 		return builder()
@@ -101,6 +112,14 @@ public final class ViewRowIdsOrderedSelection
 		return size;
 	}
 
+	/**
+	 * @return true if {@link #getSize()} is just an estimation, because the selection is not (yet) fully materialized
+	 */
+	public boolean isSizeApproximate()
+	{
+		return sizeApproximate;
+	}
+
 	public ImmutableList<DocumentQueryOrderBy> getOrderBys()
 	{
 		return orderBys;
@@ -116,14 +135,25 @@ public final class ViewRowIdsOrderedSelection
 		return queryLimitHit;
 	}
 
+	/**
+	 * @return shared content key or {@code null} if this selection's content shall not be shared
+	 */
+	public String getSharedContentKey()
+	{
+		return sharedContentKey;
+	}
+
 	public static final class Builder
 	{
 		private ViewId viewId;
 		private long size = -1;
+		private boolean sizeApproximate;
 		private List<DocumentQueryOrderBy> orderBys;
 
 		private int queryLimit;
 
+		private String sharedContentKey;
+
 		private Builder()
 		{
 		}
@@ -156,6 +186,12 @@ public final class ViewRowIdsOrderedSelection
 			return this;
 		}
 
+		public Builder setSizeApproximate(final boolean sizeApproximate)
+		{
+			this.sizeApproximate = sizeApproximate;
+			return this;
+		}
+
 		private ImmutableList<DocumentQueryOrderBy> getOrderBys()
 		{
 			return orderBys == null ? ImmutableList.of() : ImmutableList.copyOf(orderBys);
@@ -173,6 +209,12 @@ public final class ViewRowIdsOrderedSelection
 			return this;
 		}
 
+		public Builder setSharedContentKey(final String sharedContentKey)
+		{
+			this.sharedContentKey = sharedContentKey;
+			return this;
+		}
+
 		private int getQueryLimit()
 		{
 			return queryLimit;
@@ -181,6 +223,7 @@ public final class ViewRowIdsOrderedSelection
 		private boolean isQueryLimitHit()
 		{
 			return queryLimit > 0
+					&& !sizeApproximate
 					&& size > 0
 					&& size >= queryLimit;
 		}
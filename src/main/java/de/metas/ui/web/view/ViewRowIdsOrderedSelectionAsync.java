@@ -0,0 +1,69 @@
+package de.metas.ui.web.view;
+
+import java.util.concurrent.CompletableFuture;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * A selection whose first rows were already materialized, while the remaining rows might be still materialized in background.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Value
+public final class ViewRowIdsOrderedSelectionAsync
+{
+	public static ViewRowIdsOrderedSelectionAsync completed(@NonNull final ViewRowIdsOrderedSelection selection)
+	{
+		return new ViewRowIdsOrderedSelectionAsync(selection, Integer.MAX_VALUE, CompletableFuture.completedFuture(selection));
+	}
+
+	public static ViewRowIdsOrderedSelectionAsync inProgress(
+			@NonNull final ViewRowIdsOrderedSelection firstRowsSelection,
+			final int firstRowsCount,
+			@NonNull final CompletableFuture<ViewRowIdsOrderedSelection> fullSelection)
+	{
+		return new ViewRowIdsOrderedSelectionAsync(firstRowsSelection, firstRowsCount, fullSelection);
+	}
+
+	/** Selection which contains only the first rows, but whose size is the (estimated) size of the full selection */
+	private final ViewRowIdsOrderedSelection firstRowsSelection;
+
+	/** How many rows were materialized in {@link #getFirstRowsSelection()} */
+	private final int firstRowsCount;
+
+	/** Completes when all rows were materialized */
+	private final CompletableFuture<ViewRowIdsOrderedSelection> fullSelection;
+
+	private ViewRowIdsOrderedSelectionAsync(
+			@NonNull final ViewRowIdsOrderedSelection firstRowsSelection,
+			final int firstRowsCount,
+			@NonNull final CompletableFuture<ViewRowIdsOrderedSelection> fullSelection)
+	{
+		this.firstRowsSelection = firstRowsSelection;
+		this.firstRowsCount = firstRowsCount;
+		this.fullSelection = fullSelection;
+	}
+}
@@ -5,6 +5,7 @@ import java.util.Set;
 
 import de.metas.ui.web.document.filter.DocumentFilter;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverterContext;
+import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
 import de.metas.ui.web.window.model.DocumentQueryOrderBy;
 
@@ -39,11 +40,31 @@ public interface ViewRowIdsOrderedSelectionFactory
 			final boolean applySecurityRestrictions,
 			SqlDocumentFilterConverterContext context);
 
+	/**
+	 * Creates the selection but materializes only the first <code>firstRowsCount</code> rows right away, the remaining ones being materialized in background.
+	 *
+	 * @param firstRowsCount if zero or negative the selection is fully materialized right away
+	 */
+	ViewRowIdsOrderedSelectionAsync createOrderedSelectionAsync(ViewEvaluationCtx viewEvalCtx,
+			ViewId viewId,
+			List<DocumentFilter> filters,
+			List<DocumentQueryOrderBy> orderBys,
+			boolean applySecurityRestrictions,
+			int firstRowsCount,
+			SqlDocumentFilterConverterContext context);
+
 	/**
 	 * @return a new {@link ViewRowIdsOrderedSelection} from a given <code>fromSelection</code> ordered by <code>orderBys</code>
 	 */
 	ViewRowIdsOrderedSelection createOrderedSelectionFromSelection(ViewEvaluationCtx viewEvalCtx, ViewRowIdsOrderedSelection fromSelection, List<DocumentQueryOrderBy> orderBys);
 
+	/**
+	 * Makes sure the shared selections which were created from given selection are no longer handed out, e.g. because the selection was invalidated.
+	 */
+	default void evictSharedSelectionsDerivedFrom(ViewRowIdsOrderedSelection fromSelection)
+	{
+	}
+
 	String getSqlWhereClause(ViewId viewId, DocumentIdsSelection rowIds);
 
 	ViewRowIdsOrderedSelection addRowIdsToSelection(ViewRowIdsOrderedSelection selection, DocumentIdsSelection rowIds);
@@ -51,8 +72,15 @@ public interface ViewRowIdsOrderedSelectionFactory
 	ViewRowIdsOrderedSelection removeRowIdsFromSelection(ViewRowIdsOrderedSelection selection, DocumentIdsSelection rowIds);
 
 	boolean containsAnyOfRowIds(ViewRowIdsOrderedSelection selection, DocumentIdsSelection rowIds);
+
+	/**
+	 * @return those of given <code>rowIds</code> which are contained in selection; if rowIds is "all" then all row IDs of the selection are returned
+	 */
+	Set<DocumentId> retrieveRowIdsContainedIn(ViewRowIdsOrderedSelection selection, DocumentIdsSelection rowIds);
 	
 	void deleteSelection(ViewId viewId);
 
+	ViewRowIdsOrderedSelection retrieveExistingOrderedSelectionOrNull(ViewEvaluationCtx viewEvalCtx, ViewId viewId, List<DocumentQueryOrderBy> orderBys);
+
 	void scheduleDeleteSelections(Set<String> viewIds);
 }
@@ -0,0 +1,518 @@
+package de.metas.ui.web.view;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.ui.web.window.datatypes.LookupValue;
+import lombok.NonNull;
+import lombok.ToString;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Column oriented storage of the field values of a page of view rows.
+ * <p>
+ * Instead of having one map per row, the values are stored per column and:
+ * <ul>
+ * <li>the field names are shared by all rows of the page (the schema is usually shared by all pages of a view, see {@link #builder(List)})
+ * <li>columns having only integer, boolean or date values are stored as primitive arrays (see {@link ColumnType})
+ * <li>equal values of the other columns (e.g. lookup values, date-times, amounts) are stored only once
+ * <li>the set of field names of each row (i.e. the fields which have a value, in the order they were added) is shared by all rows having the same set
+ * </ul>
+ * The values of the primitive columns are read using the typed accessors (e.g. {@link #getInt(int, int)}), which are not allocating anything.
+ * {@link #getValue(int, String)} returns the value as it was added, so it is boxing the values of the primitive columns.
+ * <p>
+ * NOTE: a page is retained as long as any of its rows is retained, so evicting some rows of a page (e.g. from the view's rows cache) is not freeing any memory.
+ * <p>
+ * The rows are accessed using {@link ViewRowFieldNameAndJsonValues#ofColumnarPageRow(ViewRowsColumnarPage, int)}.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@ToString(of = { "fieldNames", "rowsCount" })
+final class ViewRowsColumnarPage
+{
+	/**
+	 * @param schemaFieldNames the field names which are usually present; other fields are added as they are found
+	 */
+	public static Builder builder(@NonNull final List<String> schemaFieldNames)
+	{
+		return new Builder(schemaFieldNames);
+	}
+
+	public enum ColumnType
+	{
+		/** {@link Integer} values, stored as {@code int} */
+		INT,
+		/** {@link Boolean} values, stored as bits */
+		BOOLEAN,
+		/** {@link LocalDate} values, stored as {@code int} epoch days */
+		LOCAL_DATE,
+		/** any other values, stored as they were added */
+		OBJECT
+	}
+
+	private final ImmutableList<String> fieldNames;
+	private final Map<String, Integer> columnIndexesByFieldName;
+	/** a column is null if it has no values */
+	private final Column[] columns;
+	private final int rowsCount;
+
+	/** field names of each row; equal sets are shared */
+	private final ImmutableList<ImmutableSet<String>> rowFieldNames;
+
+	private ViewRowsColumnarPage(final Builder builder)
+	{
+		fieldNames = ImmutableList.copyOf(builder.columnIndexesByFieldName.keySet());
+		columnIndexesByFieldName = builder.columnIndexesByFieldName;
+		rowsCount = builder.rows.size();
+
+		columns = new Column[fieldNames.size()];
+		for (int columnIndex = 0; columnIndex < columns.length; columnIndex++)
+		{
+			columns[columnIndex] = createColumnOrNull(builder.rows, columnIndex);
+		}
+
+		rowFieldNames = ImmutableList.copyOf(builder.rowFieldNames);
+	}
+
+	public int getRowsCount()
+	{
+		return rowsCount;
+	}
+
+	public ImmutableSet<String> getFieldNames(final int rowIndex)
+	{
+		return rowFieldNames.get(rowIndex);
+	}
+
+	@Nullable
+	public Object getValue(final int rowIndex, @NonNull final String fieldName)
+	{
+		final int columnIndex = getColumnIndex(fieldName);
+		return columnIndex >= 0 ? columns[columnIndex].getValue(rowIndex) : null;
+	}
+
+	/**
+	 * @return column index or {@code -1} if the given field has no values in this page
+	 */
+	public int getColumnIndex(@NonNull final String fieldName)
+	{
+		final Integer columnIndex = columnIndexesByFieldName.get(fieldName);
+		if (columnIndex == null || columns[columnIndex] == null)
+		{
+			return -1;
+		}
+		return columnIndex;
+	}
+
+	public ColumnType getColumnType(final int columnIndex)
+	{
+		return columns[columnIndex].getType();
+	}
+
+	public boolean isNull(final int rowIndex, final int columnIndex)
+	{
+		return columns[columnIndex].isNull(rowIndex);
+	}
+
+	/**
+	 * @return value of an {@link ColumnType#INT} column; {@code 0} if the value is null
+	 */
+	public int getInt(final int rowIndex, final int columnIndex)
+	{
+		return ((IntColumn)columns[columnIndex]).values[rowIndex];
+	}
+
+	/**
+	 * @return value of a {@link ColumnType#BOOLEAN} column; {@code false} if the value is null
+	 */
+	public boolean getBoolean(final int rowIndex, final int columnIndex)
+	{
+		return ((BooleanColumn)columns[columnIndex]).values.get(rowIndex);
+	}
+
+	/**
+	 * @return value of a {@link ColumnType#LOCAL_DATE} column
+	 */
+	@Nullable
+	public LocalDate getLocalDate(final int rowIndex, final int columnIndex)
+	{
+		return ((LocalDateColumn)columns[columnIndex]).getValue(rowIndex);
+	}
+
+	//
+	//
+	//
+
+	@Nullable
+	private static Column createColumnOrNull(final List<Object[]> rows, final int columnIndex)
+	{
+		final int rowsCount = rows.size();
+		final Object[] values = new Object[rowsCount];
+		ColumnType type = null;
+		for (int rowIndex = 0; rowIndex < rowsCount; rowIndex++)
+		{
+			final Object[] row = rows.get(rowIndex);
+			final Object value = columnIndex < row.length ? row[columnIndex] : null;
+			if (value == null)
+			{
+				continue;
+			}
+
+			values[rowIndex] = value;
+
+			final ColumnType valueType = extractColumnType(value);
+			type = type == null || type == valueType ? valueType : ColumnType.OBJECT;
+		}
+
+		if (type == null)
+		{
+			return null;
+		}
+		else if (type == ColumnType.INT)
+		{
+			return new IntColumn(values);
+		}
+		else if (type == ColumnType.BOOLEAN)
+		{
+			return new BooleanColumn(values);
+		}
+		else if (type == ColumnType.LOCAL_DATE)
+		{
+			return new LocalDateColumn(values);
+		}
+		else
+		{
+			return new ObjectColumn(values);
+		}
+	}
+
+	private static ColumnType extractColumnType(@NonNull final Object value)
+	{
+		if (value instanceof Integer)
+		{
+			return ColumnType.INT;
+		}
+		else if (value instanceof Boolean)
+		{
+			return ColumnType.BOOLEAN;
+		}
+		else if (value instanceof LocalDate && isIntEpochDay((LocalDate)value))
+		{
+			return ColumnType.LOCAL_DATE;
+		}
+		else
+		{
+			return ColumnType.OBJECT;
+		}
+	}
+
+	private static boolean isIntEpochDay(final LocalDate date)
+	{
+		final long epochDay = date.toEpochDay();
+		return epochDay == (int)epochDay;
+	}
+
+	private static Object intern(@NonNull final Object value, final Map<Object, Object> valuesInterned)
+	{
+		if (value instanceof LookupValue)
+		{
+			return internLookupValue((LookupValue)value, valuesInterned);
+		}
+		else if (isInternable(value))
+		{
+			final Object valueInterned = valuesInterned.putIfAbsent(value, value);
+			return valueInterned != null ? valueInterned : value;
+		}
+		else
+		{
+			return value;
+		}
+	}
+
+	/**
+	 * @return true if given value is immutable and equal values are rendered the same way, so we can use any of them
+	 */
+	private static boolean isInternable(final Object value)
+	{
+		return value instanceof String
+				|| value instanceof Integer
+				|| value instanceof Boolean
+				|| value instanceof BigDecimal // NOTE: BigDecimal.equals also compares the scale
+				|| value instanceof LocalDate
+				|| value instanceof ZonedDateTime; // NOTE: ZonedDateTime.equals also compares the zone
+	}
+
+	private static LookupValue internLookupValue(final LookupValue lookupValue, final Map<Object, Object> valuesInterned)
+	{
+		final Object lookupValueInterned = valuesInterned.putIfAbsent(lookupValue, lookupValue);
+		if (lookupValueInterned == null)
+		{
+			return lookupValue;
+		}
+
+		// NOTE: lookup values are equal if their IDs are equal, so we have to check the other properties too
+		final LookupValue other = (LookupValue)lookupValueInterned;
+		final boolean same = other.getClass().equals(lookupValue.getClass())
+				&& Objects.equals(other.getDisplayNameTrl(), lookupValue.getDisplayNameTrl())
+				&& Objects.equals(other.getDescriptionTrl(), lookupValue.getDescriptionTrl())
+				&& Objects.equals(other.getAttributes(), lookupValue.getAttributes());
+		return same ? other : lookupValue;
+	}
+
+	//
+	//
+	//
+
+	private static abstract class Column
+	{
+		public abstract ColumnType getType();
+
+		public abstract boolean isNull(int rowIndex);
+
+		/** @return the value as it was added (i.e. boxed) */
+		@Nullable
+		public abstract Object getValue(int rowIndex);
+	}
+
+	private static final class IntColumn extends Column
+	{
+		private final int[] values;
+		private final BitSet notNulls;
+
+		private IntColumn(final Object[] valuesBoxed)
+		{
+			values = new int[valuesBoxed.length];
+			notNulls = new BitSet(valuesBoxed.length);
+			for (int rowIndex = 0; rowIndex < valuesBoxed.length; rowIndex++)
+			{
+				if (valuesBoxed[rowIndex] != null)
+				{
+					values[rowIndex] = (Integer)valuesBoxed[rowIndex];
+					notNulls.set(rowIndex);
+				}
+			}
+		}
+
+		@Override
+		public ColumnType getType()
+		{
+			return ColumnType.INT;
+		}
+
+		@Override
+		public boolean isNull(final int rowIndex)
+		{
+			return !notNulls.get(rowIndex);
+		}
+
+		@Override
+		public Object getValue(final int rowIndex)
+		{
+			return isNull(rowIndex) ? null : values[rowIndex];
+		}
+	}
+
+	private static final class BooleanColumn extends Column
+	{
+		private final BitSet values;
+		private final BitSet notNulls;
+
+		private BooleanColumn(final Object[] valuesBoxed)
+		{
+			values = new BitSet(valuesBoxed.length);
+			notNulls = new BitSet(valuesBoxed.length);
+			for (int rowIndex = 0; rowIndex < valuesBoxed.length; rowIndex++)
+			{
+				if (valuesBoxed[rowIndex] != null)
+				{
+					values.set(rowIndex, (Boolean)valuesBoxed[rowIndex]);
+					notNulls.set(rowIndex);
+				}
+			}
+		}
+
+		@Override
+		public ColumnType getType()
+		{
+			return ColumnType.BOOLEAN;
+		}
+
+		@Override
+		public boolean isNull(final int rowIndex)
+		{
+			return !notNulls.get(rowIndex);
+		}
+
+		@Override
+		public Object getValue(final int rowIndex)
+		{
+			return isNull(rowIndex) ? null : values.get(rowIndex);
+		}
+	}
+
+	private static final class LocalDateColumn extends Column
+	{
+		private final int[] epochDays;
+		private final BitSet notNulls;
+
+		private LocalDateColumn(final Object[] valuesBoxed)
+		{
+			epochDays = new int[valuesBoxed.length];
+			notNulls = new BitSet(valuesBoxed.length);
+			for (int rowIndex = 0; rowIndex < valuesBoxed.length; rowIndex++)
+			{
+				if (valuesBoxed[rowIndex] != null)
+				{
+					epochDays[rowIndex] = (int)((LocalDate)valuesBoxed[rowIndex]).toEpochDay();
+					notNulls.set(rowIndex);
+				}
+			}
+		}
+
+		@Override
+		public ColumnType getType()
+		{
+			return ColumnType.LOCAL_DATE;
+		}
+
+		@Override
+		public boolean isNull(final int rowIndex)
+		{
+			return !notNulls.get(rowIndex);
+		}
+
+		@Override
+		public LocalDate getValue(final int rowIndex)
+		{
+			return isNull(rowIndex) ? null : LocalDate.ofEpochDay(epochDays[rowIndex]);
+		}
+	}
+
+	private static final class ObjectColumn extends Column
+	{
+		private final Object[] values;
+
+		private ObjectColumn(final Object[] values)
+		{
+			final Map<Object, Object> valuesInterned = new HashMap<>();
+			for (int rowIndex = 0; rowIndex < values.length; rowIndex++)
+			{
+				if (values[rowIndex] != null)
+				{
+					values[rowIndex] = intern(values[rowIndex], valuesInterned);
+				}
+			}
+			this.values = values;
+		}
+
+		@Override
+		public ColumnType getType()
+		{
+			return ColumnType.OBJECT;
+		}
+
+		@Override
+		public boolean isNull(final int rowIndex)
+		{
+			return values[rowIndex] == null;
+		}
+
+		@Override
+		public Object getValue(final int rowIndex)
+		{
+			return values[rowIndex];
+		}
+	}
+
+	public static final class Builder
+	{
+		private final LinkedHashMap<String, Integer> columnIndexesByFieldName = new LinkedHashMap<>();
+		private final List<Object[]> rows = new ArrayList<>();
+		private final List<ImmutableSet<String>> rowFieldNames = new ArrayList<>();
+		private final Map<ImmutableList<String>, ImmutableSet<String>> distinctRowFieldNames = new HashMap<>();
+
+		private Builder(final List<String> schemaFieldNames)
+		{
+			schemaFieldNames.forEach(this::getOrAddColumnIndex);
+		}
+
+		public ViewRowsColumnarPage build()
+		{
+			return new ViewRowsColumnarPage(this);
+		}
+
+		private int getOrAddColumnIndex(final String fieldName)
+		{
+			return columnIndexesByFieldName.computeIfAbsent(fieldName, k -> columnIndexesByFieldName.size());
+		}
+
+		/**
+		 * @param values field values of the row; values which are null or missing are considered null
+		 * @return row index
+		 */
+		public int addRow(@NonNull final Map<String, Object> values)
+		{
+			Object[] row = new Object[columnIndexesByFieldName.size()];
+			final ImmutableList.Builder<String> fieldNames = ImmutableList.builder();
+			for (final Map.Entry<String, Object> fieldNameAndValue : values.entrySet())
+			{
+				final Object value = fieldNameAndValue.getValue();
+				if (value == null)
+				{
+					continue;
+				}
+
+				final String fieldName = fieldNameAndValue.getKey();
+				final int columnIndex = getOrAddColumnIndex(fieldName);
+				if (columnIndex >= row.length)
+				{
+					row = Arrays.copyOf(row, columnIndexesByFieldName.size());
+				}
+				row[columnIndex] = value;
+				fieldNames.add(fieldName);
+			}
+
+			rows.add(row);
+
+			// NOTE: keyed by list because the order of the fields matters (e.g. when rendering the row to JSON)
+			rowFieldNames.add(distinctRowFieldNames.computeIfAbsent(fieldNames.build(), ImmutableSet::copyOf));
+
+			return rows.size() - 1;
+		}
+	}
+}
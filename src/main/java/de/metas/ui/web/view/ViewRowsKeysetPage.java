@@ -0,0 +1,52 @@
+package de.metas.ui.web.view;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.view.descriptor.SqlViewKeysetPageKey;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * A page of view rows, fetched by keyset pagination.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Value
+@Builder
+public class ViewRowsKeysetPage
+{
+	@NonNull
+	private final ImmutableList<IViewRow> rows;
+
+	/** How many selection lines were read, including the ones for which the underlying record is missing */
+	private final int countRowsRead;
+
+	/** Sort key of the last selection line which was read, or {@code null} if nothing was read */
+	@Nullable
+	private final SqlViewKeysetPageKey lastKey;
+}
@@ -0,0 +1,94 @@
+package de.metas.ui.web.view;
+
+import java.util.Collection;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Roughly estimates how much heap is retained by view rows.
+ * <p>
+ * The estimation is based on the number of rows and fields and not on the actual values, because we want it to be cheap.
+ * It's meant to compare the views between them and to enforce a memory budget (see {@link DefaultViewsRepositoryStorage}), not to be exact.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@UtilityClass
+public class ViewRowsSizeEstimator
+{
+	/** row object, its ID, the values holder and the included rows list */
+	private static final long BYTES_PER_ROW = 200;
+	/** map entry or column slot, field name reference and a value (boxed number, date, lookup value etc) */
+	private static final long BYTES_PER_FIELD = 64;
+
+	/** How many top level rows are checked to compute the average row size */
+	private static final int SAMPLE_SIZE = 50;
+
+	public static long estimateSizeInBytes(final long rowsCount, final int fieldsCount)
+	{
+		if (rowsCount <= 0)
+		{
+			return 0;
+		}
+		return rowsCount * (BYTES_PER_ROW + Math.max(fieldsCount, 0) * BYTES_PER_FIELD);
+	}
+
+	/**
+	 * Estimates the given top level rows, including their included rows.
+	 * Only a sample of them are actually checked, the result being extrapolated.
+	 */
+	public static long estimateSizeInBytes(@NonNull final Collection<? extends IViewRow> topLevelRows)
+	{
+		final int rowsCount = topLevelRows.size();
+		if (rowsCount <= 0)
+		{
+			return 0;
+		}
+
+		long sampleSizeInBytes = 0;
+		int sampleRowsCount = 0;
+		for (final IViewRow row : topLevelRows)
+		{
+			sampleSizeInBytes += estimateRowSizeInBytes(row);
+			sampleRowsCount++;
+			if (sampleRowsCount >= SAMPLE_SIZE)
+			{
+				break;
+			}
+		}
+
+		return sampleSizeInBytes * rowsCount / sampleRowsCount;
+	}
+
+	private static long estimateRowSizeInBytes(final IViewRow row)
+	{
+		long sizeInBytes = estimateSizeInBytes(1, row.getFieldNames().size());
+		for (final IViewRow includedRow : row.getIncludedRows())
+		{
+			sizeInBytes += estimateRowSizeInBytes(includedRow);
+		}
+		return sizeInBytes;
+	}
+}
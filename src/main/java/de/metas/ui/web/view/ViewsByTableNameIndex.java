@@ -0,0 +1,127 @@
+package de.metas.ui.web.view;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.adempiere.util.lang.impl.TableRecordReference;
+import org.adempiere.util.lang.impl.TableRecordReferenceSet;
+
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Indexes the views by the table names they are interested in (see {@link IView#getNotifyRecordsChangedTableNames()}),
+ * so we can dispatch the record change notifications only to the views which could be affected by them.
+ * <p>
+ * The views which don't know their table names are kept separately and they are notified about any change.
+ * <p>
+ * Thread-safe.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+final class ViewsByTableNameIndex
+{
+	private final ConcurrentHashMap<String, Map<ViewId, IView>> viewsByTableName = new ConcurrentHashMap<>();
+	private final Map<ViewId, IView> viewsNotIndexed = new ConcurrentHashMap<>();
+
+	public void add(@NonNull final IView view)
+	{
+		final Optional<Set<String>> tableNames = view.getNotifyRecordsChangedTableNames();
+		if (tableNames.isPresent())
+		{
+			for (final String tableName : tableNames.get())
+			{
+				viewsByTableName.computeIfAbsent(tableName, k -> new ConcurrentHashMap<>())
+						.put(view.getViewId(), view);
+			}
+		}
+		else
+		{
+			viewsNotIndexed.put(view.getViewId(), view);
+		}
+	}
+
+	public void remove(@NonNull final IView view)
+	{
+		final ViewId viewId = view.getViewId();
+
+		final Optional<Set<String>> tableNames = view.getNotifyRecordsChangedTableNames();
+		if (tableNames.isPresent())
+		{
+			for (final String tableName : tableNames.get())
+			{
+				viewsByTableName.computeIfPresent(tableName, (k, views) -> {
+					views.remove(viewId, view);
+					return views.isEmpty() ? null : views;
+				});
+			}
+		}
+		else
+		{
+			viewsNotIndexed.remove(viewId, view);
+		}
+	}
+
+	/**
+	 * @return views which could be affected by given records, i.e. the views indexed by records table names and the views which are not indexed
+	 */
+	public Stream<IView> streamViewsToNotify(@NonNull final TableRecordReferenceSet recordRefs)
+	{
+		final Set<String> tableNames = extractTableNames(recordRefs);
+		return Stream.concat(
+				streamViewsByTableNames(tableNames),
+				viewsNotIndexed.values().stream());
+	}
+
+	private static Set<String> extractTableNames(final TableRecordReferenceSet recordRefs)
+	{
+		final Set<String> tableNames = new HashSet<>();
+		for (final TableRecordReference recordRef : recordRefs)
+		{
+			tableNames.add(recordRef.getTableName());
+		}
+		return tableNames;
+	}
+
+	private Stream<IView> streamViewsByTableNames(final Collection<String> tableNames)
+	{
+		if (tableNames.size() == 1)
+		{
+			final Map<ViewId, IView> views = viewsByTableName.get(tableNames.iterator().next());
+			return views != null ? views.values().stream() : Stream.empty();
+		}
+
+		// NOTE: a view can be indexed by more than one table name, so we have to make sure we notify it only once
+		return tableNames.stream()
+				.map(viewsByTableName::get)
+				.filter(views -> views != null)
+				.flatMap(views -> views.values().stream())
+				.distinct();
+	}
+}
@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
@@ -25,6 +26,7 @@ import org.springframework.stereotype.Repository;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Streams;
 
 import de.metas.logging.LogManager;
@@ -81,18 +83,52 @@ public class ViewsRepository implements IViewsRepository
 	private boolean truncateSelectionOnStartUp;
 
 	private final ImmutableMap<WindowId, IViewsIndexStorage> viewsIndexStorages;
-	private final IViewsIndexStorage defaultViewsIndexStorage = new DefaultViewsRepositoryStorage();
+	/** Storage of the views which don't have a window specific storage. It might be a {@link ClusteredViewsRepositoryStorage}. */
+	private final IViewsIndexStorage defaultViewsIndexStorage;
+	/** The views of {@link #defaultViewsIndexStorage} which are in this node's memory */
+	private final DefaultViewsRepositoryStorage localViewsIndexStorage;
+
+	private final LongAdder notifyRecordsChanged_requestsCount = new LongAdder();
+	private final LongAdder notifyRecordsChanged_viewsNotifiedCount = new LongAdder();
+	private final LongAdder notifyRecordsChanged_viewsSkippedCount = new LongAdder();
 
 	/**
 	 * 
 	 * @param neededForDBAccess not used in here, but we need to cause spring to initialize it <b>before</b> this component can be initialized.
 	 *            So, if you clean this up, please make sure that the webui-API still starts up ^^.
+	 * @param memoryBudgetPercentOfHeap how much of the max heap the default views storage may use (estimated); zero disables the budget
+	 * @param sharedViewDefinitionsStore if present, the views are clustered, i.e. they can be used from any node (see {@link ClusteredViewsRepositoryStorage})
 	 */
 	public ViewsRepository(
 			@NonNull final Adempiere neededForDBAccess,
 			@NonNull final List<IViewFactory> viewFactories,
-			@NonNull final Optional<List<IViewsIndexStorage>> viewIndexStorages)
+			@NonNull final Optional<List<IViewsIndexStorage>> viewIndexStorages,
+			@Value("${metasfresh.webui.view.memoryBudgetPercentOfHeap:30}") final int memoryBudgetPercentOfHeap,
+			@NonNull final Optional<ViewDefinitionsStore> sharedViewDefinitionsStore)
 	{
+		final long memoryBudgetInBytes = memoryBudgetPercentOfHeap > 0
+				? Runtime.getRuntime().maxMemory() / 100 * Math.min(memoryBudgetPercentOfHeap, 100)
+				: 0;
+		logger.info("Views memory budget: {} bytes ({}% of max heap)", memoryBudgetInBytes, memoryBudgetPercentOfHeap);
+
+		if (sharedViewDefinitionsStore.isPresent())
+		{
+			final ClusteredViewsRepositoryStorage clusteredViewsIndexStorage = ClusteredViewsRepositoryStorage.builder()
+					.viewDefinitionsStore(sharedViewDefinitionsStore.get())
+					.viewRecreator(viewDefinition -> defaultFactory.recreateView(viewDefinition))
+					.selectionDeleter(viewId -> SqlViewSelectionToDeleteHelper.scheduleDeleteSelections(ImmutableSet.of(viewId.getViewId())))
+					.maxRetainedSizeInBytes(memoryBudgetInBytes)
+					.build();
+			defaultViewsIndexStorage = clusteredViewsIndexStorage;
+			localViewsIndexStorage = clusteredViewsIndexStorage.getLocalViews();
+			logger.info("Using clustered views storage: {}", clusteredViewsIndexStorage);
+		}
+		else
+		{
+			localViewsIndexStorage = new DefaultViewsRepositoryStorage(memoryBudgetInBytes);
+			defaultViewsIndexStorage = localViewsIndexStorage;
+		}
+
 		factories = createFactoriesMap(viewFactories);
 		factories.values().forEach(viewFactory -> viewFactory.setViewsRepository(this));
 		logger.info("Registered following view factories: {}", factories);
@@ -105,7 +141,12 @@ public class ViewsRepository implements IViewsRepository
 	@PostConstruct
 	private void truncateTempTablesIfAllowed()
 	{
-		if (truncateSelectionOnStartUp)
+		if (defaultViewsIndexStorage instanceof ClusteredViewsRepositoryStorage)
+		{
+			// the selections might be used by views which are recreated from other nodes
+			logger.info("Skip truncating selection tables on startup because the views are clustered");
+		}
+		else if (truncateSelectionOnStartUp)
 		{
 			truncateTable(I_T_WEBUI_ViewSelection.Table_Name);
 			truncateTable(I_T_WEBUI_ViewSelectionLine.Table_Name);
@@ -169,7 +210,8 @@ public class ViewsRepository implements IViewsRepository
 
 		for (final IViewsIndexStorage viewsIndexStorage : viewsIndexStorages)
 		{
-			if (viewsIndexStorage instanceof DefaultViewsRepositoryStorage)
+			if (viewsIndexStorage instanceof DefaultViewsRepositoryStorage
+					|| viewsIndexStorage instanceof ClusteredViewsRepositoryStorage)
 			{
 				logger.warn("Skipping {} because it shall not be in spring context", viewsIndexStorage);
 				continue;
@@ -394,17 +436,57 @@ public class ViewsRepository implements IViewsRepository
 
 		try (final IAutoCloseable c = ViewChangesCollector.currentOrNewThreadLocalCollector())
 		{
+			// NOTE: the default storage is indexing its views by table names, so we notify only the views which could be affected.
+			// The other storages are holding particular views, so we notify all of them.
+			final long defaultStorageViewsCount = localViewsIndexStorage.size();
+			final MutableInt defaultStorageNotifiedCount = MutableInt.zero();
 			final MutableInt notifiedCount = MutableInt.zero();
-			streamAllViews()
+			Streams.concat(
+					viewsIndexStorages.values().stream().flatMap(IViewsIndexStorage::streamAllViews),
+					localViewsIndexStorage.streamViewsToNotify(recordRefs).peek(view -> defaultStorageNotifiedCount.incrementAndGet()))
 					.forEach(view -> {
 						view.notifyRecordsChanged(recordRefs);
 						notifiedCount.incrementAndGet();
 					});
 
-			logger.debug("Notified {} views about changed records: {}", notifiedCount, recordRefs);
+			final int skippedCount = (int)Math.max(defaultStorageViewsCount - defaultStorageNotifiedCount.getValue(), 0);
+			notifyRecordsChanged_requestsCount.increment();
+			notifyRecordsChanged_viewsNotifiedCount.add(notifiedCount.getValue());
+			notifyRecordsChanged_viewsSkippedCount.add(skippedCount);
+
+			logger.debug("Notified {} views (skipped {}) about changed records: {}", notifiedCount, skippedCount, recordRefs);
 		}
 	}
 
+	public NotifyRecordsChangedStats getNotifyRecordsChangedStats()
+	{
+		return NotifyRecordsChangedStats.builder()
+				.requests(notifyRecordsChanged_requestsCount.sum())
+				.viewsNotified(notifyRecordsChanged_viewsNotifiedCount.sum())
+				.viewsSkipped(notifyRecordsChanged_viewsSkippedCount.sum())
+				.build();
+	}
+
+	/**
+	 * @return estimated memory usage of the views from the default storage (i.e. the ones which are not kept in a window specific storage)
+	 */
+	public ViewMemoryUsage getMemoryUsage()
+	{
+		return localViewsIndexStorage.getMemoryUsage();
+	}
+
+	@lombok.Value
+	@lombok.Builder
+	public static class NotifyRecordsChangedStats
+	{
+		/** how many times the views were notified about changed records */
+		long requests;
+		/** how many views were notified, in total */
+		long viewsNotified;
+		/** how many views were not notified because they were not interested in the changed records' tables, in total */
+		long viewsSkipped;
+	}
+
 	@lombok.Value(staticConstructor = "of")
 	private static class ViewFactoryKey
 	{
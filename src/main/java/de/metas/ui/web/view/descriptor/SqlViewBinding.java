@@ -86,6 +86,9 @@ public class SqlViewBinding implements SqlEntityBinding
 	private final SqlDocumentFilterConvertersList filterConverters;
 	@Getter
 	private final boolean refreshViewOnChangeEvents;
+	/** If true, the view's selection is materialized in background and the view reports an estimated size until then */
+	@Getter
+	private final boolean approximateSizeMode;
 
 	private final SqlViewRowIdsConverter rowIdsConverter;
 
@@ -152,6 +155,7 @@ public class SqlViewBinding implements SqlEntityBinding
 		filterConverterDecorator = builder.sqlDocumentFilterConverterDecorator;
 
 		refreshViewOnChangeEvents = builder.refreshViewOnChangeEvents;
+		approximateSizeMode = builder.approximateSizeMode;
 
 		rowIdsConverter = builder.getRowIdsConverter();
 
@@ -371,6 +375,7 @@ public class SqlViewBinding implements SqlEntityBinding
 		private DocumentFilterDescriptorsProvider filterDescriptors = NullDocumentFilterDescriptorsProvider.instance;
 		private SqlDocumentFilterConvertersList.Builder filterConverters = null;
 		private boolean refreshViewOnChangeEvents;
+		private boolean approximateSizeMode;
 
 		private SqlViewRowIdsConverter rowIdsConverter = null;
 
@@ -622,5 +627,11 @@ public class SqlViewBinding implements SqlEntityBinding
 			this.refreshViewOnChangeEvents = refreshViewOnChangeEvents;
 			return this;
 		}
+
+		public Builder approximateSizeMode(final boolean approximateSizeMode)
+		{
+			this.approximateSizeMode = approximateSizeMode;
+			return this;
+		}
 	}
 }
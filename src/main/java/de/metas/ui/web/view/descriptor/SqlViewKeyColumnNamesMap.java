@@ -15,13 +15,14 @@ import javax.annotation.Nullable;
 
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.exceptions.DBException;
-import org.compiere.util.DB;
 
 import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 import de.metas.ui.web.base.model.I_T_WEBUI_ViewSelection;
+import de.metas.ui.web.document.filter.sql.SqlIdsArrayFilter;
+import de.metas.ui.web.document.filter.sql.SqlParamsCollector;
 import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
 import de.metas.ui.web.window.descriptor.sql.PlainSqlEntityFieldBinding;
@@ -312,9 +313,9 @@ public final class SqlViewKeyColumnNamesMap
 				throw new AdempiereException("No recordIds were extracted from " + rowIds);
 			}
 
-			final List<Object> sqlParams = embedSqlParams ? null : new ArrayList<>();
-			final String sql = DB.buildSqlList(keyColumnName, recordIds, sqlParams);
-			return SqlAndParams.of(sql, sqlParams != null ? sqlParams : ImmutableList.of());
+			final SqlParamsCollector sqlParams = embedSqlParams ? SqlParamsCollector.notCollecting() : SqlParamsCollector.newInstance();
+			final String sql = SqlIdsArrayFilter.inArray(keyColumnName, recordIds, sqlParams);
+			return SqlAndParams.of(sql, sqlParams.isCollecting() ? sqlParams.toList() : ImmutableList.of());
 		}
 		else
 		{
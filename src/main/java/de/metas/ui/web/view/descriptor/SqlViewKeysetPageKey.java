@@ -0,0 +1,56 @@
+package de.metas.ui.web.view.descriptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * The sort key of the last row of a view page, i.e. the position from where the next page will be fetched (keyset/seek pagination).
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Value
+public final class SqlViewKeysetPageKey
+{
+	public static SqlViewKeysetPageKey of(@NonNull final List<Object> sortValues, final int seqNo)
+	{
+		return new SqlViewKeysetPageKey(sortValues, seqNo);
+	}
+
+	/** Values of the ORDER BY columns. Might contain {@code null}s. */
+	private final List<Object> sortValues;
+
+	/** Selection's line (i.e. <code>T_WEBUI_ViewSelection.Line</code>), used as a tie breaker */
+	private final int seqNo;
+
+	private SqlViewKeysetPageKey(@NonNull final List<Object> sortValues, final int seqNo)
+	{
+		this.sortValues = Collections.unmodifiableList(new ArrayList<>(sortValues));
+		this.seqNo = seqNo;
+	}
+}
@@ -0,0 +1,164 @@
+package de.metas.ui.web.view.descriptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adempiere.exceptions.AdempiereException;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.document.filter.sql.SqlParamsCollector;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Builds the SQL "seek" predicate of a keyset pagination, i.e. the condition which matches all rows which come after a given {@link SqlViewKeysetPageKey}.
+ * <p>
+ * Because the ORDER BY columns can have mixed directions and can be {@code null}, we are not using row value comparisons
+ * but we are expanding the predicate to:
+ *
+ * <pre>
+ * (c1 after v1)
+ * OR (c1 = v1 AND c2 after v2)
+ * ...
+ * OR (c1 = v1 AND ... AND cN = vN AND seqNo > lastSeqNo)
+ * </pre>
+ *
+ * where the {@code null} semantic of each "after" and "equals" is decided here, knowing the actual values.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+final class SqlViewKeysetPredicateBuilder
+{
+	@Value
+	@Builder
+	public static class SortColumn
+	{
+		@NonNull
+		String columnSql;
+		boolean ascending;
+		boolean nullsLast;
+	}
+
+	private final ImmutableList<SortColumn> sortColumns;
+	private final String seqNoColumnSql;
+
+	@Builder
+	private SqlViewKeysetPredicateBuilder(
+			@NonNull @Singular final List<SortColumn> sortColumns,
+			@NonNull final String seqNoColumnSql)
+	{
+		this.sortColumns = ImmutableList.copyOf(sortColumns);
+		this.seqNoColumnSql = seqNoColumnSql;
+	}
+
+	public String buildSql(@NonNull final SqlViewKeysetPageKey afterKey, @NonNull final SqlParamsCollector sqlParams)
+	{
+		final List<Object> sortValues = afterKey.getSortValues();
+		if (sortValues.size() != sortColumns.size())
+		{
+			throw new AdempiereException("Invalid key " + afterKey + ". Expected " + sortColumns.size() + " values.");
+		}
+
+		// NOTE: we are building each term from scratch because the SQL parameters shall be collected in the order they appear in SQL
+		final List<String> sqlOrs = new ArrayList<>();
+		for (int i = 0, size = sortColumns.size(); i <= size; i++)
+		{
+			final boolean isSeqNoTerm = i == size;
+			if (!isSeqNoTerm && !hasRowsAfter(sortColumns.get(i), sortValues.get(i)))
+			{
+				continue;
+			}
+
+			final StringBuilder sqlTerm = new StringBuilder();
+			for (int j = 0; j < i; j++)
+			{
+				sqlTerm.append(buildSqlEquals(sortColumns.get(j), sortValues.get(j), sqlParams)).append(" AND ");
+			}
+
+			if (isSeqNoTerm)
+			{
+				sqlTerm.append(seqNoColumnSql).append(">").append(sqlParams.placeholder(afterKey.getSeqNo()));
+			}
+			else
+			{
+				sqlTerm.append(buildSqlAfter(sortColumns.get(i), sortValues.get(i), sqlParams));
+			}
+
+			sqlOrs.add(sqlTerm.toString());
+		}
+
+		final StringBuilder sql = new StringBuilder();
+		for (final String sqlOr : sqlOrs)
+		{
+			if (sql.length() > 0)
+			{
+				sql.append("\n OR ");
+			}
+			sql.append("(").append(sqlOr).append(")");
+		}
+
+		return sql.insert(0, "(").append(")").toString();
+	}
+
+	private static boolean hasRowsAfter(final SortColumn sortColumn, final Object value)
+	{
+		// nothing comes after the NULLs, if NULLs are last
+		return value != null || !sortColumn.isNullsLast();
+	}
+
+	/** @return SQL which matches the rows which are after given value */
+	private static String buildSqlAfter(final SortColumn sortColumn, final Object value, final SqlParamsCollector sqlParams)
+	{
+		final String columnSql = sortColumn.getColumnSql();
+		if (value == null)
+		{
+			return columnSql + " IS NOT NULL"; // NULLS FIRST
+		}
+		else
+		{
+			final String operator = sortColumn.isAscending() ? ">" : "<";
+			final String sqlCompare = columnSql + operator + sqlParams.placeholder(value);
+			return sortColumn.isNullsLast()
+					? "(" + sqlCompare + " OR " + columnSql + " IS NULL)"
+					: sqlCompare;
+		}
+	}
+
+	private static String buildSqlEquals(final SortColumn sortColumn, final Object value, final SqlParamsCollector sqlParams)
+	{
+		final String columnSql = sortColumn.getColumnSql();
+		if (value == null)
+		{
+			return columnSql + " IS NULL";
+		}
+		else
+		{
+			return columnSql + "=" + sqlParams.placeholder(value);
+		}
+	}
+}
@@ -6,8 +6,11 @@ import java.sql.SQLException;
 import org.adempiere.ad.expression.api.IStringExpression;
 import org.adempiere.ad.expression.api.impl.ConstantStringExpression;
 
+import javax.annotation.Nullable;
+
 import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
 import de.metas.ui.web.window.descriptor.sql.SqlEntityFieldBinding;
+import de.metas.ui.web.window.model.lookup.LookupDataSource;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.Value;
@@ -58,6 +61,12 @@ public class SqlViewRowFieldBinding implements SqlEntityFieldBinding
 	private final String sqlSelectValue;
 	private final IStringExpression sqlSelectDisplayValue;
 	private final boolean usingDisplayColumn;
+	/**
+	 * Lookup used to resolve the display names which are not fetched by the page SQL (i.e. when not {@link #isUsingDisplayColumn()}).
+	 * The IDs of a whole page are resolved together.
+	 */
+	@Nullable
+	private final LookupDataSource lookupDataSource;
 
 	private final IStringExpression sqlOrderBy;
 
@@ -76,6 +85,7 @@ public class SqlViewRowFieldBinding implements SqlEntityFieldBinding
 			final String sqlSelectValue,
 			final IStringExpression sqlSelectDisplayValue,
 			final boolean usingDisplayColumn, //
+			@Nullable final LookupDataSource lookupDataSource,
 			//
 			final IStringExpression sqlOrderBy,
 			@NonNull final SqlViewRowFieldLoader fieldLoader)
@@ -91,6 +101,7 @@ public class SqlViewRowFieldBinding implements SqlEntityFieldBinding
 		this.sqlSelectValue = sqlSelectValue != null ? sqlSelectValue : this.columnSql;
 		this.sqlSelectDisplayValue = sqlSelectDisplayValue != null ? sqlSelectDisplayValue : IStringExpression.NULL;
 		this.usingDisplayColumn = usingDisplayColumn;
+		this.lookupDataSource = !usingDisplayColumn ? lookupDataSource : null;
 
 		this.sqlOrderBy = sqlOrderBy != null ? sqlOrderBy : ConstantStringExpression.of(this.columnSql);
 		this.fieldLoader = fieldLoader;
@@ -1,23 +1,32 @@
 package de.metas.ui.web.view.descriptor;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import org.adempiere.ad.expression.api.IExpressionEvaluator.OnVariableNotFound;
 import org.adempiere.ad.expression.api.IStringExpression;
 import org.adempiere.ad.expression.api.impl.CompositeStringExpression;
+import org.adempiere.ad.expression.api.impl.ConstantStringExpression;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import de.metas.ui.web.base.model.I_T_WEBUI_ViewSelection;
 import de.metas.ui.web.base.model.I_T_WEBUI_ViewSelectionLine;
+import de.metas.ui.web.document.filter.sql.SqlParamsCollector;
 import de.metas.ui.web.view.ViewEvaluationCtx;
 import de.metas.ui.web.view.ViewId;
 import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
+import de.metas.ui.web.window.model.DocumentQueryOrderBy;
 import de.metas.util.Check;
 import lombok.Builder;
 import lombok.NonNull;
@@ -59,11 +68,17 @@ public class SqlViewSelectData
 
 	public static final String COLUMNNAME_IsRecordMissing = COLUMNNAME_Paging_Prefix + "IsRecordMissing";
 
+	private static final String SQL_KEYSET_TABLE_ALIAS = "ks";
+
 	private final SqlViewKeyColumnNamesMap keyColumnNamesMap;
+	/** Column names of the fields which can be used for keyset pagination, see {@link #isKeysetSortable(SqlViewRowFieldBinding)} */
+	private final ImmutableMap<String, String> keysetColumnNamesByFieldName;
 	private final IStringExpression _sqlSelectByPage;
 	private final IStringExpression _sqlSelectRowIdsByPage;
 	private final IStringExpression _sqlSelectById;
 	private final IStringExpression _sqlSelectLines;
+	/** SELECT all rows of the selection, without WHERE and ORDER BY. Available only if we have no grouping. */
+	private final IStringExpression _sqlSelectForKeyset;
 
 	@Builder
 	private SqlViewSelectData(
@@ -75,6 +90,9 @@ public class SqlViewSelectData
 			final SqlViewGroupingBinding groupingBinding)
 	{
 		this.keyColumnNamesMap = keyColumnNamesMap;
+		this.keysetColumnNamesByFieldName = allFields.stream()
+				.filter(SqlViewSelectData::isKeysetSortable)
+				.collect(ImmutableMap.toImmutableMap(SqlViewRowFieldBinding::getFieldName, SqlViewRowFieldBinding::getColumnName));
 		final IStringExpression sqlSelect = buildSqlSelect(sqlTableName, sqlTableAlias, keyColumnNamesMap, displayFieldNames, allFields, groupingBinding);
 
 		_sqlSelectByPage = sqlSelect.toComposer()
@@ -112,10 +130,12 @@ public class SqlViewSelectData
 		if (groupingBinding != null)
 		{
 			this._sqlSelectLines = buildSqlSelectLines(sqlTableName, sqlTableAlias, keyColumnNamesMap, displayFieldNames, allFields);
+			this._sqlSelectForKeyset = null;
 		}
 		else
 		{
 			this._sqlSelectLines = null;
+			this._sqlSelectForKeyset = sqlSelect;
 		}
 	}
 
@@ -140,6 +160,38 @@ public class SqlViewSelectData
 		return _sqlSelectLines;
 	}
 
+	/**
+	 * @param orderBys effective order bys (i.e. after field name aliases were resolved)
+	 * @return true if the rows can be fetched ordered by given order bys, directly from the selection, see {@link #selectByKeyset()}
+	 */
+	public boolean isKeysetPaginationSupported(@NonNull final List<DocumentQueryOrderBy> orderBys)
+	{
+		return _sqlSelectForKeyset != null
+				&& !orderBys.isEmpty()
+				&& orderBys.stream().allMatch(orderBy -> keysetColumnNamesByFieldName.containsKey(orderBy.getFieldName()));
+	}
+
+	/**
+	 * The keyset pagination is ordering and seeking by the selected column value,
+	 * while the ordered selections are ordered by field's {@link SqlViewRowFieldBinding#getSqlOrderBy()} (e.g. the display name in case of lookups).
+	 * So, in order to return the same sequence of rows, we accept only the fields whose SQL order by is the column itself.
+	 *
+	 * @return true if the field's ORDER BY is the plain column
+	 */
+	@VisibleForTesting
+	static boolean isKeysetSortable(@NonNull final SqlViewRowFieldBinding field)
+	{
+		final IStringExpression sqlOrderBy = field.getSqlOrderBy();
+		if (!(sqlOrderBy instanceof ConstantStringExpression))
+		{
+			return false;
+		}
+
+		final String sqlOrderByStr = sqlOrderBy.getExpressionString();
+		return sqlOrderByStr != null
+				&& sqlOrderByStr.trim().equals(field.getColumnSql());
+	}
+
 	private static List<SqlViewRowFieldBinding> extractKeyFields(final Collection<SqlViewRowFieldBinding> allFields, final SqlViewKeyColumnNamesMap keyColumnNamesMap)
 	{
 		final List<String> keyColumnNames = keyColumnNamesMap.getKeyColumnNames();
@@ -413,6 +465,91 @@ public class SqlViewSelectData
 		return SqlAndParams.of(sql, viewSelectionId, firstSeqNo, lastSeqNo);
 	}
 
+	/**
+	 * Selects a page of rows from given selection, ordered by given order bys, without creating a new ordered selection.
+	 * <p>
+	 * If <code>afterKey</code> is provided, the page starts right after it (keyset pagination), else <code>offset</code> rows are skipped.
+	 * The ordering is made stable by also ordering by selection's line.
+	 *
+	 * @param orderBys effective order bys (i.e. after field name aliases were resolved)
+	 * @see #isKeysetPaginationSupported(List)
+	 * @see #extractKeysetPageKey(ResultSet, List)
+	 */
+	@Builder(builderMethodName = "selectByKeyset", builderClassName = "SelectByKeysetBuilder")
+	private SqlAndParams selectByKeysetBuilder(
+			@NonNull final ViewEvaluationCtx viewEvalCtx,
+			@NonNull final ViewId viewId,
+			@NonNull final List<DocumentQueryOrderBy> orderBys,
+			@Nullable final SqlViewKeysetPageKey afterKey,
+			final int offset,
+			final int pageLength)
+	{
+		Check.assume(isKeysetPaginationSupported(orderBys), "keyset pagination is supported for {}", orderBys);
+		Check.assume(offset >= 0, "offset >= 0 but it was {}", offset);
+		Check.assume(pageLength > 0, "pageLength > 0 but it was {}", pageLength);
+
+		final List<Object> sqlParamsList = new ArrayList<>();
+		sqlParamsList.add(viewId.getViewId()); // selection UUID
+		final SqlParamsCollector sqlParams = SqlParamsCollector.wrapNullable(sqlParamsList);
+
+		final String sqlSelect = _sqlSelectForKeyset.evaluate(viewEvalCtx.toEvaluatee(), OnVariableNotFound.Fail);
+		final StringBuilder sql = new StringBuilder()
+				.append("SELECT " + SQL_KEYSET_TABLE_ALIAS + ".*")
+				.append("\n FROM (").append(sqlSelect).append(") " + SQL_KEYSET_TABLE_ALIAS);
+
+		final String seqNoColumnSql = SQL_KEYSET_TABLE_ALIAS + "." + COLUMNNAME_Paging_SeqNo_OneBased;
+		if (afterKey != null)
+		{
+			final SqlViewKeysetPredicateBuilder.SqlViewKeysetPredicateBuilderBuilder predicateBuilder = SqlViewKeysetPredicateBuilder.builder()
+					.seqNoColumnSql(seqNoColumnSql);
+			orderBys.forEach(orderBy -> predicateBuilder.sortColumn(SqlViewKeysetPredicateBuilder.SortColumn.builder()
+					.columnSql(toKeysetColumnSql(orderBy))
+					.ascending(orderBy.isAscending())
+					.nullsLast(orderBy.isNullsLast())
+					.build()));
+
+			sql.append("\n WHERE ").append(predicateBuilder.build().buildSql(afterKey, sqlParams));
+		}
+
+		sql.append("\n ORDER BY ");
+		orderBys.forEach(orderBy -> sql.append(toKeysetColumnSql(orderBy))
+				.append(orderBy.isAscending() ? " ASC" : " DESC")
+				.append(orderBy.isNullsLast() ? " NULLS LAST" : " NULLS FIRST")
+				.append(", "));
+		sql.append(seqNoColumnSql);
+
+		if (afterKey == null && offset > 0)
+		{
+			sql.append("\n OFFSET ").append(sqlParams.placeholder(offset));
+		}
+		sql.append("\n LIMIT ").append(sqlParams.placeholder(pageLength));
+
+		return SqlAndParams.of(sql.toString(), sqlParamsList);
+	}
+
+	private String toKeysetColumnSql(final DocumentQueryOrderBy orderBy)
+	{
+		return SQL_KEYSET_TABLE_ALIAS + "." + keysetColumnNamesByFieldName.get(orderBy.getFieldName());
+	}
+
+	/**
+	 * Extracts the keyset pagination key of current row from a result set which was fetched using {@link #selectByKeyset()}.
+	 */
+	public SqlViewKeysetPageKey extractKeysetPageKey(
+			@NonNull final ResultSet rs,
+			@NonNull final List<DocumentQueryOrderBy> orderBys) throws SQLException
+	{
+		final List<Object> sortValues = new ArrayList<>(orderBys.size());
+		for (final DocumentQueryOrderBy orderBy : orderBys)
+		{
+			final String columnName = keysetColumnNamesByFieldName.get(orderBy.getFieldName());
+			sortValues.add(rs.getObject(columnName));
+		}
+
+		final int seqNo = rs.getInt(COLUMNNAME_Paging_SeqNo_OneBased);
+		return SqlViewKeysetPageKey.of(sortValues, seqNo);
+	}
+
 	@Builder(builderMethodName = "selectById", builderClassName = "SelectByIdBuilder")
 	private SqlAndParams selectByIdBuilder(
 			@NonNull final ViewEvaluationCtx viewEvalCtx,
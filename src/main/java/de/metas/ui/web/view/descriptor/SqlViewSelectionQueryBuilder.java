@@ -31,6 +31,7 @@ import de.metas.ui.web.document.filter.DocumentFilter;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverter;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverterContext;
 import de.metas.ui.web.document.filter.sql.SqlDocumentFilterConverters;
+import de.metas.ui.web.document.filter.sql.SqlIdsArrayFilter;
 import de.metas.ui.web.document.filter.sql.SqlParamsCollector;
 import de.metas.ui.web.view.ViewEvaluationCtx;
 import de.metas.ui.web.view.ViewId;
@@ -296,6 +297,162 @@ public final class SqlViewSelectionQueryBuilder
 		return SqlAndParams.of(sql, sqlParams);
 	}
 
+	@Value
+	@Builder
+	public static final class SqlCreateSelectionInTwoSteps
+	{
+		/** Inserts the first rows */
+		@NonNull
+		private final SqlAndParams sqlCreateFirstRows;
+		/** Deletes the first rows, right before inserting all rows */
+		@NonNull
+		private final SqlAndParams sqlDeleteFirstRows;
+		/** Inserts all rows, including the first ones */
+		@NonNull
+		private final SqlAndParams sqlCreateAllRows;
+		/** EXPLAIN statement, to be used to get planner's estimated rows count */
+		@NonNull
+		private final String sqlExplainRowsCount;
+
+		private final int firstRowsCount;
+	}
+
+	/**
+	 * Builds the SQLs to create a selection in two steps: first we insert only the first rows, which is fast because the database can stop after a top-N sort,
+	 * and then we replace them with all rows, which might take a while.
+	 * <p>
+	 * All rows are inserted by one statement, so the full selection is consistent even if the underlying records were changed in meantime.
+	 * The first rows are only a preview until then.
+	 */
+	public SqlCreateSelectionInTwoSteps buildSqlCreateSelectionInTwoStepsFrom(
+			final ViewEvaluationCtx viewEvalCtx,
+			final ViewId newViewId,
+			final List<DocumentFilter> filters,
+			final List<DocumentQueryOrderBy> orderBys,
+			final int queryLimit,
+			final int firstRowsCount,
+			final SqlDocumentFilterConverterContext context)
+	{
+		Check.assume(!hasGroupingFields(), "Creating the selection in two steps is not supported when using grouping: {}", _viewBinding);
+		Check.assume(firstRowsCount > 0, "firstRowsCount > 0 but it was {}", firstRowsCount);
+
+		final SqlViewKeyColumnNamesMap keyColumnNamesMap = getSqlViewKeyColumnNamesMap();
+		final String sqlInsertInto = "INSERT INTO " + I_T_WEBUI_ViewSelection.Table_Name + " ("
+				+ " " + I_T_WEBUI_ViewSelection.COLUMNNAME_UUID
+				+ ", " + I_T_WEBUI_ViewSelection.COLUMNNAME_Line // SeqNo
+				+ ", " + keyColumnNamesMap.getWebuiSelectionColumnNamesCommaSeparated() // keys: IntKey1... StringKey1...
+				+ ")";
+
+		//
+		// First rows
+		final SqlAndParams sqlCreateFirstRows;
+		{
+			final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
+			final String sqlUUID = sqlParams.placeholder(newViewId.getViewId());
+			final String sqlSelectOrderedRows = buildSqlSelectOrderedRows(viewEvalCtx, filters, orderBys, context, sqlParams);
+			final int limit = queryLimit > 0 ? Math.min(firstRowsCount, queryLimit) : firstRowsCount;
+
+			final String sql = sqlInsertInto
+					+ "\n SELECT " + sqlUUID + ", s.*"
+					+ "\n FROM (" + sqlSelectOrderedRows + "\n LIMIT " + sqlParams.placeholder(limit) + ") s";
+			sqlCreateFirstRows = SqlAndParams.of(sql, sqlParams.toList());
+		}
+
+		//
+		// Delete first rows
+		final SqlAndParams sqlDeleteFirstRows = SqlAndParams.of(
+				"DELETE FROM " + I_T_WEBUI_ViewSelection.Table_Name + " WHERE " + I_T_WEBUI_ViewSelection.COLUMNNAME_UUID + "=?",
+				newViewId.getViewId());
+
+		//
+		// All rows
+		final SqlAndParams sqlCreateAllRows;
+		{
+			final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
+			final String sqlUUID = sqlParams.placeholder(newViewId.getViewId());
+			final String sqlSelectOrderedRows = buildSqlSelectOrderedRows(viewEvalCtx, filters, orderBys, context, sqlParams);
+
+			final StringBuilder sql = new StringBuilder()
+					.append(sqlInsertInto)
+					.append("\n SELECT ").append(sqlUUID).append(", s.*")
+					.append("\n FROM (").append(sqlSelectOrderedRows);
+			if (queryLimit > 0)
+			{
+				sql.append("\n LIMIT ").append(sqlParams.placeholder(queryLimit));
+			}
+			sql.append(") s");
+
+			sqlCreateAllRows = SqlAndParams.of(sql.toString(), sqlParams.toList());
+		}
+
+		//
+		// Estimated rows count
+		final String sqlExplainRowsCount;
+		{
+			final String sqlTableAlias = getTableAlias();
+			final IStringExpression sqlWhereClause = buildSqlWhereClause(SqlParamsCollector.notCollecting(), filters, SqlOptions.usingTableAlias(sqlTableAlias), context);
+			final CompositeStringExpression.Builder sqlBuilder = IStringExpression.composer()
+					.append("EXPLAIN (FORMAT JSON) ")
+					.append(IStringExpression.composer()
+							.append("SELECT 1 FROM ").append(getTableName()).append(" ").append(sqlTableAlias)
+							.append("\n WHERE 1=1 ")
+							.wrap(securityRestrictionsWrapper(sqlTableAlias))); // security
+			if (sqlWhereClause != null && !sqlWhereClause.isNullExpression())
+			{
+				sqlBuilder.append("\n AND (\n").append(sqlWhereClause).append("\n)");
+			}
+
+			sqlExplainRowsCount = sqlBuilder.build().evaluate(viewEvalCtx.toEvaluatee(), OnVariableNotFound.Fail);
+		}
+
+		return SqlCreateSelectionInTwoSteps.builder()
+				.sqlCreateFirstRows(sqlCreateFirstRows)
+				.sqlDeleteFirstRows(sqlDeleteFirstRows)
+				.sqlCreateAllRows(sqlCreateAllRows)
+				.sqlExplainRowsCount(sqlExplainRowsCount)
+				.firstRowsCount(firstRowsCount)
+				.build();
+	}
+
+	/** @return <code>SELECT Line, keys FROM ... WHERE ... ORDER BY ..., keys</code> */
+	private String buildSqlSelectOrderedRows(
+			final ViewEvaluationCtx viewEvalCtx,
+			final List<DocumentFilter> filters,
+			final List<DocumentQueryOrderBy> orderBys,
+			final SqlDocumentFilterConverterContext context,
+			final SqlParamsCollector sqlParams)
+	{
+		final String sqlTableName = getTableName();
+		final String sqlTableAlias = getTableAlias();
+		final String sqlKeyColumnNames = getSqlViewKeyColumnNamesMap().getKeyColumnNamesCommaSeparated();
+
+		final IStringExpression sqlOrderByExpr = SqlDocumentOrderByBuilder.newInstance(this::getFieldOrderBy).buildSqlOrderBy(orderBys);
+		final IStringExpression sqlOrderBy = sqlOrderByExpr == null || sqlOrderByExpr.isNullExpression()
+				? ConstantStringExpression.of(sqlKeyColumnNames)
+				: IStringExpression.composer().append(sqlOrderByExpr).append(", ").append(sqlKeyColumnNames).build();
+
+		final CompositeStringExpression.Builder sqlBuilder = IStringExpression.composer();
+		sqlBuilder.append(
+				IStringExpression.composer()
+						.append("SELECT ")
+						.append("\n row_number() OVER (ORDER BY ").append(sqlOrderBy).append(") AS " + I_T_WEBUI_ViewSelection.COLUMNNAME_Line)
+						.append("\n, ").append(sqlKeyColumnNames) // keys
+						.append("\n FROM ").append(sqlTableName).append(" ").append(sqlTableAlias)
+						.append("\n WHERE 1=1 ")
+						.wrap(securityRestrictionsWrapper(sqlTableAlias)) // security
+		);
+
+		final IStringExpression sqlWhereClause = buildSqlWhereClause(sqlParams, filters, SqlOptions.usingTableAlias(sqlTableAlias), context);
+		if (sqlWhereClause != null && !sqlWhereClause.isNullExpression())
+		{
+			sqlBuilder.append("\n AND (\n").append(sqlWhereClause).append("\n)");
+		}
+
+		sqlBuilder.append("\n ORDER BY ").append(sqlOrderBy);
+
+		return sqlBuilder.build().evaluate(viewEvalCtx.toEvaluatee(), OnVariableNotFound.Fail);
+	}
+
 	private SqlAndParams buildSqlCreateSelectionLines_WithGrouping(
 			final ViewEvaluationCtx viewEvalCtx,
 			final ViewId newViewId,
@@ -761,6 +918,33 @@ public final class SqlViewSelectionQueryBuilder
 		}
 	}
 
+	public SqlAndParams buildSqlSelectRowIds(@NonNull final String selectionId, @NonNull final DocumentIdsSelection rowIds)
+	{
+		Check.assumeNotEmpty(selectionId, "selectionId is not empty");
+
+		final SqlAndParams sql = SqlAndParams.of("SELECT " + getSqlViewKeyColumnNamesMap().getWebuiSelectionColumnNamesCommaSeparated()
+				+ " FROM " + I_T_WEBUI_ViewSelection.Table_Name
+				+ " WHERE " + I_T_WEBUI_ViewSelection.COLUMNNAME_UUID + "=?", selectionId);
+
+		if (rowIds.isAll())
+		{
+			return sql;
+		}
+		else if (rowIds.isEmpty())
+		{
+			throw new IllegalArgumentException("empty rowIds is not allowed");
+		}
+		else
+		{
+			return sql.append(" AND (")
+					.append(getSqlViewKeyColumnNamesMap()
+							.prepareSqlFilterByRowIds()
+							.rowIds(rowIds)
+							.build())
+					.append(")");
+		}
+	}
+
 	public String buildSqlDeleteSelection(@NonNull final String selectionId)
 	{
 		return "DELETE FROM " + I_T_WEBUI_ViewSelection.Table_Name
@@ -780,16 +964,14 @@ public final class SqlViewSelectionQueryBuilder
 	{
 		Check.assumeNotEmpty(lineIds, "lineIds is not empty");
 
-		final List<Object> sqlParams = new ArrayList<>();
-		sqlParams.add(selectionId);
-
+		final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
 		final String sql = "SELECT "
 				+ keyColumnNamesMap.getWebuiSelectionColumnNamesCommaSeparated()
 				+ " FROM " + I_T_WEBUI_ViewSelectionLine.Table_Name
-				+ " WHERE " + I_T_WEBUI_ViewSelectionLine.COLUMNNAME_UUID + "=?"
-				+ " AND " + DB.buildSqlList(I_T_WEBUI_ViewSelectionLine.COLUMNNAME_Line_ID, lineIds, sqlParams);
+				+ " WHERE " + I_T_WEBUI_ViewSelectionLine.COLUMNNAME_UUID + "=" + sqlParams.placeholder(selectionId)
+				+ " AND " + SqlIdsArrayFilter.inArray(I_T_WEBUI_ViewSelectionLine.COLUMNNAME_Line_ID, lineIds, sqlParams);
 
-		return SqlAndParams.of(sql, sqlParams);
+		return SqlAndParams.of(sql, sqlParams.toList());
 	}
 
 	private IStringExpressionWrapper securityRestrictionsWrapper(final String sqlTableAlias)
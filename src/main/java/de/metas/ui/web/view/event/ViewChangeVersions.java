@@ -0,0 +1,69 @@
+package de.metas.ui.web.view.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import de.metas.ui.web.view.ViewId;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Keeps a change version for each view. The version is changed each time some changes of that view are collected or published (see {@link ViewChangesCollector}).
+ * <p>
+ * Useful to cache things which were computed for a given view state.
+ * The versions are taken from one global sequence, so a version is never reused, not even after the view's entry expired.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+public final class ViewChangeVersions
+{
+	public static final ViewChangeVersions instance = new ViewChangeVersions();
+
+	private final AtomicLong nextVersion = new AtomicLong(1);
+	private final Cache<ViewId, AtomicLong> versionsByViewId = CacheBuilder.newBuilder()
+			.expireAfterAccess(1, TimeUnit.HOURS)
+			.build();
+
+	private ViewChangeVersions()
+	{
+	}
+
+	public long getVersion(@NonNull final ViewId viewId)
+	{
+		return getVersionHolder(viewId).get();
+	}
+
+	/* package */ void changed(@NonNull final ViewId viewId)
+	{
+		getVersionHolder(viewId).set(nextVersion.getAndIncrement());
+	}
+
+	private AtomicLong getVersionHolder(final ViewId viewId)
+	{
+		return versionsByViewId.asMap().computeIfAbsent(viewId, k -> new AtomicLong(nextVersion.getAndIncrement()));
+	}
+}
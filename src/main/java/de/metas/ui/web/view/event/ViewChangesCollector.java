@@ -192,6 +192,7 @@ public class ViewChangesCollector implements IAutoCloseable
 	private ViewChanges viewChanges(final ViewId viewId)
 	{
 		assertNotClosed();
+		ViewChangeVersions.instance.changed(viewId);
 		return viewChangesMap.computeIfAbsent(viewId, ViewChanges::new);
 	}
 
@@ -262,6 +263,10 @@ public class ViewChangesCollector implements IAutoCloseable
 		else
 		{
 			logger.trace("Flushing {} to websocket", this);
+
+			// NOTE: changing the version again, because the changes might be published after some time (e.g. on transaction commit)
+			changesList.forEach(changes -> ViewChangeVersions.instance.changed(changes.getViewId()));
+
 			changesList.stream()
 					.filter(ViewChanges::hasChanges)
 					.map(JSONViewChanges::of)
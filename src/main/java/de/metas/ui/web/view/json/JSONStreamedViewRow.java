@@ -0,0 +1,240 @@
+package de.metas.ui.web.view.json;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.view.IViewRow;
+import de.metas.ui.web.view.IViewRowOverrides;
+import de.metas.ui.web.view.ViewId;
+import de.metas.ui.web.view.ViewRowOverridesHelper;
+import de.metas.ui.web.window.datatypes.json.JSONDocumentField;
+import de.metas.ui.web.window.datatypes.json.JSONLayoutWidgetType;
+import de.metas.ui.web.window.datatypes.json.JSONOptions;
+import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
+import de.metas.ui.web.window.descriptor.ViewEditorRenderMode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * View row which is written directly to the {@link JsonGenerator}, from the {@link IViewRow}'s values.
+ * <p>
+ * It produces the same JSON as {@link JSONViewRow}, but without building the intermediate {@link JSONViewRow} and {@link JSONDocumentField} objects.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@JsonSerialize(using = JSONStreamedViewRow.Serializer.class)
+@ToString(of = "row")
+public final class JSONStreamedViewRow implements JSONViewRowBase
+{
+	public static List<JSONStreamedViewRow> ofViewRows(
+			@NonNull final List<? extends IViewRow> rows,
+			final IViewRowOverrides rowOverrides,
+			@NonNull final JSONOptions jsonOpts)
+	{
+		return rows.stream()
+				.map(row -> new JSONStreamedViewRow(row, rowOverrides, jsonOpts))
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private final IViewRow row;
+	private final IViewRowOverrides rowOverrides;
+	private final JSONOptions jsonOpts;
+
+	private JSONStreamedViewRow(
+			@NonNull final IViewRow row,
+			final IViewRowOverrides rowOverrides,
+			@NonNull final JSONOptions jsonOpts)
+	{
+		this.row = row;
+		this.rowOverrides = rowOverrides;
+		this.jsonOpts = jsonOpts;
+	}
+
+	public static final class Serializer extends JsonSerializer<JSONStreamedViewRow>
+	{
+		@Override
+		public void serialize(final JSONStreamedViewRow jsonRow, final JsonGenerator gen, final SerializerProvider provider) throws IOException
+		{
+			writeRow(jsonRow.row, jsonRow.rowOverrides, jsonRow.jsonOpts, gen, provider);
+		}
+
+		/** NOTE: keep in sync with {@link JSONViewRow#ofRow(IViewRow, IViewRowOverrides, JSONOptions)} */
+		private static void writeRow(
+				final IViewRow row,
+				final IViewRowOverrides rowOverrides,
+				final JSONOptions jsonOpts,
+				final JsonGenerator gen,
+				final SerializerProvider provider) throws IOException
+		{
+			gen.writeStartObject();
+
+			final String rowIdJson = row.getId().toJson();
+			gen.writeStringField("id", rowIdJson);
+
+			//
+			// Fields
+			gen.writeObjectFieldStart("fieldsByName");
+			{
+				final Set<String> fieldNames = row.getFieldNames();
+				final Map<String, DocumentFieldWidgetType> widgetTypesByFieldName = row.getWidgetTypesByFieldName();
+				final Map<String, ViewEditorRenderMode> viewEditorRenderModeByFieldName = row.getViewEditorRenderModeByFieldName();
+
+				// Add pseudo "ID" field first
+				// NOTE: same as JSONViewRow, if the row has an "ID" field, that one replaces the pseudo field
+				if (!fieldNames.contains(JSONDocumentField.FIELD_VALUE_ID))
+				{
+					writeField(gen, provider, JSONDocumentField.FIELD_VALUE_ID, rowIdJson, JSONLayoutWidgetType.Integer, null);
+				}
+				else
+				{
+					writeRowField(row, JSONDocumentField.FIELD_VALUE_ID, widgetTypesByFieldName, viewEditorRenderModeByFieldName, jsonOpts, gen, provider);
+				}
+
+				// Append the other fields
+				for (final String fieldName : fieldNames)
+				{
+					if (JSONDocumentField.FIELD_VALUE_ID.equals(fieldName))
+					{
+						continue;
+					}
+
+					writeRowField(row, fieldName, widgetTypesByFieldName, viewEditorRenderModeByFieldName, jsonOpts, gen, provider);
+				}
+			}
+			gen.writeEndObject();
+
+			if (row.getType() != null)
+			{
+				// NOTE: mainly used by frontend to decide which Icon to show for this line
+				gen.writeStringField("type", row.getType().getIconName());
+			}
+			if (row.isProcessed())
+			{
+				gen.writeBooleanField("processed", true);
+			}
+
+			//
+			// Attributes
+			gen.writeBooleanField(JSONViewLayout.PROPERTY_supportAttributes, row.hasAttributes());
+
+			//
+			// Included views
+			if (ViewRowOverridesHelper.extractSupportIncludedViews(row, rowOverrides))
+			{
+				gen.writeBooleanField("supportIncludedViews", true);
+
+				final ViewId includedViewId = ViewRowOverridesHelper.extractIncludedViewId(row, rowOverrides);
+				if (includedViewId != null)
+				{
+					gen.writeObjectFieldStart("includedView");
+					gen.writeFieldName("windowId");
+					provider.defaultSerializeValue(includedViewId.getWindowId(), gen);
+					gen.writeStringField("viewId", includedViewId.getViewId());
+					gen.writeEndObject();
+				}
+			}
+
+			//
+			// Included documents if any
+			final Collection<? extends IViewRow> includedRows = row.getIncludedRows();
+			if (!includedRows.isEmpty())
+			{
+				gen.writeArrayFieldStart("includedDocuments");
+				for (final IViewRow includedRow : includedRows)
+				{
+					writeRow(includedRow, rowOverrides, jsonOpts, gen, provider);
+				}
+				gen.writeEndArray();
+			}
+
+			//
+			// Single column row
+			if (row.isSingleColumn())
+			{
+				gen.writeBooleanField("colspan", true);
+				gen.writeStringField("caption", row.getSingleColumnCaption().translate(jsonOpts.getAdLanguage()));
+			}
+
+			gen.writeEndObject();
+		}
+
+		private static void writeRowField(
+				final IViewRow row,
+				final String fieldName,
+				final Map<String, DocumentFieldWidgetType> widgetTypesByFieldName,
+				final Map<String, ViewEditorRenderMode> viewEditorRenderModeByFieldName,
+				final JSONOptions jsonOpts,
+				final JsonGenerator gen,
+				final SerializerProvider provider) throws IOException
+		{
+			gen.writeObjectFieldStart(fieldName);
+			gen.writeStringField("field", fieldName);
+			gen.writeFieldName("value");
+			row.getFieldNameAndJsonValues().writeJsonValue(fieldName, jsonOpts, gen, provider);
+			writeFieldEnd(gen,
+					JSONLayoutWidgetType.fromNullable(widgetTypesByFieldName.get(fieldName)),
+					viewEditorRenderModeByFieldName.get(fieldName));
+		}
+
+		private static void writeField(
+				final JsonGenerator gen,
+				final SerializerProvider provider,
+				final String fieldName,
+				final Object jsonValue,
+				final JSONLayoutWidgetType widgetType,
+				final ViewEditorRenderMode viewEditorRenderMode) throws IOException
+		{
+			gen.writeObjectFieldStart(fieldName);
+			gen.writeStringField("field", fieldName);
+			provider.defaultSerializeField("value", jsonValue, gen);
+			writeFieldEnd(gen, widgetType, viewEditorRenderMode);
+		}
+
+		private static void writeFieldEnd(
+				final JsonGenerator gen,
+				final JSONLayoutWidgetType widgetType,
+				final ViewEditorRenderMode viewEditorRenderMode) throws IOException
+		{
+			if (widgetType != null)
+			{
+				gen.writeStringField("widgetType", widgetType.name());
+			}
+			if (viewEditorRenderMode != null)
+			{
+				gen.writeStringField("viewEditorRenderMode", viewEditorRenderMode.toJson());
+			}
+			gen.writeEndObject();
+		}
+	}
+}
@@ -62,6 +62,17 @@ public final class JSONViewResult
 		return new JSONViewResult(viewResult, jsonRows, jsonOpts);
 	}
 
+	/**
+	 * Same as {@link #of(ViewResult, IViewRowOverrides, JSONOptions)} but the page rows are written directly to JSON (see {@link JSONStreamedViewRow}).
+	 */
+	public static JSONViewResult ofStreamedRows(final ViewResult viewResult, final IViewRowOverrides rowOverrides, final JSONOptions jsonOpts)
+	{
+		final List<? extends JSONViewRowBase> jsonRows = viewResult.isPageLoaded()
+				? JSONStreamedViewRow.ofViewRows(viewResult.getPage(), rowOverrides, jsonOpts)
+				: null;
+		return new JSONViewResult(viewResult, jsonRows, jsonOpts);
+	}
+
 	public static JSONViewResult of(final ViewResult viewResult, final List<? extends JSONViewRowBase> rows, final JSONOptions jsonOpts)
 	{
 		return new JSONViewResult(viewResult, rows, jsonOpts);
@@ -103,6 +114,11 @@ public final class JSONViewResult
 	@JsonInclude(JsonInclude.Include.NON_NULL)
 	private final Long size;
 
+	/** true if the size is just an estimation, the exact size being sent later by a websocket "fully changed" event */
+	@JsonProperty("sizeApproximate")
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private final Boolean sizeApproximate;
+
 	@JsonProperty("orderBy")
 	@JsonInclude(JsonInclude.Include.NON_EMPTY)
 	private final List<JSONViewOrderBy> orderBy;
@@ -167,6 +183,7 @@ public final class JSONViewResult
 
 		final long size = viewResult.getSize();
 		this.size = size >= 0 ? size : null;
+		this.sizeApproximate = viewResult.isSizeApproximate() ? Boolean.TRUE : null;
 
 		staticFilters = JSONStickyDocumentFilter.ofStickyFiltersList(viewResult.getStickyFilters(), adLanguage);
 		filters = JSONDocumentFilter.ofList(viewResult.getFilters(), jsonOpts);
@@ -213,6 +230,7 @@ public final class JSONViewResult
 			@JsonProperty("headerProperties") final JSONViewHeaderProperties headerProperties,
 			//
 			@JsonProperty("size") final Long size,
+			@JsonProperty("sizeApproximate") final Boolean sizeApproximate,
 			@JsonProperty("staticFilters") final List<JSONStickyDocumentFilter> staticFilters,
 			@JsonProperty("filters") final List<JSONDocumentFilter> filters,
 			@JsonProperty("orderBy") final List<JSONViewOrderBy> orderBy,
@@ -241,6 +259,7 @@ public final class JSONViewResult
 		this.headerProperties = headerProperties;
 		//
 		this.size = size;
+		this.sizeApproximate = sizeApproximate;
 		this.filters = filters == null ? ImmutableList.of() : filters;
 		this.staticFilters = staticFilters == null ? ImmutableList.of() : staticFilters;
 		this.orderBy = orderBy == null ? ImmutableList.of() : orderBy;
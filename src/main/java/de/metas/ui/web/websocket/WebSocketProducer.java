@@ -37,7 +37,15 @@ public interface WebSocketProducer
 	/**
 	 * Produce a new event.
 	 * 
-	 * @return event (JSON friendly)
+	 * @return event (JSON friendly) or {@code null} if there is nothing to publish
 	 */
 	Object produceEvent(JSONOptions jsonOpts);
+
+	/**
+	 * Called when a new session subscribed to producer's topic.
+	 * Producers which are publishing only the changes shall make sure the next event is published.
+	 */
+	default void onNewSubscription()
+	{
+	}
 }
\ No newline at end of file
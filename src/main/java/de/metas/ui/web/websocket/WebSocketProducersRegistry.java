@@ -231,7 +231,7 @@ public final class WebSocketProducersRegistry
 		public synchronized void subscribe(final String sessionId)
 		{
 			Check.assumeNotEmpty(sessionId, "sessionId is not empty");
-			subscribedSessionIds.add(sessionId);
+			final boolean newSubscription = subscribedSessionIds.add(sessionId);
 			if (subscribedSessionIds.isEmpty())
 			{
 				// shall not happen
@@ -239,6 +239,10 @@ public final class WebSocketProducersRegistry
 			}
 
 			logger.trace("{}: session {} subscribed", this, sessionId);
+			if (newSubscription)
+			{
+				producer.onNewSubscription();
+			}
 
 			//
 			// Check if the producer was already scheduled
@@ -290,6 +294,11 @@ public final class WebSocketProducersRegistry
 			{
 				final JSONOptions jsonOpts = JSONOptions.newInstance();
 				final Object event = producer.produceEvent(jsonOpts);
+				if (event == null)
+				{
+					return; // nothing to publish
+				}
+
 				websocketSender.convertAndSend(topicName, event);
 
 				logger.trace("Event sent to {}: {}", topicName, event);
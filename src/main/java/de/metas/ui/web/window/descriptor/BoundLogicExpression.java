@@ -0,0 +1,166 @@
+package de.metas.ui.web.window.descriptor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.adempiere.ad.expression.api.IExpressionEvaluator.OnVariableNotFound;
+import org.adempiere.ad.expression.api.ILogicExpression;
+import org.adempiere.ad.expression.api.LogicExpressionResult;
+import org.adempiere.ad.validationRule.IValidationContext;
+import org.adempiere.model.InterfaceWrapperHelper;
+import org.compiere.util.CtxName;
+import org.compiere.util.Evaluatee;
+
+import com.google.common.collect.ImmutableMap;
+
+import de.metas.ui.web.window.WindowConstants;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * A {@link ILogicExpression} whose variables were resolved against the fields of a given {@link DocumentEntityDescriptor}.
+ * <p>
+ * The resolution is done once, when the entity descriptor is built, so at evaluation time the document can fetch the values
+ * of the field variables by field index, without checking the context, dynamic attributes etc.
+ * The variables of all logic expressions of an entity are collected in {@link DocumentEntityDescriptor#getBoundVariableOrNull(String)}.
+ * <p>
+ * NOTE: the expression evaluator asks for the variables by name, so getting a bound variable is still one lookup by name.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+public final class BoundLogicExpression
+{
+	/**
+	 * @param fieldIndexesByName field indexes of the entity, i.e. the position of each field in {@link DocumentEntityDescriptor#getFields()}
+	 */
+	public static BoundLogicExpression bind(
+			@NonNull final ILogicExpression expression,
+			@NonNull final Map<String, Integer> fieldIndexesByName,
+			@Nullable final String tableName)
+	{
+		final Map<String, BoundVariable> variables = new HashMap<>();
+		if (!expression.isConstant())
+		{
+			for (final String variableName : expression.getParameterNames())
+			{
+				variables.computeIfAbsent(variableName, k -> bindVariable(variableName, fieldIndexesByName, tableName));
+			}
+		}
+
+		return new BoundLogicExpression(expression, ImmutableMap.copyOf(variables));
+	}
+
+	private static BoundVariable bindVariable(
+			@NonNull final String variableName,
+			@NonNull final Map<String, Integer> fieldIndexesByName,
+			@Nullable final String tableName)
+	{
+		// NOTE: the next line number is computed by the document, even if there is a field with the same name
+		final Integer fieldIndex = CtxName.isExplicitGlobal(variableName) || WindowConstants.CONTEXTVAR_NextLineNo.equals(variableName)
+				? null
+				: fieldIndexesByName.get(variableName);
+
+		final Object constantValue = IValidationContext.PARAMETER_ContextTableName.equals(variableName) ? tableName : null;
+
+		// NOTE: same default as the document evaluatee is using
+		final Object defaultValue = variableName.endsWith("_ID")
+				? InterfaceWrapperHelper.getFirstValidIdByColumnName(variableName) - 1
+				: null;
+
+		return BoundVariable.builder()
+				.variableName(variableName)
+				.fieldIndex(fieldIndex != null ? fieldIndex : -1)
+				.constantValue(constantValue)
+				.defaultValue(defaultValue)
+				.build();
+	}
+
+	@Value
+	@Builder
+	public static class BoundVariable
+	{
+		@NonNull
+		String variableName;
+
+		/** index of the field which provides the value or -1 if the variable is not a field of this entity */
+		int fieldIndex;
+
+		/** value which is known when the descriptor is built (e.g. the table name) */
+		@Nullable
+		Object constantValue;
+
+		/** value to be used when the variable was not found anywhere */
+		@Nullable
+		Object defaultValue;
+
+		public boolean isField()
+		{
+			return fieldIndex >= 0;
+		}
+	}
+
+	private final ILogicExpression expression;
+	private final ImmutableMap<String, BoundVariable> variablesByName;
+
+	private BoundLogicExpression(
+			@NonNull final ILogicExpression expression,
+			@NonNull final ImmutableMap<String, BoundVariable> variablesByName)
+	{
+		this.expression = expression;
+		this.variablesByName = variablesByName;
+	}
+
+	@Override
+	public String toString()
+	{
+		return expression.toString();
+	}
+
+	public ILogicExpression getExpression()
+	{
+		return expression;
+	}
+
+	public ImmutableMap<String, BoundVariable> getVariablesByName()
+	{
+		return variablesByName;
+	}
+
+	/**
+	 * @return bound variable or {@code null} if the variable is not used by this expression
+	 */
+	public BoundVariable getVariableOrNull(final String variableName)
+	{
+		return variablesByName.get(variableName);
+	}
+
+	public LogicExpressionResult evaluate(@NonNull final Evaluatee evaluatee)
+	{
+		return expression.evaluateToResult(evaluatee, OnVariableNotFound.Fail);
+	}
+}
@@ -1,6 +1,7 @@
 package de.metas.ui.web.window.descriptor;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,7 @@ import de.metas.ui.web.window.datatypes.DataTypes;
 import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentType;
 import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.ui.web.window.descriptor.BoundLogicExpression.BoundVariable;
 import de.metas.ui.web.window.descriptor.DocumentEntityDataBindingDescriptor.DocumentEntityDataBindingDescriptorBuilder;
 import de.metas.ui.web.window.descriptor.DocumentFieldDependencyMap.DependencyType;
 import de.metas.ui.web.window.descriptor.DocumentFieldDescriptor.Characteristic;
@@ -62,6 +64,7 @@ import de.metas.util.GuavaCollectors;
 import de.metas.util.Services;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Value;
 
 /*
  * #%L
@@ -121,6 +124,9 @@ public class DocumentEntityDescriptor
 	private final boolean allowQuickInput;
 
 	private final ImmutableMap<String, DocumentFieldDescriptor> fields;
+	private final BoundLogicExpression readonlyLogicBound;
+	private final ImmutableMap<String, FieldLogicExpressions> fieldLogicExpressions;
+	private final ImmutableMap<String, BoundVariable> boundVariablesByName;
 	@Getter
 	private final ImmutableList<DocumentFieldDescriptor> idFields;
 	private final DocumentFieldDescriptor parentLinkField;
@@ -204,6 +210,20 @@ public class DocumentEntityDescriptor
 		soTrx = builder.getSOTrx();
 
 		cloneEnabled = builder.isCloneEnabled();
+
+		//
+		// Logic expressions bound to fields
+		{
+			final ImmutableMap<String, Integer> fieldIndexesByName = buildFieldIndexesByName(fields.keySet());
+			final String tableNameOrNull = tableName.orElse(null);
+			readonlyLogicBound = BoundLogicExpression.bind(readonlyLogic, fieldIndexesByName, tableNameOrNull);
+			fieldLogicExpressions = fields.values()
+					.stream()
+					.collect(ImmutableMap.toImmutableMap(
+							DocumentFieldDescriptor::getFieldName,
+							field -> FieldLogicExpressions.bind(field, fieldIndexesByName, tableNameOrNull)));
+			boundVariablesByName = collectBoundVariables(readonlyLogicBound, fieldLogicExpressions.values());
+		}
 	}
 
 	@Override
@@ -296,6 +316,83 @@ public class DocumentEntityDescriptor
 		return field;
 	}
 
+	private static ImmutableMap<String, Integer> buildFieldIndexesByName(final Set<String> fieldNames)
+	{
+		final ImmutableMap.Builder<String, Integer> fieldIndexesByName = ImmutableMap.builder();
+		int index = 0;
+		for (final String fieldName : fieldNames)
+		{
+			fieldIndexesByName.put(fieldName, index);
+			index++;
+		}
+		return fieldIndexesByName.build();
+	}
+
+	private static ImmutableMap<String, BoundVariable> collectBoundVariables(
+			final BoundLogicExpression readonlyLogic,
+			final Collection<FieldLogicExpressions> fieldLogicExpressions)
+	{
+		// NOTE: a variable is bound the same way, no matter which expression is using it
+		final Map<String, BoundVariable> variables = new HashMap<>(readonlyLogic.getVariablesByName());
+		for (final FieldLogicExpressions fieldLogic : fieldLogicExpressions)
+		{
+			variables.putAll(fieldLogic.getReadonlyLogic().getVariablesByName());
+			variables.putAll(fieldLogic.getDisplayLogic().getVariablesByName());
+			variables.putAll(fieldLogic.getMandatoryLogic().getVariablesByName());
+		}
+		return ImmutableMap.copyOf(variables);
+	}
+
+	/**
+	 * @return the variable, as bound to this entity's fields, or {@code null} if the variable is not used by any readonly, display or mandatory logic of this entity
+	 */
+	@Nullable
+	public BoundVariable getBoundVariableOrNull(final String variableName)
+	{
+		return boundVariablesByName.get(variableName);
+	}
+
+	/**
+	 * @return entity's readonly logic, bound to this entity's fields
+	 * @see #getReadonlyLogic()
+	 */
+	public BoundLogicExpression getReadonlyLogicBound()
+	{
+		return readonlyLogicBound;
+	}
+
+	/**
+	 * @return field's readonly, display and mandatory logic, bound to this entity's fields
+	 */
+	public FieldLogicExpressions getFieldLogicExpressions(final String fieldName)
+	{
+		final FieldLogicExpressions logicExpressions = fieldLogicExpressions.get(fieldName);
+		if (logicExpressions == null)
+		{
+			throw new IllegalArgumentException("Field " + fieldName + " not found in " + this);
+		}
+		return logicExpressions;
+	}
+
+	@Value
+	public static class FieldLogicExpressions
+	{
+		private static FieldLogicExpressions bind(
+				@NonNull final DocumentFieldDescriptor field,
+				@NonNull final Map<String, Integer> fieldIndexesByName,
+				@Nullable final String tableName)
+		{
+			return new FieldLogicExpressions(
+					BoundLogicExpression.bind(field.getReadonlyLogic(), fieldIndexesByName, tableName),
+					BoundLogicExpression.bind(field.getDisplayLogic(), fieldIndexesByName, tableName),
+					BoundLogicExpression.bind(field.getMandatoryLogic(), fieldIndexesByName, tableName));
+		}
+
+		BoundLogicExpression readonlyLogic;
+		BoundLogicExpression displayLogic;
+		BoundLogicExpression mandatoryLogic;
+	}
+
 	public Set<String> getFieldNamesWithCharacteristic(final Characteristic characteristic)
 	{
 		return _fieldNamesByCharacteristic.computeIfAbsent(characteristic, this::buildFieldsWithCharacteristic);
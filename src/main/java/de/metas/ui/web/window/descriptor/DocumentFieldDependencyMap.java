@@ -3,11 +3,14 @@ package de.metas.ui.web.window.descriptor;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
@@ -70,6 +73,18 @@ public final class DocumentFieldDependencyMap
 	public static final EnumSet<DependencyType> DEPENDENCYTYPES_DocumentLevel = EnumSet.of(DependencyType.DocumentReadonlyLogic);
 	public static final EnumSet<DependencyType> DEPENDENCYTYPES_FieldLevel = EnumSet.complementOf(DEPENDENCYTYPES_DocumentLevel);
 
+	/**
+	 * The order in which the dependencies are updated when more fields were changed at once:
+	 * first the ones which might change field values and then the ones which are evaluating logic expressions on those values.
+	 */
+	private static final ImmutableList<DependencyType> DEPENDENCYTYPES_BatchOrder = ImmutableList.of(
+			DependencyType.LookupValues,
+			DependencyType.FieldValue,
+			DependencyType.DocumentReadonlyLogic,
+			DependencyType.ReadonlyLogic,
+			DependencyType.DisplayLogic,
+			DependencyType.MandatoryLogic);
+
 	public static final String DOCUMENT_Readonly = "$DocumentReadonly";
 	public static final Set<String> DOCUMENT_ALL_FIELDS = ImmutableSet.of(DOCUMENT_Readonly);
 
@@ -144,6 +159,73 @@ public final class DocumentFieldDependencyMap
 		}
 	}
 
+	/**
+	 * Similar to {@link #consumeForChangedFieldName(String, IDependencyConsumer)} but for more fields which were changed at once.
+	 * Each dependent field is consumed only once per dependency type, no matter on how many of the changed fields it depends.
+	 */
+	public void consumeForChangedFieldNames(final Collection<String> changedFieldNames, final IDependencyConsumer consumer)
+	{
+		for (final DependencyType dependencyType : DEPENDENCYTYPES_BatchOrder)
+		{
+			final Multimap<String, String> name2dependencies = type2name2dependencies.get(dependencyType);
+			if (name2dependencies == null || name2dependencies.isEmpty())
+			{
+				continue;
+			}
+
+			final Set<String> dependentFieldNames = new LinkedHashSet<>();
+			for (final String changedFieldName : changedFieldNames)
+			{
+				dependentFieldNames.addAll(name2dependencies.get(changedFieldName));
+			}
+
+			for (final String dependentFieldName : dependentFieldNames)
+			{
+				consumer.consume(dependentFieldName, dependencyType);
+			}
+		}
+	}
+
+	/**
+	 * @return true if the readonly logic of given field or the document readonly logic depends on any of the changed fields,
+	 *         directly or through a field whose value or lookup values depend on the changed fields
+	 */
+	public boolean isReadonlyDependingOnAny(final String fieldName, final Collection<String> changedFieldNames)
+	{
+		if (changedFieldNames.isEmpty())
+		{
+			return false;
+		}
+
+		final Set<String> affectedFieldNames = new HashSet<>(changedFieldNames);
+		for (final DependencyType dependencyType : ImmutableList.of(DependencyType.LookupValues, DependencyType.FieldValue))
+		{
+			final Multimap<String, String> name2dependencies = type2name2dependencies.get(dependencyType);
+			if (name2dependencies == null)
+			{
+				continue;
+			}
+			for (final String changedFieldName : changedFieldNames)
+			{
+				affectedFieldNames.addAll(name2dependencies.get(changedFieldName));
+			}
+		}
+
+		return isDependingOnAny(DependencyType.ReadonlyLogic, fieldName, affectedFieldNames)
+				|| isDependingOnAny(DependencyType.DocumentReadonlyLogic, DOCUMENT_Readonly, affectedFieldNames);
+	}
+
+	private boolean isDependingOnAny(final DependencyType dependencyType, final String dependentFieldName, final Set<String> dependsOnFieldNames)
+	{
+		final Multimap<String, String> name2dependencies = type2name2dependencies.get(dependencyType);
+		if (name2dependencies == null || name2dependencies.isEmpty())
+		{
+			return false;
+		}
+
+		return dependsOnFieldNames.stream().anyMatch(dependsOnFieldName -> name2dependencies.containsEntry(dependsOnFieldName, dependentFieldName));
+	}
+
 	//
 	//
 	//
@@ -1,5 +1,7 @@
 package de.metas.ui.web.window.descriptor.factory;
 
+import javax.annotation.Nullable;
+
 import org.adempiere.util.lang.impl.TableRecordReference;
 
 import de.metas.ui.web.window.datatypes.DocumentPath;
@@ -43,6 +45,14 @@ public interface DocumentDescriptorFactory
 
 	DocumentDescriptor getDocumentDescriptor(WindowId windowId) throws DocumentLayoutBuildException;
 
+	/**
+	 * Loads the descriptor of given window, if not already loaded, without considering the window as used by a user.
+	 */
+	default void warmUp(final WindowId windowId) throws DocumentLayoutBuildException
+	{
+		getDocumentDescriptor(windowId);
+	}
+
 	void invalidateForWindow(WindowId windowId);
 
 	default DocumentEntityDescriptor getDocumentEntityDescriptor(final int AD_Window_ID)
@@ -56,6 +66,15 @@ public interface DocumentDescriptorFactory
 		return getDocumentDescriptor(windowId).getEntityDescriptor();
 	}
 
+	/**
+	 * Gets the descriptor of given window only if it's already loaded.
+	 * It never loads the descriptor and it's not considering the window as used by a user.
+	 *
+	 * @return already loaded descriptor or {@code null}
+	 */
+	@Nullable
+	DocumentEntityDescriptor getDocumentEntityDescriptorIfLoaded(@NonNull WindowId windowId);
+
 	default String getTableNameOrNull(final int AD_Window_ID)
 	{
 		return getDocumentEntityDescriptor(AD_Window_ID).getTableName();
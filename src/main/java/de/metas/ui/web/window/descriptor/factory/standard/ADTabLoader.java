@@ -1,11 +1,29 @@
 package de.metas.ui.web.window.descriptor.factory.standard;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.adempiere.util.lang.IAutoCloseable;
 import org.compiere.model.GridTabVO;
 import org.compiere.model.GridWindowVO;
+import org.compiere.util.Env;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
 
 import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor;
 import de.metas.ui.web.window.descriptor.DocumentLayoutDescriptor;
 import de.metas.ui.web.window.descriptor.DocumentLayoutDetailDescriptor;
+import de.metas.ui.web.window.descriptor.factory.standard.DocumentDescriptorLoadTimings.TabLoadTiming;
+import de.metas.ui.web.window.exceptions.DocumentLayoutBuildException;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.Value;
@@ -44,11 +62,25 @@ public class ADTabLoader
 	@NonNull
 	DocumentLayoutDescriptor.Builder layoutBuilder;
 
-	public void load()
+	/** if set, the included tabs will be loaded in parallel, using this executor */
+	@Nullable
+	ExecutorService executor;
+
+	/**
+	 * Loads the included tabs and adds them to root's layout and entity descriptor.
+	 * <p>
+	 * If an {@link #executor} is set, the tabs are loaded in parallel, but they are added in the same order as they would be added when loading serially.
+	 *
+	 * @return how long it took to load each tab
+	 */
+	public List<TabLoadTiming> load()
 	{
 		final GridWindowVO gridWindowVO = DocumentLoaderUtil.createGridWindoVO(adWindowId);
+		final GridTabVO mainTabVO = gridWindowVO.getTab(GridTabVO.MAIN_TabNo);
+
 		//
 		// Layout: Create UI details from child tabs
+		final List<GridTabVO> detailTabVOs = new ArrayList<>();
 		for (final GridTabVO detailTabVO : gridWindowVO.getChildTabs(GridTabVO.MAIN_TabNo))
 		{
 			// Skip sort tabs because they are not supported
@@ -63,17 +95,87 @@ public class ADTabLoader
 				continue;
 			}
 
-			final GridTabVO mainTabVO = gridWindowVO.getTab(GridTabVO.MAIN_TabNo);
+			detailTabVOs.add(detailTabVO);
+		}
+
+		final List<LoadedTab> loadedTabs = executor != null
+				? loadTabsInParallel(gridWindowVO, mainTabVO, detailTabVOs)
+				: loadTabs(gridWindowVO, mainTabVO, detailTabVOs);
 
-			final LayoutFactory detailLayoutFactory = LayoutFactory.ofIncludedTab(gridWindowVO, mainTabVO, detailTabVO);
+		final ImmutableList.Builder<TabLoadTiming> timings = ImmutableList.builder();
+		for (final LoadedTab loadedTab : loadedTabs)
+		{
+			loadedTab.getLayoutDetail().ifPresent(layoutBuilder::addDetail);
+			rootLayoutFactory.documentEntity().addIncludedEntity(loadedTab.getEntity());
+			timings.add(loadedTab.getTiming());
+		}
+		return timings.build();
+	}
+
+	private static List<LoadedTab> loadTabs(final GridWindowVO gridWindowVO, final GridTabVO mainTabVO, final List<GridTabVO> detailTabVOs)
+	{
+		return detailTabVOs.stream()
+				.map(detailTabVO -> loadTab(gridWindowVO, mainTabVO, detailTabVO))
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private List<LoadedTab> loadTabsInParallel(final GridWindowVO gridWindowVO, final GridTabVO mainTabVO, final List<GridTabVO> detailTabVOs)
+	{
+		// NOTE: the worker threads are not inheriting our context
+		final Properties ctx = Env.copyCtx(Env.getCtx());
 
-			detailLayoutFactory
-					.layoutDetail() // might be empty
-					.map(DocumentLayoutDetailDescriptor.Builder::build)
-					.ifPresent(layoutBuilder::addDetail);
+		final List<CompletableFuture<LoadedTab>> futures = detailTabVOs.stream()
+				.map(detailTabVO -> CompletableFuture.supplyAsync(
+						() -> {
+							try (final IAutoCloseable ctxRestorer = Env.switchContext(ctx))
+							{
+								return loadTab(gridWindowVO, mainTabVO, detailTabVO);
+							}
+						},
+						executor))
+				.collect(ImmutableList.toImmutableList());
 
-			final DocumentEntityDescriptor.Builder detailEntityBuilder = detailLayoutFactory.documentEntity();
-			rootLayoutFactory.documentEntity().addIncludedEntity(detailEntityBuilder.build());
+		try
+		{
+			return futures.stream()
+					.map(CompletableFuture::join)
+					.collect(ImmutableList.toImmutableList());
+		}
+		catch (final CompletionException ex)
+		{
+			throw DocumentLayoutBuildException.wrapIfNeeded(ex.getCause() != null ? ex.getCause() : ex);
 		}
 	}
+
+	private static LoadedTab loadTab(final GridWindowVO gridWindowVO, final GridTabVO mainTabVO, final GridTabVO detailTabVO)
+	{
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+
+		final LayoutFactory detailLayoutFactory = LayoutFactory.ofIncludedTab(gridWindowVO, mainTabVO, detailTabVO);
+
+		final Optional<DocumentLayoutDetailDescriptor> layoutDetail = detailLayoutFactory
+				.layoutDetail() // might be empty
+				.map(DocumentLayoutDetailDescriptor.Builder::build);
+
+		final DocumentEntityDescriptor.Builder detailEntityBuilder = detailLayoutFactory.documentEntity();
+		final DocumentEntityDescriptor entity = detailEntityBuilder.build();
+
+		final TabLoadTiming timing = TabLoadTiming.builder()
+				.adTabId(detailTabVO.getAD_Tab_ID())
+				.tableName(detailTabVO.getTableName())
+				.tabName(detailTabVO.getName())
+				.millis(stopwatch.elapsed(TimeUnit.MILLISECONDS))
+				.threadName(Thread.currentThread().getName())
+				.build();
+
+		return new LoadedTab(layoutDetail, entity, timing);
+	}
+
+	@Value
+	private static class LoadedTab
+	{
+		Optional<DocumentLayoutDetailDescriptor> layoutDetail;
+		DocumentEntityDescriptor entity;
+		TabLoadTiming timing;
+	}
 }
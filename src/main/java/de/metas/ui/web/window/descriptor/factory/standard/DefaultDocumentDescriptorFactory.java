@@ -1,17 +1,31 @@
 package de.metas.ui.web.window.descriptor.factory.standard;
 
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
 
 import org.compiere.model.I_AD_Window;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import com.google.common.collect.ImmutableList;
+
 import de.metas.cache.CCache;
+import de.metas.cache.CCache.CacheMapType;
 import de.metas.ui.web.dataentry.window.descriptor.factory.DataEntrySubTabBindingDescriptorBuilder;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics.Category;
 import de.metas.ui.web.window.datatypes.WindowId;
 import de.metas.ui.web.window.descriptor.DocumentDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor;
 import de.metas.ui.web.window.descriptor.factory.DocumentDescriptorFactory;
 import de.metas.ui.web.window.exceptions.DocumentLayoutBuildException;
 import lombok.NonNull;
@@ -43,15 +57,57 @@ public class DefaultDocumentDescriptorFactory implements DocumentDescriptorFacto
 {
 	@NonNull
 	final DataEntrySubTabBindingDescriptorBuilder dataEntrySubTabBindingDescriptorBuilder;
+	private final DocumentDescriptorUsageStats usageStats;
 
-	private final CCache<WindowId, DocumentDescriptor> documentDescriptorsByWindowId = new CCache<>(I_AD_Window.Table_Name + "#DocumentDescriptor", 50);
+	private final CCache<WindowId, DocumentDescriptor> documentDescriptorsByWindowId;
 
 	private final Set<WindowId> unsupportedWindowIds = new HashSet<>();
 
+	/** Executor used to load the included tabs in parallel; null if the tabs shall be loaded serially */
+	private final ExecutorService tabsExecutor;
+	private final ConcurrentHashMap<WindowId, DocumentDescriptorLoadTimings> lastLoadTimingsByWindowId = new ConcurrentHashMap<>();
+
+	/**
+	 * @param cacheSize how many window descriptors to keep in cache; shall be bigger than the number of windows which are actively used
+	 * @param parallelTabsThreads how many threads to use for loading the included tabs in parallel; zero means the tabs are loaded serially
+	 */
 	/* package */ DefaultDocumentDescriptorFactory(
-			@NonNull final DataEntrySubTabBindingDescriptorBuilder dataEntrySubTabBindingDescriptorBuilder)
+			@NonNull final DataEntrySubTabBindingDescriptorBuilder dataEntrySubTabBindingDescriptorBuilder,
+			@NonNull final DocumentDescriptorUsageStats usageStats,
+			@Value("${metasfresh.webui.descriptors.cacheSize:300}") final int cacheSize,
+			@Value("${metasfresh.webui.descriptors.parallelTabsThreads:0}") final int parallelTabsThreads)
 	{
 		this.dataEntrySubTabBindingDescriptorBuilder = dataEntrySubTabBindingDescriptorBuilder;
+		this.usageStats = usageStats;
+		this.tabsExecutor = createTabsExecutorOrNull(parallelTabsThreads);
+
+		documentDescriptorsByWindowId = CCache.<WindowId, DocumentDescriptor> builder()
+				.cacheName(I_AD_Window.Table_Name + "#DocumentDescriptor")
+				.tableName(I_AD_Window.Table_Name)
+				.cacheMapType(CacheMapType.LRU)
+				.initialCapacity(cacheSize > 0 ? cacheSize : 300)
+				.build();
+	}
+
+	private static ExecutorService createTabsExecutorOrNull(final int threads)
+	{
+		if (threads <= 0)
+		{
+			return null;
+		}
+
+		final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("DocumentDescriptorTabsLoader-");
+		threadFactory.setDaemon(true);
+		return Executors.newFixedThreadPool(threads, threadFactory);
+	}
+
+	@PreDestroy
+	private void shutdownTabsExecutor()
+	{
+		if (tabsExecutor != null)
+		{
+			tabsExecutor.shutdownNow();
+		}
 	}
 
 	@Override
@@ -60,12 +116,37 @@ public class DefaultDocumentDescriptorFactory implements DocumentDescriptorFacto
 		documentDescriptorsByWindowId.remove(windowId);
 	}
 
+	/* package */ void invalidateAll()
+	{
+		documentDescriptorsByWindowId.reset();
+	}
+
 	@Override
 	public DocumentDescriptor getDocumentDescriptor(@NonNull final WindowId windowId)
 	{
+		usageStats.recordUsage(windowId);
+		return getDocumentDescriptorNoUsageTracking(windowId);
+	}
+
+	@Override
+	public void warmUp(@NonNull final WindowId windowId)
+	{
+		getDocumentDescriptorNoUsageTracking(windowId);
+	}
+
+	@Override
+	public DocumentEntityDescriptor getDocumentEntityDescriptorIfLoaded(@NonNull final WindowId windowId)
+	{
+		final DocumentDescriptor descriptor = documentDescriptorsByWindowId.get(windowId);
+		return descriptor != null ? descriptor.getEntityDescriptor() : null;
+	}
+
+	private DocumentDescriptor getDocumentDescriptorNoUsageTracking(@NonNull final WindowId windowId)
+	{
+		DescriptorBuildMetrics.instance.recordRequest(Category.DocumentDescriptor);
 		try
 		{
-			return documentDescriptorsByWindowId.getOrLoad(windowId, () -> createDocumentDescriptorLoader(windowId).load());
+			return documentDescriptorsByWindowId.getOrLoad(windowId, () -> loadDocumentDescriptor(windowId));
 		}
 		catch (final Exception e)
 		{
@@ -73,11 +154,31 @@ public class DefaultDocumentDescriptorFactory implements DocumentDescriptorFacto
 		}
 	}
 
+	private DocumentDescriptor loadDocumentDescriptor(@NonNull final WindowId windowId)
+	{
+		final DefaultDocumentDescriptorLoader loader = createDocumentDescriptorLoader(windowId);
+		final DocumentDescriptor descriptor = DescriptorBuildMetrics.instance.recordBuild(Category.DocumentDescriptor, windowId, loader::load);
+		lastLoadTimingsByWindowId.put(windowId, loader.getLoadTimings());
+		return descriptor;
+	}
+
 	private DefaultDocumentDescriptorLoader createDocumentDescriptorLoader(@NonNull final WindowId windowId)
 	{
 		return new DefaultDocumentDescriptorLoader(
 				windowId.toInt(),
-				dataEntrySubTabBindingDescriptorBuilder);
+				dataEntrySubTabBindingDescriptorBuilder,
+				tabsExecutor);
+	}
+
+	/**
+	 * @return timings of the last load of each window's descriptor, slowest first
+	 */
+	public List<DocumentDescriptorLoadTimings> getLastLoadTimings()
+	{
+		return lastLoadTimingsByWindowId.values()
+				.stream()
+				.sorted(Comparator.comparingLong(DocumentDescriptorLoadTimings::getTotalMillis).reversed())
+				.collect(ImmutableList.toImmutableList());
 	}
 
 	/**
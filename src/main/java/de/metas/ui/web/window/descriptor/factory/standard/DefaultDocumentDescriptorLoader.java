@@ -1,6 +1,10 @@
 package de.metas.ui.web.window.descriptor.factory.standard;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 import org.adempiere.ad.element.api.AdWindowId;
 import org.compiere.model.GridTabVO;
@@ -17,6 +21,7 @@ import de.metas.ui.web.window.descriptor.DocumentDescriptor;
 import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor;
 import de.metas.ui.web.window.descriptor.DocumentLayoutDescriptor;
 import de.metas.ui.web.window.descriptor.DocumentLayoutDetailDescriptor;
+import de.metas.ui.web.window.descriptor.factory.standard.DocumentDescriptorLoadTimings.TabLoadTiming;
 import de.metas.ui.web.window.exceptions.DocumentLayoutBuildException;
 import de.metas.util.Check;
 import lombok.NonNull;
@@ -52,18 +57,33 @@ import lombok.NonNull;
 	private final int AD_Window_ID;
 
 	private final DataEntrySubTabBindingDescriptorBuilder dataEntrySubTabBindingDescriptorBuilder;
+	private final ExecutorService tabsExecutor;
 
 	//
 	// Status
 	private boolean _executed = false;
+	private DocumentDescriptorLoadTimings _loadTimings;
 
 
+	/**
+	 * @param tabsExecutor if not null, the included tabs will be loaded in parallel, using this executor
+	 */
 	/* package */ DefaultDocumentDescriptorLoader(
 			final int AD_Window_ID,
-			@NonNull final DataEntrySubTabBindingDescriptorBuilder dataEntrySubTabBindingDescriptorBuilder)
+			@NonNull final DataEntrySubTabBindingDescriptorBuilder dataEntrySubTabBindingDescriptorBuilder,
+			@Nullable final ExecutorService tabsExecutor)
 	{
 		this.AD_Window_ID = AD_Window_ID;
 		this.dataEntrySubTabBindingDescriptorBuilder = dataEntrySubTabBindingDescriptorBuilder;
+		this.tabsExecutor = tabsExecutor;
+	}
+
+	/**
+	 * @return load timings or {@code null} if not loaded yet
+	 */
+	public DocumentDescriptorLoadTimings getLoadTimings()
+	{
+		return _loadTimings;
 	}
 
 	public DocumentDescriptor load()
@@ -111,10 +131,11 @@ import lombok.NonNull;
 
 		final AdWindowId adWindowId = AdWindowId.ofRepoId(AD_Window_ID);
 
-		ADTabLoader.builder()
+		final List<TabLoadTiming> tabLoadTimings = ADTabLoader.builder()
 				.adWindowId(adWindowId.getRepoId())
 				.rootLayoutFactory(rootLayoutFactory)
 				.layoutBuilder(layoutBuilder)
+				.executor(tabsExecutor)
 				.build()
 				.load();
 
@@ -142,6 +163,13 @@ import lombok.NonNull;
 				.setLayout(layoutBuilder.build())
 				.setEntityDescriptor(rootLayoutFactory.documentEntity().build())
 				.build();
+		_loadTimings = DocumentDescriptorLoadTimings.builder()
+				.windowId(WindowId.of(AD_Window_ID))
+				.totalMillis(stopwatch.elapsed(TimeUnit.MILLISECONDS))
+				.parallelTabs(tabsExecutor != null)
+				.tabs(tabLoadTimings)
+				.build();
+
 		logger.debug("Descriptor loaded in {}: {}", stopwatch, descriptor);
 		return descriptor;
 	}
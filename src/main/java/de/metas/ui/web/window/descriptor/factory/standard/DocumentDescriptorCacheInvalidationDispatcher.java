@@ -0,0 +1,181 @@
+package de.metas.ui.web.window.descriptor.factory.standard;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+
+import org.adempiere.ad.trx.api.ITrx;
+import org.compiere.model.I_AD_Field;
+import org.compiere.model.I_AD_Tab;
+import org.compiere.model.I_AD_UI_Column;
+import org.compiere.model.I_AD_UI_Element;
+import org.compiere.model.I_AD_UI_ElementField;
+import org.compiere.model.I_AD_UI_ElementGroup;
+import org.compiere.model.I_AD_UI_Section;
+import org.compiere.util.DB;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+
+import de.metas.cache.CacheMgt;
+import de.metas.cache.model.CacheInvalidateMultiRequest;
+import de.metas.cache.model.CacheInvalidateRequest;
+import de.metas.logging.LogManager;
+import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.ui.web.window.model.DocumentCollection;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Listens to the changes of window definition records (fields, tabs, UI elements etc) and invalidates only the descriptors of the window(s) they belong to,
+ * together with the root documents of those windows.
+ * <p>
+ * If we cannot find out the window (e.g. the record was deleted or the request is about all records), all descriptors are invalidated.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Component
+public class DocumentDescriptorCacheInvalidationDispatcher
+{
+	private static final Logger logger = LogManager.getLogger(DocumentDescriptorCacheInvalidationDispatcher.class);
+
+	/** SQLs to fetch the AD_Window_ID of a given record, indexed by record's table name */
+	private static final ImmutableMap<String, String> sqlWindowIdByTableName = ImmutableMap.<String, String> builder()
+			.put(I_AD_Tab.Table_Name, "SELECT t.AD_Window_ID FROM AD_Tab t WHERE t.AD_Tab_ID=?")
+			.put(I_AD_Field.Table_Name, "SELECT t.AD_Window_ID FROM AD_Field f"
+					+ " INNER JOIN AD_Tab t ON t.AD_Tab_ID=f.AD_Tab_ID"
+					+ " WHERE f.AD_Field_ID=?")
+			.put(I_AD_UI_Section.Table_Name, "SELECT t.AD_Window_ID FROM AD_UI_Section s"
+					+ " INNER JOIN AD_Tab t ON t.AD_Tab_ID=s.AD_Tab_ID"
+					+ " WHERE s.AD_UI_Section_ID=?")
+			.put(I_AD_UI_Column.Table_Name, "SELECT t.AD_Window_ID FROM AD_UI_Column c"
+					+ " INNER JOIN AD_UI_Section s ON s.AD_UI_Section_ID=c.AD_UI_Section_ID"
+					+ " INNER JOIN AD_Tab t ON t.AD_Tab_ID=s.AD_Tab_ID"
+					+ " WHERE c.AD_UI_Column_ID=?")
+			.put(I_AD_UI_ElementGroup.Table_Name, "SELECT t.AD_Window_ID FROM AD_UI_ElementGroup g"
+					+ " INNER JOIN AD_UI_Column c ON c.AD_UI_Column_ID=g.AD_UI_Column_ID"
+					+ " INNER JOIN AD_UI_Section s ON s.AD_UI_Section_ID=c.AD_UI_Section_ID"
+					+ " INNER JOIN AD_Tab t ON t.AD_Tab_ID=s.AD_Tab_ID"
+					+ " WHERE g.AD_UI_ElementGroup_ID=?")
+			.put(I_AD_UI_Element.Table_Name, "SELECT t.AD_Window_ID FROM AD_UI_Element e"
+					+ " INNER JOIN AD_Tab t ON t.AD_Tab_ID=e.AD_Tab_ID"
+					+ " WHERE e.AD_UI_Element_ID=?")
+			.put(I_AD_UI_ElementField.Table_Name, "SELECT t.AD_Window_ID FROM AD_UI_ElementField ef"
+					+ " INNER JOIN AD_UI_Element e ON e.AD_UI_Element_ID=ef.AD_UI_Element_ID"
+					+ " INNER JOIN AD_Tab t ON t.AD_Tab_ID=e.AD_Tab_ID"
+					+ " WHERE ef.AD_UI_ElementField_ID=?")
+			.build();
+
+	/** Retrieves the AD_Window_ID of given record, or null */
+	@FunctionalInterface
+	/* package */ interface WindowIdRetriever
+	{
+		WindowId retrieveWindowIdOrNull(String tableName, int recordId);
+	}
+
+	private final DefaultDocumentDescriptorFactory documentDescriptorFactory;
+	private final DocumentCollection documentCollection;
+	private final WindowIdRetriever windowIdRetriever;
+
+	@Autowired
+	public DocumentDescriptorCacheInvalidationDispatcher(
+			@NonNull final DefaultDocumentDescriptorFactory documentDescriptorFactory,
+			@NonNull final DocumentCollection documentCollection)
+	{
+		this(documentDescriptorFactory, documentCollection, DocumentDescriptorCacheInvalidationDispatcher::retrieveWindowIdOrNull);
+	}
+
+	@VisibleForTesting
+	DocumentDescriptorCacheInvalidationDispatcher(
+			@NonNull final DefaultDocumentDescriptorFactory documentDescriptorFactory,
+			@NonNull final DocumentCollection documentCollection,
+			@NonNull final WindowIdRetriever windowIdRetriever)
+	{
+		this.documentDescriptorFactory = documentDescriptorFactory;
+		this.documentCollection = documentCollection;
+		this.windowIdRetriever = windowIdRetriever;
+	}
+
+	@PostConstruct
+	private void postConstruct()
+	{
+		for (final String tableName : sqlWindowIdByTableName.keySet())
+		{
+			CacheMgt.get().addCacheResetListener(tableName, request -> {
+				resetNow(request);
+				return 1; // not relevant
+			});
+		}
+	}
+
+	@VisibleForTesting
+	void resetNow(final CacheInvalidateMultiRequest multiRequest)
+	{
+		final Set<WindowId> windowIds = new HashSet<>();
+		for (final CacheInvalidateRequest request : multiRequest.getRequests())
+		{
+			final String tableName = request.getRootTableName();
+			if (!sqlWindowIdByTableName.containsKey(tableName))
+			{
+				continue;
+			}
+
+			final WindowId windowId = request.isAll() ? null : windowIdRetriever.retrieveWindowIdOrNull(tableName, request.getRootRecordId());
+			if (windowId == null)
+			{
+				logger.debug("Cannot find out the window of {}. Invalidating all descriptors.", request);
+				documentDescriptorFactory.invalidateAll();
+				documentCollection.cacheReset();
+				return;
+			}
+
+			windowIds.add(windowId);
+		}
+
+		for (final WindowId windowId : windowIds)
+		{
+			logger.debug("Invalidating descriptors and documents of {}", windowId);
+			documentDescriptorFactory.invalidateForWindow(windowId);
+			documentCollection.invalidateDocumentsForWindow(windowId);
+		}
+	}
+
+	private static WindowId retrieveWindowIdOrNull(final String tableName, final int recordId)
+	{
+		if (recordId <= 0)
+		{
+			return null;
+		}
+
+		final String sqlWindowId = sqlWindowIdByTableName.get(tableName);
+
+		// NOTE: using the thread inherited transaction because the record might be not committed yet
+		final int windowRepoId = DB.getSQLValueEx(ITrx.TRXNAME_ThreadInherited, sqlWindowId, recordId);
+		return windowRepoId > 0 ? WindowId.of(windowRepoId) : null;
+	}
+}
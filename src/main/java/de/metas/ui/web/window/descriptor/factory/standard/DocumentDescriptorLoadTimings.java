@@ -0,0 +1,61 @@
+package de.metas.ui.web.window.descriptor.factory.standard;
+
+import java.util.List;
+
+import de.metas.ui.web.window.datatypes.WindowId;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * How long it took to load a window's {@link de.metas.ui.web.window.descriptor.DocumentDescriptor}, including the time of each included tab.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Value
+@Builder
+public class DocumentDescriptorLoadTimings
+{
+	@NonNull
+	WindowId windowId;
+	long totalMillis;
+	boolean parallelTabs;
+
+	@Singular
+	List<TabLoadTiming> tabs;
+
+	@Value
+	@Builder
+	public static class TabLoadTiming
+	{
+		int adTabId;
+		String tableName;
+		String tabName;
+		long millis;
+		/** thread which loaded the tab */
+		String threadName;
+	}
+}
@@ -0,0 +1,199 @@
+package de.metas.ui.web.window.descriptor.factory.standard;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.adempiere.util.concurrent.CustomizableThreadFactory;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.logging.LogManager;
+import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.util.Check;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Counts how often each window's {@link de.metas.ui.web.window.descriptor.DocumentDescriptor} is requested,
+ * so on next startup we know which windows are worth to be warmed up (see {@link DocumentDescriptorsWarmUp}).
+ * <p>
+ * If a file is configured, the counters are loaded from it on startup and saved back periodically and on shutdown,
+ * so they are not lost if the server is not shut down gracefully.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Component
+public class DocumentDescriptorUsageStats
+{
+	private static final Logger logger = LogManager.getLogger(DocumentDescriptorUsageStats.class);
+
+	@Value("${metasfresh.webui.descriptors.usageStatsFile:}")
+	private String usageStatsFile;
+
+	@Value("${metasfresh.webui.descriptors.usageStatsSaveIntervalSeconds:600}")
+	private int saveIntervalSeconds;
+
+	private final ConcurrentHashMap<WindowId, AtomicLong> usageCountByWindowId = new ConcurrentHashMap<>();
+	private final AtomicBoolean changedSinceLastSave = new AtomicBoolean(false);
+	private ScheduledExecutorService saveExecutor;
+
+	public void recordUsage(@NonNull final WindowId windowId)
+	{
+		usageCountByWindowId.computeIfAbsent(windowId, k -> new AtomicLong()).incrementAndGet();
+		changedSinceLastSave.set(true);
+	}
+
+	/**
+	 * @return most used windows, most used first
+	 */
+	public List<WindowId> getMostUsedWindowIds(final int limit)
+	{
+		return usageCountByWindowId.entrySet()
+				.stream()
+				.sorted(Comparator.<Map.Entry<WindowId, AtomicLong>> comparingLong(entry -> entry.getValue().get()).reversed())
+				.limit(limit)
+				.map(Map.Entry::getKey)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private Path getUsageStatsFileOrNull()
+	{
+		return !Check.isEmpty(usageStatsFile, true) ? Paths.get(usageStatsFile.trim()) : null;
+	}
+
+	@PostConstruct
+	private void init()
+	{
+		final Path file = getUsageStatsFileOrNull();
+		if (file == null)
+		{
+			return;
+		}
+
+		load(file);
+
+		if (saveIntervalSeconds > 0)
+		{
+			saveExecutor = Executors.newSingleThreadScheduledExecutor(CustomizableThreadFactory.builder()
+					.setThreadNamePrefix(DocumentDescriptorUsageStats.class.getSimpleName())
+					.setDaemon(true)
+					.build());
+			saveExecutor.scheduleWithFixedDelay(this::saveIfChanged, saveIntervalSeconds, saveIntervalSeconds, TimeUnit.SECONDS);
+			logger.info("Saving usage stats to {} every {} seconds", file, saveIntervalSeconds);
+		}
+	}
+
+	private void load(@NonNull final Path file)
+	{
+		if (!Files.exists(file))
+		{
+			return;
+		}
+
+		try
+		{
+			for (final String line : Files.readAllLines(file, StandardCharsets.UTF_8))
+			{
+				final int idx = line.indexOf('=');
+				if (idx <= 0)
+				{
+					continue;
+				}
+
+				final WindowId windowId = WindowId.fromJson(line.substring(0, idx).trim());
+				final long usageCount = Long.parseLong(line.substring(idx + 1).trim());
+				usageCountByWindowId.computeIfAbsent(windowId, k -> new AtomicLong()).addAndGet(usageCount);
+			}
+
+			logger.info("Loaded usage stats of {} windows from {}", usageCountByWindowId.size(), file);
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("Failed loading usage stats from {}. Ignored.", file, ex);
+		}
+	}
+
+	@PreDestroy
+	private void shutdown()
+	{
+		if (saveExecutor != null)
+		{
+			saveExecutor.shutdownNow();
+		}
+
+		saveIfChanged();
+	}
+
+	private void saveIfChanged()
+	{
+		final Path file = getUsageStatsFileOrNull();
+		if (file == null)
+		{
+			return;
+		}
+
+		if (changedSinceLastSave.getAndSet(false))
+		{
+			save(file);
+		}
+	}
+
+	private synchronized void save(@NonNull final Path file)
+	{
+		final List<String> lines = getMostUsedWindowIds(Integer.MAX_VALUE)
+				.stream()
+				.map(windowId -> windowId.toJson() + "=" + usageCountByWindowId.get(windowId).get())
+				.collect(ImmutableList.toImmutableList());
+		try
+		{
+			// write a temporary file and move it over, so a crash while writing does not leave a truncated file behind
+			final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+			Files.write(tempFile, lines, StandardCharsets.UTF_8);
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+			logger.debug("Saved usage stats of {} windows to {}", lines.size(), file);
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("Failed saving usage stats to {}. Ignored.", file, ex);
+		}
+	}
+}
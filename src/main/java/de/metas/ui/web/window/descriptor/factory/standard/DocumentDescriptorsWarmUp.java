@@ -0,0 +1,150 @@
+package de.metas.ui.web.window.descriptor.factory.standard;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Splitter;
+import com.google.common.base.Stopwatch;
+
+import de.metas.logging.LogManager;
+import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.ui.web.window.descriptor.factory.DocumentDescriptorFactory;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Loads the descriptors of the most used windows in background, right after the application started,
+ * so the first users of those windows don't have to wait for them to be built.
+ * <p>
+ * The windows are the ones configured explicitly followed by the most used ones, as recorded by {@link DocumentDescriptorUsageStats}.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@Component
+public class DocumentDescriptorsWarmUp
+{
+	private static final Logger logger = LogManager.getLogger(DocumentDescriptorsWarmUp.class);
+
+	private final DocumentDescriptorFactory documentDescriptorFactory;
+	private final DocumentDescriptorUsageStats usageStats;
+
+	@Value("${metasfresh.webui.descriptors.warmUp.enabled:false}")
+	private boolean enabled;
+
+	/** comma separated windowIds which shall be always warmed up */
+	@Value("${metasfresh.webui.descriptors.warmUp.windowIds:}")
+	private String windowIdsToWarmUp;
+
+	@Value("${metasfresh.webui.descriptors.warmUp.mostUsedWindowsCount:30}")
+	private int mostUsedWindowsCount;
+
+	@Value("${metasfresh.webui.descriptors.warmUp.threads:4}")
+	private int threads;
+
+	public DocumentDescriptorsWarmUp(
+			@NonNull final DocumentDescriptorFactory documentDescriptorFactory,
+			@NonNull final DocumentDescriptorUsageStats usageStats)
+	{
+		this.documentDescriptorFactory = documentDescriptorFactory;
+		this.usageStats = usageStats;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady()
+	{
+		if (!enabled)
+		{
+			logger.info("Skip warming up document descriptors because it's not enabled");
+			return;
+		}
+
+		final Set<WindowId> windowIds = getWindowIdsToWarmUp();
+		if (windowIds.isEmpty())
+		{
+			logger.info("Skip warming up document descriptors because there are no windows to warm up");
+			return;
+		}
+
+		warmUp(windowIds);
+	}
+
+	private Set<WindowId> getWindowIdsToWarmUp()
+	{
+		final Set<WindowId> windowIds = new LinkedHashSet<>();
+		for (final String windowIdStr : Splitter.on(',').trimResults().omitEmptyStrings().split(windowIdsToWarmUp))
+		{
+			windowIds.add(WindowId.fromJson(windowIdStr));
+		}
+
+		windowIds.addAll(usageStats.getMostUsedWindowIds(Math.max(mostUsedWindowsCount, 0)));
+
+		windowIds.removeIf(windowId -> !documentDescriptorFactory.isWindowIdSupported(windowId));
+		return windowIds;
+	}
+
+	private void warmUp(final Set<WindowId> windowIds)
+	{
+		final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(DocumentDescriptorsWarmUp.class.getSimpleName() + "-");
+		threadFactory.setDaemon(true);
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1), threadFactory);
+
+		logger.info("Warming up the document descriptors of {} windows: {}", windowIds.size(), windowIds);
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		final AtomicInteger remaining = new AtomicInteger(windowIds.size());
+		for (final WindowId windowId : windowIds)
+		{
+			executor.execute(() -> {
+				warmUp(windowId);
+				if (remaining.decrementAndGet() == 0)
+				{
+					logger.info("Warmed up the document descriptors of {} windows (took {})", windowIds.size(), stopwatch);
+				}
+			});
+		}
+
+		executor.shutdown(); // the executor will stop after the submitted tasks are done
+	}
+
+	private void warmUp(final WindowId windowId)
+	{
+		try
+		{
+			documentDescriptorFactory.warmUp(windowId);
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("Failed warming up the document descriptor of {}. Ignored.", windowId, ex);
+		}
+	}
+}
@@ -36,4 +36,12 @@ import de.metas.ui.web.window.descriptor.LookupDescriptor;
 public interface DocumentFieldValueLoader
 {
 	Object retrieveFieldValue(ResultSet rs, boolean isDisplayColumnAvailable, String adLanguage, LookupDescriptor lookupDescriptor) throws SQLException;
+
+	/**
+	 * @return loader which reads the same columns but by column index instead of column name. To be used only with result sets having the given column indexes.
+	 */
+	default DocumentFieldValueLoader bindTo(final ResultSetColumnIndexes columnIndexes)
+	{
+		return this;
+	}
 }
@@ -49,6 +49,7 @@ import de.metas.pricing.service.IPriceListDAO;
 import de.metas.product.ProductId;
 import de.metas.product.model.I_M_Product;
 import de.metas.quantity.Quantity;
+import de.metas.ui.web.document.filter.sql.SqlIdsArrayFilter;
 import de.metas.ui.web.document.filter.sql.SqlParamsCollector;
 import de.metas.ui.web.material.adapter.AvailableToPromiseAdapter;
 import de.metas.ui.web.material.adapter.AvailableToPromiseResultForWebui;
@@ -420,7 +421,7 @@ public class ProductLookupDescriptor implements LookupDescriptor, LookupDataSour
 
 		sqlWhereClause.append("\n AND EXISTS (")
 				.append("SELECT 1 FROM " + I_M_ProductPrice.Table_Name + " pp WHERE pp.M_Product_ID=p." + I_M_Product_Lookup_V.COLUMNNAME_M_Product_ID)
-				.append(" AND pp.").append(I_M_ProductPrice.COLUMNNAME_M_PriceList_Version_ID).append(" IN ").append(DB.buildSqlList(allPriceListVersionIds, sqlWhereClauseParams::collectAll))
+				.append(" AND ").append(SqlIdsArrayFilter.inArray("pp." + I_M_ProductPrice.COLUMNNAME_M_PriceList_Version_ID, allPriceListVersionIds, sqlWhereClauseParams))
 				.append(" AND pp.IsActive=").append(sqlWhereClauseParams.placeholder(true))
 				.append(")");
 	}
@@ -530,6 +531,21 @@ public class ProductLookupDescriptor implements LookupDescriptor, LookupDataSour
 		return LookupTableName;
 	}
 
+	@Override
+	public Set<String> getDependsOnSysConfigNames()
+	{
+		if (availableToPromiseAdapter != null)
+		{
+			// the AvailableToPromiseRepository has its own sysconfigs (e.g. for the predefined storage attributes) which we don't know
+			return ImmutableSet.of(SYSCONFIG_NAME_ANY);
+		}
+
+		return ImmutableSet.of(
+				SYSCONFIG_ATP_QUERY_ENABLED,
+				SYSCONFIG_DISPLAY_ATP_ONLY_IF_POSITIVE,
+				SYSCONFIG_DisableFullTextSearch);
+	}
+
 	@Override
 	public LookupDataSourceFetcher getLookupDataSourceFetcher()
 	{
@@ -0,0 +1,87 @@
+package de.metas.ui.web.window.descriptor.sql;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Column name to column index mapping of a {@link ResultSet}, resolved once from its {@link ResultSetMetaData}.
+ * <p>
+ * Used to bind the {@link DocumentFieldValueLoader}s to column indexes (see {@link DocumentFieldValueLoader#bindTo(ResultSetColumnIndexes)}),
+ * so when decoding many rows of the same result set we don't have to look up each cell by column name.
+ * <p>
+ * Column names are matched case insensitive, same as JDBC does.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+@ToString
+public final class ResultSetColumnIndexes
+{
+	public static ResultSetColumnIndexes of(@NonNull final ResultSet rs) throws SQLException
+	{
+		return ofMetaData(rs.getMetaData());
+	}
+
+	public static ResultSetColumnIndexes ofMetaData(@NonNull final ResultSetMetaData metaData) throws SQLException
+	{
+		final int columnCount = metaData.getColumnCount();
+		final Map<String, Integer> indexesByColumnName = new HashMap<>(columnCount * 2);
+		for (int columnIndex = 1; columnIndex <= columnCount; columnIndex++)
+		{
+			final String columnName = normalizeColumnName(metaData.getColumnLabel(columnIndex));
+
+			// same as JDBC: in case of duplicate column names, the first one wins
+			indexesByColumnName.putIfAbsent(columnName, columnIndex);
+		}
+
+		return new ResultSetColumnIndexes(indexesByColumnName);
+	}
+
+	private final Map<String, Integer> indexesByColumnName;
+
+	private ResultSetColumnIndexes(final Map<String, Integer> indexesByColumnName)
+	{
+		this.indexesByColumnName = indexesByColumnName;
+	}
+
+	private static String normalizeColumnName(final String columnName)
+	{
+		return columnName.toLowerCase();
+	}
+
+	/**
+	 * @return column index (1 based) or <code>0</code> if there is no such column
+	 */
+	public int getIndexOrZero(@NonNull final String columnName)
+	{
+		final Integer columnIndex = indexesByColumnName.get(normalizeColumnName(columnName));
+		return columnIndex != null ? columnIndex : 0;
+	}
+}
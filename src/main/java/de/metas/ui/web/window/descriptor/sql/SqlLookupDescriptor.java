@@ -7,6 +7,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 import org.adempiere.ad.expression.api.ICachedStringExpression;
@@ -152,6 +153,8 @@ public final class SqlLookupDescriptor implements ISqlLookupDescriptor
 
 	private final ImmutableSet<String> dependsOnFieldNames;
 	private final ImmutableSet<String> dependsOnTableNames;
+	/** The sysconfigs on which the lookup depends, if they were explicitly declared */
+	private final Optional<ImmutableSet<String>> declaredDependsOnSysConfigNames;
 
 	private final GenericSqlLookupDataSourceFetcher lookupDataSourceFetcher;
 
@@ -171,6 +174,7 @@ public final class SqlLookupDescriptor implements ISqlLookupDescriptor
 
 		dependsOnFieldNames = ImmutableSet.copyOf(builder.dependsOnFieldNames);
 		dependsOnTableNames = ImmutableSet.copyOf(builder.getDependsOnTableNames());
+		declaredDependsOnSysConfigNames = Optional.ofNullable(builder.dependsOnSysConfigNames);
 
 		lookupDataSourceFetcher = GenericSqlLookupDataSourceFetcher.of(this); // keep it last!
 	}
@@ -198,7 +202,8 @@ public final class SqlLookupDescriptor implements ISqlLookupDescriptor
 				postQueryPredicate,
 				//
 				highVolume,
-				numericKey
+				numericKey,
+				declaredDependsOnSysConfigNames
 		// dependsOnFieldNames // not needed because it's computed
 		// lookupSourceType // not needed because it's computed
 		// lookupDataSourceFetcher // not needed because it's computed
@@ -230,6 +235,7 @@ public final class SqlLookupDescriptor implements ISqlLookupDescriptor
 				&& Objects.equals(postQueryPredicate, other.postQueryPredicate)
 				&& highVolume == other.highVolume
 				&& numericKey == other.numericKey
+				&& Objects.equals(declaredDependsOnSysConfigNames, other.declaredDependsOnSysConfigNames)
 		// dependsOnFieldNames // not needed because it's computed
 		// lookupSourceType // not needed because it's computed
 		// lookupDataSourceFetcher // not needed because it's computed
@@ -303,6 +309,14 @@ public final class SqlLookupDescriptor implements ISqlLookupDescriptor
 		return postQueryPredicate;
 	}
 
+	/**
+	 * @return the sysconfigs on which this lookup depends, or empty if they were not explicitly declared (see {@link Builder#setDependsOnSysConfigNames(Collection)})
+	 */
+	public Optional<ImmutableSet<String>> getDeclaredDependsOnSysConfigNames()
+	{
+		return declaredDependsOnSysConfigNames;
+	}
+
 	@Override
 	public boolean hasParameters()
 	{
@@ -339,6 +353,7 @@ public final class SqlLookupDescriptor implements ISqlLookupDescriptor
 		// Built/prepared values
 		private boolean numericKey;
 		private Set<String> dependsOnFieldNames;
+		private ImmutableSet<String> dependsOnSysConfigNames = null; // not declared
 
 		private final List<IValidationRule> validationRules = new ArrayList<>();
 		private IValidationRule validationRuleEffective = NullValidationRule.instance;
@@ -358,7 +373,7 @@ public final class SqlLookupDescriptor implements ISqlLookupDescriptor
 		{
 			Check.assumeNotNull(displayType, "Parameter displayType is not null");
 
-			return buildProvider(ctxTableName, ctxColumnName, widgetType, displayType, AD_Reference_Value_ID, AD_Val_Rule_ID, validationRules);
+			return buildProvider(ctxTableName, ctxColumnName, widgetType, displayType, AD_Reference_Value_ID, AD_Val_Rule_ID, validationRules, dependsOnSysConfigNames);
 		}
 
 		public LookupDescriptor buildForDefaultScope()
@@ -374,7 +389,8 @@ public final class SqlLookupDescriptor implements ISqlLookupDescriptor
 				final DocumentFieldWidgetType widgetType, final int displayType,
 				final int AD_Reference_Value_ID,
 				final int AD_Val_Rule_ID,
-				final List<IValidationRule> additionalValidationRules)
+				final List<IValidationRule> additionalValidationRules,
+				final Set<String> dependsOnSysConfigNames)
 		{
 			if (widgetType == DocumentFieldWidgetType.ProcessButton)
 			{
@@ -391,6 +407,7 @@ public final class SqlLookupDescriptor implements ISqlLookupDescriptor
 						.setAD_Val_Rule_ID(AD_Val_Rule_ID)
 						.setScope(scope)
 						.addValidationRules(additionalValidationRules)
+						.setDependsOnSysConfigNames(dependsOnSysConfigNames)
 						.build());
 			}
 			else
@@ -771,5 +788,17 @@ public final class SqlLookupDescriptor implements ISqlLookupDescriptor
 		{
 			return validationRuleEffective.getDependsOnTableNames();
 		}
+
+		/**
+		 * Explicitly declares the sysconfigs on which the lookup's SQL and validation rules depend.
+		 * If not declared, the lookup is considered to depend on any sysconfig.
+		 *
+		 * @param dependsOnSysConfigNames sysconfig names (might be empty) or {@code null} if not declared
+		 */
+		public Builder setDependsOnSysConfigNames(@Nullable final Collection<String> dependsOnSysConfigNames)
+		{
+			this.dependsOnSysConfigNames = dependsOnSysConfigNames != null ? ImmutableSet.copyOf(dependsOnSysConfigNames) : null;
+			return this;
+		}
 	}
 }
@@ -0,0 +1,152 @@
+package de.metas.ui.web.window.model;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.ui.web.window.datatypes.json.JSONDocumentChangedEvent;
+import de.metas.ui.web.window.exceptions.DocumentFieldReadonlyException;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Applies more value changes of one document at once, with the same outcome as applying them one by one, but:
+ * <ul>
+ * <li>the fields which depend on more of the changed fields are updated only once
+ * <li>the callouts are executed after all values were set, in the same order as the fields were changed
+ * </ul>
+ * To keep the outcome of applying them one by one:
+ * <ul>
+ * <li>the readonly flag of a field is checked after the dependencies of the previous changes were updated, if it depends on them
+ * <li>the values set by a callout to the fields which come later in the patch are overridden by the patch values,
+ * because, when applying them one by one, the patch value is set after that callout was executed
+ * </ul>
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+final class BatchValueChangesProcessor
+{
+	interface Target
+	{
+		boolean isReadonly(String fieldName);
+
+		/** @return true if the readonly flag of given field depends on any of given changed fields */
+		boolean isReadonlyDependingOnAny(String fieldName, Set<String> changedFieldNames);
+
+		/**
+		 * Sets the value, without updating the dependent fields and without executing the callouts.
+		 *
+		 * @return true if the value was changed
+		 */
+		boolean setValueNoDependenciesUpdate(String fieldName, Object value);
+
+		Object getValue(String fieldName);
+
+		void updateFieldsWhichDependsOn(Set<String> changedFieldNames);
+
+		void executeCallout(String fieldName);
+	}
+
+	/**
+	 * @return true if any value was changed
+	 */
+	public static boolean process(@NonNull final List<JSONDocumentChangedEvent> events, @NonNull final Target target) throws DocumentFieldReadonlyException
+	{
+		final int eventsCount = events.size();
+		final String[] fieldNames = new String[eventsCount];
+		final Object[] patchValues = new Object[eventsCount];
+		final boolean[] calloutPending = new boolean[eventsCount];
+		boolean changed = false;
+
+		//
+		// Apply all values, updating the dependencies only if needed for checking the readonly flag of the next fields
+		final Set<String> dependenciesPending = new LinkedHashSet<>();
+		for (int i = 0; i < eventsCount; i++)
+		{
+			final JSONDocumentChangedEvent event = events.get(i);
+			final String fieldName = event.getPath();
+
+			if (target.isReadonlyDependingOnAny(fieldName, dependenciesPending))
+			{
+				target.updateFieldsWhichDependsOn(ImmutableSet.copyOf(dependenciesPending));
+				dependenciesPending.clear();
+			}
+			if (target.isReadonly(fieldName))
+			{
+				throw new DocumentFieldReadonlyException(fieldName, event.getValue());
+			}
+
+			if (target.setValueNoDependenciesUpdate(fieldName, event.getValue()))
+			{
+				dependenciesPending.add(fieldName);
+				calloutPending[i] = true;
+				changed = true;
+			}
+
+			fieldNames[i] = fieldName;
+			patchValues[i] = target.getValue(fieldName); // the converted value
+		}
+
+		//
+		// Update the dependencies, once
+		if (!dependenciesPending.isEmpty())
+		{
+			target.updateFieldsWhichDependsOn(ImmutableSet.copyOf(dependenciesPending));
+		}
+
+		//
+		// Callouts, in the same order as the fields were changed
+		for (int i = 0; i < eventsCount; i++)
+		{
+			if (!calloutPending[i])
+			{
+				continue;
+			}
+
+			target.executeCallout(fieldNames[i]);
+
+			final Set<String> fieldNamesReapplied = new LinkedHashSet<>();
+			for (int j = i + 1; j < eventsCount; j++)
+			{
+				if (target.setValueNoDependenciesUpdate(fieldNames[j], patchValues[j]))
+				{
+					fieldNamesReapplied.add(fieldNames[j]);
+					calloutPending[j] = true;
+				}
+			}
+			if (!fieldNamesReapplied.isEmpty())
+			{
+				target.updateFieldsWhichDependsOn(fieldNamesReapplied);
+			}
+		}
+
+		return changed;
+	}
+
+	private BatchValueChangesProcessor()
+	{
+	}
+}
@@ -22,12 +22,12 @@ import org.adempiere.ad.callout.api.ICalloutExecutor;
 import org.adempiere.ad.callout.api.ICalloutRecord;
 import org.adempiere.ad.expression.api.IExpression;
 import org.adempiere.ad.expression.api.IExpressionEvaluator.OnVariableNotFound;
-import org.adempiere.ad.expression.api.ILogicExpression;
 import org.adempiere.ad.expression.api.LogicExpressionResult;
 import org.adempiere.ad.ui.spi.ExceptionHandledTabCallout;
 import org.adempiere.ad.ui.spi.ITabCallout;
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.service.ClientId;
+import org.adempiere.service.ISysConfigBL;
 import org.adempiere.util.lang.IAutoCloseable;
 import org.compiere.util.Env;
 import org.slf4j.Logger;
@@ -53,8 +53,10 @@ import de.metas.ui.web.window.datatypes.DocumentType;
 import de.metas.ui.web.window.datatypes.LookupValue.StringLookupValue;
 import de.metas.ui.web.window.datatypes.LookupValuesList;
 import de.metas.ui.web.window.datatypes.json.JSONDocumentChangedEvent;
+import de.metas.ui.web.window.descriptor.BoundLogicExpression;
 import de.metas.ui.web.window.descriptor.DetailId;
 import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor.FieldLogicExpressions;
 import de.metas.ui.web.window.descriptor.DocumentFieldDependencyMap;
 import de.metas.ui.web.window.descriptor.DocumentFieldDependencyMap.DependencyType;
 import de.metas.ui.web.window.descriptor.DocumentFieldDescriptor;
@@ -103,6 +105,8 @@ public final class Document
 
 	public static final Document NULL = null;
 
+	private static final String SYSCONFIG_BatchValueChanges = "de.metas.ui.web.window.model.Document.BatchValueChanges";
+
 	private static final ReasonSupplier REASON_Value_DirectSetOnDocument = () -> "direct set on Document";
 	private static final ReasonSupplier REASON_Value_NewDocument = () -> "new document";
 	private static final ReasonSupplier REASON_Value_Refreshing = () -> "direct set on Document (refresh)";
@@ -139,6 +143,8 @@ public final class Document
 	//
 	// Fields
 	private final ImmutableMap<String, IDocumentField> fieldsByName;
+	/** Same fields as {@link #fieldsByName}, indexed the same way as entity descriptor's fields */
+	private final ImmutableList<IDocumentField> fieldsByIndex;
 	private final ImmutableList<IDocumentFieldView> idFields;
 	private final IDocumentField parentLinkField;
 
@@ -214,6 +220,7 @@ public final class Document
 				}
 			}
 			fieldsByName = fieldsBuilder.build();
+			fieldsByIndex = fieldsByName.values().asList();
 			this.parentLinkField = parentLinkField;
 
 			idFields = entityDescriptor.getIdFields()
@@ -343,6 +350,7 @@ public final class Document
 				}
 			}
 			fieldsByName = fieldsBuilder.build();
+			fieldsByIndex = fieldsByName.values().asList();
 			this.parentLinkField = parentLinkField;
 			this.idFields = from.idFields
 					.stream()
@@ -987,6 +995,14 @@ public final class Document
 		return getFieldOrNull(fieldName);
 	}
 
+	/**
+	 * @param fieldIndex field's index in entity descriptor's fields (see {@link BoundLogicExpression})
+	 */
+	/* package */ IDocumentFieldView getFieldViewByIndex(final int fieldIndex)
+	{
+		return fieldsByIndex.get(fieldIndex);
+	}
+
 	private IDocumentFieldView getFieldUpToRootOrNull(final String fieldName)
 	{
 		Document document = this;
@@ -1160,16 +1176,97 @@ public final class Document
 
 	public void processValueChanges(@NonNull final List<JSONDocumentChangedEvent> events, final ReasonSupplier reason) throws DocumentFieldReadonlyException
 	{
+		if (isBatchValueChanges(events))
+		{
+			processValueChangesInBatch(events, reason);
+			return;
+		}
+
 		for (final JSONDocumentChangedEvent event : events)
 		{
-			if (JSONDocumentChangedEvent.JSONOperation.replace == event.getOperation())
+			assertReplaceOperation(event);
+			processValueChange(event.getPath(), event.getValue(), reason);
+		}
+	}
+
+	private static void assertReplaceOperation(final JSONDocumentChangedEvent event)
+	{
+		if (JSONDocumentChangedEvent.JSONOperation.replace != event.getOperation())
+		{
+			throw new IllegalArgumentException("Unknown operation: " + event);
+		}
+	}
+
+	private static boolean isBatchValueChanges(final List<JSONDocumentChangedEvent> events)
+	{
+		if (events.size() <= 1)
+		{
+			return false;
+		}
+
+		// DocAction changes are processing the document right away, so we have to apply them one by one
+		if (events.stream().anyMatch(event -> WindowConstants.FIELDNAME_DocAction.equals(event.getPath())))
+		{
+			return false;
+		}
+
+		return Services.get(ISysConfigBL.class).getBooleanValue(SYSCONFIG_BatchValueChanges, false);
+	}
+
+	/**
+	 * Applies all value changes first, then updates the fields which depend on any of the changed fields (each dependent field only once) and then runs the callouts.
+	 * <p>
+	 * Compared to applying them one by one, the dependencies which are shared by more changed fields (e.g. the document readonly logic) are evaluated only once.
+	 *
+	 * @see BatchValueChangesProcessor
+	 */
+	private void processValueChangesInBatch(final List<JSONDocumentChangedEvent> events, final ReasonSupplier reason) throws DocumentFieldReadonlyException
+	{
+		assertWritable();
+		events.forEach(Document::assertReplaceOperation);
+
+		final boolean changed = BatchValueChangesProcessor.process(events, new BatchValueChangesProcessor.Target()
+		{
+			@Override
+			public boolean isReadonly(final String fieldName)
 			{
-				processValueChange(event.getPath(), event.getValue(), reason);
+				return getField(fieldName).isReadonly();
 			}
-			else
+
+			@Override
+			public boolean isReadonlyDependingOnAny(final String fieldName, final Set<String> changedFieldNames)
 			{
-				throw new IllegalArgumentException("Unknown operation: " + event);
+				return getEntityDescriptor().getDependencies().isReadonlyDependingOnAny(fieldName, changedFieldNames);
 			}
+
+			@Override
+			public boolean setValueNoDependenciesUpdate(final String fieldName, final Object value)
+			{
+				return Document.this.setValueNoDependenciesUpdate(getField(fieldName), value, reason);
+			}
+
+			@Override
+			public Object getValue(final String fieldName)
+			{
+				return getField(fieldName).getValue();
+			}
+
+			@Override
+			public void updateFieldsWhichDependsOn(final Set<String> changedFieldNames)
+			{
+				Document.this.updateFieldsWhichDependsOn(changedFieldNames);
+			}
+
+			@Override
+			public void executeCallout(final String fieldName)
+			{
+				fieldCalloutExecutor.execute(getField(fieldName).asCalloutField());
+			}
+		});
+
+		if (changed)
+		{
+			notifyParentIfChanged();
 		}
 	}
 
@@ -1215,25 +1312,44 @@ public final class Document
 	{
 		assertWritable();
 
-		final Object valueOld = documentField.getValue();
-		documentField.setValue(value, changesCollector);
-
 		// Check if changed. If not, stop here.
-		final Object valueNew = documentField.getValue();
-		if (DataTypes.equals(valueOld, valueNew))
+		if (!setValueNoDependenciesUpdate(documentField, value, reason))
 		{
 			return;
 		}
 
-		// collect changed value
-		changesCollector.collectValueChanged(documentField, reason != null ? reason : REASON_Value_DirectSetOnDocument);
-
 		// Update all dependencies
 		updateFieldsWhichDependsOn(documentField.getFieldName());
 
 		// Callouts
 		fieldCalloutExecutor.execute(documentField.asCalloutField());
 
+		notifyParentIfChanged();
+	}
+
+	/**
+	 * Sets the field value and collects the change, but it's not updating the dependent fields and it's not calling the callouts.
+	 *
+	 * @return true if the value was changed
+	 */
+	private boolean setValueNoDependenciesUpdate(final IDocumentField documentField, final Object value, final ReasonSupplier reason)
+	{
+		final Object valueOld = documentField.getValue();
+		documentField.setValue(value, changesCollector);
+
+		final Object valueNew = documentField.getValue();
+		if (DataTypes.equals(valueOld, valueNew))
+		{
+			return false;
+		}
+
+		// collect changed value
+		changesCollector.collectValueChanged(documentField, reason != null ? reason : REASON_Value_DirectSetOnDocument);
+		return true;
+	}
+
+	private void notifyParentIfChanged()
+	{
 		// Notify parent that one of it's children was changed
 		if (!isRootDocument() && hasChanges())
 		{
@@ -1310,11 +1426,11 @@ public final class Document
 
 	private final DocumentReadonly computeReadonly()
 	{
-		final ILogicExpression allFieldsReadonlyLogic = getEntityDescriptor().getReadonlyLogic();
+		final BoundLogicExpression allFieldsReadonlyLogic = getEntityDescriptor().getReadonlyLogicBound();
 		LogicExpressionResult allFieldsReadonly;
 		try
 		{
-			allFieldsReadonly = allFieldsReadonlyLogic.evaluateToResult(asEvaluatee(), OnVariableNotFound.Fail);
+			allFieldsReadonly = evaluateLogic(allFieldsReadonlyLogic);
 		}
 		catch (final Exception e)
 		{
@@ -1352,10 +1468,10 @@ public final class Document
 		}
 
 		// Check field's readonly logic
-		final ILogicExpression fieldReadonlyLogic = documentField.getDescriptor().getReadonlyLogic();
+		final BoundLogicExpression fieldReadonlyLogic = getFieldLogicExpressions(documentField).getReadonlyLogic();
 		try
 		{
-			final LogicExpressionResult readonly = fieldReadonlyLogic.evaluateToResult(asEvaluatee(), OnVariableNotFound.Fail);
+			final LogicExpressionResult readonly = evaluateLogic(fieldReadonlyLogic);
 			return readonly;
 		}
 		catch (final Exception e)
@@ -1369,10 +1485,10 @@ public final class Document
 	private final void updateFieldDisplayed(final IDocumentField documentField)
 	{
 		LogicExpressionResult displayed = LogicExpressionResult.FALSE; // default false, i.e. not displayed
-		final ILogicExpression displayLogic = documentField.getDescriptor().getDisplayLogic();
+		final BoundLogicExpression displayLogic = getFieldLogicExpressions(documentField).getDisplayLogic();
 		try
 		{
-			displayed = displayLogic.evaluateToResult(asEvaluatee(), OnVariableNotFound.Fail);
+			displayed = evaluateLogic(displayLogic);
 		}
 		catch (final Exception e)
 		{
@@ -1383,20 +1499,48 @@ public final class Document
 		documentField.setDisplayed(displayed);
 	}
 
+	private FieldLogicExpressions getFieldLogicExpressions(final IDocumentField documentField)
+	{
+		return getEntityDescriptor().getFieldLogicExpressions(documentField.getFieldName());
+	}
+
+	private LogicExpressionResult evaluateLogic(final BoundLogicExpression logic)
+	{
+		return logic.evaluate(asEvaluatee());
+	}
+
 	private final void updateFieldsWhichDependsOn(final String triggeringFieldName)
 	{
 		final DocumentFieldDependencyMap dependencies = getEntityDescriptor().getDependencies();
-		dependencies.consumeForChangedFieldName(triggeringFieldName, (dependentFieldName, dependencyType) -> {
-			final IDocumentField dependentField = getFieldOrNull(dependentFieldName);
-			if (dependentField == null)
-			{
-				// shall not happen
-				logger.warn("Skip setting dependent propery {} because field is missing", dependentFieldName);
-				return;
-			}
+		dependencies.consumeForChangedFieldName(
+				triggeringFieldName,
+				(dependentFieldName, dependencyType) -> updateDependentField(dependentFieldName, triggeringFieldName, dependencyType));
+	}
 
-			updateOnDependencyChanged(dependentFieldName, dependentField, triggeringFieldName, dependencyType);
-		});
+	private final void updateFieldsWhichDependsOn(final Set<String> triggeringFieldNames)
+	{
+		final String triggeringFieldNamesStr = String.join(",", triggeringFieldNames);
+
+		final DocumentFieldDependencyMap dependencies = getEntityDescriptor().getDependencies();
+		dependencies.consumeForChangedFieldNames(
+				triggeringFieldNames,
+				(dependentFieldName, dependencyType) -> updateDependentField(dependentFieldName, triggeringFieldNamesStr, dependencyType));
+	}
+
+	private void updateDependentField(
+			final String dependentFieldName,
+			final String triggeringFieldName,
+			final DependencyType dependencyType)
+	{
+		final IDocumentField dependentField = getFieldOrNull(dependentFieldName);
+		if (dependentField == null)
+		{
+			// shall not happen
+			logger.warn("Skip setting dependent propery {} because field is missing", dependentFieldName);
+			return;
+		}
+
+		updateOnDependencyChanged(dependentFieldName, dependentField, triggeringFieldName, dependencyType);
 	}
 
 	/**
@@ -1431,10 +1575,10 @@ public final class Document
 		else if (DependencyType.MandatoryLogic == triggeringDependencyType)
 		{
 			final LogicExpressionResult valueOld = documentField.getMandatory();
-			final ILogicExpression mandatoryLogic = documentField.getDescriptor().getMandatoryLogic();
+			final BoundLogicExpression mandatoryLogic = getFieldLogicExpressions(documentField).getMandatoryLogic();
 			try
 			{
-				final LogicExpressionResult mandatory = mandatoryLogic.evaluateToResult(asEvaluatee(), OnVariableNotFound.Fail);
+				final LogicExpressionResult mandatory = evaluateLogic(mandatoryLogic);
 				documentField.setMandatory(mandatory, changesCollector);
 			}
 			catch (final Exception e)
@@ -386,6 +386,20 @@ public class DocumentCollection
 		rootDocuments.cleanUp();
 	}
 
+	/**
+	 * Invalidates the root documents of given window, e.g. because the window's descriptor was changed.
+	 * The documents of the other windows are kept.
+	 */
+	public void invalidateDocumentsForWindow(@NonNull final WindowId windowId)
+	{
+		final List<DocumentKey> documentKeys = rootDocuments.asMap()
+				.keySet()
+				.stream()
+				.filter(documentKey -> windowId.equals(documentKey.getWindowId()))
+				.collect(ImmutableList.toImmutableList());
+		rootDocuments.invalidateAll(documentKeys);
+	}
+
 	private void commitRootDocument(@NonNull final Document rootDocument)
 	{
 		Preconditions.checkState(rootDocument.isRootDocument(), "{} is not a root document", rootDocument);
@@ -403,9 +417,18 @@ public class DocumentCollection
 
 		//
 		// Add the saved and changed document back to index
+		// NOTE: if the window's descriptor was changed meanwhile, we are not caching it back,
+		// so the next time it will be loaded using the current descriptor.
 		final DocumentKey rootDocumentKey = DocumentKey.of(rootDocument);
-		rootDocuments.put(rootDocumentKey, rootDocument.copy(CopyMode.CheckInReadonly, NullDocumentChangesCollector.instance));
-		addToTableName2WindowIdsCache(rootDocument.getEntityDescriptor());
+		if (isCurrentDescriptor(rootDocument.getEntityDescriptor()))
+		{
+			rootDocuments.put(rootDocumentKey, rootDocument.copy(CopyMode.CheckInReadonly, NullDocumentChangesCollector.instance));
+			addToTableName2WindowIdsCache(rootDocument.getEntityDescriptor());
+		}
+		else
+		{
+			rootDocuments.invalidate(rootDocumentKey);
+		}
 
 		//
 		// Make sure all events were collected for the case when we just created the new document
@@ -424,6 +447,15 @@ public class DocumentCollection
 
 	}
 
+	/**
+	 * @return true if given descriptor is the one which is currently cached.
+	 *         If the window's descriptor is no longer cached (i.e. it was invalidated) then it's not current, because we don't want to load it while committing a document.
+	 */
+	private boolean isCurrentDescriptor(final DocumentEntityDescriptor entityDescriptor)
+	{
+		return documentDescriptorFactory.getDocumentEntityDescriptorIfLoaded(entityDescriptor.getWindowId()) == entityDescriptor;
+	}
+
 	public void delete(final DocumentPath documentPath, final IDocumentChangesCollector changesCollector)
 	{
 		if (documentPath.isRootDocument())
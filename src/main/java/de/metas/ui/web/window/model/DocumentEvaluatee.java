@@ -29,6 +29,7 @@ import de.metas.ui.web.window.datatypes.LookupValue;
 import de.metas.ui.web.window.datatypes.LookupValue.IntegerLookupValue;
 import de.metas.ui.web.window.datatypes.LookupValue.StringLookupValue;
 import de.metas.ui.web.window.datatypes.json.DateTimeConverters;
+import de.metas.ui.web.window.descriptor.BoundLogicExpression.BoundVariable;
 import de.metas.ui.web.window.descriptor.DetailId;
 import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
 import lombok.NonNull;
@@ -63,7 +64,6 @@ import lombok.NonNull;
 	private final String _fieldNameInScope;
 	private final ImmutableSet<String> _fieldNamesToExclude;
 
-
 	/* package */ DocumentEvaluatee(@NotNull final Document document)
 	{
 		_document = document; // note: we assume it's not null
@@ -227,6 +227,19 @@ import lombok.NonNull;
 			return Optional.empty();
 		}
 
+		//
+		// Variable which was bound to a field slot or constant when the entity descriptor was built.
+		// NOTE: this is the only by-name lookup for a bound variable; the field and the default below are taken from it.
+		final BoundVariable boundVariable = getBoundVariableOrNull(variableName);
+		if (boundVariable != null)
+		{
+			final Object value = getBoundVariableValueOrNull(boundVariable);
+			if (value != null)
+			{
+				return Optional.of(value);
+			}
+		}
+
 		if (WindowConstants.CONTEXTVAR_NextLineNo.equals(variableName))
 		{
 			final Document parentDocument = _document.getParentDocument();
@@ -259,7 +272,9 @@ import lombok.NonNull;
 
 		//
 		// Document field
-		final IDocumentFieldView documentField = getDocumentFieldOrNull(variableName);
+		final IDocumentFieldView documentField = boundVariable != null && boundVariable.isField()
+				? _document.getFieldViewByIndex(boundVariable.getFieldIndex())
+				: getDocumentFieldOrNull(variableName);
 		boolean inScopeField = false;
 		if (documentField != null)
 		{
@@ -331,7 +346,9 @@ import lombok.NonNull;
 				}
 			}
 
-			final Optional<Object> defaultValue = getDefaultValue(variableName);
+			final Optional<Object> defaultValue = boundVariable != null
+					? Optional.ofNullable(boundVariable.getDefaultValue())
+					: getDefaultValue(variableName);
 			if (defaultValue.isPresent())
 			{
 				return defaultValue;
@@ -350,8 +367,36 @@ import lombok.NonNull;
 		return Optional.empty();
 	}
 
+	private BoundVariable getBoundVariableOrNull(final String variableName)
+	{
+		return _document.getEntityDescriptor().getBoundVariableOrNull(variableName);
+	}
+
+	private Object getBoundVariableValueOrNull(final BoundVariable boundVariable)
+	{
+		if (boundVariable.getConstantValue() != null)
+		{
+			return boundVariable.getConstantValue();
+		}
+		else if (boundVariable.isField() && !isFieldInScope(boundVariable.getVariableName()))
+		{
+			// NOTE: if the value is null, let the generic lookup check the dynamic attributes, parent etc
+			return _document.getFieldViewByIndex(boundVariable.getFieldIndex()).getValue();
+		}
+		else
+		{
+			return null;
+		}
+	}
+
 	private Optional<Object> getDefaultValue(final String variableName)
 	{
+		final BoundVariable boundVariable = getBoundVariableOrNull(variableName);
+		if (boundVariable != null)
+		{
+			return Optional.ofNullable(boundVariable.getDefaultValue());
+		}
+
 		// FIXME: hardcoded default to avoid a lot of warnings
 		if (variableName.endsWith("_ID"))
 		{
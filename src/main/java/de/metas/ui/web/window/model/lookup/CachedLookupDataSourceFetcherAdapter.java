@@ -2,6 +2,7 @@ package de.metas.ui.web.window.model.lookup;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
@@ -90,6 +91,12 @@ public final class CachedLookupDataSourceFetcherAdapter implements LookupDataSou
 		return delegate.getLookupTableName();
 	}
 
+	@Override
+	public Set<String> getDependsOnSysConfigNames()
+	{
+		return delegate.getDependsOnSysConfigNames();
+	}
+
 	@Override
 	public String getCachePrefix()
 	{
@@ -2,9 +2,11 @@ package de.metas.ui.web.window.model.lookup;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.compiere.model.I_AD_SysConfig;
+import org.adempiere.exceptions.AdempiereException;
 import org.compiere.util.Evaluatee;
 import org.compiere.util.Evaluatees;
 
@@ -53,7 +55,9 @@ class FullyCachedLookupDataSource implements LookupDataSource
 
 	private final LookupDataSourceFetcher fetcher;
 
-	private final transient CCache<LookupDataSourceContext, LookupValuesList> cacheByPartition;
+	private final transient CCache<LookupDataSourceContext, LookupValuesListSearchIndex> cacheByPartition;
+	/** Partitions which are currently loading. Used to make sure a partition is loaded only once even if it's requested concurrently (e.g. after a cache reset). */
+	private final ConcurrentHashMap<LookupDataSourceContext, CompletableFuture<LookupValuesListSearchIndex>> partitionsLoading = new ConcurrentHashMap<>();
 
 	private FullyCachedLookupDataSource(@NonNull final LookupDataSourceFetcher fetcher)
 	{
@@ -63,12 +67,11 @@ class FullyCachedLookupDataSource implements LookupDataSource
 		Check.assumeNotEmpty(cachePrefix, "cachePrefix is not empty");
 		final int maxSize = 100;
 		final int expireAfterMinutes = 60 * 2;
-		cacheByPartition = CCache.<LookupDataSourceContext, LookupValuesList> builder()
+		cacheByPartition = CCache.<LookupDataSourceContext, LookupValuesListSearchIndex> builder()
 				.cacheName(cachePrefix + "#" + NAME + "#LookupByPartition")
 				.cacheMapType(CacheMapType.LRU)
 				.initialCapacity(maxSize)
 				.expireMinutes(expireAfterMinutes)
-				.additionalTableNameToResetFor(I_AD_SysConfig.Table_Name) // when the AvailableToPromiseRepository's SysConfig changes, we need to reset the cache. The same might apply to other cases.
 				.build();
 	}
 
@@ -81,31 +84,58 @@ class FullyCachedLookupDataSource implements LookupDataSource
 	}
 
 	private LookupValuesList getLookupValuesList(final Evaluatee parentEvaluatee)
+	{
+		return getPartition(parentEvaluatee).getList();
+	}
+
+	private LookupValuesListSearchIndex getPartition(final Evaluatee parentEvaluatee)
 	{
 		final LookupDataSourceContext evalCtx = fetcher.newContextForFetchingList()
 				.setParentEvaluatee(parentEvaluatee)
 				.putFilter(LookupDataSourceContext.FILTER_Any, FIRST_ROW, Integer.MAX_VALUE)
 				.build();
 
-		return cacheByPartition.getOrLoad(evalCtx, fetcher::retrieveEntities);
+		return cacheByPartition.getOrLoad(evalCtx, this::retrievePartition);
 	}
 
-	@Override
-	public LookupValuesList findEntities(final Evaluatee ctx, final String filter, final int firstRow, final int pageLength)
+	private LookupValuesListSearchIndex retrievePartition(final LookupDataSourceContext evalCtx)
 	{
-		final LookupValuesList partition = getLookupValuesList(ctx);
-		if (partition.isEmpty())
+		final CompletableFuture<LookupValuesListSearchIndex> newLoading = new CompletableFuture<>();
+		final CompletableFuture<LookupValuesListSearchIndex> loadingInProgress = partitionsLoading.putIfAbsent(evalCtx, newLoading);
+		if (loadingInProgress != null)
 		{
-			return partition;
+			// another thread is already loading this partition => wait for it
+			try
+			{
+				return loadingInProgress.join();
+			}
+			catch (final CompletionException ex)
+			{
+				throw AdempiereException.wrapIfNeeded(ex.getCause() != null ? ex.getCause() : ex);
+			}
 		}
 
-		final Predicate<LookupValue> filterPredicate = LookupValueFilterPredicates.of(filter);
-		if (filterPredicate == LookupValueFilterPredicates.MATCH_ALL)
+		try
 		{
-			return partition.offsetAndLimit(firstRow, pageLength);
+			final LookupValuesListSearchIndex partition = LookupValuesListSearchIndex.of(fetcher.retrieveEntities(evalCtx));
+			newLoading.complete(partition);
+			return partition;
 		}
+		catch (final RuntimeException ex)
+		{
+			newLoading.completeExceptionally(ex);
+			throw ex;
+		}
+		finally
+		{
+			partitionsLoading.remove(evalCtx, newLoading);
+		}
+	}
 
-		return partition.filter(filterPredicate, firstRow, pageLength);
+	@Override
+	public LookupValuesList findEntities(final Evaluatee ctx, final String filter, final int firstRow, final int pageLength)
+	{
+		return getPartition(ctx).filter(filter, firstRow, pageLength);
 	}
 
 	@Override
@@ -4,6 +4,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.adempiere.ad.expression.api.IExpressionEvaluator.OnVariableNotFound;
 import org.adempiere.ad.expression.api.IStringExpression;
@@ -15,6 +16,7 @@ import org.slf4j.Logger;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 import de.metas.cache.CCache.CCacheStats;
 import de.metas.i18n.ITranslatableString;
@@ -75,6 +77,8 @@ public class GenericSqlLookupDataSourceFetcher implements LookupDataSourceFetche
 
 	private final Optional<WindowId> zoomIntoWindowId;
 
+	private final ImmutableSet<String> dependsOnSysConfigNames;
+
 	private GenericSqlLookupDataSourceFetcher(@NonNull final LookupDescriptor lookupDescriptor)
 	{
 		final SqlLookupDescriptor sqlLookupDescriptor = lookupDescriptor.cast(SqlLookupDescriptor.class);
@@ -90,6 +94,11 @@ public class GenericSqlLookupDataSourceFetcher implements LookupDataSourceFetche
 		isTranslatable = sqlForFetchingLookupByIdExpression.requiresParameter(LookupDataSourceContext.PARAM_AD_Language.getName());
 
 		zoomIntoWindowId = lookupDescriptor.getZoomIntoWindowId();
+
+		// NOTE: the sysconfig names can't be extracted from SQL reliably (e.g. they might be read by a DB function or by a java validation rule),
+		// so, unless they were explicitly declared, we depend on any sysconfig.
+		dependsOnSysConfigNames = sqlLookupDescriptor.getDeclaredDependsOnSysConfigNames()
+				.orElse(ImmutableSet.of(SYSCONFIG_NAME_ANY));
 	}
 
 	@Override
@@ -116,6 +125,12 @@ public class GenericSqlLookupDataSourceFetcher implements LookupDataSourceFetche
 		return lookupTableNameAsOptional;
 	}
 
+	@Override
+	public Set<String> getDependsOnSysConfigNames()
+	{
+		return dependsOnSysConfigNames;
+	}
+
 	@Override
 	public Optional<WindowId> getZoomIntoWindowId()
 	{
@@ -12,6 +12,8 @@ import org.adempiere.ad.trx.api.ITrx;
 import org.adempiere.ad.trx.api.ITrxListenerManager.TrxEventTiming;
 import org.adempiere.ad.trx.api.ITrxManager;
 import org.adempiere.ad.trx.api.OnTrxMissingPolicy;
+import org.compiere.model.I_AD_SysConfig;
+import org.compiere.util.DB;
 import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
@@ -56,6 +58,7 @@ import de.metas.util.Services;
 public class LookupCacheInvalidationDispatcher implements ICacheResetListener
 {
 	private static final String TRXPROP_TableNamesToInvalidate = LookupCacheInvalidationDispatcher.class + ".TableNamesToInvalidate";
+	private static final int SYSCONFIG_ID_Unknown = -1;
 
 	private final Executor async;
 
@@ -81,7 +84,9 @@ public class LookupCacheInvalidationDispatcher implements ICacheResetListener
 		final ITrx currentTrx = trxManager.getThreadInheritedTrx(OnTrxMissingPolicy.ReturnTrxNone);
 		if (trxManager.isNull(currentTrx))
 		{
-			async.execute(() -> resetNow(extractTableNames(multiRequest)));
+			final Set<String> tableNames = extractTableNames(multiRequest);
+			final Set<Integer> sysConfigIds = extractSysConfigIds(multiRequest);
+			async.execute(() -> resetNow(tableNames, sysConfigIds));
 		}
 		else
 		{
@@ -91,16 +96,18 @@ public class LookupCacheInvalidationDispatcher implements ICacheResetListener
 						.newEventListener(TrxEventTiming.AFTER_COMMIT)
 						.registerHandlingMethod(innerTrx -> {
 							final Set<String> tableNames = c.toSet();
-							if (tableNames.isEmpty())
+							final Set<Integer> sysConfigIds = c.getSysConfigIds();
+							if (tableNames.isEmpty() && sysConfigIds.isEmpty())
 							{
 								return;
 							}
-							async.execute(() -> resetNow(tableNames));
+							async.execute(() -> resetNow(tableNames, sysConfigIds));
 						});
 				return c;
 			});
 
 			collector.addTableNames(extractTableNames(multiRequest));
+			collector.addSysConfigIds(extractSysConfigIds(multiRequest));
 		}
 
 		return 1; // not relevant
@@ -122,19 +129,64 @@ public class LookupCacheInvalidationDispatcher implements ICacheResetListener
 				.collect(ImmutableSet.toImmutableSet());
 	}
 
-	private void resetNow(final Set<String> tableNames)
+	/**
+	 * @return changed AD_SysConfig_IDs; {@link #SYSCONFIG_ID_Unknown} if we don't know which sysconfigs were changed
+	 */
+	private Set<Integer> extractSysConfigIds(final CacheInvalidateMultiRequest multiRequest)
 	{
-		if (tableNames.isEmpty())
+		if (multiRequest.isResetAll())
+		{
+			return ImmutableSet.of();
+		}
+
+		return multiRequest.getRequests()
+				.stream()
+				.filter(request -> !request.isAll())
+				.filter(request -> I_AD_SysConfig.Table_Name.equals(request.getRootTableName()))
+				.map(request -> request.getRootRecordId() > 0 ? request.getRootRecordId() : SYSCONFIG_ID_Unknown)
+				.collect(ImmutableSet.toImmutableSet());
+	}
+
+	private void resetNow(final Set<String> tableNames, final Set<Integer> sysConfigIds)
+	{
+		if (!tableNames.isEmpty())
+		{
+			LookupDataSourceFactory.instance.cacheInvalidateOnRecordsChanged(tableNames);
+		}
+
+		if (!sysConfigIds.isEmpty())
 		{
-			return;
+			LookupDataSourceFactory.instance.cacheInvalidateOnSysConfigsChanged(retrieveSysConfigNames(sysConfigIds));
 		}
+	}
 
-		LookupDataSourceFactory.instance.cacheInvalidateOnRecordsChanged(tableNames);
+	/**
+	 * @return sysconfig names or {@code null} if we could not find out all of them (e.g. the sysconfig was deleted)
+	 */
+	private static Set<String> retrieveSysConfigNames(final Set<Integer> sysConfigIds)
+	{
+		final ImmutableSet.Builder<String> sysConfigNames = ImmutableSet.builder();
+		for (final int sysConfigId : sysConfigIds)
+		{
+			if (sysConfigId == SYSCONFIG_ID_Unknown)
+			{
+				return null;
+			}
+
+			final String sysConfigName = DB.getSQLValueStringEx(ITrx.TRXNAME_None, "SELECT Name FROM AD_SysConfig WHERE AD_SysConfig_ID=?", sysConfigId);
+			if (sysConfigName == null)
+			{
+				return null;
+			}
+			sysConfigNames.add(sysConfigName);
+		}
+		return sysConfigNames.build();
 	}
 
 	private static final class TableNamesToResetCollector
 	{
 		private final Set<String> tableNames = new HashSet<>();
+		private final Set<Integer> sysConfigIds = new HashSet<>();
 
 		public Set<String> toSet()
 		{
@@ -145,5 +197,15 @@ public class LookupCacheInvalidationDispatcher implements ICacheResetListener
 		{
 			tableNames.addAll(tableNamesToAdd);
 		}
+
+		public Set<Integer> getSysConfigIds()
+		{
+			return ImmutableSet.copyOf(sysConfigIds);
+		}
+
+		public void addSysConfigIds(final Collection<Integer> sysConfigIdsToAdd)
+		{
+			sysConfigIds.addAll(sysConfigIdsToAdd);
+		}
 	}
 }
@@ -7,6 +7,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
 
 import org.adempiere.ad.table.api.IADTableDAO;
 import org.compiere.model.I_AD_Column;
@@ -54,6 +57,7 @@ public final class LookupDataSourceFactory
 
 	private final CCache<LookupDescriptor, LookupDataSource> lookupDataSourcesCache = new CCache<>("LookupDataSourcesCache", 300);
 	private final ConcurrentHashMap<String, CacheInvalidationGroup> cacheInvalidationGroupsByTableName = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, CacheInvalidationGroup> cacheInvalidationGroupsBySysConfigName = new ConcurrentHashMap<>();
 
 	private LookupDataSourceFactory()
 	{
@@ -129,6 +133,13 @@ public final class LookupDataSourceFactory
 				.map(this::getCacheInvalidationGroupByTableName)
 				.forEach(cacheInvalidationGroup -> cacheInvalidationGroup.addLookupDataSource(lookupDataSource));
 
+		//
+		// Register cache invalidation on depending sysconfig changed
+		fetcher.getDependsOnSysConfigNames()
+				.stream()
+				.map(this::getCacheInvalidationGroupBySysConfigName)
+				.forEach(cacheInvalidationGroup -> cacheInvalidationGroup.addLookupDataSource(lookupDataSource));
+
 		logger.debug("Creating lookup data source for {}: {}", lookupDescriptor, lookupDataSource);
 		return lookupDataSource;
 	}
@@ -138,6 +149,11 @@ public final class LookupDataSourceFactory
 		return cacheInvalidationGroupsByTableName.computeIfAbsent(tableName, CacheInvalidationGroup::new);
 	}
 
+	private CacheInvalidationGroup getCacheInvalidationGroupBySysConfigName(final String sysConfigName)
+	{
+		return cacheInvalidationGroupsBySysConfigName.computeIfAbsent(sysConfigName, name -> new CacheInvalidationGroup("SysConfig " + name));
+	}
+
 	public void cacheInvalidateOnRecordsChanged(final Set<String> tableNames)
 	{
 		tableNames.stream()
@@ -146,6 +162,27 @@ public final class LookupDataSourceFactory
 				.forEach(CacheInvalidationGroup::cacheInvalidate);
 	}
 
+	/**
+	 * Invalidates the lookups which declared they depend on given sysconfigs, or on any sysconfig (see {@link LookupDataSourceFetcher#SYSCONFIG_NAME_ANY}).
+	 *
+	 * @param sysConfigNames changed sysconfig names; if {@code null} then the changed sysconfigs are not known, so all sysconfig dependent lookups will be invalidated.
+	 */
+	public void cacheInvalidateOnSysConfigsChanged(@Nullable final Set<String> sysConfigNames)
+	{
+		if (sysConfigNames == null)
+		{
+			cacheInvalidationGroupsBySysConfigName.values().forEach(CacheInvalidationGroup::cacheInvalidate);
+		}
+		else
+		{
+			Stream.concat(Stream.of(LookupDataSourceFetcher.SYSCONFIG_NAME_ANY), sysConfigNames.stream())
+					.distinct()
+					.map(cacheInvalidationGroupsBySysConfigName::get)
+					.filter(Predicates.notNull())
+					.forEach(CacheInvalidationGroup::cacheInvalidate);
+		}
+	}
+
 	public List<CCacheStats> getCacheStats()
 	{
 		return lookupDataSourcesCache
@@ -160,12 +197,13 @@ public final class LookupDataSourceFactory
 	@ToString(exclude = "lookupDataSources")
 	private static final class CacheInvalidationGroup
 	{
-		private final String tableName;
+		/** what triggers the invalidation, e.g. the table name */
+		private final String name;
 		private final List<WeakReference<LookupDataSource>> lookupDataSources = new ArrayList<>();
 
-		public CacheInvalidationGroup(final String tableName)
+		public CacheInvalidationGroup(final String name)
 		{
-			this.tableName = tableName;
+			this.name = name;
 		}
 
 		public void addLookupDataSource(@NonNull final LookupDataSource lookupDataSource)
@@ -205,7 +243,7 @@ public final class LookupDataSourceFactory
 				try
 				{
 					lookupDataSource.cacheInvalidate();
-					logger.debug("Cache invalidated {} on {} record changed", lookupDataSource, tableName);
+					logger.debug("Cache invalidated {} on {} changed", lookupDataSource, name);
 				}
 				catch (final Exception ex)
 				{
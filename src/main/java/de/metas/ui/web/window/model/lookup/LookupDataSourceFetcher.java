@@ -2,14 +2,17 @@ package de.metas.ui.web.window.model.lookup;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 import de.metas.cache.CCache.CCacheStats;
 import de.metas.ui.web.window.datatypes.LookupValue;
 import de.metas.ui.web.window.datatypes.LookupValue.IntegerLookupValue;
 import de.metas.ui.web.window.datatypes.LookupValuesList;
 import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.ui.web.window.descriptor.LookupDescriptor;
 
 /*
  * #%L
@@ -60,6 +63,20 @@ public interface LookupDataSourceFetcher
 	default List<CCacheStats> getCacheStats() { return ImmutableList.of(); }
 	//@formatter:on
 
+	/** Sysconfig name which stands for "any sysconfig", see {@link #getDependsOnSysConfigNames()} */
+	String SYSCONFIG_NAME_ANY = "*";
+
+	/**
+	 * @return names of the sysconfigs which, when changed, shall invalidate the cached lookup values.
+	 *         By default, the fetcher is considered to depend on any sysconfig ({@link #SYSCONFIG_NAME_ANY}), so the cached values are invalidated on each sysconfig change.
+	 *         Fetchers which know their sysconfigs (or know they have none) shall override this method.
+	 *         For the tables this fetcher depends on, see {@link LookupDescriptor#getDependsOnTableNames()}.
+	 */
+	default Set<String> getDependsOnSysConfigNames()
+	{
+		return ImmutableSet.of(SYSCONFIG_NAME_ANY);
+	}
+
 	/** @return tableName if available */
 	Optional<String> getLookupTableName();
 
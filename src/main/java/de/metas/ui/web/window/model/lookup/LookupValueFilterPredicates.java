@@ -53,6 +53,30 @@ public final class LookupValueFilterPredicates
 		return new ContainsLookupValueFilterPredicate(filterNorm, adLanguage);
 	}
 
+	/**
+	 * @return normalized filter, as used by the "contains" predicate, or {@code null} if the filter would match all
+	 */
+	/* package */ static String normalizeFilter(final String filter)
+	{
+		if (filter == null)
+		{
+			return null;
+		}
+
+		final String filterNorm = filter.trim();
+		if (filterNorm.isEmpty())
+		{
+			return null;
+		}
+
+		return normalizeString(filterNorm);
+	}
+
+	/* package */ static String normalizeString(final String str)
+	{
+		return str.toLowerCase();
+	}
+
 	public static interface LookupValueFilterPredicate extends Predicate<LookupValue>
 	{
 		@Override
@@ -104,11 +128,6 @@ public final class LookupValueFilterPredicates
 					.toString();
 		}
 
-		private static final String normalizeString(final String str)
-		{
-			return str.toLowerCase();
-		}
-
 		@Override
 		public boolean test(final LookupValue lookupValue)
 		{
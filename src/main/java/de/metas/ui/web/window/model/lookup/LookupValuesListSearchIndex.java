@@ -0,0 +1,205 @@
+package de.metas.ui.web.window.model.lookup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import de.metas.ui.web.window.datatypes.LookupValue;
+import de.metas.ui.web.window.datatypes.LookupValuesList;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * A {@link LookupValuesList} together with a search index on its display names.
+ * <p>
+ * The index maps each n-gram (1 to {@value #MAX_NGRAM_LENGTH} characters) of the normalized display names to the (ascending) positions of the values which contain it.
+ * A "contains" search is then:
+ * <ul>
+ * <li>filters up to {@value #MAX_NGRAM_LENGTH} characters: the positions of the filter itself, no further checking needed
+ * <li>longer filters: the positions of filter's rarest n-gram, each one checked if it really contains the filter
+ * </ul>
+ * The result has the same semantic and the same order as {@link LookupValuesList#filter(java.util.function.Predicate, int, int)} with {@link LookupValueFilterPredicates#of(String)}.
+ * <p>
+ * The index is built lazily, first time when it's needed.
+ *
+ * @author metas-dev <dev@metasfresh.com>
+ */
+final class LookupValuesListSearchIndex
+{
+	public static LookupValuesListSearchIndex of(@NonNull final LookupValuesList list)
+	{
+		return new LookupValuesListSearchIndex(list);
+	}
+
+	private static final int MAX_NGRAM_LENGTH = 3;
+	private static final int[] NO_POSITIONS = new int[0];
+
+	private final LookupValuesList list;
+	private final Supplier<Index> indexSupplier = Suppliers.memoize(this::buildIndex);
+
+	private LookupValuesListSearchIndex(@NonNull final LookupValuesList list)
+	{
+		this.list = list;
+	}
+
+	@Override
+	public String toString()
+	{
+		return MoreObjects.toStringHelper(this)
+				.add("list", list)
+				.toString();
+	}
+
+	public LookupValuesList getList()
+	{
+		return list;
+	}
+
+	public LookupValuesList filter(final String filter, final int offset, final int maxSize)
+	{
+		final String filterNormalized = LookupValueFilterPredicates.normalizeFilter(filter);
+		if (filterNormalized == null)
+		{
+			return list.offsetAndLimit(offset, maxSize);
+		}
+		if (list.isEmpty())
+		{
+			return list;
+		}
+
+		final int offsetEffective = offset <= 0 ? 0 : offset;
+		final long maxSizeEffective = maxSize <= 0 ? Long.MAX_VALUE : maxSize;
+
+		final Index index = indexSupplier.get();
+		final IntStream matchingPositions;
+		if (filterNormalized.length() <= MAX_NGRAM_LENGTH)
+		{
+			matchingPositions = IntStream.of(index.getPositions(filterNormalized));
+		}
+		else
+		{
+			matchingPositions = IntStream.of(index.getCandidatePositions(filterNormalized))
+					.filter(position -> index.getDisplayNameNormalized(position).contains(filterNormalized));
+		}
+
+		return matchingPositions
+				.skip(offsetEffective)
+				.limit(maxSizeEffective)
+				.mapToObj(index::getValue)
+				.collect(LookupValuesList.collect(list.getDebugProperties()));
+	}
+
+	private Index buildIndex()
+	{
+		final ImmutableList<LookupValue> values = ImmutableList.copyOf(list.getValues());
+		final String[] displayNamesNormalized = new String[values.size()];
+		final Map<String, List<Integer>> positionsByNGram = new HashMap<>();
+
+		for (int position = 0, size = values.size(); position < size; position++)
+		{
+			final String displayName = values.get(position).getDisplayName();
+			final String displayNameNormalized = displayName != null ? LookupValueFilterPredicates.normalizeString(displayName) : "";
+			displayNamesNormalized[position] = displayNameNormalized;
+
+			for (int start = 0, length = displayNameNormalized.length(); start < length; start++)
+			{
+				for (int end = start + 1; end <= Math.min(start + MAX_NGRAM_LENGTH, length); end++)
+				{
+					final List<Integer> positions = positionsByNGram.computeIfAbsent(displayNameNormalized.substring(start, end), k -> new ArrayList<>());
+					final int lastIndex = positions.size() - 1;
+					if (lastIndex < 0 || positions.get(lastIndex) != position)
+					{
+						positions.add(position);
+					}
+				}
+			}
+		}
+
+		final ImmutableMap.Builder<String, int[]> positionsByNGramArray = ImmutableMap.builder();
+		positionsByNGram.forEach((ngram, positions) -> positionsByNGramArray.put(ngram, positions.stream().mapToInt(Integer::intValue).toArray()));
+
+		return new Index(values, displayNamesNormalized, positionsByNGramArray.build());
+	}
+
+	private static final class Index
+	{
+		private final ImmutableList<LookupValue> values;
+		private final String[] displayNamesNormalized;
+		private final ImmutableMap<String, int[]> positionsByNGram;
+
+		private Index(
+				@NonNull final ImmutableList<LookupValue> values,
+				@NonNull final String[] displayNamesNormalized,
+				@NonNull final ImmutableMap<String, int[]> positionsByNGram)
+		{
+			this.values = values;
+			this.displayNamesNormalized = displayNamesNormalized;
+			this.positionsByNGram = positionsByNGram;
+		}
+
+		public LookupValue getValue(final int position)
+		{
+			return values.get(position);
+		}
+
+		public String getDisplayNameNormalized(final int position)
+		{
+			return displayNamesNormalized[position];
+		}
+
+		/** @return positions of the values which contain given n-gram */
+		public int[] getPositions(final String ngram)
+		{
+			final int[] positions = positionsByNGram.get(ngram);
+			return positions != null ? positions : NO_POSITIONS;
+		}
+
+		/** @return positions of the values which contain the rarest n-gram of given filter */
+		public int[] getCandidatePositions(final String filterNormalized)
+		{
+			int[] candidatePositions = null;
+			for (int start = 0, end = MAX_NGRAM_LENGTH; end <= filterNormalized.length(); start++, end++)
+			{
+				final int[] positions = getPositions(filterNormalized.substring(start, end));
+				if (candidatePositions == null || positions.length < candidatePositions.length)
+				{
+					candidatePositions = positions;
+				}
+				if (candidatePositions.length == 0)
+				{
+					break;
+				}
+			}
+			return candidatePositions;
+		}
+	}
+}
@@ -6,6 +6,7 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -13,6 +14,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.ad.dao.IQueryBuilder;
 import org.adempiere.ad.persistence.TableModelLoader;
@@ -34,6 +37,7 @@ import org.slf4j.Logger;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import de.metas.cache.model.IModelCacheInvalidationService;
 import de.metas.logging.LogManager;
@@ -50,6 +54,7 @@ import de.metas.ui.web.window.descriptor.DocumentFieldDescriptor;
 import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
 import de.metas.ui.web.window.descriptor.LookupDescriptor;
 import de.metas.ui.web.window.descriptor.sql.DocumentFieldValueLoader;
+import de.metas.ui.web.window.descriptor.sql.ResultSetColumnIndexes;
 import de.metas.ui.web.window.descriptor.sql.SqlDocumentEntityDataBindingDescriptor;
 import de.metas.ui.web.window.descriptor.sql.SqlDocumentFieldDataBindingDescriptor;
 import de.metas.ui.web.window.exceptions.DocumentNotFoundException;
@@ -63,6 +68,7 @@ import de.metas.ui.web.window.model.OrderedDocumentsList;
 import de.metas.ui.web.window.model.lookup.LabelsLookup;
 import de.metas.util.Services;
 import lombok.NonNull;
+import lombok.Value;
 
 /*
  * #%L
@@ -180,10 +186,13 @@ public final class SqlDocumentsRepository implements DocumentsRepository
 			DB.setParameters(pstmt, sqlParams);
 			rs = pstmt.executeQuery();
 
+			// NOTE: the same values supplier is used for all rows, so the field value loaders are bound to column indexes only once
+			final ResultSetDocumentValuesSupplier documentValuesSupplier = ResultSetDocumentValuesSupplier.forRows(entityDescriptor, adLanguage, rs);
+
 			boolean loadLimitWarnReported = false;
 			while (rs.next())
 			{
-				final ResultSetDocumentValuesSupplier documentValuesSupplier = new ResultSetDocumentValuesSupplier(entityDescriptor, adLanguage, rs);
+				documentValuesSupplier.nextRow();
 
 				Document document = null;
 				if (existingDocumentsSupplier != null)
@@ -304,24 +313,84 @@ public final class SqlDocumentsRepository implements DocumentsRepository
 		Object getValue(final DocumentFieldDescriptor fieldDescriptor);
 	}
 
+	/**
+	 * Supplies the document values from current {@link ResultSet} row.
+	 * <p>
+	 * When loading many rows, please use {@link #forRows(DocumentEntityDescriptor, String, ResultSet)} and call {@link #nextRow()} after each {@link ResultSet#next()}.
+	 * In that case the field value loaders are resolved and bound to column indexes once (see {@link ResultSetColumnIndexes}),
+	 * so we don't have to look up the data binding and the column by name for each cell.
+	 */
 	private static final class ResultSetDocumentValuesSupplier implements DocumentValuesSupplier
 	{
 		private static final AtomicInteger _nextMissingId = new AtomicInteger(-10000);
 
+		public static ResultSetDocumentValuesSupplier forSingleRow(final DocumentEntityDescriptor entityDescriptor, final String adLanguage, final ResultSet rs)
+		{
+			final ResultSetColumnIndexes columnIndexes = null; // not worth to resolve them for one row
+			return new ResultSetDocumentValuesSupplier(entityDescriptor, adLanguage, rs, columnIndexes);
+		}
+
+		public static ResultSetDocumentValuesSupplier forRows(final DocumentEntityDescriptor entityDescriptor, final String adLanguage, final ResultSet rs) throws SQLException
+		{
+			final ResultSetColumnIndexes columnIndexes = ResultSetColumnIndexes.of(rs);
+			return new ResultSetDocumentValuesSupplier(entityDescriptor, adLanguage, rs, columnIndexes);
+		}
+
 		private final DocumentEntityDescriptor entityDescriptor;
 		private final String adLanguage;
 		private final ResultSet rs;
+		private final ImmutableMap<String, FieldValueLoader> fieldValueLoaders;
 
 		private boolean idAquired = false;
 		private DocumentId id;
 
 		private String version;
 
-		public ResultSetDocumentValuesSupplier(@NonNull final DocumentEntityDescriptor entityDescriptor, final String adLanguage, @NonNull final ResultSet rs)
+		private ResultSetDocumentValuesSupplier(
+				@NonNull final DocumentEntityDescriptor entityDescriptor,
+				final String adLanguage,
+				@NonNull final ResultSet rs,
+				@Nullable final ResultSetColumnIndexes columnIndexes)
 		{
 			this.entityDescriptor = entityDescriptor;
 			this.adLanguage = adLanguage;
 			this.rs = rs;
+			fieldValueLoaders = createFieldValueLoaders(entityDescriptor, columnIndexes);
+		}
+
+		private static ImmutableMap<String, FieldValueLoader> createFieldValueLoaders(
+				final DocumentEntityDescriptor entityDescriptor,
+				@Nullable final ResultSetColumnIndexes columnIndexes)
+		{
+			final Collection<DocumentFieldDescriptor> fieldDescriptors = entityDescriptor.getFields();
+			final ImmutableMap.Builder<String, FieldValueLoader> fieldValueLoaders = ImmutableMap.builder();
+			for (final DocumentFieldDescriptor fieldDescriptor : fieldDescriptors)
+			{
+				final SqlDocumentFieldDataBindingDescriptor fieldDataBinding = SqlDocumentFieldDataBindingDescriptor.castOrNull(fieldDescriptor.getDataBinding());
+
+				// If there is no SQL databinding, we cannot provide a value
+				if (fieldDataBinding == null)
+				{
+					continue;
+				}
+
+				final DocumentFieldValueLoader fieldValueLoader = columnIndexes != null
+						? fieldDataBinding.getDocumentFieldValueLoader().bindTo(columnIndexes)
+						: fieldDataBinding.getDocumentFieldValueLoader();
+				final LookupDescriptor lookupDescriptor = fieldDescriptor.getLookupDescriptor().orElse(null);
+				fieldValueLoaders.put(fieldDescriptor.getFieldName(), new FieldValueLoader(fieldValueLoader, lookupDescriptor));
+			}
+			return fieldValueLoaders.build();
+		}
+
+		/**
+		 * Shall be called after the {@link ResultSet} was moved to next row.
+		 */
+		public void nextRow()
+		{
+			idAquired = false;
+			id = null;
+			version = null;
 		}
 
 		@Override
@@ -387,27 +456,34 @@ public final class SqlDocumentsRepository implements DocumentsRepository
 		@Override
 		public Object getValue(final DocumentFieldDescriptor fieldDescriptor)
 		{
-			final SqlDocumentFieldDataBindingDescriptor fieldDataBinding = SqlDocumentFieldDataBindingDescriptor.castOrNull(fieldDescriptor.getDataBinding());
+			final FieldValueLoader fieldValueLoader = fieldValueLoaders.get(fieldDescriptor.getFieldName());
 
 			// If there is no SQL databinding, we cannot provide a value
-			if (fieldDataBinding == null)
+			if (fieldValueLoader == null)
 			{
 				return NO_VALUE;
 			}
 
-			final DocumentFieldValueLoader fieldValueLoader = fieldDataBinding.getDocumentFieldValueLoader();
 			final boolean isDisplayColumnAvailable = true;
-			final LookupDescriptor lookupDescriptor = fieldDescriptor.getLookupDescriptor().orElse(null);
 
 			try
 			{
-				return fieldValueLoader.retrieveFieldValue(rs, isDisplayColumnAvailable, adLanguage, lookupDescriptor);
+				return fieldValueLoader.getLoader().retrieveFieldValue(rs, isDisplayColumnAvailable, adLanguage, fieldValueLoader.getLookupDescriptor());
 			}
 			catch (final SQLException e)
 			{
-				throw new DBException("Failed retrieving the value for " + fieldDescriptor + " using " + fieldValueLoader, e);
+				throw new DBException("Failed retrieving the value for " + fieldDescriptor + " using " + fieldValueLoader.getLoader(), e);
 			}
 		}
+
+		@Value
+		private static class FieldValueLoader
+		{
+			@NonNull
+			DocumentFieldValueLoader loader;
+			@Nullable
+			LookupDescriptor lookupDescriptor;
+		}
 	}
 
 	@Override
@@ -460,7 +536,7 @@ public final class SqlDocumentsRepository implements DocumentsRepository
 			rs = pstmt.executeQuery();
 			if (rs.next())
 			{
-				final ResultSetDocumentValuesSupplier fieldValueSupplier = new ResultSetDocumentValuesSupplier(entityDescriptor, adLanguage, rs);
+				final ResultSetDocumentValuesSupplier fieldValueSupplier = ResultSetDocumentValuesSupplier.forSingleRow(entityDescriptor, adLanguage, rs);
 				document.refreshFromSupplier(fieldValueSupplier);
 			}
 			else
@@ -0,0 +1,139 @@
+package de.metas.ui.web.devices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class DevicePollerTest
+{
+	private AtomicLong clock;
+	private AtomicReference<Object> deviceValue;
+	private AtomicInteger acquireCount;
+	private DevicePoller poller;
+
+	@Before
+	public void init()
+	{
+		clock = new AtomicLong(1000);
+		deviceValue = new AtomicReference<>();
+		acquireCount = new AtomicInteger();
+
+		poller = DevicePoller.builder()
+				.deviceId("device1")
+				.valueAcquirer(() -> {
+					acquireCount.incrementAndGet();
+					final Object value = deviceValue.get();
+					if (value == null)
+					{
+						throw new RuntimeException("device not available");
+					}
+					return value;
+				})
+				.worker(MoreExecutors.newDirectExecutorService())
+				.clock(clock::get)
+				.pollIntervalMillis(100)
+				.timeoutMillis(500)
+				.backoffMaxMillis(400)
+				.build();
+	}
+
+	@Test
+	public void versionIsIncrementedOnlyWhenValueChanged()
+	{
+		deviceValue.set(new BigDecimal("1.0"));
+		poller.tick();
+		assertThat(poller.getLastValue().getVersion()).isEqualTo(1);
+
+		deviceValue.set(new BigDecimal("1.00"));
+		clock.addAndGet(100);
+		poller.tick();
+		assertThat(poller.getLastValue().getVersion()).isEqualTo(1);
+
+		deviceValue.set(new BigDecimal("2"));
+		clock.addAndGet(100);
+		poller.tick();
+		assertThat(poller.getLastValue().getVersion()).isEqualTo(2);
+		assertThat(poller.getLastValue().getValue()).isEqualTo(new BigDecimal("2"));
+	}
+
+	@Test
+	public void notPollingBeforeInterval()
+	{
+		deviceValue.set("A");
+		poller.tick();
+		poller.tick();
+		clock.addAndGet(99);
+		poller.tick();
+		assertThat(acquireCount.get()).isEqualTo(1);
+
+		clock.addAndGet(1);
+		poller.tick();
+		assertThat(acquireCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void backoffAfterConsecutiveFailures()
+	{
+		poller.tick(); // fails => next poll in 100ms
+		assertThat(poller.getLastValue()).isNull();
+
+		clock.addAndGet(100);
+		poller.tick(); // fails => next poll in 200ms
+		assertThat(acquireCount.get()).isEqualTo(2);
+
+		clock.addAndGet(199);
+		poller.tick();
+		assertThat(acquireCount.get()).isEqualTo(2);
+
+		clock.addAndGet(1);
+		poller.tick(); // fails => next poll in 400ms (max)
+		assertThat(acquireCount.get()).isEqualTo(3);
+
+		deviceValue.set("A");
+		clock.addAndGet(400);
+		poller.tick();
+		assertThat(acquireCount.get()).isEqualTo(4);
+		assertThat(poller.getLastValue().getValue()).isEqualTo("A");
+	}
+
+	@Test
+	public void isIdle()
+	{
+		poller.getLastValue();
+		clock.addAndGet(999);
+		assertThat(poller.isIdle(1000)).isFalse();
+
+		clock.addAndGet(1);
+		assertThat(poller.isIdle(1000)).isTrue();
+	}
+}
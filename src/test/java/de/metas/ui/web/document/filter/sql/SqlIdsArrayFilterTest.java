@@ -0,0 +1,95 @@
+package de.metas.ui.web.document.filter.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.view.descriptor.SqlAndParams;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class SqlIdsArrayFilterTest
+{
+	@Test
+	public void inArray_collecting()
+	{
+		final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
+		final String sql = SqlIdsArrayFilter.inArray("t.Record_ID", ImmutableList.of(3, 1, 2, 1), sqlParams);
+
+		assertThat(sql).isEqualTo("t.Record_ID = ANY(?::numeric[])");
+		assertThat(sqlParams.toList()).containsExactly("{1,2,3}");
+	}
+
+	@Test
+	public void inArray_sameSqlForDifferentSizes()
+	{
+		final SqlAndParams sql1 = SqlIdsArrayFilter.inArray("Record_ID", ImmutableList.of(1));
+		final SqlAndParams sql2 = SqlIdsArrayFilter.inArray("Record_ID", ImmutableList.of(1, 2, 3, 4, 5));
+
+		assertThat(sql1.getSql()).isEqualTo(sql2.getSql());
+	}
+
+	@Test
+	public void inArray_notCollecting()
+	{
+		final String sql = SqlIdsArrayFilter.inArray("Record_ID", ImmutableList.of(2, 1), SqlParamsCollector.notCollecting());
+		assertThat(sql).isEqualTo("Record_ID = ANY('{1,2}'::numeric[])");
+	}
+
+	@Test
+	public void inArray_empty()
+	{
+		final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
+		assertThat(SqlIdsArrayFilter.inArray("Record_ID", ImmutableList.of(), sqlParams)).isEqualTo("1=0");
+		assertThat(sqlParams.toList()).isEmpty();
+	}
+
+	@Test
+	public void inArray_aboveThreshold()
+	{
+		final List<Integer> ids = IntStream.rangeClosed(1, SqlIdsArrayFilter.UNNEST_THRESHOLD + 1)
+				.boxed()
+				.collect(Collectors.toList());
+
+		final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
+		final String sql = SqlIdsArrayFilter.inArray("Record_ID", ids, sqlParams);
+
+		assertThat(sql).isEqualTo("Record_ID IN (SELECT unnest(?::numeric[]))");
+		assertThat(sqlParams.toList()).hasSize(1);
+	}
+
+	@Test
+	public void notInArray()
+	{
+		final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
+		assertThat(SqlIdsArrayFilter.notInArray("Record_ID", ImmutableList.of(5), sqlParams)).isEqualTo("NOT (Record_ID = ANY(?::numeric[]))");
+		assertThat(SqlIdsArrayFilter.notInArray("Record_ID", ImmutableList.of(), sqlParams)).isEqualTo("1=1");
+		assertThat(sqlParams.toList()).containsExactly("{5}");
+	}
+}
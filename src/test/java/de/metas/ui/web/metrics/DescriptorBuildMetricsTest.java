@@ -0,0 +1,95 @@
+package de.metas.ui.web.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.metas.ui.web.metrics.DescriptorBuildMetrics.Category;
+import de.metas.ui.web.metrics.DescriptorBuildMetrics.DescriptorBuildStats;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class DescriptorBuildMetricsTest
+{
+	private AtomicLong nanoClock;
+	private DescriptorBuildMetrics metrics;
+
+	@Before
+	public void init()
+	{
+		nanoClock = new AtomicLong();
+		metrics = new DescriptorBuildMetrics(nanoClock::get);
+	}
+
+	private String build(final String value, final long millis)
+	{
+		nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+		return value;
+	}
+
+	@Test
+	public void hitRatioAndPerKeyBreakdown()
+	{
+		for (int i = 0; i < 4; i++)
+		{
+			metrics.recordRequest(Category.DocumentDescriptor);
+		}
+		assertThat(metrics.recordBuild(Category.DocumentDescriptor, 123, () -> build("a", 100))).isEqualTo("a");
+		metrics.recordBuild(Category.DocumentDescriptor, 456, () -> build("b", 10));
+
+		final List<DescriptorBuildStats> stats = metrics.getStats();
+		assertThat(stats).hasSize(1);
+
+		final DescriptorBuildStats documentStats = stats.get(0);
+		assertThat(documentStats.getCategory()).isEqualTo("DocumentDescriptor");
+		assertThat(documentStats.getRequests()).isEqualTo(4);
+		assertThat(documentStats.getBuilds()).isEqualTo(2);
+		assertThat(documentStats.getHitRatio()).isEqualTo(0.5);
+		assertThat(documentStats.getBuildTotalMillis()).isEqualTo(110);
+		assertThat(documentStats.getBuildMaxMillis()).isEqualTo(100);
+		assertThat(documentStats.getBuildAvgMillis()).isEqualTo(55);
+
+		assertThat(documentStats.getKeys())
+				.extracting(DescriptorBuildStats.KeyStats::getKey)
+				.containsExactly("123", "456");
+	}
+
+	@Test
+	public void failedBuildIsCounted()
+	{
+		assertThatThrownBy(() -> metrics.recordBuild(Category.MenuTree, "en_US", () -> {
+			throw new RuntimeException("test");
+		})).hasMessage("test");
+
+		final DescriptorBuildStats menuStats = metrics.getStats().get(0);
+		assertThat(menuStats.getBuilds()).isEqualTo(1);
+		assertThat(menuStats.getFailures()).isEqualTo(1);
+		assertThat(menuStats.getHitRatio()).isEqualTo(0);
+	}
+}
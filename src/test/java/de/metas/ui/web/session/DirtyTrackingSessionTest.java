@@ -0,0 +1,99 @@
+package de.metas.ui.web.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.session.MapSession;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class DirtyTrackingSessionTest
+{
+	@Test
+	public void notChanged()
+	{
+		final MapSession original = new MapSession();
+		original.setAttribute("attr", "value");
+
+		final DirtyTrackingSession session = new DirtyTrackingSession(original);
+		session.setLastAccessedTime(original.getLastAccessedTime() + 1000);
+		assertThat((String)session.getAttribute("attr")).isEqualTo("value");
+
+		assertThat(session.getSessionToSaveOrNull()).isNull();
+	}
+
+	@Test
+	public void attributeChanged_originalNotChanged()
+	{
+		final MapSession original = new MapSession();
+		original.setAttribute("attr", "value");
+
+		final DirtyTrackingSession session = new DirtyTrackingSession(original);
+		session.setAttribute("attr", "newValue");
+		session.setAttribute("attr2", "value2");
+
+		assertThat((String)original.getAttribute("attr")).isEqualTo("value");
+		assertThat(original.getAttributeNames()).containsOnly("attr");
+		assertThat((String)session.getAttribute("attr")).isEqualTo("newValue");
+
+		final MapSession sessionToSave = session.getSessionToSaveOrNull();
+		assertThat(sessionToSave).isNotSameAs(original);
+		assertThat((String)sessionToSave.getAttribute("attr")).isEqualTo("newValue");
+		assertThat((String)sessionToSave.getAttribute("attr2")).isEqualTo("value2");
+
+		// already saved
+		assertThat(session.getSessionToSaveOrNull()).isNull();
+	}
+
+	@Test
+	public void sameAttributeValueSetAgain()
+	{
+		final List<String> mutableValue = new ArrayList<>();
+		final MapSession original = new MapSession();
+		original.setAttribute("attr", mutableValue);
+
+		final DirtyTrackingSession session = new DirtyTrackingSession(original);
+		mutableValue.add("changed");
+		session.setAttribute("attr", mutableValue);
+
+		// shall be saved, because the value might have been changed, but there is no need to copy it
+		assertThat(session.isOnlyAttributesTouched()).isTrue();
+		assertThat(session.getSessionToSaveOrNull()).isSameAs(original);
+	}
+
+	@Test
+	public void isExpired()
+	{
+		final MapSession original = new MapSession();
+		original.setMaxInactiveIntervalInSeconds(10);
+
+		final DirtyTrackingSession session = new DirtyTrackingSession(original);
+		session.setLastAccessedTime(100_000);
+
+		assertThat(session.isExpired(109_999)).isFalse();
+		assertThat(session.isExpired(110_000)).isTrue();
+	}
+}
@@ -0,0 +1,105 @@
+package de.metas.ui.web.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.session.MapSession;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class FileSessionsStoreTest
+{
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Path directory;
+
+	@Before
+	public void init()
+	{
+		directory = temporaryFolder.getRoot().toPath();
+	}
+
+	@Test
+	public void save_and_loadFromFile()
+	{
+		final MapSession session = new MapSession();
+		session.setAttribute("attr", "value");
+		new FileSessionsStore(directory).save(session);
+
+		final MapSession loadedSession = new FileSessionsStore(directory).getByIdOrNull(session.getId());
+		assertThat((String)loadedSession.getAttribute("attr")).isEqualTo("value");
+	}
+
+	@Test
+	public void save_notSerializableAttribute_keptInHeap()
+	{
+		final FileSessionsStore store = new FileSessionsStore(directory);
+		final MapSession session = new MapSession();
+		session.setAttribute("attr", new Object());
+
+		store.save(session);
+
+		assertThat(store.getByIdOrNull(session.getId())).isSameAs(session);
+		assertThat(new FileSessionsStore(directory).getByIdOrNull(session.getId())).isNull();
+	}
+
+	@Test
+	public void saveTouched_serializedAtMostOncePerInterval()
+	{
+		final FileSessionsStore store = new FileSessionsStore(directory, Duration.ofHours(1));
+		final ArrayList<String> sessionBean = new ArrayList<>();
+		final MapSession session = new MapSession();
+		session.setAttribute("bean", sessionBean);
+		store.save(session);
+
+		sessionBean.add("changed");
+		store.saveTouched(session);
+
+		assertThat(store.getByIdOrNull(session.getId())).isSameAs(session);
+		assertThat((List<?>)new FileSessionsStore(directory).getByIdOrNull(session.getId()).getAttribute("bean")).isEmpty();
+	}
+
+	@Test
+	public void saveTouched_serializedAfterInterval()
+	{
+		final FileSessionsStore store = new FileSessionsStore(directory, Duration.ZERO);
+		final ArrayList<String> sessionBean = new ArrayList<>();
+		final MapSession session = new MapSession();
+		session.setAttribute("bean", sessionBean);
+		store.save(session);
+
+		sessionBean.add("changed");
+		store.saveTouched(session);
+
+		assertThat((List<?>)new FileSessionsStore(directory).getByIdOrNull(session.getId()).getAttribute("bean")).containsExactly("changed");
+	}
+}
@@ -0,0 +1,68 @@
+package de.metas.ui.web.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class SessionsExpirationWheelTest
+{
+	private final SessionsExpirationWheel wheel = new SessionsExpirationWheel(Duration.ofMillis(100));
+
+	@Test
+	public void pollExpired()
+	{
+		wheel.schedule("s1", 150);
+		wheel.schedule("s2", 250);
+		wheel.schedule("s3", 1000);
+
+		assertThat(wheel.pollExpired(150)).isEmpty();
+		assertThat(wheel.pollExpired(200)).containsOnly("s1");
+		assertThat(wheel.pollExpired(300)).containsOnly("s2");
+		assertThat(wheel.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void reschedule()
+	{
+		wheel.schedule("s1", 150);
+		wheel.schedule("s1", 550);
+
+		assertThat(wheel.pollExpired(300)).isEmpty();
+		assertThat(wheel.pollExpired(600)).containsOnly("s1");
+		assertThat(wheel.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void unschedule()
+	{
+		wheel.schedule("s1", 150);
+		wheel.unschedule("s1");
+
+		assertThat(wheel.pollExpired(1000)).isEmpty();
+		assertThat(wheel.size()).isEqualTo(0);
+	}
+}
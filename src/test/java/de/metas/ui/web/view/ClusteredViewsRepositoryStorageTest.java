@@ -0,0 +1,180 @@
+package de.metas.ui.web.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.metas.ui.web.view.json.JSONViewDataType;
+import de.metas.ui.web.window.datatypes.WindowId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class ClusteredViewsRepositoryStorageTest
+{
+	private static final long MAX_RETAINED_SIZE_IN_BYTES = 100;
+	private static final long VIEW_SIZE_IN_BYTES = 80;
+
+	private InMemoryViewDefinitionsStore viewDefinitionsStore;
+	private List<ViewId> recreatedViewIds;
+	private List<ViewId> deletedSelectionViewIds;
+	private Map<ViewId, ViewCloseReason> closeReasons;
+	private ClusteredViewsRepositoryStorage storage;
+
+	@Before
+	public void init()
+	{
+		viewDefinitionsStore = InMemoryViewDefinitionsStore.newInstance();
+		recreatedViewIds = new ArrayList<>();
+		deletedSelectionViewIds = new ArrayList<>();
+		closeReasons = new HashMap<>();
+
+		storage = ClusteredViewsRepositoryStorage.builder()
+				.viewDefinitionsStore(viewDefinitionsStore)
+				.viewRecreator(viewDefinition -> {
+					recreatedViewIds.add(viewDefinition.getViewId());
+					return newView(viewDefinition.getViewId());
+				})
+				.selectionDeleter(deletedSelectionViewIds::add)
+				.maxRetainedSizeInBytes(MAX_RETAINED_SIZE_IN_BYTES)
+				.build();
+	}
+
+	private IView newView(final ViewId viewId)
+	{
+		return (IView)Proxy.newProxyInstance(IView.class.getClassLoader(), new Class<?>[] { IView.class }, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "getViewId":
+					return viewId;
+				case "getEstimatedRetainedSizeInBytes":
+					return VIEW_SIZE_IN_BYTES;
+				case "isAllowClosingPerUserRequest":
+					return true;
+				case "getNotifyRecordsChangedTableNames":
+					return Optional.empty();
+				case "close":
+					closeReasons.put(viewId, (ViewCloseReason)args[0]);
+					return null;
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == args[0];
+				case "toString":
+					return "TestView[" + viewId + "]";
+				default:
+					throw new UnsupportedOperationException(method.toString());
+			}
+		});
+	}
+
+	/** Simulates a view which was created by another node */
+	private ViewId saveDefinitionOfViewFromOtherNode()
+	{
+		final ViewId viewId = ViewId.random(WindowId.of(123));
+		viewDefinitionsStore.save(ViewDefinition.builder()
+				.viewId(viewId)
+				.viewType(JSONViewDataType.grid)
+				.build());
+		return viewId;
+	}
+
+	@Test
+	public void getByIdOrNull_recreatesViewFromOtherNode()
+	{
+		final ViewId viewId = saveDefinitionOfViewFromOtherNode();
+
+		final IView view = storage.getByIdOrNull(viewId);
+		assertThat(view.getViewId()).isEqualTo(viewId);
+		assertThat(storage.getByIdOrNull(viewId)).isSameAs(view);
+		assertThat(recreatedViewIds).containsExactly(viewId);
+		assertThat(storage.getLocalViews().size()).isEqualTo(1);
+	}
+
+	@Test
+	public void getByIdOrNull_unknownView()
+	{
+		final ViewId viewId = ViewId.random(WindowId.of(123));
+
+		assertThat(storage.getByIdOrNull(viewId)).isNull();
+		assertThat(recreatedViewIds).isEmpty();
+	}
+
+	@Test
+	public void closeById_viewNotInLocalMemory_isNotRecreated()
+	{
+		final ViewId viewId = saveDefinitionOfViewFromOtherNode();
+
+		storage.closeById(viewId, ViewCloseAction.DONE);
+
+		assertThat(recreatedViewIds).isEmpty();
+		assertThat(deletedSelectionViewIds).containsExactly(viewId);
+		assertThat(viewDefinitionsStore.getByIdOrNull(viewId)).isNull();
+	}
+
+	@Test
+	public void closeById_localView()
+	{
+		final ViewId viewId = saveDefinitionOfViewFromOtherNode();
+		storage.getByIdOrNull(viewId);
+
+		storage.closeById(viewId, ViewCloseAction.DONE);
+
+		assertThat(closeReasons).containsEntry(viewId, ViewCloseReason.USER_REQUEST);
+		assertThat(deletedSelectionViewIds).isEmpty(); // deleted by the view itself
+		assertThat(viewDefinitionsStore.getByIdOrNull(viewId)).isNull();
+	}
+
+	@Test
+	public void evictedView_stillUsedByOtherNode_isDetached()
+	{
+		final ViewId viewId = saveDefinitionOfViewFromOtherNode();
+		storage.getByIdOrNull(viewId);
+		viewDefinitionsStore.markAccessed(viewId, "otherNode", Instant.now());
+
+		storage.put(newView(ViewId.random(WindowId.of(123)))); // exceeds the memory budget
+
+		assertThat(closeReasons).containsEntry(viewId, ViewCloseReason.DETACHED);
+		assertThat(viewDefinitionsStore.getByIdOrNull(viewId)).isNotNull();
+	}
+
+	@Test
+	public void evictedView_notUsedByOtherNodes_isCleanedUp()
+	{
+		final ViewId viewId = saveDefinitionOfViewFromOtherNode();
+		storage.getByIdOrNull(viewId);
+
+		storage.put(newView(ViewId.random(WindowId.of(123)))); // exceeds the memory budget
+
+		assertThat(closeReasons).containsEntry(viewId, ViewCloseReason.CLEANUP);
+		assertThat(viewDefinitionsStore.getByIdOrNull(viewId)).isNull();
+	}
+}
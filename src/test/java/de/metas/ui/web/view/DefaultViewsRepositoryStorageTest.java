@@ -0,0 +1,148 @@
+package de.metas.ui.web.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.metas.ui.web.window.datatypes.WindowId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class DefaultViewsRepositoryStorageTest
+{
+	private static final long MAX_RETAINED_SIZE_IN_BYTES = 100;
+
+	private AtomicReference<Instant> clock;
+	private Map<ViewId, ViewCloseReason> closeReasons;
+	private DefaultViewsRepositoryStorage storage;
+
+	@Before
+	public void init()
+	{
+		clock = new AtomicReference<>(Instant.parse("2019-03-01T10:00:00Z"));
+		closeReasons = new LinkedHashMap<>();
+		storage = new DefaultViewsRepositoryStorage(MAX_RETAINED_SIZE_IN_BYTES, view -> ViewCloseReason.CLEANUP, this::tick);
+	}
+
+	/** @return a new timestamp on each call, so the access order is deterministic */
+	private Instant tick()
+	{
+		return clock.updateAndGet(timestamp -> timestamp.plusSeconds(1));
+	}
+
+	private IView newView(final long sizeInBytes)
+	{
+		final ViewId viewId = ViewId.random(WindowId.of(123));
+		return (IView)Proxy.newProxyInstance(IView.class.getClassLoader(), new Class<?>[] { IView.class }, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "getViewId":
+					return viewId;
+				case "getEstimatedRetainedSizeInBytes":
+					return sizeInBytes;
+				case "isAllowClosingPerUserRequest":
+					return true;
+				case "getNotifyRecordsChangedTableNames":
+					return Optional.empty();
+				case "close":
+					closeReasons.put(viewId, (ViewCloseReason)args[0]);
+					return null;
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == args[0];
+				case "toString":
+					return "TestView[" + viewId + "]";
+				default:
+					throw new UnsupportedOperationException(method.toString());
+			}
+		});
+	}
+
+	@Test
+	public void withinBudget_nothingEvicted()
+	{
+		final IView view1 = newView(40);
+		final IView view2 = newView(40);
+		storage.put(view1);
+		storage.put(view2);
+
+		assertThat(closeReasons).isEmpty();
+		assertThat(storage.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void budgetExceeded_leastRecentlyUsedEvictedFirst()
+	{
+		final IView view1 = newView(40);
+		final IView view2 = newView(40);
+		storage.put(view1);
+		storage.put(view2);
+		storage.getByIdOrNull(view1.getViewId()); // view1 is now used more recently than view2
+
+		final IView view3 = newView(40);
+		storage.put(view3);
+		assertThat(closeReasons).containsOnlyKeys(view2.getViewId());
+
+		final IView view4 = newView(40);
+		storage.put(view4);
+		assertThat(closeReasons.keySet()).containsExactly(view2.getViewId(), view1.getViewId());
+		assertThat(closeReasons.values()).containsOnly(ViewCloseReason.CLEANUP);
+
+		assertThat(storage.getByIdOrNull(view3.getViewId())).isSameAs(view3);
+		assertThat(storage.getByIdOrNull(view4.getViewId())).isSameAs(view4);
+		assertThat(storage.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void budgetExceeded_currentViewIsKept()
+	{
+		final IView view1 = newView(40);
+		storage.put(view1);
+
+		final IView bigView = newView(150);
+		storage.put(bigView);
+
+		assertThat(closeReasons).containsOnlyKeys(view1.getViewId());
+		assertThat(storage.getByIdOrNull(bigView.getViewId())).isSameAs(bigView);
+	}
+
+	@Test
+	public void closedByUser_notEvicted()
+	{
+		final IView view1 = newView(40);
+		storage.put(view1);
+
+		storage.closeById(view1.getViewId(), ViewCloseAction.DONE);
+
+		assertThat(closeReasons).containsEntry(view1.getViewId(), ViewCloseReason.USER_REQUEST);
+	}
+}
@@ -0,0 +1,84 @@
+package de.metas.ui.web.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.metas.ui.web.view.json.JSONViewDataType;
+import de.metas.ui.web.window.datatypes.WindowId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class InMemoryViewDefinitionsStoreTest
+{
+	private InMemoryViewDefinitionsStore store;
+	private ViewId viewId;
+
+	@Before
+	public void init()
+	{
+		store = InMemoryViewDefinitionsStore.newInstance();
+		viewId = ViewId.random(WindowId.of(123));
+		store.save(ViewDefinition.builder()
+				.viewId(viewId)
+				.viewType(JSONViewDataType.grid)
+				.build());
+	}
+
+	@Test
+	public void saveAndRemove()
+	{
+		assertThat(store.getByIdOrNull(viewId).getViewId()).isEqualTo(viewId);
+
+		store.remove(viewId);
+		assertThat(store.getByIdOrNull(viewId)).isNull();
+	}
+
+	@Test
+	public void lastAccessByOtherNodes()
+	{
+		final Instant t1 = Instant.parse("2019-03-01T10:00:00Z");
+		final Instant t2 = t1.plusSeconds(60);
+
+		store.markAccessed(viewId, "node1", t2);
+		assertThat(store.getLastAccessByOtherNodesOrNull(viewId, "node1")).isNull();
+		assertThat(store.getLastAccessByOtherNodesOrNull(viewId, "node2")).isEqualTo(t2);
+
+		// older access is ignored
+		store.markAccessed(viewId, "node1", t1);
+		assertThat(store.getLastAccessByOtherNodesOrNull(viewId, "node2")).isEqualTo(t2);
+	}
+
+	@Test
+	public void markAccessed_notExistingView()
+	{
+		final ViewId otherViewId = ViewId.random(WindowId.of(123));
+		store.markAccessed(otherViewId, "node1", Instant.now());
+
+		assertThat(store.getByIdOrNull(otherViewId)).isNull();
+		assertThat(store.getLastAccessByOtherNodesOrNull(otherViewId, "node2")).isNull();
+	}
+}
@@ -0,0 +1,177 @@
+package de.metas.ui.web.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.ui.web.window.datatypes.WindowId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class SharedViewSelectionsPoolTest
+{
+	private static final Duration TTL = Duration.ofSeconds(60);
+
+	private AtomicLong clock;
+	private SharedViewSelectionsPool pool;
+	private AtomicInteger createdCount;
+
+	@Before
+	public void init()
+	{
+		clock = new AtomicLong(1000);
+		pool = new SharedViewSelectionsPool(() -> TTL, clock::get);
+		createdCount = new AtomicInteger(0);
+	}
+
+	private Supplier<ViewRowIdsOrderedSelection> selectionFactory()
+	{
+		return () -> {
+			createdCount.incrementAndGet();
+			return ViewRowIdsOrderedSelection.builder()
+					.setViewId(ViewId.random(WindowId.of(123)))
+					.setSize(10)
+					.build();
+		};
+	}
+
+	private ViewRowIdsOrderedSelection acquire(final String sharingKey)
+	{
+		final ImmutableSet.Builder<String> selectionIdsToDelete = ImmutableSet.builder();
+		final ViewRowIdsOrderedSelection selection = pool.acquire(sharingKey, selectionFactory(), selectionIdsToDelete);
+		assertThat(selectionIdsToDelete.build()).isEmpty();
+		return selection;
+	}
+
+	@Test
+	public void sameKey_sharesSelection()
+	{
+		final ViewRowIdsOrderedSelection selection1 = acquire("key1");
+		final ViewRowIdsOrderedSelection selection2 = acquire("key1");
+
+		assertThat(selection2).isSameAs(selection1);
+		assertThat(createdCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void differentKey_createsNewSelection()
+	{
+		final ViewRowIdsOrderedSelection selection1 = acquire("key1");
+		final ViewRowIdsOrderedSelection selection2 = acquire("key2");
+
+		assertThat(selection2.getSelectionId()).isNotEqualTo(selection1.getSelectionId());
+		assertThat(createdCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void expiredSelection_isNotShared()
+	{
+		final ViewRowIdsOrderedSelection selection1 = acquire("key1");
+		clock.addAndGet(TTL.toMillis());
+		final ViewRowIdsOrderedSelection selection2 = acquire("key1");
+
+		assertThat(selection2.getSelectionId()).isNotEqualTo(selection1.getSelectionId());
+		assertThat(createdCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void release_deletesOnlyAfterLastReferenceAndExpired()
+	{
+		final ViewRowIdsOrderedSelection selection = acquire("key1");
+		acquire("key1");
+		final ImmutableSet<String> selectionIds = ImmutableSet.of(selection.getSelectionId());
+
+		assertThat(pool.release(selectionIds)).isEmpty();
+		assertThat(pool.release(selectionIds)).isEmpty(); // not expired, keep it for reuse
+		assertThat(pool.size()).isEqualTo(1);
+
+		clock.addAndGet(TTL.toMillis());
+		assertThat(pool.release(ImmutableSet.of())).containsExactly(selection.getSelectionId());
+		assertThat(pool.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void purgeExpired_idlePool()
+	{
+		final ViewRowIdsOrderedSelection selection = acquire("key1");
+		assertThat(pool.release(ImmutableSet.of(selection.getSelectionId()))).isEmpty();
+		assertThat(pool.purgeExpired()).isEmpty();
+
+		clock.addAndGet(TTL.toMillis());
+		assertThat(pool.purgeExpired()).containsExactly(selection.getSelectionId());
+		assertThat(pool.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void purgeExpired_keepsReferencedSelections()
+	{
+		acquire("key1");
+		clock.addAndGet(TTL.toMillis());
+
+		assertThat(pool.purgeExpired()).isEmpty();
+		assertThat(pool.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void release_afterReplacedByNewerSelection()
+	{
+		final ViewRowIdsOrderedSelection selection1 = acquire("key1");
+		clock.addAndGet(TTL.toMillis());
+		acquire("key1");
+
+		assertThat(pool.release(ImmutableSet.of(selection1.getSelectionId()))).containsExactly(selection1.getSelectionId());
+		assertThat(pool.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void evictDerivedFrom()
+	{
+		final ViewRowIdsOrderedSelection unreferenced = acquire("from1\nen_US\n[Name]");
+		pool.release(ImmutableSet.of(unreferenced.getSelectionId()));
+		final ViewRowIdsOrderedSelection referenced = acquire("from1\nen_US\n[Value]");
+		final ViewRowIdsOrderedSelection other = acquire("from12\nen_US\n[Name]");
+
+		assertThat(pool.evictDerivedFrom("from1")).containsExactly(unreferenced.getSelectionId());
+
+		// not handed out anymore
+		assertThat(acquire("from1\nen_US\n[Value]").getSelectionId()).isNotEqualTo(referenced.getSelectionId());
+		assertThat(acquire("from12\nen_US\n[Name]")).isSameAs(other);
+
+		// deleted as soon as it's released
+		assertThat(pool.release(ImmutableSet.of(referenced.getSelectionId()))).containsExactly(referenced.getSelectionId());
+	}
+
+	@Test
+	public void release_notPooledSelection()
+	{
+		assertThat(pool.release(ImmutableSet.of("notPooled"))).containsExactly("notPooled");
+	}
+}
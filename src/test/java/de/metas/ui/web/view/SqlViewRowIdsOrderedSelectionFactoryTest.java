@@ -0,0 +1,95 @@
+package de.metas.ui.web.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class SqlViewRowIdsOrderedSelectionFactoryTest
+{
+	/** Output of <code>EXPLAIN (FORMAT JSON) SELECT ... FROM C_Order WHERE ... ORDER BY ...</code> */
+	private static final String EXPLAIN_JSON = "[\n"
+			+ "  {\n"
+			+ "    \"Plan\": {\n"
+			+ "      \"Node Type\": \"Sort\",\n"
+			+ "      \"Parallel Aware\": false,\n"
+			+ "      \"Startup Cost\": 3318.46,\n"
+			+ "      \"Total Cost\": 3369.71,\n"
+			+ "      \"Plan Rows\": 20500,\n"
+			+ "      \"Plan Width\": 12,\n"
+			+ "      \"Sort Key\": [\"c_order.dateordered DESC\"],\n"
+			+ "      \"Plans\": [\n"
+			+ "        {\n"
+			+ "          \"Node Type\": \"Seq Scan\",\n"
+			+ "          \"Parent Relationship\": \"Outer\",\n"
+			+ "          \"Parallel Aware\": false,\n"
+			+ "          \"Relation Name\": \"c_order\",\n"
+			+ "          \"Alias\": \"c_order\",\n"
+			+ "          \"Startup Cost\": 0.00,\n"
+			+ "          \"Total Cost\": 1852.00,\n"
+			+ "          \"Plan Rows\": 20500,\n"
+			+ "          \"Plan Width\": 12,\n"
+			+ "          \"Filter\": \"(issotrx = 'Y'::bpchar)\"\n"
+			+ "        }\n"
+			+ "      ]\n"
+			+ "    }\n"
+			+ "  }\n"
+			+ "]";
+
+	@Test
+	public void extractPlanRows()
+	{
+		assertThat(SqlViewRowIdsOrderedSelectionFactory.extractPlanRows(EXPLAIN_JSON)).isEqualTo(20500);
+	}
+
+	@Test
+	public void extractPlanRows_topNodeIsUsed()
+	{
+		final String explainJson = "[{\"Plan\": {\"Node Type\": \"Limit\", \"Plan Rows\": 100, \"Plans\": [{\"Node Type\": \"Seq Scan\", \"Plan Rows\": 20500}]}}]";
+		assertThat(SqlViewRowIdsOrderedSelectionFactory.extractPlanRows(explainJson)).isEqualTo(100);
+	}
+
+	@Test
+	public void extractPlanRows_decimalAndExponent()
+	{
+		assertThat(SqlViewRowIdsOrderedSelectionFactory.extractPlanRows("[{\"Plan\": {\"Plan Rows\": 1.0e+06}}]")).isEqualTo(1000000);
+		assertThat(SqlViewRowIdsOrderedSelectionFactory.extractPlanRows("[{\"Plan\": {\"Plan Rows\": 1234.0}}]")).isEqualTo(1234);
+	}
+
+	@Test
+	public void extractPlanRows_malformed()
+	{
+		assertThat(SqlViewRowIdsOrderedSelectionFactory.extractPlanRows("[{\"Plan\": {\"Plan Rows\": \"many\"}}]")).isEqualTo(0);
+		assertThat(SqlViewRowIdsOrderedSelectionFactory.extractPlanRows("ERROR: syntax error at or near \"FORMAT\"")).isEqualTo(0);
+		assertThat(SqlViewRowIdsOrderedSelectionFactory.extractPlanRows("[{\"Plan\": {\"Plan Rows\": ")).isEqualTo(0);
+	}
+
+	@Test
+	public void extractPlanRows_empty()
+	{
+		assertThat(SqlViewRowIdsOrderedSelectionFactory.extractPlanRows(null)).isEqualTo(0);
+		assertThat(SqlViewRowIdsOrderedSelectionFactory.extractPlanRows("")).isEqualTo(0);
+		assertThat(SqlViewRowIdsOrderedSelectionFactory.extractPlanRows("[]")).isEqualTo(0);
+	}
+}
@@ -0,0 +1,71 @@
+package de.metas.ui.web.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.ui.web.window.datatypes.DocumentId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class ViewRowIdsMembershipFilterTest
+{
+	private static Set<DocumentId> rowIds(final int fromInclusive, final int toExclusive)
+	{
+		return IntStream.range(fromInclusive, toExclusive)
+				.mapToObj(DocumentId::of)
+				.collect(ImmutableSet.toImmutableSet());
+	}
+
+	@Test
+	public void noFalseNegatives()
+	{
+		final Set<DocumentId> rowIds = rowIds(1, 5000);
+		final ViewRowIdsMembershipFilter filter = ViewRowIdsMembershipFilter.ofRowIds(rowIds);
+
+		assertThat(filter.retainMightContain(rowIds)).isEqualTo(rowIds);
+	}
+
+	@Test
+	public void mostOfTheNotContainedRowsAreFilteredOut()
+	{
+		final ViewRowIdsMembershipFilter filter = ViewRowIdsMembershipFilter.ofRowIds(rowIds(1, 5000));
+
+		final Set<DocumentId> mightContain = filter.retainMightContain(rowIds(100000, 110000));
+		assertThat(mightContain.size()).isLessThan(500);
+	}
+
+	@Test
+	public void addedRowsAreContained()
+	{
+		final ViewRowIdsMembershipFilter filter = ViewRowIdsMembershipFilter.ofRowIds(rowIds(1, 10));
+		filter.addAll(rowIds(1000, 1010));
+
+		assertThat(filter.retainMightContain(rowIds(1000, 1010))).hasSize(10);
+	}
+}
@@ -0,0 +1,256 @@
+package de.metas.ui.web.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import de.metas.JsonObjectMapperHolder;
+import de.metas.ui.web.view.json.JSONStreamedViewRow;
+import de.metas.ui.web.view.json.JSONViewRow;
+import de.metas.ui.web.window.datatypes.DocumentId;
+import de.metas.ui.web.window.datatypes.LookupValue.IntegerLookupValue;
+import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.ui.web.window.datatypes.json.JSONNullValue;
+import de.metas.ui.web.window.datatypes.json.JSONOptions;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class ViewRowsColumnarPageTest
+{
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+	}
+
+	@Test
+	public void getValue_sameAsAdded()
+	{
+		final ZonedDateTime dateTime = ZonedDateTime.of(2019, 3, 4, 10, 11, 12, 13, ZoneId.of("Europe/Berlin"));
+
+		final ViewRowsColumnarPage.Builder builder = ViewRowsColumnarPage.builder(ImmutableList.of("Int", "Bool", "Date", "DateTime", "Str"));
+		final int row1 = builder.addRow(ImmutableMap.<String, Object> builder()
+				.put("Int", 1)
+				.put("Bool", true)
+				.put("Date", LocalDate.of(2019, 3, 4))
+				.put("DateTime", dateTime)
+				.put("Str", "a")
+				.build());
+		final Map<String, Object> row2Values = new LinkedHashMap<>();
+		row2Values.put("Int", 2);
+		row2Values.put("Bool", false);
+		row2Values.put("Date", null);
+		row2Values.put("Extra", "x");
+		final int row2 = builder.addRow(row2Values);
+		final ViewRowsColumnarPage page = builder.build();
+
+		assertThat(page.getRowsCount()).isEqualTo(2);
+
+		assertThat(page.getValue(row1, "Int")).isEqualTo(1);
+		assertThat(page.getValue(row1, "Bool")).isEqualTo(true);
+		assertThat(page.getValue(row1, "Date")).isEqualTo(LocalDate.of(2019, 3, 4));
+		assertThat(page.getValue(row1, "DateTime")).isEqualTo(dateTime);
+		assertThat(page.getValue(row1, "Str")).isEqualTo("a");
+		assertThat(page.getValue(row1, "Extra")).isNull();
+		assertThat(page.getFieldNames(row1)).containsExactly("Int", "Bool", "Date", "DateTime", "Str");
+
+		assertThat(page.getValue(row2, "Int")).isEqualTo(2);
+		assertThat(page.getValue(row2, "Bool")).isEqualTo(false);
+		assertThat(page.getValue(row2, "Date")).isNull();
+		assertThat(page.getValue(row2, "Extra")).isEqualTo("x");
+		assertThat(page.getFieldNames(row2)).containsExactly("Int", "Bool", "Extra");
+	}
+
+	@Test
+	public void getColumnType_primitiveIfAllValuesHaveTheSameType()
+	{
+		final ViewRowsColumnarPage.Builder builder = ViewRowsColumnarPage.builder(ImmutableList.of("Int", "Bool", "Date", "Mixed", "Empty"));
+		final int row1 = builder.addRow(ImmutableMap.of("Int", 1000, "Bool", true, "Date", LocalDate.of(2019, 3, 4), "Mixed", 1));
+		final int row2 = builder.addRow(ImmutableMap.of("Bool", false, "Mixed", JSONNullValue.instance));
+		final ViewRowsColumnarPage page = builder.build();
+
+		final int intColumn = page.getColumnIndex("Int");
+		assertThat(page.getColumnType(intColumn)).isEqualTo(ViewRowsColumnarPage.ColumnType.INT);
+		assertThat(page.getInt(row1, intColumn)).isEqualTo(1000);
+		assertThat(page.isNull(row2, intColumn)).isTrue();
+		assertThat(page.getValue(row2, "Int")).isNull();
+
+		final int boolColumn = page.getColumnIndex("Bool");
+		assertThat(page.getColumnType(boolColumn)).isEqualTo(ViewRowsColumnarPage.ColumnType.BOOLEAN);
+		assertThat(page.getBoolean(row1, boolColumn)).isTrue();
+		assertThat(page.getBoolean(row2, boolColumn)).isFalse();
+		assertThat(page.isNull(row2, boolColumn)).isFalse();
+
+		final int dateColumn = page.getColumnIndex("Date");
+		assertThat(page.getColumnType(dateColumn)).isEqualTo(ViewRowsColumnarPage.ColumnType.LOCAL_DATE);
+		assertThat(page.getLocalDate(row1, dateColumn)).isEqualTo(LocalDate.of(2019, 3, 4));
+		assertThat(page.getLocalDate(row2, dateColumn)).isNull();
+
+		final int mixedColumn = page.getColumnIndex("Mixed");
+		assertThat(page.getColumnType(mixedColumn)).isEqualTo(ViewRowsColumnarPage.ColumnType.OBJECT);
+		assertThat(page.getValue(row2, "Mixed")).isSameAs(JSONNullValue.instance);
+
+		assertThat(page.getColumnIndex("Empty")).isEqualTo(-1);
+		assertThat(page.getColumnIndex("Unknown")).isEqualTo(-1);
+	}
+
+	@Test
+	public void rowValues_equalToMapBackedValues()
+	{
+		final ImmutableMap<String, Object> values = ImmutableMap.of("Int", 1, "Str", "a");
+
+		final ViewRowsColumnarPage.Builder builder = ViewRowsColumnarPage.builder(ImmutableList.of("Int", "Str"));
+		final int rowIndex = builder.addRow(values);
+		final ViewRowsColumnarPage page = builder.build();
+
+		final ViewRowFieldNameAndJsonValues columnarValues = ViewRowFieldNameAndJsonValues.ofColumnarPageRow(page, rowIndex);
+		final ViewRowFieldNameAndJsonValues mapValues = ViewRowFieldNameAndJsonValues.ofMap(values);
+		assertThat(columnarValues).isEqualTo(mapValues);
+		assertThat(columnarValues.hashCode()).isEqualTo(mapValues.hashCode());
+	}
+
+	@Test
+	public void getFieldNames_sameOrderAsAdded()
+	{
+		final ViewRowsColumnarPage.Builder builder = ViewRowsColumnarPage.builder(ImmutableList.of("A", "B", "C"));
+		final int row1 = builder.addRow(ImmutableMap.of("C", 1, "A", 2));
+		final int row2 = builder.addRow(ImmutableMap.of("A", 3, "C", 4));
+		final ViewRowsColumnarPage page = builder.build();
+
+		assertThat(page.getFieldNames(row1)).containsExactly("C", "A");
+		assertThat(page.getFieldNames(row2)).containsExactly("A", "C");
+	}
+
+	@Test
+	public void getValue_equalValuesAreStoredOnce()
+	{
+		final ViewRowsColumnarPage.Builder builder = ViewRowsColumnarPage.builder(ImmutableList.of("Amt"));
+		final int row1 = builder.addRow(ImmutableMap.of("Amt", new BigDecimal("1.50")));
+		final int row2 = builder.addRow(ImmutableMap.of("Amt", new BigDecimal("1.50")));
+		final int row3 = builder.addRow(ImmutableMap.of("Amt", new BigDecimal("1.5")));
+		final ViewRowsColumnarPage page = builder.build();
+
+		assertThat(page.getValue(row2, "Amt")).isSameAs(page.getValue(row1, "Amt"));
+		assertThat(page.getValue(row3, "Amt")).isEqualTo(new BigDecimal("1.5")); // different scale => not the same value
+	}
+
+	@Test
+	public void json_sameAsMapBackedRows() throws Exception
+	{
+		final JSONOptions jsonOpts = JSONOptions.builder().adLanguage("en_US").zoneId(ZoneId.of("Europe/Berlin")).build();
+
+		final String jsonExpected = JsonObjectMapperHolder.sharedJsonObjectMapper().writeValueAsString(JSONViewRow.ofViewRows(createRows(false), null, jsonOpts));
+		final String jsonActual = JsonObjectMapperHolder.sharedJsonObjectMapper().writeValueAsString(JSONViewRow.ofViewRows(createRows(true), null, jsonOpts));
+
+		assertThat(jsonActual).isEqualTo(jsonExpected);
+
+		final String jsonStreamedExpected = JsonObjectMapperHolder.sharedJsonObjectMapper().writeValueAsString(JSONStreamedViewRow.ofViewRows(createRows(false), null, jsonOpts));
+		final String jsonStreamedActual = JsonObjectMapperHolder.sharedJsonObjectMapper().writeValueAsString(JSONStreamedViewRow.ofViewRows(createRows(true), null, jsonOpts));
+		assertThat(jsonStreamedActual).isEqualTo(jsonStreamedExpected);
+	}
+
+	@Test
+	public void getAsInt_sameAsMapBackedRows()
+	{
+		final List<ViewRow> mapRows = createRows(false);
+		final List<ViewRow> columnarRows = createRows(true);
+		for (int i = 0; i < mapRows.size(); i++)
+		{
+			for (final String fieldName : ImmutableList.of("Int", "Lookup", "Str", "Missing"))
+			{
+				assertThat(columnarRows.get(i).getFieldValueAsInt(fieldName, -1))
+						.as("row %s, field %s", i, fieldName)
+						.isEqualTo(mapRows.get(i).getFieldValueAsInt(fieldName, -1));
+			}
+		}
+	}
+
+	/** Creates the rows the same way as {@link SqlViewDataRepository} does */
+	private static List<ViewRow> createRows(final boolean columnar)
+	{
+		final WindowId windowId = WindowId.of(123);
+		final ZonedDateTime dateTime = ZonedDateTime.of(2019, 3, 4, 10, 11, 12, 0, ZoneId.of("Europe/Berlin"));
+
+		final List<ViewRow.Builder> rowBuilders = new ArrayList<>();
+		rowBuilders.add(ViewRow.builder(windowId)
+				.setRowId(DocumentId.of(1))
+				.putFieldValue("Int", 1)
+				.putFieldValue("Bool", true)
+				.putFieldValue("Date", LocalDate.of(2019, 3, 4))
+				.putFieldValue("DateTime", dateTime)
+				.putFieldValue("Amt", new BigDecimal("1.50"))
+				.putFieldValue("Str", "a")
+				.putFieldValue("Lookup", IntegerLookupValue.of(10, "Ten"))
+				.addIncludedRow(ViewRow.builder(windowId)
+						.setRowId(DocumentId.of(11))
+						.setParentRowId(DocumentId.of(1))
+						.putFieldValue("Str", "included")
+						.build()));
+		rowBuilders.add(ViewRow.builder(windowId)
+				.setRowId(DocumentId.of(2))
+				.setProcessed(true)
+				.putFieldValue("Str", "b") // different order
+				.putFieldValue("Int", 2)
+				.putFieldValue("Bool", JSONNullValue.instance)
+				.putFieldValue("Amt", new BigDecimal("1.5"))
+				.putFieldValue("Lookup", IntegerLookupValue.of(10, "Ten"))
+				.putFieldValue("Extra", "x"));
+		rowBuilders.add(ViewRow.builder(windowId)
+				.setRowId(DocumentId.of(3))
+				.putFieldValue("DateTime", dateTime.withZoneSameInstant(ZoneId.of("UTC"))));
+
+		if (columnar)
+		{
+			final ViewRowsColumnarPage.Builder pageBuilder = ViewRowsColumnarPage.builder(ImmutableList.of("Int", "Bool", "Date", "DateTime", "Amt", "Str", "Lookup"));
+			final int[] rowIndexes = new int[rowBuilders.size()];
+			for (int i = 0; i < rowBuilders.size(); i++)
+			{
+				rowIndexes[i] = pageBuilder.addRow(rowBuilders.get(i).getValues());
+			}
+
+			final ViewRowsColumnarPage page = pageBuilder.build();
+			for (int i = 0; i < rowBuilders.size(); i++)
+			{
+				rowBuilders.get(i).setColumnarPageRow(page, rowIndexes[i]);
+			}
+		}
+
+		return rowBuilders.stream()
+				.map(ViewRow.Builder::build)
+				.collect(ImmutableList.toImmutableList());
+	}
+}
@@ -0,0 +1,277 @@
+package de.metas.ui.web.view.descriptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.document.filter.sql.SqlParamsCollector;
+import de.metas.ui.web.view.descriptor.SqlViewKeysetPredicateBuilder.SortColumn;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class SqlViewKeysetPredicateBuilderTest
+{
+	private static SqlViewKeysetPredicateBuilder newPredicateBuilder()
+	{
+		return SqlViewKeysetPredicateBuilder.builder()
+				.sortColumn(SortColumn.builder().columnSql("Name").ascending(true).nullsLast(true).build())
+				.sortColumn(SortColumn.builder().columnSql("DateOrdered").ascending(false).nullsLast(true).build())
+				.seqNoColumnSql("SeqNo")
+				.build();
+	}
+
+	@Test
+	public void notNullValues()
+	{
+		final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
+		final String sql = newPredicateBuilder().buildSql(SqlViewKeysetPageKey.of(Arrays.asList("N1", "D1"), 10), sqlParams);
+
+		assertThat(sql).isEqualTo("((Name>? OR Name IS NULL)"
+				+ "\n OR (Name=? AND (DateOrdered<? OR DateOrdered IS NULL))"
+				+ "\n OR (Name=? AND DateOrdered=? AND SeqNo>?))");
+		assertThat(sqlParams.toList()).containsExactly("N1", "N1", "D1", "N1", "D1", 10);
+	}
+
+	@Test
+	public void nullValues()
+	{
+		final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
+		final String sql = newPredicateBuilder().buildSql(SqlViewKeysetPageKey.of(Arrays.asList(null, null), 10), sqlParams);
+
+		// NOTE: nothing comes after NULL when NULLS LAST
+		assertThat(sql).isEqualTo("((Name IS NULL AND DateOrdered IS NULL AND SeqNo>?))");
+		assertThat(sqlParams.toList()).containsExactly(10);
+	}
+
+	@Test
+	public void nullValue_nullsFirst()
+	{
+		final SqlViewKeysetPredicateBuilder predicateBuilder = SqlViewKeysetPredicateBuilder.builder()
+				.sortColumn(SortColumn.builder().columnSql("Name").ascending(true).nullsLast(false).build())
+				.seqNoColumnSql("SeqNo")
+				.build();
+
+		final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
+		final String sql = predicateBuilder.buildSql(SqlViewKeysetPageKey.of(Arrays.asList((Object)null), 3), sqlParams);
+
+		assertThat(sql).isEqualTo("((Name IS NOT NULL)"
+				+ "\n OR (Name IS NULL AND SeqNo>?))");
+		assertThat(sqlParams.toList()).containsExactly(3);
+	}
+
+	/**
+	 * Pages through some rows using the seek predicate and makes sure we get the same sequence as when ordering all rows at once (i.e. like the ordered selections are built),
+	 * for all directions and NULLs ordering.
+	 */
+	@Test
+	public void keysetPages_sameSequenceAsOrderingAllRows()
+	{
+		final List<Map<String, Object>> rows = ImmutableList.of(
+				row(1, "B", 10),
+				row(2, null, 5),
+				row(3, "A", null),
+				row(4, "B", null),
+				row(5, "A", 10),
+				row(6, null, null),
+				row(7, "C", 5),
+				row(8, "B", 10),
+				row(9, "A", 5),
+				row(10, null, 5));
+
+		for (final boolean nameAscending : Arrays.asList(true, false))
+		{
+			for (final boolean nameNullsLast : Arrays.asList(true, false))
+			{
+				for (final boolean qtyAscending : Arrays.asList(true, false))
+				{
+					for (final boolean qtyNullsLast : Arrays.asList(true, false))
+					{
+						final List<SortColumn> sortColumns = ImmutableList.of(
+								SortColumn.builder().columnSql("Name").ascending(nameAscending).nullsLast(nameNullsLast).build(),
+								SortColumn.builder().columnSql("Qty").ascending(qtyAscending).nullsLast(qtyNullsLast).build());
+
+						final List<Integer> expectedSeqNos = extractSeqNos(rows.stream().sorted(toComparator(sortColumns)));
+						for (final int pageLength : Arrays.asList(1, 3, 4))
+						{
+							assertThat(retrieveAllByKeysetPages(rows, sortColumns, pageLength))
+									.as("sortColumns=%s, pageLength=%s", sortColumns, pageLength)
+									.isEqualTo(expectedSeqNos);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static Map<String, Object> row(final int seqNo, final String name, final Integer qty)
+	{
+		final Map<String, Object> row = new HashMap<>();
+		row.put("SeqNo", seqNo);
+		row.put("Name", name);
+		row.put("Qty", qty);
+		return row;
+	}
+
+	private static List<Integer> extractSeqNos(final Stream<Map<String, Object>> rows)
+	{
+		return rows.map(row -> (Integer)row.get("SeqNo")).collect(Collectors.toList());
+	}
+
+	/** Same as SQL's <code>ORDER BY column1 ASC/DESC NULLS FIRST/LAST, ..., SeqNo</code> */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Comparator<Map<String, Object>> toComparator(final List<SortColumn> sortColumns)
+	{
+		Comparator<Map<String, Object>> comparator = (row1, row2) -> 0;
+		for (final SortColumn sortColumn : sortColumns)
+		{
+			final Comparator<Comparable> valueComparator = sortColumn.isAscending() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+			comparator = comparator.thenComparing(
+					row -> (Comparable)row.get(sortColumn.getColumnSql()),
+					sortColumn.isNullsLast() ? Comparator.nullsLast(valueComparator) : Comparator.nullsFirst(valueComparator));
+		}
+		return comparator.thenComparing(row -> (Integer)row.get("SeqNo"));
+	}
+
+	private static List<Integer> retrieveAllByKeysetPages(final List<Map<String, Object>> rows, final List<SortColumn> sortColumns, final int pageLength)
+	{
+		final SqlViewKeysetPredicateBuilder predicateBuilder = SqlViewKeysetPredicateBuilder.builder()
+				.sortColumns(sortColumns)
+				.seqNoColumnSql("SeqNo")
+				.build();
+
+		final List<Integer> result = new ArrayList<>();
+		SqlViewKeysetPageKey afterKey = null;
+		while (true)
+		{
+			final List<Map<String, Object>> page;
+			if (afterKey == null)
+			{
+				page = rows.stream().sorted(toComparator(sortColumns)).limit(pageLength).collect(Collectors.toList());
+			}
+			else
+			{
+				final SqlParamsCollector sqlParams = SqlParamsCollector.newInstance();
+				final String sql = predicateBuilder.buildSql(afterKey, sqlParams);
+				page = rows.stream()
+						.filter(row -> evaluatePredicate(sql, sqlParams.toList(), row))
+						.sorted(toComparator(sortColumns))
+						.limit(pageLength)
+						.collect(Collectors.toList());
+			}
+
+			if (page.isEmpty())
+			{
+				return result;
+			}
+			result.addAll(extractSeqNos(page.stream()));
+
+			final Map<String, Object> lastRow = page.get(page.size() - 1);
+			afterKey = SqlViewKeysetPageKey.of(
+					sortColumns.stream().map(sortColumn -> lastRow.get(sortColumn.getColumnSql())).collect(Collectors.toList()),
+					(Integer)lastRow.get("SeqNo"));
+		}
+	}
+
+	/** Evaluates the seek predicate against given row. Supports only the SQL which is built by {@link SqlViewKeysetPredicateBuilder}. */
+	private static boolean evaluatePredicate(final String sql, final List<Object> sqlParams, final Map<String, Object> row)
+	{
+		final Iterator<Object> sqlParamsIterator = sqlParams.iterator();
+		boolean result = false;
+		for (final String sqlTerm : Splitter.on("\n OR ").split(stripParentheses(sql)))
+		{
+			boolean termResult = true;
+			for (final String sqlCondition : Splitter.on(" AND ").split(stripParentheses(sqlTerm)))
+			{
+				// NOTE: always evaluate, because we have to consume the SQL parameters
+				termResult &= evaluateCondition(sqlCondition, sqlParamsIterator, row);
+			}
+			result |= termResult;
+		}
+
+		assertThat(sqlParamsIterator.hasNext()).as("all SQL params consumed").isFalse();
+		return result;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static boolean evaluateCondition(final String sqlCondition, final Iterator<Object> sqlParamsIterator, final Map<String, Object> row)
+	{
+		if (sqlCondition.startsWith("("))
+		{
+			boolean result = false;
+			for (final String sqlOr : Splitter.on(" OR ").split(stripParentheses(sqlCondition)))
+			{
+				result |= evaluateCondition(sqlOr, sqlParamsIterator, row);
+			}
+			return result;
+		}
+		else if (sqlCondition.endsWith(" IS NOT NULL"))
+		{
+			return row.get(sqlCondition.substring(0, sqlCondition.length() - " IS NOT NULL".length())) != null;
+		}
+		else if (sqlCondition.endsWith(" IS NULL"))
+		{
+			return row.get(sqlCondition.substring(0, sqlCondition.length() - " IS NULL".length())) == null;
+		}
+
+		assertThat(sqlCondition).endsWith("?");
+		final String operator = sqlCondition.substring(sqlCondition.length() - 2, sqlCondition.length() - 1);
+		final Comparable value = (Comparable)row.get(sqlCondition.substring(0, sqlCondition.length() - 2));
+		final Object sqlParam = sqlParamsIterator.next();
+		if (value == null)
+		{
+			return false; // comparing NULL is never true in SQL
+		}
+
+		final int cmp = value.compareTo(sqlParam);
+		switch (operator)
+		{
+			case "=":
+				return cmp == 0;
+			case ">":
+				return cmp > 0;
+			case "<":
+				return cmp < 0;
+			default:
+				throw new IllegalArgumentException("Unknown operator in " + sqlCondition);
+		}
+	}
+
+	private static String stripParentheses(final String sql)
+	{
+		assertThat(sql).startsWith("(").endsWith(")");
+		return sql.substring(1, sql.length() - 1);
+	}
+}
@@ -0,0 +1,91 @@
+package de.metas.ui.web.view.descriptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.adempiere.ad.expression.api.impl.ConstantStringExpression;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
+import de.metas.ui.web.window.model.DocumentQueryOrderBy;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class SqlViewSelectDataTest
+{
+	private static SqlViewRowFieldBinding.SqlViewRowFieldBindingBuilder newFieldBinding(final String fieldName, final DocumentFieldWidgetType widgetType)
+	{
+		return SqlViewRowFieldBinding.builder()
+				.fieldName(fieldName)
+				.widgetType(widgetType)
+				.fieldLoader((rs, adLanguage) -> null);
+	}
+
+	private static final SqlViewRowFieldBinding FIELD_ID = newFieldBinding("C_Order_ID", DocumentFieldWidgetType.Integer)
+			.keyColumn(true)
+			.build();
+
+	private static final SqlViewRowFieldBinding FIELD_DocumentNo = newFieldBinding("DocumentNo", DocumentFieldWidgetType.Text)
+			.build();
+
+	/** Lookup field which is sorted by its display name, like the ones created by SqlViewFactory */
+	private static final SqlViewRowFieldBinding FIELD_C_BPartner_ID = newFieldBinding("C_BPartner_ID", DocumentFieldWidgetType.Lookup)
+			.sqlOrderBy(ConstantStringExpression.of("(SELECT bp.Name FROM C_BPartner bp WHERE bp.C_BPartner_ID=C_Order.C_BPartner_ID)"))
+			.build();
+
+	private static SqlViewSelectData newSqlViewSelectData()
+	{
+		return SqlViewSelectData.builder()
+				.sqlTableName("C_Order")
+				.sqlTableAlias("master")
+				.keyColumnNamesMap(SqlViewKeyColumnNamesMap.ofIntKeyField("C_Order_ID"))
+				.displayFieldNames(ImmutableList.of())
+				.allFields(ImmutableList.of(FIELD_ID, FIELD_DocumentNo, FIELD_C_BPartner_ID))
+				.build();
+	}
+
+	@Test
+	public void isKeysetSortable_plainColumn()
+	{
+		assertThat(SqlViewSelectData.isKeysetSortable(FIELD_DocumentNo)).isTrue();
+	}
+
+	@Test
+	public void isKeysetSortable_sortedByDisplayName()
+	{
+		assertThat(SqlViewSelectData.isKeysetSortable(FIELD_C_BPartner_ID)).isFalse();
+	}
+
+	@Test
+	public void isKeysetPaginationSupported()
+	{
+		final SqlViewSelectData sqlViewSelect = newSqlViewSelectData();
+
+		assertThat(sqlViewSelect.isKeysetPaginationSupported(ImmutableList.of(DocumentQueryOrderBy.byFieldName("DocumentNo", false)))).isTrue();
+		assertThat(sqlViewSelect.isKeysetPaginationSupported(ImmutableList.of(DocumentQueryOrderBy.byFieldName("C_BPartner_ID")))).isFalse();
+		assertThat(sqlViewSelect.isKeysetPaginationSupported(ImmutableList.of(
+				DocumentQueryOrderBy.byFieldName("DocumentNo"),
+				DocumentQueryOrderBy.byFieldName("C_BPartner_ID")))).isFalse();
+	}
+}
@@ -0,0 +1,205 @@
+package de.metas.ui.web.view.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+
+import de.metas.JsonObjectMapperHolder;
+import de.metas.ui.web.view.IView;
+import de.metas.ui.web.view.IViewRow;
+import de.metas.ui.web.view.IViewRowOverrides;
+import de.metas.ui.web.view.ViewId;
+import de.metas.ui.web.view.ViewResult;
+import de.metas.ui.web.view.ViewRow;
+import de.metas.ui.web.view.ViewRow.DefaultRowType;
+import de.metas.ui.web.window.datatypes.DocumentId;
+import de.metas.ui.web.window.datatypes.LookupValue.IntegerLookupValue;
+import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.ui.web.window.datatypes.json.JSONNullValue;
+import de.metas.ui.web.window.datatypes.json.JSONOptions;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class JSONStreamedViewRowTest
+{
+	private static final WindowId WINDOW_ID = WindowId.of(123);
+	private static final ViewId INCLUDED_VIEW_ID = ViewId.random(WindowId.of(456));
+
+	private final ObjectMapper jsonObjectMapper = JsonObjectMapperHolder.sharedJsonObjectMapper();
+	private JSONOptions jsonOpts;
+
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+		jsonOpts = JSONOptions.builder().adLanguage("en_US").zoneId(ZoneId.of("Europe/Berlin")).build();
+	}
+
+	private static List<IViewRow> createRows()
+	{
+		final ZonedDateTime dateTime = ZonedDateTime.of(2019, 3, 4, 10, 11, 12, 0, ZoneId.of("Europe/Berlin"));
+
+		return ImmutableList.of(
+				ViewRow.builder(WINDOW_ID)
+						.setRowId(DocumentId.of(1))
+						.setType(DefaultRowType.Row)
+						.putFieldValue("Int", 1)
+						.putFieldValue("Bool", true)
+						.putFieldValue("Date", LocalDate.of(2019, 3, 4))
+						.putFieldValue("DateTime", dateTime)
+						.putFieldValue("Amt", new BigDecimal("1.50"))
+						.putFieldValue("Str", "a")
+						.putFieldValue("Lookup", IntegerLookupValue.of(10, "Ten"))
+						.addIncludedRow(ViewRow.builder(WINDOW_ID)
+								.setRowId(DocumentId.of(11))
+								.setParentRowId(DocumentId.of(1))
+								.putFieldValue("Str", "included")
+								.putFieldValue("Int", JSONNullValue.instance)
+								.build())
+						.build(),
+				ViewRow.builder(WINDOW_ID)
+						.setRowId(DocumentId.of(2))
+						.setProcessed(true)
+						.putFieldValue("Str", "b")
+						.putFieldValue("Bool", JSONNullValue.instance)
+						.putFieldValue("Lookup", null)
+						.build(),
+				ViewRow.builder(WINDOW_ID)
+						.setRowId(DocumentId.of(3))
+						.build());
+	}
+
+	/** Provides an included view for the first row and its included row */
+	private static IViewRowOverrides createRowOverrides()
+	{
+		return new IViewRowOverrides()
+		{
+			@Override
+			public ViewId getIncludedViewId(final IViewRow row)
+			{
+				final DocumentId rowId = row.getId();
+				return DocumentId.of(1).equals(rowId) || DocumentId.of(11).equals(rowId) ? INCLUDED_VIEW_ID : null;
+			}
+		};
+	}
+
+	private IView createView()
+	{
+		final ViewId viewId = ViewId.random(WINDOW_ID);
+		return (IView)Proxy.newProxyInstance(IView.class.getClassLoader(), new Class<?>[] { IView.class }, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "getViewId":
+					return viewId;
+				case "size":
+					return 3L;
+				case "getQueryLimit":
+					return 100;
+				case "isSizeApproximate":
+				case "isQueryLimitHit":
+					return false;
+				case "getStickyFilters":
+				case "getFilters":
+					return ImmutableList.of();
+				case "getProfileId":
+				case "getParentViewId":
+				case "getDescription":
+				case "getHeaderProperties":
+					return null;
+				default:
+					throw new UnsupportedOperationException(method.toString());
+			}
+		});
+	}
+
+	private JsonNode toJsonNode(final Object value) throws Exception
+	{
+		return jsonObjectMapper.readTree(jsonObjectMapper.writeValueAsString(value));
+	}
+
+	@Test
+	public void rows_sameAsJSONViewRow() throws Exception
+	{
+		final List<IViewRow> rows = createRows();
+		final IViewRowOverrides rowOverrides = createRowOverrides();
+
+		final JsonNode jsonExpected = toJsonNode(JSONViewRow.ofViewRows(rows, rowOverrides, jsonOpts));
+		final JsonNode jsonActual = toJsonNode(JSONStreamedViewRow.ofViewRows(rows, rowOverrides, jsonOpts));
+
+		assertThat(jsonActual).isEqualTo(jsonExpected);
+		assertThat(jsonActual.get(0).get("includedDocuments").get(0).get("includedView")).isNotNull();
+	}
+
+	@Test
+	public void rows_withoutRowOverrides_sameAsJSONViewRow() throws Exception
+	{
+		final List<IViewRow> rows = createRows();
+
+		final JsonNode jsonExpected = toJsonNode(JSONViewRow.ofViewRows(rows, null, jsonOpts));
+		final JsonNode jsonActual = toJsonNode(JSONStreamedViewRow.ofViewRows(rows, null, jsonOpts));
+
+		assertThat(jsonActual).isEqualTo(jsonExpected);
+	}
+
+	@Test
+	public void fieldsOrder_sameAsJSONViewRow() throws Exception
+	{
+		final List<IViewRow> rows = createRows();
+
+		final JsonNode jsonExpected = toJsonNode(JSONViewRow.ofViewRows(rows, null, jsonOpts));
+		final JsonNode jsonActual = toJsonNode(JSONStreamedViewRow.ofViewRows(rows, null, jsonOpts));
+
+		for (int i = 0; i < rows.size(); i++)
+		{
+			final List<String> fieldNamesExpected = ImmutableList.copyOf(jsonExpected.get(i).get("fieldsByName").fieldNames());
+			final List<String> fieldNamesActual = ImmutableList.copyOf(jsonActual.get(i).get("fieldsByName").fieldNames());
+			assertThat(fieldNamesActual).isEqualTo(fieldNamesExpected);
+		}
+	}
+
+	@Test
+	public void viewResult_sameAsJSONViewRow() throws Exception
+	{
+		final ViewResult viewResult = ViewResult.ofViewAndPage(createView(), 0, 3, ImmutableList.of(), createRows());
+		final IViewRowOverrides rowOverrides = createRowOverrides();
+
+		final JsonNode jsonExpected = toJsonNode(JSONViewResult.of(viewResult, rowOverrides, jsonOpts));
+		final JsonNode jsonActual = toJsonNode(JSONViewResult.ofStreamedRows(viewResult, rowOverrides, jsonOpts));
+
+		assertThat(jsonActual).isEqualTo(jsonExpected);
+		assertThat(jsonActual.get("result").size()).isEqualTo(3);
+	}
+}
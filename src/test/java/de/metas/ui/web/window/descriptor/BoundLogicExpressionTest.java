@@ -0,0 +1,100 @@
+package de.metas.ui.web.window.descriptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.adempiere.ad.expression.api.ConstantLogicExpression;
+import org.adempiere.ad.expression.api.ILogicExpression;
+import org.adempiere.ad.expression.api.impl.LogicExpressionCompiler;
+import org.adempiere.ad.validationRule.IValidationContext;
+import org.adempiere.test.AdempiereTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import de.metas.ui.web.window.WindowConstants;
+import de.metas.ui.web.window.descriptor.BoundLogicExpression.BoundVariable;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class BoundLogicExpressionTest
+{
+	private static final ImmutableMap<String, Integer> FIELD_INDEXES = ImmutableMap.of("Processed", 0, "C_BPartner_ID", 1);
+
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+	}
+
+	@Test
+	public void constantExpression()
+	{
+		final BoundLogicExpression bound = BoundLogicExpression.bind(ConstantLogicExpression.TRUE, FIELD_INDEXES, "C_Order");
+		assertThat(bound.getVariableOrNull("Processed")).isNull();
+	}
+
+	@Test
+	public void fieldVariables()
+	{
+		final ILogicExpression expression = LogicExpressionCompiler.instance.compile("@Processed@='N' & @C_BPartner_ID@>0 & @IsSOTrx@='Y'");
+		final BoundLogicExpression bound = BoundLogicExpression.bind(expression, FIELD_INDEXES, "C_Order");
+
+		assertThat(bound.getVariableOrNull("Processed").getFieldIndex()).isEqualTo(0);
+
+		final BoundVariable bpartnerVariable = bound.getVariableOrNull("C_BPartner_ID");
+		assertThat(bpartnerVariable.getFieldIndex()).isEqualTo(1);
+		assertThat(bpartnerVariable.getDefaultValue()).isNotNull();
+
+		final BoundVariable isSOTrxVariable = bound.getVariableOrNull("IsSOTrx");
+		assertThat(isSOTrxVariable.isField()).isFalse();
+		assertThat(isSOTrxVariable.getDefaultValue()).isNull();
+	}
+
+	@Test
+	public void explicitGlobalVariableIsNotBoundToField()
+	{
+		final ILogicExpression expression = LogicExpressionCompiler.instance.compile("@#C_BPartner_ID@>0");
+		final BoundLogicExpression bound = BoundLogicExpression.bind(expression, ImmutableMap.of("#C_BPartner_ID", 0), "C_Order");
+
+		assertThat(bound.getVariableOrNull("#C_BPartner_ID").isField()).isFalse();
+	}
+
+	@Test
+	public void contextTableName()
+	{
+		final ILogicExpression expression = LogicExpressionCompiler.instance.compile("@" + IValidationContext.PARAMETER_ContextTableName + "@='C_Order'");
+		final BoundLogicExpression bound = BoundLogicExpression.bind(expression, FIELD_INDEXES, "C_Order");
+
+		assertThat(bound.getVariableOrNull(IValidationContext.PARAMETER_ContextTableName).getConstantValue()).isEqualTo("C_Order");
+	}
+
+	@Test
+	public void nextLineNoIsNotBoundToField()
+	{
+		final ILogicExpression expression = LogicExpressionCompiler.instance.compile("@" + WindowConstants.CONTEXTVAR_NextLineNo + "@>10");
+		final BoundLogicExpression bound = BoundLogicExpression.bind(expression, ImmutableMap.of(WindowConstants.CONTEXTVAR_NextLineNo, 0), "C_Order");
+
+		assertThat(bound.getVariableOrNull(WindowConstants.CONTEXTVAR_NextLineNo).isField()).isFalse();
+	}
+}
@@ -0,0 +1,88 @@
+package de.metas.ui.web.window.descriptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.ui.web.window.descriptor.DocumentFieldDependencyMap.DependencyType;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class DocumentFieldDependencyMapTest
+{
+	@Test
+	public void consumeForChangedFieldNames_eachDependentFieldOnlyOnce()
+	{
+		final DocumentFieldDependencyMap dependencies = DocumentFieldDependencyMap.builder()
+				.add("F3", ImmutableSet.of("F1", "F2"), DependencyType.MandatoryLogic)
+				.add("F4", ImmutableSet.of("F2"), DependencyType.MandatoryLogic)
+				.add(DocumentFieldDependencyMap.DOCUMENT_Readonly, ImmutableSet.of("F1", "F2"), DependencyType.DocumentReadonlyLogic)
+				.add("F5", ImmutableSet.of("F1"), DependencyType.LookupValues)
+				.add("F6", ImmutableSet.of("F9"), DependencyType.DisplayLogic)
+				.build();
+
+		final List<String> consumed = new ArrayList<>();
+		dependencies.consumeForChangedFieldNames(
+				ImmutableList.of("F1", "F2"),
+				(dependentFieldName, dependencyType) -> consumed.add(dependencyType + ":" + dependentFieldName));
+
+		assertThat(consumed).containsExactly(
+				"LookupValues:F5",
+				"DocumentReadonlyLogic:" + DocumentFieldDependencyMap.DOCUMENT_Readonly,
+				"MandatoryLogic:F3",
+				"MandatoryLogic:F4");
+	}
+
+	@Test
+	public void isReadonlyDependingOnAny()
+	{
+		final DocumentFieldDependencyMap dependencies = DocumentFieldDependencyMap.builder()
+				.add("F2", ImmutableSet.of("F1"), DependencyType.ReadonlyLogic)
+				.add("F3", ImmutableSet.of("F1"), DependencyType.FieldValue)
+				.add("F4", ImmutableSet.of("F3"), DependencyType.ReadonlyLogic)
+				.add("F5", ImmutableSet.of("F1"), DependencyType.DisplayLogic)
+				.build();
+
+		assertThat(dependencies.isReadonlyDependingOnAny("F2", ImmutableSet.of("F1"))).isTrue();
+		assertThat(dependencies.isReadonlyDependingOnAny("F4", ImmutableSet.of("F1"))).as("through F3's value").isTrue();
+		assertThat(dependencies.isReadonlyDependingOnAny("F5", ImmutableSet.of("F1"))).isFalse();
+		assertThat(dependencies.isReadonlyDependingOnAny("F2", ImmutableSet.of("F9"))).isFalse();
+		assertThat(dependencies.isReadonlyDependingOnAny("F2", ImmutableSet.of())).isFalse();
+	}
+
+	@Test
+	public void isReadonlyDependingOnAny_documentReadonly()
+	{
+		final DocumentFieldDependencyMap dependencies = DocumentFieldDependencyMap.builder()
+				.add(DocumentFieldDependencyMap.DOCUMENT_Readonly, ImmutableSet.of("Processed"), DependencyType.DocumentReadonlyLogic)
+				.build();
+
+		assertThat(dependencies.isReadonlyDependingOnAny("AnyField", ImmutableSet.of("Processed"))).isTrue();
+	}
+}
@@ -0,0 +1,146 @@
+package de.metas.ui.web.window.descriptor.factory.standard;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.compiere.model.I_AD_Field;
+import org.compiere.model.I_AD_Tab;
+import org.compiere.model.I_C_Order;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.cache.model.CacheInvalidateMultiRequest;
+import de.metas.cache.model.CacheInvalidateRequest;
+import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.ui.web.window.model.DocumentCollection;
+import mockit.Mocked;
+import mockit.Verifications;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class DocumentDescriptorCacheInvalidationDispatcherTest
+{
+	@Mocked
+	private DefaultDocumentDescriptorFactory documentDescriptorFactory;
+	@Mocked
+	private DocumentCollection documentCollection;
+
+	/** AD_Window_IDs indexed by "TableName#RecordId" */
+	private final Map<String, WindowId> windowIdsByRecord = new HashMap<>();
+
+	private DocumentDescriptorCacheInvalidationDispatcher dispatcher;
+
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+
+		dispatcher = new DocumentDescriptorCacheInvalidationDispatcher(
+				documentDescriptorFactory,
+				documentCollection,
+				(tableName, recordId) -> windowIdsByRecord.get(tableName + "#" + recordId));
+	}
+
+	@Test
+	public void recordChanged_onlyItsWindowIsInvalidated()
+	{
+		windowIdsByRecord.put(I_AD_Field.Table_Name + "#10", WindowId.of(123));
+
+		dispatcher.resetNow(CacheInvalidateMultiRequest.rootRecord(I_AD_Field.Table_Name, 10));
+
+		// @formatter:off
+		new Verifications()
+		{{
+			documentDescriptorFactory.invalidateForWindow(WindowId.of(123)); times = 1;
+			documentCollection.invalidateDocumentsForWindow(WindowId.of(123)); times = 1;
+			documentDescriptorFactory.invalidateAll(); times = 0;
+			documentCollection.cacheReset(); times = 0;
+		}};	// @formatter:on
+	}
+
+	@Test
+	public void recordsOfTwoWindowsChanged()
+	{
+		windowIdsByRecord.put(I_AD_Field.Table_Name + "#10", WindowId.of(123));
+		windowIdsByRecord.put(I_AD_Tab.Table_Name + "#20", WindowId.of(456));
+
+		dispatcher.resetNow(CacheInvalidateMultiRequest.of(ImmutableSet.of(
+				CacheInvalidateRequest.rootRecord(I_AD_Field.Table_Name, 10),
+				CacheInvalidateRequest.rootRecord(I_AD_Tab.Table_Name, 20))));
+
+		// @formatter:off
+		new Verifications()
+		{{
+			documentDescriptorFactory.invalidateForWindow(WindowId.of(123)); times = 1;
+			documentDescriptorFactory.invalidateForWindow(WindowId.of(456)); times = 1;
+			documentCollection.invalidateDocumentsForWindow(WindowId.of(123)); times = 1;
+			documentCollection.invalidateDocumentsForWindow(WindowId.of(456)); times = 1;
+			documentDescriptorFactory.invalidateAll(); times = 0;
+		}};	// @formatter:on
+	}
+
+	@Test
+	public void windowOfRecordNotFound_allAreInvalidated()
+	{
+		dispatcher.resetNow(CacheInvalidateMultiRequest.rootRecord(I_AD_Field.Table_Name, 10));
+
+		// @formatter:off
+		new Verifications()
+		{{
+			documentDescriptorFactory.invalidateAll(); times = 1;
+			documentCollection.cacheReset(); times = 1;
+			documentDescriptorFactory.invalidateForWindow(withInstanceOf(WindowId.class)); times = 0;
+		}};	// @formatter:on
+	}
+
+	@Test
+	public void allRecordsOfTableChanged_allAreInvalidated()
+	{
+		dispatcher.resetNow(CacheInvalidateMultiRequest.allRecordsForTable(I_AD_Tab.Table_Name));
+
+		// @formatter:off
+		new Verifications()
+		{{
+			documentDescriptorFactory.invalidateAll(); times = 1;
+			documentCollection.cacheReset(); times = 1;
+		}};	// @formatter:on
+	}
+
+	@Test
+	public void notRelevantTable_nothingIsInvalidated()
+	{
+		dispatcher.resetNow(CacheInvalidateMultiRequest.rootRecord(I_C_Order.Table_Name, 10));
+
+		// @formatter:off
+		new Verifications()
+		{{
+			documentDescriptorFactory.invalidateAll(); times = 0;
+			documentDescriptorFactory.invalidateForWindow(withInstanceOf(WindowId.class)); times = 0;
+			documentCollection.cacheReset(); times = 0;
+			documentCollection.invalidateDocumentsForWindow(withInstanceOf(WindowId.class)); times = 0;
+		}};	// @formatter:on
+	}
+}
@@ -0,0 +1,234 @@
+package de.metas.ui.web.window.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.ui.web.window.datatypes.json.JSONDocumentChangedEvent;
+import de.metas.ui.web.window.exceptions.DocumentFieldReadonlyException;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class BatchValueChangesProcessorTest
+{
+	private static JSONDocumentChangedEvent change(final String fieldName, final Object value)
+	{
+		return JSONDocumentChangedEvent.replace(fieldName, value);
+	}
+
+	@Test
+	public void calloutOfEarlierField_doesNotOverrideTheValuesOfLaterFields()
+	{
+		final TestDocument document = new TestDocument();
+		document.callouts.put("M_Product_ID", doc -> {
+			doc.setValueFromCallout("C_UOM_ID", "Each");
+			doc.setValueFromCallout("QtyEntered", 1);
+		});
+
+		BatchValueChangesProcessor.process(
+				ImmutableList.of(change("M_Product_ID", 123), change("C_UOM_ID", "Kg")),
+				document);
+
+		assertThat(document.values)
+				.containsEntry("M_Product_ID", 123)
+				.containsEntry("C_UOM_ID", "Kg") // the patch value wins, like when applying the changes one by one
+				.containsEntry("QtyEntered", 1);
+		assertThat(document.calloutsExecuted).containsExactly("M_Product_ID", "C_UOM_ID");
+	}
+
+	@Test
+	public void calloutOfLaterField_overridesTheValuesOfEarlierFields()
+	{
+		final TestDocument document = new TestDocument();
+		document.callouts.put("M_Product_ID", doc -> doc.setValueFromCallout("QtyEntered", 1));
+
+		BatchValueChangesProcessor.process(
+				ImmutableList.of(change("QtyEntered", 5), change("M_Product_ID", 123)),
+				document);
+
+		assertThat(document.values).containsEntry("QtyEntered", 1);
+	}
+
+	@Test
+	public void laterFieldWhichWasNotChanged_isReappliedAndItsCalloutExecuted()
+	{
+		final TestDocument document = new TestDocument();
+		document.values.put("C_UOM_ID", "Kg");
+		document.callouts.put("M_Product_ID", doc -> doc.setValueFromCallout("C_UOM_ID", "Each"));
+
+		BatchValueChangesProcessor.process(
+				ImmutableList.of(change("M_Product_ID", 123), change("C_UOM_ID", "Kg")),
+				document);
+
+		assertThat(document.values).containsEntry("C_UOM_ID", "Kg");
+		assertThat(document.calloutsExecuted).containsExactly("M_Product_ID", "C_UOM_ID");
+	}
+
+	@Test
+	public void fieldMadeWritableByAnEarlierChange_canBeSet()
+	{
+		final TestDocument document = new TestDocument();
+		document.values.put("IsEditable", "N");
+		document.updateReadonlyFlags();
+		assertThat(document.isReadonly("Description")).isTrue();
+
+		BatchValueChangesProcessor.process(
+				ImmutableList.of(change("IsEditable", "Y"), change("Description", "new description")),
+				document);
+
+		assertThat(document.values).containsEntry("Description", "new description");
+	}
+
+	@Test
+	public void fieldMadeReadonlyByAnEarlierChange_cannotBeSet()
+	{
+		final TestDocument document = new TestDocument();
+		document.values.put("IsEditable", "Y");
+		document.updateReadonlyFlags();
+
+		assertThatThrownBy(() -> BatchValueChangesProcessor.process(
+				ImmutableList.of(change("IsEditable", "N"), change("Description", "new description")),
+				document))
+						.isInstanceOf(DocumentFieldReadonlyException.class);
+	}
+
+	@Test
+	public void dependenciesAreUpdatedOnce()
+	{
+		final TestDocument document = new TestDocument();
+
+		final boolean changed = BatchValueChangesProcessor.process(
+				ImmutableList.of(change("QtyEntered", 5), change("PriceEntered", 10), change("Description", "d")),
+				document);
+
+		assertThat(changed).isTrue();
+		assertThat(document.dependencyUpdates).containsExactly(ImmutableSet.of("QtyEntered", "PriceEntered", "Description"));
+	}
+
+	@Test
+	public void noChanges()
+	{
+		final TestDocument document = new TestDocument();
+		document.values.put("QtyEntered", 5);
+
+		final boolean changed = BatchValueChangesProcessor.process(ImmutableList.of(change("QtyEntered", 5)), document);
+
+		assertThat(changed).isFalse();
+		assertThat(document.dependencyUpdates).isEmpty();
+		assertThat(document.calloutsExecuted).isEmpty();
+	}
+
+	/**
+	 * Document with one readonly logic: Description is readonly unless IsEditable=Y.
+	 */
+	private static class TestDocument implements BatchValueChangesProcessor.Target
+	{
+		private final Map<String, Object> values = new HashMap<>();
+		private final Set<String> readonlyFieldNames = new HashSet<>();
+		private final Map<String, Consumer<TestDocument>> callouts = new HashMap<>();
+
+		private final List<String> calloutsExecuted = new ArrayList<>();
+		private final List<Set<String>> dependencyUpdates = new ArrayList<>();
+
+		private void updateReadonlyFlags()
+		{
+			if ("Y".equals(values.get("IsEditable")))
+			{
+				readonlyFieldNames.remove("Description");
+			}
+			else
+			{
+				readonlyFieldNames.add("Description");
+			}
+		}
+
+		/** same as Document.setValue, but not calling the callouts */
+		private void setValueFromCallout(final String fieldName, final Object value)
+		{
+			if (setValueNoDependenciesUpdate(fieldName, value))
+			{
+				updateFieldsWhichDependsOn(ImmutableSet.of(fieldName));
+			}
+		}
+
+		@Override
+		public boolean isReadonly(final String fieldName)
+		{
+			return readonlyFieldNames.contains(fieldName);
+		}
+
+		@Override
+		public boolean isReadonlyDependingOnAny(final String fieldName, final Set<String> changedFieldNames)
+		{
+			return "Description".equals(fieldName) && changedFieldNames.contains("IsEditable");
+		}
+
+		@Override
+		public boolean setValueNoDependenciesUpdate(final String fieldName, final Object value)
+		{
+			final Object valueOld = values.put(fieldName, value);
+			return !Objects.equals(valueOld, value);
+		}
+
+		@Override
+		public Object getValue(final String fieldName)
+		{
+			return values.get(fieldName);
+		}
+
+		@Override
+		public void updateFieldsWhichDependsOn(final Set<String> changedFieldNames)
+		{
+			dependencyUpdates.add(ImmutableSet.copyOf(changedFieldNames));
+			if (changedFieldNames.contains("IsEditable"))
+			{
+				updateReadonlyFlags();
+			}
+		}
+
+		@Override
+		public void executeCallout(final String fieldName)
+		{
+			calloutsExecuted.add(fieldName);
+
+			final Consumer<TestDocument> callout = callouts.get(fieldName);
+			if (callout != null)
+			{
+				callout.accept(this);
+			}
+		}
+	}
+}
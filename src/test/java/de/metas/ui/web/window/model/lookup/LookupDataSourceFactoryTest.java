@@ -0,0 +1,207 @@
+package de.metas.ui.web.window.model.lookup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.Set;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.compiere.util.Evaluatees;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.ui.web.window.datatypes.LookupValue;
+import de.metas.ui.web.window.datatypes.LookupValue.IntegerLookupValue;
+import de.metas.ui.web.window.datatypes.LookupValuesList;
+import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.ui.web.window.descriptor.DocumentLayoutElementFieldDescriptor.LookupSource;
+import de.metas.ui.web.window.descriptor.LookupDescriptor;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class LookupDataSourceFactoryTest
+{
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+	}
+
+	@Test
+	public void sysConfigChange_invalidatesOnlyTheLookupsDependingOnIt()
+	{
+		final CountingLookup lookup = new CountingLookup(ImmutableSet.of("Test.SysConfig"));
+		final LookupDataSource lookupDataSource = LookupDataSourceFactory.instance.createLookupDataSource(lookup);
+
+		lookupDataSource.findEntities(Evaluatees.empty());
+		lookupDataSource.findEntities(Evaluatees.empty());
+		assertThat(lookup.retrieveCount).isEqualTo(1);
+
+		LookupDataSourceFactory.instance.cacheInvalidateOnSysConfigsChanged(ImmutableSet.of("Test.OtherSysConfig"));
+		lookupDataSource.findEntities(Evaluatees.empty());
+		assertThat(lookup.retrieveCount).isEqualTo(1);
+
+		LookupDataSourceFactory.instance.cacheInvalidateOnSysConfigsChanged(ImmutableSet.of("Test.SysConfig"));
+		lookupDataSource.findEntities(Evaluatees.empty());
+		assertThat(lookup.retrieveCount).isEqualTo(2);
+	}
+
+	@Test
+	public void sysConfigChange_invalidatesTheLookupsNotDeclaringTheirSysConfigs()
+	{
+		final CountingLookup lookup = new CountingLookup(null);
+		final LookupDataSource lookupDataSource = LookupDataSourceFactory.instance.createLookupDataSource(lookup);
+
+		lookupDataSource.findEntities(Evaluatees.empty());
+		assertThat(lookup.retrieveCount).isEqualTo(1);
+
+		LookupDataSourceFactory.instance.cacheInvalidateOnSysConfigsChanged(ImmutableSet.of("Test.AnySysConfig"));
+		lookupDataSource.findEntities(Evaluatees.empty());
+		assertThat(lookup.retrieveCount).isEqualTo(2);
+	}
+
+	@Test
+	public void unknownSysConfigChange_invalidatesAllSysConfigDependingLookups()
+	{
+		final CountingLookup lookup = new CountingLookup(ImmutableSet.of("Test.SysConfig"));
+		final LookupDataSource lookupDataSource = LookupDataSourceFactory.instance.createLookupDataSource(lookup);
+
+		lookupDataSource.findEntities(Evaluatees.empty());
+		LookupDataSourceFactory.instance.cacheInvalidateOnSysConfigsChanged(null);
+		lookupDataSource.findEntities(Evaluatees.empty());
+
+		assertThat(lookup.retrieveCount).isEqualTo(2);
+	}
+
+	/** Fully cached lookup which counts how many times it was retrieved */
+	private static class CountingLookup implements LookupDescriptor, LookupDataSourceFetcher
+	{
+		/** {@code null} means not declared */
+		private final Set<String> dependsOnSysConfigNames;
+		private int retrieveCount = 0;
+
+		private CountingLookup(final Set<String> dependsOnSysConfigNames)
+		{
+			this.dependsOnSysConfigNames = dependsOnSysConfigNames;
+		}
+
+		@Override
+		public Set<String> getDependsOnSysConfigNames()
+		{
+			return dependsOnSysConfigNames != null ? dependsOnSysConfigNames : LookupDataSourceFetcher.super.getDependsOnSysConfigNames();
+		}
+
+		@Override
+		public LookupValuesList retrieveEntities(final LookupDataSourceContext evalCtx)
+		{
+			retrieveCount++;
+			return LookupValuesList.fromCollection(ImmutableList.of(IntegerLookupValue.of(1, "one")));
+		}
+
+		@Override
+		public LookupValue retrieveLookupValueById(final LookupDataSourceContext evalCtx)
+		{
+			return IntegerLookupValue.of(1, "one");
+		}
+
+		@Override
+		public LookupDataSourceContext.Builder newContextForFetchingById(final Object id)
+		{
+			return LookupDataSourceContext.builderWithoutTableName();
+		}
+
+		@Override
+		public LookupDataSourceContext.Builder newContextForFetchingList()
+		{
+			return LookupDataSourceContext.builderWithoutTableName();
+		}
+
+		@Override
+		public LookupDataSourceFetcher getLookupDataSourceFetcher()
+		{
+			return this;
+		}
+
+		@Override
+		public boolean isHighVolume()
+		{
+			return false;
+		}
+
+		@Override
+		public LookupSource getLookupSourceType()
+		{
+			return LookupSource.list;
+		}
+
+		@Override
+		public boolean hasParameters()
+		{
+			return false;
+		}
+
+		@Override
+		public boolean isNumericKey()
+		{
+			return true;
+		}
+
+		@Override
+		public Set<String> getDependsOnFieldNames()
+		{
+			return ImmutableSet.of();
+		}
+
+		@Override
+		public boolean isCached()
+		{
+			return false;
+		}
+
+		@Override
+		public String getCachePrefix()
+		{
+			return "TestLookup";
+		}
+
+		@Override
+		public void cacheInvalidate()
+		{
+		}
+
+		@Override
+		public Optional<String> getLookupTableName()
+		{
+			return Optional.empty();
+		}
+
+		@Override
+		public Optional<WindowId> getZoomIntoWindowId()
+		{
+			return Optional.empty();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package de.metas.ui.web.window.model.lookup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.window.datatypes.LookupValue.IntegerLookupValue;
+import de.metas.ui.web.window.datatypes.LookupValuesList;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2019 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class LookupValuesListSearchIndexTest
+{
+	private LookupValuesList list;
+	private LookupValuesListSearchIndex index;
+
+	@Before
+	public void init()
+	{
+		list = LookupValuesList.fromCollection(ImmutableList.of(
+				IntegerLookupValue.of(1, "Germany"),
+				IntegerLookupValue.of(2, "Switzerland"),
+				IntegerLookupValue.of(3, "Romania"),
+				IntegerLookupValue.of(4, "Germanium"),
+				IntegerLookupValue.of(5, ""),
+				IntegerLookupValue.of(6, "GERMAN Bank")));
+		index = LookupValuesListSearchIndex.of(list);
+	}
+
+	private void assertSameAsLinearScan(final String filter, final int offset, final int maxSize)
+	{
+		final LookupValuesList expected = list.filter(LookupValueFilterPredicates.of(filter), offset, maxSize);
+		final LookupValuesList actual = index.filter(filter, offset, maxSize);
+		assertThat(actual.getKeys()).containsExactlyElementsOf(expected.getKeys());
+	}
+
+	@Test
+	public void sameResultsAsLinearScan()
+	{
+		for (final String filter : ImmutableList.of("g", "Ge", "ger", "german", "  GERMAN ", "ma", "land", "zzz", "e", "an ba"))
+		{
+			IntStream.range(0, 3).forEach(offset -> {
+				assertSameAsLinearScan(filter, offset, 0);
+				assertSameAsLinearScan(filter, offset, 1);
+				assertSameAsLinearScan(filter, offset, 2);
+			});
+		}
+	}
+
+	@Test
+	public void emptyFilterMatchesAll()
+	{
+		assertThat(index.filter(null, 0, 0).getKeysAsInt()).containsExactly(1, 2, 3, 4, 5, 6);
+		assertThat(index.filter(" ", 1, 2).getKeysAsInt()).containsExactly(2, 3);
+	}
+
+	@Test
+	public void longFilter()
+	{
+		assertThat(index.filter("germa", 0, 0).getKeysAsInt()).containsExactly(1, 4, 6);
+		assertThat(index.filter("germanium", 0, 0).getKeysAsInt()).containsExactly(4);
+		assertThat(index.filter("germanx", 0, 0).getKeysAsInt()).isEmpty();
+	}
+}